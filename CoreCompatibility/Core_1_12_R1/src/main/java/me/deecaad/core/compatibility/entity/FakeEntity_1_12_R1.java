@@ -140,7 +140,7 @@ public class FakeEntity_1_12_R1 extends FakeEntity {
     }
 
     @Override
-    public void setMotion(double dx, double dy, double dz) {
+    protected void sendMotion(double dx, double dy, double dz) {
         PacketPlayOutEntityVelocity packet = new PacketPlayOutEntityVelocity(cache, dx, dy, dz);
         motion.setX(dx);
         motion.setY(dy);
@@ -199,10 +199,10 @@ public class FakeEntity_1_12_R1 extends FakeEntity {
         PacketPlayOutEntityLook look = new PacketPlayOutEntityLook(cache, convertYaw(getYaw()), convertPitch(getPitch()), false);
         PacketPlayOutEntityVelocity velocity = new PacketPlayOutEntityVelocity(cache, motion.getX(), motion.getY(), motion.getZ());
 
-        for (Player temp : DistanceUtil.getPlayersInRange(location)) {
+        DistanceUtil.forEachPlayerInRange(location, temp -> {
             PlayerConnection connection = ((CraftPlayer) temp).getHandle().playerConnection;
             if (connections.contains(connection)) {
-                continue;
+                return;
             }
 
             connection.sendPacket(spawn);
@@ -218,7 +218,7 @@ public class FakeEntity_1_12_R1 extends FakeEntity {
             }
 
             connections.add(connection);
-        }
+        });
     }
 
     @Override
@@ -247,6 +247,11 @@ public class FakeEntity_1_12_R1 extends FakeEntity {
         connections.add(connection);
     }
 
+    @Override
+    protected int getViewerCount() {
+        return connections.size();
+    }
+
     @Override
     public void updateMeta() {
         if (type == EntityType.ARMOR_STAND) ((EntityArmorStand) entity).setHeadPose(new Vector3f(getPitch(), 0, 0));
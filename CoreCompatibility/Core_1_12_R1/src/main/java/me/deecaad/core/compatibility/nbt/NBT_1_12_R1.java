@@ -43,6 +43,12 @@ public class NBT_1_12_R1 implements NBTCompatibility {
         toItem.setItemMeta(CraftItemStack.asBukkitCopy(nms).getItemMeta());
     }
 
+    @Nonnull
+    @Override
+    public ItemTagView view(@Nonnull ItemStack bukkitItem) {
+        return new DelegatingTagView(this, bukkitItem);
+    }
+
     @Override
     public boolean hasString(@Nonnull ItemStack bukkitItem, @Nullable String plugin, @Nonnull String key) {
         return getBukkitCompound(getNMSStack(bukkitItem)).hasKey(getTagName(plugin, key));
@@ -49,6 +49,12 @@ public class NBT_1_13_R2 implements NBTCompatibility {
         toItem.setItemMeta(CraftItemStack.asBukkitCopy(nms).getItemMeta());
     }
 
+    @Nonnull
+    @Override
+    public ItemTagView view(@Nonnull ItemStack bukkitItem) {
+        return new DelegatingTagView(this, bukkitItem);
+    }
+
     @Override
     public boolean hasString(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key) {
         return getBukkitCompound(bukkitItem.getItemMeta()).hasCustomTag(getKey(plugin, key), ItemTagType.STRING);
@@ -203,6 +209,6 @@ public class NBT_1_13_R2 implements NBTCompatibility {
 
     @Override
     public NamespacedKey getKey(String plugin, String key) {
-        return new NamespacedKey(plugin.toLowerCase(), key.toLowerCase());
+        return NBTKeys.getKey(plugin, key);
     }
 }
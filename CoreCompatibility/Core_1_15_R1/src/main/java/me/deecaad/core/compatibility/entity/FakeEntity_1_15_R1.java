@@ -135,7 +135,7 @@ public class FakeEntity_1_15_R1 extends FakeEntity {
     }
 
     @Override
-    public void setMotion(double dx, double dy, double dz) {
+    protected void sendMotion(double dx, double dy, double dz) {
         PacketPlayOutEntityVelocity packet = new PacketPlayOutEntityVelocity(cache, new Vec3D(dx, dy, dz));
         motion.setX(dx);
         motion.setY(dy);
@@ -195,10 +195,10 @@ public class FakeEntity_1_15_R1 extends FakeEntity {
         PacketPlayOutEntityVelocity velocity = new PacketPlayOutEntityVelocity(cache, new Vec3D(motion.getX(), motion.getY(), motion.getZ()));
 
 
-        for (Player temp : DistanceUtil.getPlayersInRange(location)) {
+        DistanceUtil.forEachPlayerInRange(location, temp -> {
             PlayerConnection connection = ((CraftPlayer) temp).getHandle().playerConnection;
             if (connections.contains(connection)) {
-                continue;
+                return;
             }
 
             connection.sendPacket(spawn);
@@ -214,7 +214,7 @@ public class FakeEntity_1_15_R1 extends FakeEntity {
             }
 
             connections.add(connection);
-        }
+        });
     }
 
     @Override
@@ -242,6 +242,11 @@ public class FakeEntity_1_15_R1 extends FakeEntity {
         connections.add(connection);
     }
 
+    @Override
+    protected int getViewerCount() {
+        return connections.size();
+    }
+
     @Override
     public void updateMeta() {
         if (type == EntityType.ARMOR_STAND) ((EntityArmorStand) entity).setHeadPose(new Vector3f(getPitch(), 0, 0));
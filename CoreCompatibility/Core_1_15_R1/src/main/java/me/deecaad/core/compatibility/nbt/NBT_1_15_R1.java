@@ -11,6 +11,7 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -18,6 +19,8 @@ import java.util.Objects;
 
 public class NBT_1_15_R1 implements NBTCompatibility {
 
+    private static final Field HANDLE_FIELD = ReflectionUtil.getField(CraftItemStack.class, net.minecraft.server.v1_15_R1.ItemStack.class);
+
     static {
         if (ReflectionUtil.getMCVersion() != 15) {
             me.deecaad.core.MechanicsCore.debug.log(
@@ -44,6 +47,19 @@ public class NBT_1_15_R1 implements NBTCompatibility {
         toItem.setItemMeta(CraftItemStack.asBukkitCopy(nms).getItemMeta());
     }
 
+    @Nonnull
+    @Override
+    public ItemTagView view(@Nonnull ItemStack bukkitItem) {
+
+        // Only CraftItemStacks have an NMS item we can read without copying
+        if (!(bukkitItem instanceof CraftItemStack))
+            return new PersistentTagView(bukkitItem);
+
+        net.minecraft.server.v1_15_R1.ItemStack handle = (net.minecraft.server.v1_15_R1.ItemStack) ReflectionUtil.invokeField(HANDLE_FIELD, bukkitItem);
+        NBTTagCompound tag = handle == null ? null : handle.getTag();
+        return new NMSTagView(bukkitItem, tag == null ? null : tag.getCompound("PublicBukkitValues"));
+    }
+
     @Nonnull
     @Override
     public net.minecraft.server.v1_15_R1.ItemStack getNMSStack(@Nonnull ItemStack bukkitStack) {
@@ -66,6 +82,97 @@ public class NBT_1_15_R1 implements NBTCompatibility {
         return visit(nbt, 0, 0).toString();
     }
 
+    /**
+     * Reads tags directly from the bukkit values compound of the NMS item,
+     * so reading does not copy the item's meta. Once the meta is loaded (a
+     * tag was changed), the meta is used instead.
+     */
+    private static class NMSTagView extends PersistentTagView {
+
+        // NBT type ids, see NBTBase#getTypeId()
+        private static final int TAG_INT = 3;
+        private static final int TAG_DOUBLE = 6;
+        private static final int TAG_STRING = 8;
+        private static final int TAG_INT_ARRAY = 11;
+
+        // null when the item does not have any tags
+        private final NBTTagCompound values;
+
+        NMSTagView(ItemStack bukkitItem, NBTTagCompound values) {
+            super(bukkitItem);
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasString(@Nonnull String plugin, @Nonnull String key) {
+            if (isLoaded())
+                return super.hasString(plugin, key);
+
+            return values != null && values.hasKeyOfType(NBTKeys.getPath(plugin, key), TAG_STRING);
+        }
+
+        @Override
+        public String getString(@Nonnull String plugin, @Nonnull String key, String def) {
+            if (isLoaded())
+                return super.getString(plugin, key, def);
+
+            String path = NBTKeys.getPath(plugin, key);
+            return values != null && values.hasKeyOfType(path, TAG_STRING) ? values.getString(path) : def;
+        }
+
+        @Override
+        public boolean hasInt(@Nonnull String plugin, @Nonnull String key) {
+            if (isLoaded())
+                return super.hasInt(plugin, key);
+
+            return values != null && values.hasKeyOfType(NBTKeys.getPath(plugin, key), TAG_INT);
+        }
+
+        @Override
+        public int getInt(@Nonnull String plugin, @Nonnull String key, int def) {
+            if (isLoaded())
+                return super.getInt(plugin, key, def);
+
+            String path = NBTKeys.getPath(plugin, key);
+            return values != null && values.hasKeyOfType(path, TAG_INT) ? values.getInt(path) : def;
+        }
+
+        @Override
+        public boolean hasDouble(@Nonnull String plugin, @Nonnull String key) {
+            if (isLoaded())
+                return super.hasDouble(plugin, key);
+
+            return values != null && values.hasKeyOfType(NBTKeys.getPath(plugin, key), TAG_DOUBLE);
+        }
+
+        @Override
+        public double getDouble(@Nonnull String plugin, @Nonnull String key, double def) {
+            if (isLoaded())
+                return super.getDouble(plugin, key, def);
+
+            String path = NBTKeys.getPath(plugin, key);
+            return values != null && values.hasKeyOfType(path, TAG_DOUBLE) ? values.getDouble(path) : def;
+        }
+
+        @Override
+        public boolean hasArray(@Nonnull String plugin, @Nonnull String key) {
+            if (isLoaded())
+                return super.hasArray(plugin, key);
+
+            return values != null && values.hasKeyOfType(NBTKeys.getPath(plugin, key), TAG_INT_ARRAY);
+        }
+
+        @Override
+        public int[] getArray(@Nonnull String plugin, @Nonnull String key, int[] def) {
+            if (isLoaded())
+                return super.getArray(plugin, key, def);
+
+            // getIntArray returns the array used by the item, so copy it
+            String path = NBTKeys.getPath(plugin, key);
+            return values != null && values.hasKeyOfType(path, TAG_INT_ARRAY) ? values.getIntArray(path).clone() : def;
+        }
+    }
+
     private static final String BRACE_COLORS = "f780"; // grayscale colors
     private static final String VALUE_COLORS = "6abcdef"; // bright colors
 
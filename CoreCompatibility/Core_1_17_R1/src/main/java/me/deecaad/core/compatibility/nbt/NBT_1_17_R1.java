@@ -20,6 +20,8 @@ import java.util.Objects;
 
 public class NBT_1_17_R1 implements NBTCompatibility {
 
+    private static final Field HANDLE_FIELD = ReflectionUtil.getField(CraftItemStack.class, net.minecraft.world.item.ItemStack.class);
+
     static {
         if (ReflectionUtil.getMCVersion() != 17) {
             me.deecaad.core.MechanicsCore.debug.log(
@@ -46,6 +48,19 @@ public class NBT_1_17_R1 implements NBTCompatibility {
         toItem.setItemMeta(nms.getBukkitStack().getItemMeta());
     }
 
+    @Nonnull
+    @Override
+    public ItemTagView view(@Nonnull ItemStack bukkitItem) {
+
+        // Only CraftItemStacks have an NMS item we can read without copying
+        if (!(bukkitItem instanceof CraftItemStack))
+            return new PersistentTagView(bukkitItem);
+
+        net.minecraft.world.item.ItemStack handle = (net.minecraft.world.item.ItemStack) ReflectionUtil.invokeField(HANDLE_FIELD, bukkitItem);
+        CompoundTag tag = handle == null ? null : handle.getTag();
+        return new NMSTagView(bukkitItem, tag == null ? null : tag.getCompound("PublicBukkitValues"));
+    }
+
     @Nonnull
     @Override
     public net.minecraft.world.item.ItemStack getNMSStack(@Nonnull ItemStack bukkitStack) {
@@ -65,6 +80,91 @@ public class NBT_1_17_R1 implements NBTCompatibility {
         return nbt == null ? "null" : new TagColorVisitor().visit(nbt);
     }
 
+    /**
+     * Reads tags directly from the bukkit values compound of the NMS item,
+     * so reading does not copy the item's meta. Once the meta is loaded (a
+     * tag was changed), the meta is used instead.
+     */
+    private static class NMSTagView extends PersistentTagView {
+
+        // null when the item does not have any tags
+        private final CompoundTag values;
+
+        NMSTagView(ItemStack bukkitItem, CompoundTag values) {
+            super(bukkitItem);
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasString(@Nonnull String plugin, @Nonnull String key) {
+            if (isLoaded())
+                return super.hasString(plugin, key);
+
+            return values != null && values.contains(NBTKeys.getPath(plugin, key), Tag.TAG_STRING);
+        }
+
+        @Override
+        public String getString(@Nonnull String plugin, @Nonnull String key, String def) {
+            if (isLoaded())
+                return super.getString(plugin, key, def);
+
+            String path = NBTKeys.getPath(plugin, key);
+            return values != null && values.contains(path, Tag.TAG_STRING) ? values.getString(path) : def;
+        }
+
+        @Override
+        public boolean hasInt(@Nonnull String plugin, @Nonnull String key) {
+            if (isLoaded())
+                return super.hasInt(plugin, key);
+
+            return values != null && values.contains(NBTKeys.getPath(plugin, key), Tag.TAG_INT);
+        }
+
+        @Override
+        public int getInt(@Nonnull String plugin, @Nonnull String key, int def) {
+            if (isLoaded())
+                return super.getInt(plugin, key, def);
+
+            String path = NBTKeys.getPath(plugin, key);
+            return values != null && values.contains(path, Tag.TAG_INT) ? values.getInt(path) : def;
+        }
+
+        @Override
+        public boolean hasDouble(@Nonnull String plugin, @Nonnull String key) {
+            if (isLoaded())
+                return super.hasDouble(plugin, key);
+
+            return values != null && values.contains(NBTKeys.getPath(plugin, key), Tag.TAG_DOUBLE);
+        }
+
+        @Override
+        public double getDouble(@Nonnull String plugin, @Nonnull String key, double def) {
+            if (isLoaded())
+                return super.getDouble(plugin, key, def);
+
+            String path = NBTKeys.getPath(plugin, key);
+            return values != null && values.contains(path, Tag.TAG_DOUBLE) ? values.getDouble(path) : def;
+        }
+
+        @Override
+        public boolean hasArray(@Nonnull String plugin, @Nonnull String key) {
+            if (isLoaded())
+                return super.hasArray(plugin, key);
+
+            return values != null && values.contains(NBTKeys.getPath(plugin, key), Tag.TAG_INT_ARRAY);
+        }
+
+        @Override
+        public int[] getArray(@Nonnull String plugin, @Nonnull String key, int[] def) {
+            if (isLoaded())
+                return super.getArray(plugin, key, def);
+
+            // getIntArray returns the array used by the item, so copy it
+            String path = NBTKeys.getPath(plugin, key);
+            return values != null && values.contains(path, Tag.TAG_INT_ARRAY) ? values.getIntArray(path).clone() : def;
+        }
+    }
+
     private static class TagColorVisitor extends StringTagVisitor {
 
         private static final String BRACE_COLORS = "f780"; // grayscale colors
@@ -8,8 +8,12 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
 import net.minecraft.network.protocol.game.ClientboundBlockDestructionPacket;
 import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
 import org.bukkit.block.Block;
+import org.bukkit.craftbukkit.v1_18_R2.CraftWorld;
 import org.bukkit.craftbukkit.v1_18_R2.block.CraftBlock;
 import org.bukkit.craftbukkit.v1_18_R2.block.CraftBlockState;
 import org.bukkit.craftbukkit.v1_18_R2.block.data.CraftBlockData;
@@ -103,6 +107,49 @@ public class Block_1_18_R2 implements BlockCompatibility {
         return packets;
     }
 
+    @Override
+    public void setBlocks(@Nonnull BlockChanges changes) {
+        if (changes.isApplyPhysics()) {
+            BlockCompatibility.super.setBlocks(changes);
+            return;
+        }
+
+        ServerLevel level = ((CraftWorld) changes.getWorld()).getHandle();
+        ServerChunkCache chunkSource = level.getChunkSource();
+
+        for (BlockChanges.Section section : changes.getSections()) {
+            SubChunk position = section.getPosition();
+            LevelChunk chunk = level.getChunk(position.x(), position.z());
+
+            for (int i = 0; i < section.size(); i++) {
+                BlockPos pos = new BlockPos(section.getX(i), section.getY(i), section.getZ(i));
+                BlockState state = ((CraftBlockData) section.getData(i)).getState();
+                BlockState old = chunk.getBlockState(pos);
+                if (old == state)
+                    continue;
+
+                // Remove the block entity first, like bukkit does, so
+                // containers do not drop their items.
+                if (old.hasBlockEntity() && !old.is(state.getBlock()))
+                    level.removeBlockEntity(pos);
+
+                // Writes the block into the section's palette and updates
+                // heightmaps, without updating neighbors.
+                if (chunk.setBlockState(pos, state, false) == null)
+                    continue;
+
+                // Both are queued, so light is updated once per tick, and
+                // the server sends 1 packet for each changed section.
+                chunkSource.getLightEngine().checkBlock(pos);
+                chunkSource.blockChanged(pos);
+
+                // Updates points of interest (beds, job sites, bells,
+                // portals), like Level#setBlock does
+                level.onBlockStateChange(pos, old, state);
+            }
+        }
+    }
+
     private ClientboundSectionBlocksUpdatePacket getMultiBlockMaskPacket(List<Block> blocks, @Nullable BlockState mask) {
 
         BlockPos position = ((CraftBlock) blocks.get(0)).getPosition();
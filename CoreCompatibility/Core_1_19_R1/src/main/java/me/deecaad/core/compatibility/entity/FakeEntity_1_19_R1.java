@@ -152,7 +152,7 @@ public class FakeEntity_1_19_R1 extends FakeEntity {
     }
 
     @Override
-    public void setMotion(double dx, double dy, double dz) {
+    protected void sendMotion(double dx, double dy, double dz) {
         ClientboundSetEntityMotionPacket packet = new ClientboundSetEntityMotionPacket(cache, new Vec3(dx, dy, dz));
         motion.setX(dx);
         motion.setY(dy);
@@ -210,10 +210,10 @@ public class FakeEntity_1_19_R1 extends FakeEntity {
         ClientboundSetEntityMotionPacket velocity = new ClientboundSetEntityMotionPacket(cache, new Vec3(motion.getX(), motion.getY(), motion.getZ()));
         ClientboundSetEquipmentPacket equipment = getEquipmentPacket();
 
-        for (Player temp : DistanceUtil.getPlayersInRange(location)) {
+        DistanceUtil.forEachPlayerInRange(location, temp -> {
             ServerGamePacketListenerImpl connection = ((CraftPlayer) temp).getHandle().connection;
             if (connections.contains(connection)) {
-                continue;
+                return;
             }
 
             connection.send(spawn);
@@ -224,7 +224,7 @@ public class FakeEntity_1_19_R1 extends FakeEntity {
             if (equipment != null) connection.send(equipment);
 
             connections.add(connection);
-        }
+        });
     }
 
     @Override
@@ -248,6 +248,11 @@ public class FakeEntity_1_19_R1 extends FakeEntity {
         connections.add(connection);
     }
 
+    @Override
+    protected int getViewerCount() {
+        return connections.size();
+    }
+
     @Override
     public void updateMeta() {
         if (type == EntityType.ARMOR_STAND) ((ArmorStand) entity).setHeadPose(new Rotations(getPitch(), 0, 0));
@@ -1,5 +1,7 @@
 package me.deecaad.core;
 
+import me.deecaad.core.compatibility.block.BlockCompatibility;
+import me.deecaad.core.compatibility.entity.FakeEntity;
 import me.deecaad.core.events.QueueSerializerEvent;
 import me.deecaad.core.events.triggers.EquipListener;
 import me.deecaad.core.file.*;
@@ -13,7 +15,12 @@ import me.deecaad.core.placeholder.PlaceholderAPI;
 import me.deecaad.core.utils.Debugger;
 import me.deecaad.core.utils.FileUtil;
 import me.deecaad.core.utils.LogLevel;
+import me.deecaad.core.utils.PacketBroadcaster;
+import me.deecaad.core.utils.PerformanceMonitor;
+import me.deecaad.core.utils.PlayerIndex;
 import me.deecaad.core.utils.ReflectionUtil;
+import me.deecaad.core.utils.ray.EntityIndex;
+import me.deecaad.core.utils.scheduler.TimingWheel;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
@@ -22,6 +29,8 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -44,6 +53,7 @@ public class MechanicsCore extends JavaPlugin {
         int level = getConfig().getInt("Debug_Level");
         boolean printTraces = getConfig().getBoolean("Print_Traces");
         debug = new Debugger(getLogger(), level, printTraces);
+        debug.setAsync(getConfig().getBoolean("Async_Logging"));
 
         // Search the jar file for Mechanics, Targeters, and Conditions. We
         // need to register them to the Mechanics.class registries.
@@ -104,12 +114,65 @@ public class MechanicsCore extends JavaPlugin {
                 event.addSerializers(serializers);
             }
         }, this);
+
+        // The entity snapshots used by ray traces are only valid for 1 tick
+        EntityIndex.clear();
+        Bukkit.getScheduler().runTaskTimer(this, EntityIndex::invalidateAll, 0, 1);
+
+        // Packets are sent to the players found by the player index
+        PlayerIndex.clear();
+        PlayerIndex.update();
+        Bukkit.getScheduler().runTaskTimer(this, PlayerIndex::update, 0, 1);
+        Bukkit.getPluginManager().registerEvents(new Listener() {
+            @EventHandler
+            public void onUnload(WorldUnloadEvent event) {
+                EntityIndex.remove(event.getWorld());
+                PlayerIndex.remove(event.getWorld());
+            }
+
+            @EventHandler
+            public void onQuit(PlayerQuitEvent event) {
+                PlayerIndex.remove(event.getPlayer());
+            }
+        }, this);
+
+        // Mechanics and weapons schedule their delayed tasks on the wheel
+        TimingWheel.start(this);
+
+        // Fake entity movement is coalesced, and sent once every tick
+        Bukkit.getScheduler().runTaskTimer(this, FakeEntity::flushAll, 0, 1);
+
+        // Block packets are queued during the tick, and sent together
+        PacketBroadcaster.clear();
+        Bukkit.getScheduler().runTaskTimer(this, PacketBroadcaster::flush, 0, 1);
+
+        PerformanceMonitor.register("Entity Index: Build Time", () -> PerformanceMonitor.formatNanos(EntityIndex.getLastBuildNanos()));
+        PerformanceMonitor.register("Entity Index: Query Time", () -> PerformanceMonitor.formatNanos(EntityIndex.getLastQueryNanos()));
+        PerformanceMonitor.register("Entity Index: Chunks Built", EntityIndex::getLastBuiltCells);
+        PerformanceMonitor.register("Entity Index: Queries", EntityIndex::getLastQueries);
+        PerformanceMonitor.register("Block Shape Cache: Hits", BlockCompatibility.SHAPES::getHits);
+        PerformanceMonitor.register("Block Shape Cache: Misses", BlockCompatibility.SHAPES::getMisses);
+        PerformanceMonitor.register("Block Shape Cache: Size", BlockCompatibility.SHAPES::size);
+        PerformanceMonitor.register("Player Index: Players", PlayerIndex::size);
+        PerformanceMonitor.register("Player Index: Cells", PlayerIndex::getCells);
+        PerformanceMonitor.register("Player Index: Moved", PlayerIndex::getLastMoved);
+        PerformanceMonitor.register("Player Index: Queries", PlayerIndex::getLastQueries);
+        PerformanceMonitor.register("Player Index: Update Time", () -> PerformanceMonitor.formatNanos(PlayerIndex.getLastUpdateNanos()));
+        PerformanceMonitor.register("Fake Entity: Packets Sent", FakeEntity::getPacketsSent);
+        PerformanceMonitor.register("Fake Entity: Packets Saved", FakeEntity::getPacketsSaved);
+        PerformanceMonitor.register("Packet Broadcaster: Queued", PacketBroadcaster::getLastQueued);
+        PerformanceMonitor.register("Packet Broadcaster: Coalesced", PacketBroadcaster::getLastCoalesced);
+        PerformanceMonitor.register("Packet Broadcaster: Sent", PacketBroadcaster::getLastSent);
+        PerformanceMonitor.register("Packet Broadcaster: Recipients", PacketBroadcaster::getLastRecipients);
+        PerformanceMonitor.register("Packet Broadcaster: Flush Time", () -> PerformanceMonitor.formatNanos(PacketBroadcaster.getLastFlushNanos()));
     }
 
     public void onDisable() {
         HandlerList.unregisterAll(this);
+        TimingWheel.stop();
         Bukkit.getServer().getScheduler().cancelTasks(this);
         PlaceholderAPI.onDisable();
+        debug.close();
         debug = null;
         adventure.close();
         adventure = null;
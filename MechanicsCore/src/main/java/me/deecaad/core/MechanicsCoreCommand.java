@@ -4,6 +4,7 @@ import me.deecaad.core.commands.*;
 import me.deecaad.core.commands.arguments.StringArgumentType;
 import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.file.serializers.ItemSerializer;
+import me.deecaad.core.utils.PerformanceMonitor;
 import me.deecaad.core.utils.StringUtil;
 import me.deecaad.core.utils.TableBuilder;
 import net.kyori.adventure.audience.Audience;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -93,6 +95,13 @@ public final class MechanicsCoreCommand {
                         .withDescription("Shows all plugins currently using MechanicsCore")
                         .executes(CommandExecutor.any((sender, args) -> {
                             listPlugins(sender);
+                        })))
+
+                .withSubcommand(new CommandBuilder("performance")
+                        .withPermission("mechanicscore.commands.performance")
+                        .withDescription("Shows timings and counters of MechanicsCore plugins")
+                        .executes(CommandExecutor.any((sender, args) -> {
+                            listPerformance(sender);
                         })));
 
         HelpCommandBuilder.register(command, HelpCommandBuilder.HelpColor.from(GOLD, GRAY, SYM));
@@ -113,6 +122,17 @@ public final class MechanicsCoreCommand {
         sender.sendMessage(ChatColor.GREEN + "Wrote command registry to " + output);
     }
 
+    public static void listPerformance(CommandSender sender) {
+        Map<String, Object> values = PerformanceMonitor.snapshot();
+        if (values.isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "Nothing is being monitored");
+            return;
+        }
+
+        sender.sendMessage(GOLD + "Performance:");
+        values.forEach((name, value) -> sender.sendMessage(GRAY + "  " + name + ": " + GOLD + value));
+    }
+
     public static void listPlugins(CommandSender sender) {
         List<Plugin> plugins = Arrays.stream(Bukkit.getPluginManager().getPlugins())
                 .filter(plugin -> {
@@ -1,6 +1,7 @@
 package me.deecaad.core.compatibility;
 
 import me.deecaad.core.file.serializers.ColorSerializer;
+import me.deecaad.core.utils.ray.RayHits;
 import me.deecaad.core.utils.ray.RayTraceResult;
 import org.bukkit.Color;
 import org.bukkit.Particle;
@@ -15,6 +16,9 @@ import java.util.Collection;
 
 public class HitBox {
 
+    // Reused by rayTrace(Vector, Vector), so a ray that misses creates no garbage
+    private static final ThreadLocal<RayHits> RAY_HITS = ThreadLocal.withInitial(() -> new RayHits(1));
+
     private Block block;
     private LivingEntity livingEntity;
     private double minX;
@@ -59,6 +63,16 @@ public class HitBox {
         voxelShape.add(hitBox);
     }
 
+    /**
+     * Returns the voxel shape parts of this hit box. Only blocks with more
+     * than 1 collision box (like stairs) have voxel shape parts.
+     *
+     * @return The parts, or null.
+     */
+    public Collection<HitBox> getVoxelShape() {
+        return voxelShape;
+    }
+
     public double getMinX() {
         return minX;
     }
@@ -243,139 +257,74 @@ public class HitBox {
      * @return the ray trace result or null if there is no hit
      */
     public RayTraceResult rayTrace(Vector location, Vector normalizedMotion) {
-        RayTraceResult mainBoxHit = ray(location, normalizedMotion);
-
-        // Voxel shape not used or didn't hit main hitbox
-        if (voxelShape == null || mainBoxHit == null) return mainBoxHit;
-
-        // Here we know main hitbox was hit, now check all voxel shapes
-        RayTraceResult hit = null;
-        double closestHit = -1;
-        for (HitBox boxPart : voxelShape) {
-
-            if (mainBoxHit.isBlock()) {
-                boxPart.setBlockHitBox(mainBoxHit.getBlock());
-            } else {
-                boxPart.setLivingEntity(mainBoxHit.getLivingEntity());
-            }
-
-            RayTraceResult boxPartHit = boxPart.ray(location, normalizedMotion);
-            if (boxPartHit == null) continue;
-
-            // Only closest hit
-            if (closestHit == -1 || boxPartHit.getDistanceTravelled() < closestHit) {
-                closestHit = boxPartHit.getDistanceTravelled();
-                hit = boxPartHit;
-            }
-        }
-
-        return hit;
+        RayHits hits = RAY_HITS.get();
+        hits.clear();
+        if (!rayTrace(location.getX(), location.getY(), location.getZ(),
+                normalizedMotion.getX(), normalizedMotion.getY(), normalizedMotion.getZ(), 0.0, hits)) return null;
+
+        // The result is created here, so it is not shared after the hits are cleared
+        RayTraceResult result = hits.get(0);
+        hits.clear();
+        return result;
     }
 
     /**
-     * Uses BoundingBox class method rayTrace(Vector, Vector, double) with slight modifications. Easier backwards compatibility this way.
-     * <a href="https://hub.spigotmc.org/javadocs/bukkit/org/bukkit/util/BoundingBox.html#rayTrace(org.bukkit.util.Vector,org.bukkit.util.Vector,double)">...</a>
+     * Primitive version of {@link #rayTrace(Vector, Vector)}, which adds the
+     * closest hit to the given hits instead of creating a result. This hit
+     * box is not modified, so it may be shared.
+     *
+     * @param startX the x coordinate of the start of the ray
+     * @param startY the y coordinate of the start of the ray
+     * @param startZ the z coordinate of the start of the ray
+     * @param dirX the x component of the normalized direction
+     * @param dirY the y component of the normalized direction
+     * @param dirZ the z component of the normalized direction
+     * @param grow the amount to grow the main box by, in all directions
+     * @param hits the hits to add the hit to
+     * @return true if there was a hit
      */
-    private RayTraceResult ray(Vector location, Vector normalizedMotion) {
-
-        double startX = location.getX();
-        double startY = location.getY();
-        double startZ = location.getZ();
+    public boolean rayTrace(double startX, double startY, double startZ, double dirX, double dirY, double dirZ, double grow, RayHits hits) {
+        boolean mainBoxHit = hits.intersect(minX - grow, minY - grow, minZ - grow, maxX + grow, maxY + grow, maxZ + grow,
+                startX, startY, startZ, dirX, dirY, dirZ);
 
-        double dirX = normalizedMotion.getX();
-        double dirY = normalizedMotion.getY();
-        double dirZ = normalizedMotion.getZ();
+        // Didn't hit main hitbox
+        if (!mainBoxHit) return false;
 
-        double divX = 1.0 / dirX;
-        double divY = 1.0 / dirY;
-        double divZ = 1.0 / dirZ;
-
-        double tMin, tMax, tyMin, tyMax;
-        BlockFace hitBlockFaceMin, hitBlockFaceMax, hitBlockFaceYMin, hitBlockFaceYMax;
-
-        // x
-        if (dirX >= 0.0) {
-            tMin = (this.minX - startX) * divX;
-            tMax = (this.maxX - startX) * divX;
-            hitBlockFaceMin = BlockFace.WEST;
-            hitBlockFaceMax = BlockFace.EAST;
-        } else {
-            tMin = (this.maxX - startX) * divX;
-            tMax = (this.minX - startX) * divX;
-            hitBlockFaceMin = BlockFace.EAST;
-            hitBlockFaceMax = BlockFace.WEST;
+        // Voxel shape not used
+        if (voxelShape == null) {
+            addHit(startX, startY, startZ, dirX, dirY, dirZ, grow, this, hits);
+            return true;
         }
 
-        // y
-        if (dirY >= 0.0) {
-            tyMin = (this.minY - startY) * divY;
-            tyMax = (this.maxY - startY) * divY;
-            hitBlockFaceYMin = BlockFace.DOWN;
-            hitBlockFaceYMax = BlockFace.UP;
-        } else {
-            tyMin = (this.maxY - startY) * divY;
-            tyMax = (this.minY - startY) * divY;
-            hitBlockFaceYMin = BlockFace.UP;
-            hitBlockFaceYMax = BlockFace.DOWN;
-        }
-        if ((tMin > tyMax) || (tMax < tyMin)) {
-            return null;
-        }
-        if (tyMin > tMin) {
-            tMin = tyMin;
-            hitBlockFaceMin = hitBlockFaceYMin;
-        }
-        if (tyMax < tMax) {
-            tMax = tyMax;
-            hitBlockFaceMax = hitBlockFaceYMax;
-        }
+        // Here we know main hitbox was hit, now check all voxel shapes
+        HitBox closest = null;
+        double closestHit = -1;
+        for (HitBox boxPart : voxelShape) {
+            if (!hits.intersect(boxPart.minX, boxPart.minY, boxPart.minZ, boxPart.maxX, boxPart.maxY, boxPart.maxZ,
+                    startX, startY, startZ, dirX, dirY, dirZ)) continue;
 
-        // z
-        double tzMin, tzMax;
-        BlockFace hitBlockFaceZMin, hitBlockFaceZMax;
-        if (dirZ >= 0.0) {
-            tzMin = (this.minZ - startZ) * divZ;
-            tzMax = (this.maxZ - startZ) * divZ;
-            hitBlockFaceZMin = BlockFace.NORTH;
-            hitBlockFaceZMax = BlockFace.SOUTH;
-        } else {
-            tzMin = (this.maxZ - startZ) * divZ;
-            tzMax = (this.minZ - startZ) * divZ;
-            hitBlockFaceZMin = BlockFace.SOUTH;
-            hitBlockFaceZMax = BlockFace.NORTH;
-        }
-        if ((tMin > tzMax) || (tMax < tzMin)) {
-            return null;
-        }
-        if (tzMin > tMin) {
-            tMin = tzMin;
-            hitBlockFaceMin = hitBlockFaceZMin;
-        }
-        if (tzMax < tMax) {
-            tMax = tzMax;
-            hitBlockFaceMax = hitBlockFaceZMax;
+            // Only closest hit
+            if (closestHit == -1 || hits.getCandidateDistance() < closestHit) {
+                closestHit = hits.getCandidateDistance();
+                closest = boxPart;
+            }
         }
 
-        if (tMax < 0.0) return null;
+        if (closest == null) return false;
 
-        double t;
-        BlockFace hitBlockFace;
-        if (tMin < 0.0) {
-            t = tMax;
-            hitBlockFace = hitBlockFaceMax;
-        } else {
-            t = tMin;
-            hitBlockFace = hitBlockFaceMin;
-        }
+        // Intersect again, so the closest hit is the stored candidate
+        hits.intersect(closest.minX, closest.minY, closest.minZ, closest.maxX, closest.maxY, closest.maxZ,
+                startX, startY, startZ, dirX, dirY, dirZ);
+        addHit(startX, startY, startZ, dirX, dirY, dirZ, 0.0, closest, hits);
+        return true;
+    }
 
+    private void addHit(double startX, double startY, double startZ, double dirX, double dirY, double dirZ, double grow, HitBox hitBox, RayHits hits) {
         if (block != null) {
-            return new RayTraceResult(this, normalizedMotion.clone().multiply(t).add(location), t, hitBlockFace, block);
-        } else if (livingEntity == null) {
-            // When not entity or block hitbox
-            return new RayTraceResult(this, normalizedMotion.clone().multiply(t).add(location), t, hitBlockFace);
+            hits.addBlock(startX, startY, startZ, dirX, dirY, dirZ, block, null, hitBox);
+        } else {
+            hits.addHitBox(startX, startY, startZ, dirX, dirY, dirZ, livingEntity, hitBox, grow);
         }
-
-        return new RayTraceResult(this, normalizedMotion.clone().multiply(t).add(location), t, hitBlockFace, livingEntity);
     }
 
     public void outlineAllBoxes(Entity player) {
@@ -419,4 +368,20 @@ public class HitBox {
     public HitBox cloneDimensions() {
         return new HitBox(minX, minY, minZ, maxX, maxY, maxZ);
     }
+
+    /**
+     * Returns a copy of this hit box which belongs to the same block or
+     * living entity. The voxel shape parts are shared with this hit box, so
+     * only the main box of the copy may be modified (for example using
+     * {@link #grow(double)}).
+     *
+     * @return The non-null copy.
+     */
+    public HitBox copy() {
+        HitBox copy = new HitBox(minX, minY, minZ, maxX, maxY, maxZ);
+        copy.block = block;
+        copy.livingEntity = livingEntity;
+        copy.voxelShape = voxelShape;
+        return copy;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package me.deecaad.core.compatibility.block;
+
+import me.deecaad.core.utils.primitive.LongMap;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is a batch of block changes in 1 world, grouped by the
+ * {@link SubChunk} (16 x 16 x 16 section) each block is in. A batch is
+ * applied by {@link BlockCompatibility#setBlocks(BlockChanges)}, which
+ * (depending on the version) writes every block of a section directly into
+ * the chunk, and sends 1 multi block change packet per section.
+ *
+ * <p>Only available in 1.13 and higher, since it uses {@link BlockData}.
+ */
+public final class BlockChanges {
+
+    private final World world;
+    private final boolean applyPhysics;
+    private final LongMap<Section> lookup;
+    private final List<Section> sections;
+    private int size;
+
+    /**
+     * @param world        The non-null world the blocks are in.
+     * @param applyPhysics Whether to update neighbor blocks. Physics cannot
+     *                     be batched, so when this is true, every block is
+     *                     set separately.
+     */
+    public BlockChanges(@Nonnull World world, boolean applyPhysics) {
+        this.world = world;
+        this.applyPhysics = applyPhysics;
+        this.lookup = new LongMap<>(32);
+        this.sections = new ArrayList<>();
+    }
+
+    /**
+     * Adds the given block to this batch. If the block was already added,
+     * it is changed twice (in order).
+     *
+     * @param block The non-null block to change, in the same world as this batch.
+     * @param data  The non-null data to set.
+     */
+    public void add(@Nonnull Block block, @Nonnull BlockData data) {
+        add(block.getX(), block.getY(), block.getZ(), data);
+    }
+
+    /**
+     * Adds the block at the given coordinates to this batch.
+     *
+     * @param x    The x coordinate of the block.
+     * @param y    The y coordinate of the block.
+     * @param z    The z coordinate of the block.
+     * @param data The non-null data to set.
+     */
+    public void add(int x, int y, int z, @Nonnull BlockData data) {
+        int sectionX = x >> 4;
+        int sectionY = y >> 4;
+        int sectionZ = z >> 4;
+        long key = ((long) (sectionX & 0x3FFFFFF) << 38) | ((long) (sectionZ & 0x3FFFFFF) << 12) | (sectionY & 0xFFF);
+
+        Section section = lookup.get(key);
+        if (section == null) {
+            section = new Section(sectionX, sectionY, sectionZ);
+            lookup.put(key, section);
+            sections.add(section);
+        }
+
+        section.add(x, y, z, data);
+        size++;
+    }
+
+    @Nonnull
+    public World getWorld() {
+        return world;
+    }
+
+    public boolean isApplyPhysics() {
+        return applyPhysics;
+    }
+
+    /**
+     * @return The amount of changed blocks.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The non-null sections, in the order they were first changed.
+     */
+    @Nonnull
+    public List<Section> getSections() {
+        return sections;
+    }
+
+    /**
+     * The changes inside 1 {@link SubChunk}. Coordinates are block
+     * coordinates, not coordinates inside the section.
+     */
+    public static final class Section {
+
+        private final SubChunk position;
+        private int[] coordinates;
+        private BlockData[] data;
+        private int size;
+
+        private Section(int x, int y, int z) {
+            this.position = new SubChunk(x, y, z);
+            this.coordinates = new int[16 * 3];
+            this.data = new BlockData[16];
+        }
+
+        private void add(int x, int y, int z, BlockData blockData) {
+            if (size == data.length) {
+                coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+
+            coordinates[size * 3] = x;
+            coordinates[size * 3 + 1] = y;
+            coordinates[size * 3 + 2] = z;
+            data[size++] = blockData;
+        }
+
+        /**
+         * @return The non-null section coordinates (block coordinates divided by 16).
+         */
+        @Nonnull
+        public SubChunk getPosition() {
+            return position;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int getX(int index) {
+            return coordinates[index * 3];
+        }
+
+        public int getY(int index) {
+            return coordinates[index * 3 + 1];
+        }
+
+        public int getZ(int index) {
+            return coordinates[index * 3 + 2];
+        }
+
+        @Nonnull
+        public BlockData getData(int index) {
+            return data[index];
+        }
+    }
+}
@@ -5,6 +5,7 @@ import me.deecaad.core.compatibility.ICompatibility;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.SoundGroup;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.data.BlockData;
@@ -36,6 +37,13 @@ public interface BlockCompatibility {
      */
     AtomicInteger IDS = new AtomicInteger(0);
 
+    /**
+     * Threadsafe cache of block shapes, shared by every version.
+     *
+     * @see #getShape(Block, boolean)
+     */
+    BlockShapeCache SHAPES = new BlockShapeCache(8192);
+
     /**
      * If block is air, or some other passable block (e.g. torch, flower)
      * then this method WILL always return null. Basically if this method returns null
@@ -93,6 +101,34 @@ public interface BlockCompatibility {
         return hitBox;
     }
 
+    /**
+     * Shorthand for {@link #getShape(Block, boolean)} that does not allow
+     * liquids.
+     *
+     * @param block the block
+     * @return the block's shape or null if it's passable
+     */
+    @Nullable
+    default BlockShape getShape(Block block) {
+        return getShape(block, false);
+    }
+
+    /**
+     * Returns the cached unit space shape of the given block. Unlike
+     * {@link #getHitBox(Block, boolean)}, this does not create a new hit box
+     * for every call, and blocks with the same state share the same shape.
+     * Prefer this method when checking many blocks, like in ray traces. Use
+     * {@link BlockShape#toHitBox(Block)} when a hit box is needed.
+     *
+     * @param block the block
+     * @param allowLiquid whether liquid should be considered as having hit box
+     * @return the block's shape or null if it's passable
+     */
+    @Nullable
+    default BlockShape getShape(Block block, boolean allowLiquid) {
+        return SHAPES.getShape(block, allowLiquid, this);
+    }
+
     /**
      * Returns a block break animation packet for the given <code>block</code>
      * and <code>crack</code>. This should probably not be used for transparent
@@ -176,6 +212,33 @@ public interface BlockCompatibility {
     @Nonnull
     List<Object> getMultiBlockMaskPacket(@Nonnull List<Block> blocks, @Nullable BlockState mask);
 
+    /**
+     * Applies every change in the given batch. The default implementation
+     * sets each block using bukkit. Versions that support it override this
+     * method to skip physics and bukkit's per block overhead, write each
+     * block directly into its chunk section, and let the server send 1
+     * multi block change packet for each changed section.
+     *
+     * <p>When {@link BlockChanges#isApplyPhysics()} is <code>true</code>,
+     * every version falls back to the default implementation, since neighbor
+     * updates cannot be batched.
+     *
+     * <p>Only available in 1.13 and higher.
+     *
+     * @param changes The non-null changes to apply.
+     */
+    default void setBlocks(@Nonnull BlockChanges changes) {
+        World world = changes.getWorld();
+        boolean applyPhysics = changes.isApplyPhysics();
+
+        for (BlockChanges.Section section : changes.getSections()) {
+            for (int i = 0; i < section.size(); i++) {
+                Block block = world.getBlockAt(section.getX(i), section.getY(i), section.getZ(i));
+                block.setBlockData(section.getData(i), applyPhysics);
+            }
+        }
+    }
+
     default SoundData getBlockSound(Object blockData, SoundType type) {
         BlockData data = (BlockData) blockData;
         SoundGroup sounds = data.getSoundGroup();
@@ -0,0 +1,182 @@
+package me.deecaad.core.compatibility.block;
+
+import me.deecaad.core.compatibility.HitBox;
+import me.deecaad.core.utils.ray.RayHits;
+import org.bukkit.block.Block;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * This immutable class is the hit box of a block state in unit space, where
+ * <code>(0, 0, 0)</code> is the minimum corner of the block. Since the shape
+ * does not know where the block is, 1 instance is shared by every block with
+ * the same state. The methods translate the shape to world coordinates
+ * without allocating a {@link HitBox}.
+ *
+ * @see BlockShapeCache
+ */
+public final class BlockShape {
+
+    /**
+     * The shape of full blocks, like stone or dirt.
+     */
+    public static final BlockShape FULL_CUBE = new BlockShape(new double[]{ 0, 0, 0, 1, 1, 1 }, null);
+
+    // minX, minY, minZ, maxX, maxY, maxZ of the main box
+    private final double[] bounds;
+
+    // minX, minY, minZ, maxX, maxY, maxZ of every voxel shape part, or null
+    private final double[] parts;
+    private final boolean fullCube;
+
+    private BlockShape(double[] bounds, double[] parts) {
+        this.bounds = bounds;
+        this.parts = parts;
+        this.fullCube = parts == null && Arrays.equals(bounds, new double[]{ 0, 0, 0, 1, 1, 1 });
+    }
+
+    /**
+     * Converts the given world space block hit box to a unit space shape.
+     *
+     * @param hitBox The non-null hit box of the block.
+     * @param x      The x coordinate of the block.
+     * @param y      The y coordinate of the block.
+     * @param z      The z coordinate of the block.
+     * @return The non-null shape.
+     */
+    @Nonnull
+    public static BlockShape of(@Nonnull HitBox hitBox, int x, int y, int z) {
+        double[] bounds = new double[]{
+                hitBox.getMinX() - x, hitBox.getMinY() - y, hitBox.getMinZ() - z,
+                hitBox.getMaxX() - x, hitBox.getMaxY() - y, hitBox.getMaxZ() - z
+        };
+
+        double[] parts = null;
+        if (hitBox.getVoxelShape() != null) {
+            parts = new double[hitBox.getVoxelShape().size() * 6];
+            int i = 0;
+            for (HitBox part : hitBox.getVoxelShape()) {
+                parts[i++] = part.getMinX() - x;
+                parts[i++] = part.getMinY() - y;
+                parts[i++] = part.getMinZ() - z;
+                parts[i++] = part.getMaxX() - x;
+                parts[i++] = part.getMaxY() - y;
+                parts[i++] = part.getMaxZ() - z;
+            }
+        }
+
+        BlockShape shape = new BlockShape(bounds, parts);
+        return shape.fullCube ? FULL_CUBE : shape;
+    }
+
+    /**
+     * Returns <code>true</code> if this shape fills the entire block.
+     *
+     * @return true if this is a full cube.
+     */
+    public boolean isFullCube() {
+        return fullCube;
+    }
+
+    /**
+     * Returns <code>true</code> if the given point is inside the main box of
+     * this shape, when this shape is at the given block coordinates. This
+     * matches {@link HitBox#collides(org.bukkit.util.Vector)}.
+     *
+     * @param blockX The x coordinate of the block.
+     * @param blockY The y coordinate of the block.
+     * @param blockZ The z coordinate of the block.
+     * @param x      The x coordinate of the point.
+     * @param y      The y coordinate of the point.
+     * @param z      The z coordinate of the point.
+     * @return true if the point is inside.
+     */
+    public boolean contains(int blockX, int blockY, int blockZ, double x, double y, double z) {
+        x -= blockX;
+        y -= blockY;
+        z -= blockZ;
+        return x >= bounds[0] && x <= bounds[3]
+                && y >= bounds[1] && y <= bounds[4]
+                && z >= bounds[2] && z <= bounds[5];
+    }
+
+    /**
+     * Adds the closest hit of the given ray with this shape, when this shape
+     * is at the given block, to the given hits. This matches
+     * {@link HitBox#rayTrace(org.bukkit.util.Vector, org.bukkit.util.Vector)}
+     * on {@link #toHitBox(Block)}, except the hit box is only created if the
+     * result is requested.
+     *
+     * @param block  The non-null block that has this shape.
+     * @param startX The x coordinate of the start of the ray.
+     * @param startY The y coordinate of the start of the ray.
+     * @param startZ The z coordinate of the start of the ray.
+     * @param dirX   The x component of the normalized direction.
+     * @param dirY   The y component of the normalized direction.
+     * @param dirZ   The z component of the normalized direction.
+     * @param hits   The non-null hits to add the hit to.
+     * @return true if there was a hit.
+     */
+    public boolean rayTrace(@Nonnull Block block, double startX, double startY, double startZ,
+                            double dirX, double dirY, double dirZ, @Nonnull RayHits hits) {
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+
+        if (!hits.intersect(x + bounds[0], y + bounds[1], z + bounds[2], x + bounds[3], y + bounds[4], z + bounds[5],
+                startX, startY, startZ, dirX, dirY, dirZ)) return false;
+
+        if (parts == null) {
+            hits.addBlock(startX, startY, startZ, dirX, dirY, dirZ, block, this, null);
+            return true;
+        }
+
+        // Here we know main box was hit, now check all parts
+        int closest = -1;
+        double closestHit = -1;
+        for (int i = 0; i < parts.length; i += 6) {
+            if (!hits.intersect(x + parts[i], y + parts[i + 1], z + parts[i + 2], x + parts[i + 3], y + parts[i + 4], z + parts[i + 5],
+                    startX, startY, startZ, dirX, dirY, dirZ)) continue;
+
+            if (closest == -1 || hits.getCandidateDistance() < closestHit) {
+                closestHit = hits.getCandidateDistance();
+                closest = i;
+            }
+        }
+
+        if (closest == -1) return false;
+
+        // Intersect again, so the closest hit is the stored candidate
+        int i = closest;
+        hits.intersect(x + parts[i], y + parts[i + 1], z + parts[i + 2], x + parts[i + 3], y + parts[i + 4], z + parts[i + 5],
+                startX, startY, startZ, dirX, dirY, dirZ);
+        hits.addBlock(startX, startY, startZ, dirX, dirY, dirZ, block, this, null);
+        return true;
+    }
+
+    /**
+     * Creates a new world space hit box of this shape for the given block.
+     *
+     * @param block The non-null block that has this shape.
+     * @return The non-null hit box.
+     */
+    @Nonnull
+    public HitBox toHitBox(@Nonnull Block block) {
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+
+        HitBox hitBox = new HitBox(x + bounds[0], y + bounds[1], z + bounds[2], x + bounds[3], y + bounds[4], z + bounds[5]);
+        hitBox.setBlockHitBox(block);
+
+        if (parts != null) {
+            for (int i = 0; i < parts.length; i += 6) {
+                hitBox.addVoxelShapePart(new HitBox(x + parts[i], y + parts[i + 1], z + parts[i + 2],
+                        x + parts[i + 3], y + parts[i + 4], z + parts[i + 5]));
+            }
+        }
+
+        return hitBox;
+    }
+}
@@ -0,0 +1,127 @@
+package me.deecaad.core.compatibility.block;
+
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.HitBox;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class caches the {@link BlockShape} of every block state, so ray
+ * traces through identical blocks (stone, slabs, stairs, etc.) only ask
+ * the server for the shape once. The cache is keyed by the block data,
+ * which includes the orientation of the block.
+ *
+ * <p>The cache is bounded. When it is full, it is emptied and filled again.
+ * Since there are only a few thousand commonly used block states, this
+ * should rarely happen.
+ *
+ * <p>Before 1.13, there is no block data, so nothing is cached.
+ */
+public final class BlockShapeCache {
+
+    // Used as the value for passable blocks, since the map cannot store null.
+    // Compared by identity, so it is never returned.
+    private static final BlockShape EMPTY = BlockShape.of(new HitBox(0, 0, 0, 0, 0, 0), 0, 0, 0);
+
+    // The shape of these blocks depends on their position or on their tile
+    // entity, not only on their block data.
+    private static final Set<Material> UNCACHEABLE = EnumSet.noneOf(Material.class);
+
+    static {
+        for (Material material : Material.values()) {
+            String name = material.name();
+            if (name.equals("BAMBOO") || name.equals("POINTED_DRIPSTONE") || name.equals("MOVING_PISTON") || name.endsWith("SHULKER_BOX"))
+                UNCACHEABLE.add(material);
+        }
+    }
+
+    private final int maximumSize;
+    private final Map<Object, BlockShape> solid;
+    private final Map<Object, BlockShape> liquid;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public BlockShapeCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.solid = new ConcurrentHashMap<>();
+        this.liquid = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Returns the cached shape of the given block, or asks the given
+     * compatibility for the hit box of the block if it is not cached.
+     *
+     * @param block         The non-null block.
+     * @param allowLiquid   Whether liquid should be considered as having a shape.
+     * @param compatibility The non-null compatibility used to get uncached shapes.
+     * @return The shape, or null if the block is passable.
+     */
+    @Nullable
+    public BlockShape getShape(@Nonnull Block block, boolean allowLiquid, @Nonnull BlockCompatibility compatibility) {
+        if (CompatibilityAPI.getVersion() < 1.13 || UNCACHEABLE.contains(block.getType())) {
+            misses.increment();
+            return load(block, allowLiquid, compatibility);
+        }
+
+        Object key = block.getBlockData();
+        Map<Object, BlockShape> shapes = allowLiquid ? liquid : solid;
+
+        BlockShape shape = shapes.get(key);
+        if (shape != null) {
+            hits.increment();
+            return shape == EMPTY ? null : shape;
+        }
+
+        misses.increment();
+        shape = load(block, allowLiquid, compatibility);
+        if (size() >= maximumSize)
+            clear();
+
+        shapes.put(key, shape == null ? EMPTY : shape);
+        return shape;
+    }
+
+    /**
+     * @return the number of lookups that were answered by the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that had to ask the server
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of cached block states
+     */
+    public int size() {
+        return solid.size() + liquid.size();
+    }
+
+    /**
+     * Removes every cached shape.
+     */
+    public void clear() {
+        solid.clear();
+        liquid.clear();
+    }
+
+    private static BlockShape load(Block block, boolean allowLiquid, BlockCompatibility compatibility) {
+        HitBox hitBox = compatibility.getHitBox(block, allowLiquid);
+        return hitBox == null ? null : BlockShape.of(hitBox, block.getX(), block.getY(), block.getZ());
+    }
+}
@@ -10,7 +10,9 @@ import org.bukkit.util.Vector;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static me.deecaad.core.utils.NumberUtil.square;
@@ -24,6 +26,13 @@ import static me.deecaad.core.utils.NumberUtil.square;
  * can control appearances per player. After changing a visual effect (metadata
  * + display name + gravity + etc), a metadata packet must be sent using
  * {@link #updateMeta()}.
+ *
+ * <p>Position and velocity changes are coalesced by default. Instead of
+ * sending packets immediately, the latest position and velocity are stored,
+ * and sent by {@link #flushAll()} (which MechanicsCore runs every tick). So
+ * an entity that is moved multiple times during a tick only sends 1 move
+ * (or teleport) packet, and unchanged positions and velocities are not sent
+ * again. See {@link #setCoalescing(boolean)}.
  */
 public abstract class FakeEntity {
 
@@ -39,12 +48,32 @@ public abstract class FakeEntity {
 
     private static Map<String, Integer> OBJECT_REGISTRY;
 
+    // Entities with position or velocity changes that were not sent yet
+    private static final List<FakeEntity> DIRTY = new ArrayList<>();
+    private static boolean coalescing = true;
+    private static long packetsSent;
+    private static long packetsSaved;
+
     protected final EntityType type;
     protected Location location;
     protected Location offset;
     protected Vector motion;
     protected int cache = -1;
 
+    // The latest position/velocity that was not sent yet
+    private boolean queued;
+    private boolean pendingPosition;
+    private boolean pendingRaw;
+    private boolean pendingMotion;
+    private double pendingX;
+    private double pendingY;
+    private double pendingZ;
+    private float pendingYaw;
+    private float pendingPitch;
+    private double pendingMotionX;
+    private double pendingMotionY;
+    private double pendingMotionZ;
+
     public FakeEntity(@Nonnull Location location, @Nonnull EntityType type) {
         this.type = type;
         this.location = new Location(location.getWorld(), 0, 0, 0);
@@ -203,14 +232,44 @@ public abstract class FakeEntity {
         setMotion(motion.getX(), motion.getY(), motion.getZ());
     }
 
+    /**
+     * Sets the velocity of this entity. When coalescing, the velocity is sent
+     * by {@link #flushAll()}, and only if it changed. Otherwise, an entity
+     * velocity packet is sent immediately to all players who can see this
+     * entity.
+     *
+     * @param dx The change of position in the x-axis.
+     * @param dy The change of position in the y-axis.
+     * @param dz The change of position in the z-axis.
+     */
+    public final void setMotion(double dx, double dy, double dz) {
+        if (!coalescing) {
+            sendMotion(dx, dy, dz);
+            return;
+        }
+
+        // The previous velocity was never sent
+        if (pendingMotion)
+            packetsSaved += getViewerCount();
+
+        pendingMotion = true;
+        pendingMotionX = dx;
+        pendingMotionY = dy;
+        pendingMotionZ = dz;
+        queue();
+    }
+
     /**
      * Sends an entity velocity packet to all players who can see this entity.
+     * Implementing classes should set <code>this.motion</code>.
+     *
+     * <p>This method is protected to prevent accidental/improper usage.
      *
      * @param dx The change of position in the x-axis.
      * @param dy The change of position in the y-axis.
      * @param dz The change of position in the z-axis.
      */
-    public abstract void setMotion(double dx, double dy, double dz);
+    protected abstract void sendMotion(double dx, double dy, double dz);
 
     /**
      * Sends an entity rotation packet to all players who can see this entity.
@@ -261,7 +320,9 @@ public abstract class FakeEntity {
     /**
      * Sets position of this entity. When the new location is within 8 blocks,
      * a move-look packet is sent (using a relative position). Otherwise, a
-     * teleport packet is sent (using an absolute position).
+     * teleport packet is sent (using an absolute position). When coalescing,
+     * the packet is sent by {@link #flushAll()}, and the distance is measured
+     * from the last position that was sent.
      *
      * <p>If you do not want to change the entity's yaw/pitch, you may use
      * {@link #getYaw()} and {@link #getPitch()}.
@@ -282,6 +343,27 @@ public abstract class FakeEntity {
             pitch += offset.getPitch();
         }
 
+        if (coalescing) {
+
+            // The previous position was never sent (move/teleport + head)
+            if (pendingPosition)
+                packetsSaved += 2L * getViewerCount();
+
+            pendingPosition = true;
+            pendingRaw |= raw;
+            pendingX = x;
+            pendingY = y;
+            pendingZ = z;
+            pendingYaw = yaw;
+            pendingPitch = pitch;
+            queue();
+            return;
+        }
+
+        sendPosition(x, y, z, yaw, pitch, raw);
+    }
+
+    private void sendPosition(double x, double y, double z, float yaw, float pitch, boolean raw) {
         double lengthSquared = raw ? 0.0 : square(x - location.getX()) + square(y - location.getY()) + square(z - location.getZ());
 
         // When the change of position >8, then we cannot use the move-look
@@ -298,6 +380,105 @@ public abstract class FakeEntity {
         if (type == EntityType.ARMOR_STAND) updateMeta();
     }
 
+    private void queue() {
+        if (!queued) {
+            queued = true;
+            DIRTY.add(this);
+        }
+    }
+
+    /**
+     * Sends the latest position and velocity of this entity, if they were
+     * changed since the last time they were sent.
+     */
+    private void flush() {
+        queued = false;
+        int viewers = getViewerCount();
+
+        if (pendingPosition) {
+            pendingPosition = false;
+            boolean raw = pendingRaw;
+            pendingRaw = false;
+
+            if (!raw && pendingX == getX() && pendingY == getY() && pendingZ == getZ()
+                    && pendingYaw == getYaw() && pendingPitch == getPitch()) {
+                packetsSaved += 2L * viewers;
+            } else {
+                sendPosition(pendingX, pendingY, pendingZ, pendingYaw, pendingPitch, raw);
+                packetsSent += 2L * viewers;
+            }
+        }
+
+        if (pendingMotion) {
+            pendingMotion = false;
+
+            if (pendingMotionX == motion.getX() && pendingMotionY == motion.getY() && pendingMotionZ == motion.getZ()) {
+                packetsSaved += viewers;
+            } else {
+                sendMotion(pendingMotionX, pendingMotionY, pendingMotionZ);
+                packetsSent += viewers;
+            }
+        }
+    }
+
+    /**
+     * Sends the latest position and velocity of every fake entity that was
+     * moved since the last flush. This is called once every tick by
+     * MechanicsCore, but plugins that move many fake entities in 1 task
+     * (like projectiles) should call it at the end of that task, so the
+     * changes are sent during the same tick.
+     */
+    public static void flushAll() {
+        if (DIRTY.isEmpty())
+            return;
+
+        // Entities may be queued again while flushing (armor stand meta)
+        for (int i = 0; i < DIRTY.size(); i++)
+            DIRTY.get(i).flush();
+        DIRTY.clear();
+    }
+
+    /**
+     * Sets whether position and velocity changes are coalesced, and sent
+     * once every tick by {@link #flushAll()}. When disabled, every change is
+     * sent immediately. Any queued changes are sent first.
+     *
+     * @param coalescing true to coalesce changes.
+     */
+    public static void setCoalescing(boolean coalescing) {
+        flushAll();
+        FakeEntity.coalescing = coalescing;
+    }
+
+    public static boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * @return The amount of move, head rotation and velocity packets sent by
+     *         {@link #flushAll()}, counting 1 for each viewer.
+     */
+    public static long getPacketsSent() {
+        return packetsSent;
+    }
+
+    /**
+     * @return The amount of move, head rotation and velocity packets that
+     *         were not sent, since they were replaced during the same tick or
+     *         did not change, counting 1 for each viewer.
+     */
+    public static long getPacketsSaved() {
+        return packetsSaved;
+    }
+
+    /**
+     * Returns the amount of players that currently see this entity. Only
+     * used for metrics.
+     *
+     * @return The non-negative amount of viewers.
+     */
+    protected abstract int getViewerCount();
+
     // private since nobody should use this method
     private void setPositionRotation(double dx, double dy, double dz, float yaw, float pitch) {
         setPositionRotation((short) (dx * 4096), (short) (dy * 4096), (short) (dz * 4096), convertYaw(yaw), convertPitch(pitch));
@@ -0,0 +1,101 @@
+package me.deecaad.core.compatibility.nbt;
+
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This class is an {@link ItemTagView} that forwards every call to the
+ * {@link NBTCompatibility} methods. Used by versions that do not have a
+ * {@link org.bukkit.persistence.PersistentDataContainer}, so every change
+ * is written to the item immediately and {@link #apply()} does nothing.
+ *
+ * <p>The given compatibility must override every tag method, otherwise the
+ * default methods would create a new view, and loop forever.
+ */
+public class DelegatingTagView implements ItemTagView {
+
+    private final NBTCompatibility compatibility;
+    private final ItemStack bukkitItem;
+
+    public DelegatingTagView(@Nonnull NBTCompatibility compatibility, @Nonnull ItemStack bukkitItem) {
+        this.compatibility = compatibility;
+        this.bukkitItem = bukkitItem;
+    }
+
+    @Nonnull
+    @Override
+    public ItemStack getItem() {
+        return bukkitItem;
+    }
+
+    @Override
+    public boolean hasString(@Nonnull String plugin, @Nonnull String key) {
+        return compatibility.hasString(bukkitItem, plugin, key);
+    }
+
+    @Override
+    public String getString(@Nonnull String plugin, @Nonnull String key, String def) {
+        return compatibility.getString(bukkitItem, plugin, key, def);
+    }
+
+    @Override
+    public void setString(@Nonnull String plugin, @Nonnull String key, String value) {
+        compatibility.setString(bukkitItem, plugin, key, value);
+    }
+
+    @Override
+    public boolean hasInt(@Nonnull String plugin, @Nonnull String key) {
+        return compatibility.hasInt(bukkitItem, plugin, key);
+    }
+
+    @Override
+    public int getInt(@Nonnull String plugin, @Nonnull String key, int def) {
+        return compatibility.getInt(bukkitItem, plugin, key, def);
+    }
+
+    @Override
+    public void setInt(@Nonnull String plugin, @Nonnull String key, int value) {
+        compatibility.setInt(bukkitItem, plugin, key, value);
+    }
+
+    @Override
+    public boolean hasDouble(@Nonnull String plugin, @Nonnull String key) {
+        return compatibility.hasDouble(bukkitItem, plugin, key);
+    }
+
+    @Override
+    public double getDouble(@Nonnull String plugin, @Nonnull String key, double def) {
+        return compatibility.getDouble(bukkitItem, plugin, key, def);
+    }
+
+    @Override
+    public void setDouble(@Nonnull String plugin, @Nonnull String key, double value) {
+        compatibility.setDouble(bukkitItem, plugin, key, value);
+    }
+
+    @Override
+    public boolean hasArray(@Nonnull String plugin, @Nonnull String key) {
+        return compatibility.hasArray(bukkitItem, plugin, key);
+    }
+
+    @Override
+    public int[] getArray(@Nonnull String plugin, @Nonnull String key, int[] def) {
+        return compatibility.getArray(bukkitItem, plugin, key, def);
+    }
+
+    @Override
+    public void setArray(@Nonnull String plugin, @Nonnull String key, int[] value) {
+        compatibility.setArray(bukkitItem, plugin, key, value);
+    }
+
+    @Override
+    public void remove(@Nonnull String plugin, @Nonnull String key) {
+        compatibility.remove(bukkitItem, plugin, key);
+    }
+
+    @Override
+    public void apply() {
+        // Changes were already written
+    }
+}
@@ -0,0 +1,57 @@
+package me.deecaad.core.compatibility.nbt;
+
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This interface outlines a view of the NBT tags of 1 item. The methods in
+ * {@link NBTCompatibility} read (and on Spigot, copy) the item's meta every
+ * time a tag is accessed, and write the whole meta back every time a tag is
+ * changed. A view reads the item's tags at most once, and changes are
+ * written back to the item in 1 step by {@link #apply()}.
+ *
+ * <p>Use {@link NBTCompatibility#view(ItemStack)} to get a view. A view is
+ * only valid until the item is changed by something other than the view, so
+ * views should not be stored.
+ */
+public interface ItemTagView {
+
+    /**
+     * @return The non-null item this view reads tags from.
+     */
+    @Nonnull
+    ItemStack getItem();
+
+    boolean hasString(@Nonnull String plugin, @Nonnull String key);
+
+    String getString(@Nonnull String plugin, @Nonnull String key, String def);
+
+    void setString(@Nonnull String plugin, @Nonnull String key, String value);
+
+    boolean hasInt(@Nonnull String plugin, @Nonnull String key);
+
+    int getInt(@Nonnull String plugin, @Nonnull String key, int def);
+
+    void setInt(@Nonnull String plugin, @Nonnull String key, int value);
+
+    boolean hasDouble(@Nonnull String plugin, @Nonnull String key);
+
+    double getDouble(@Nonnull String plugin, @Nonnull String key, double def);
+
+    void setDouble(@Nonnull String plugin, @Nonnull String key, double value);
+
+    boolean hasArray(@Nonnull String plugin, @Nonnull String key);
+
+    int[] getArray(@Nonnull String plugin, @Nonnull String key, int[] def);
+
+    void setArray(@Nonnull String plugin, @Nonnull String key, int[] value);
+
+    void remove(@Nonnull String plugin, @Nonnull String key);
+
+    /**
+     * Writes every change made through this view to the item. Does nothing
+     * if no changes were made.
+     */
+    void apply();
+}
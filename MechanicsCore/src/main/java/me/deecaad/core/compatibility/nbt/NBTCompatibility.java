@@ -38,7 +38,7 @@ public interface NBTCompatibility {
      * @return <code>true</code> if the NBT compound uses the tag.
      */
     default boolean hasString(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key) {
-        return getCompound(bukkitItem.getItemMeta()).has(getKey(plugin, key), PersistentDataType.STRING);
+        return view(bukkitItem).hasString(plugin, key);
     }
 
     /**
@@ -69,10 +69,7 @@ public interface NBTCompatibility {
      * @return The value of the tag, or <code>null</code>.
      */
     default String getString(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key, String def) {
-        ItemMeta meta = bukkitItem.getItemMeta();
-        PersistentDataContainer nbt = getCompound(meta);
-
-        return nbt.getOrDefault(getKey(plugin, key), PersistentDataType.STRING, def);
+        return view(bukkitItem).getString(plugin, key, def);
     }
 
     /**
@@ -107,7 +104,7 @@ public interface NBTCompatibility {
      * @return <code>true</code> if the NBT compound uses the tag.
      */
     default boolean hasInt(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key) {
-        return getCompound(bukkitItem.getItemMeta()).has(getKey(plugin, key), PersistentDataType.INTEGER);
+        return view(bukkitItem).hasInt(plugin, key);
     }
 
     /**
@@ -138,10 +135,7 @@ public interface NBTCompatibility {
      * @return The value of the tag, or <code>0</code>.
      */
     default int getInt(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key, int def) {
-        ItemMeta meta = bukkitItem.getItemMeta();
-        PersistentDataContainer nbt = getCompound(meta);
-
-        return nbt.getOrDefault(getKey(plugin, key), PersistentDataType.INTEGER, def);
+        return view(bukkitItem).getInt(plugin, key, def);
     }
 
     /**
@@ -176,7 +170,7 @@ public interface NBTCompatibility {
      * @return <code>true</code> if the NBT compound uses the tag.
      */
     default boolean hasDouble(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key) {
-        return getCompound(bukkitItem.getItemMeta()).has(getKey(plugin, key), PersistentDataType.DOUBLE);
+        return view(bukkitItem).hasDouble(plugin, key);
     }
 
     /**
@@ -207,10 +201,7 @@ public interface NBTCompatibility {
      * @return The value of the tag, or <code>0</code>.
      */
     default double getDouble(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key, double def) {
-        ItemMeta meta = bukkitItem.getItemMeta();
-        PersistentDataContainer nbt = getCompound(meta);
-
-        return nbt.getOrDefault(getKey(plugin, key), PersistentDataType.DOUBLE, def);
+        return view(bukkitItem).getDouble(plugin, key, def);
     }
 
     /**
@@ -245,7 +236,7 @@ public interface NBTCompatibility {
      * @return <code>true</code> if the NBT compound uses the tag.
      */
     default boolean hasArray(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key) {
-        return getCompound(bukkitItem.getItemMeta()).has(getKey(plugin, key), PersistentDataType.INTEGER_ARRAY);
+        return view(bukkitItem).hasArray(plugin, key);
     }
 
     /**
@@ -276,10 +267,7 @@ public interface NBTCompatibility {
      * @return The value of the tag, or <code>def</code>.
      */
     default int[] getArray(@Nonnull ItemStack bukkitItem, @Nonnull String plugin, @Nonnull String key, int[] def) {
-        ItemMeta meta = bukkitItem.getItemMeta();
-        PersistentDataContainer nbt = getCompound(meta);
-
-        return nbt.has(getKey(plugin, key), PersistentDataType.INTEGER_ARRAY) ? nbt.get(getKey(plugin, key), PersistentDataType.INTEGER_ARRAY) : def;
+        return view(bukkitItem).getArray(plugin, key, def);
     }
 
     /**
@@ -363,7 +351,24 @@ public interface NBTCompatibility {
     }
 
     default NamespacedKey getKey(String plugin, String key) {
-        return new NamespacedKey(plugin.toLowerCase(), key.toLowerCase());
+        return NBTKeys.getKey(plugin, key);
+    }
+
+    /**
+     * Returns a view of the tags of the given item. Use the view when
+     * multiple tags of the same item are read or changed, so the item's
+     * meta is only read once and only written back once (using
+     * {@link ItemTagView#apply()}).
+     *
+     * <p>Implementations may read tags directly from the NMS item, without
+     * copying the item's meta, until a tag is changed.
+     *
+     * @param bukkitItem The non-null item to view the tags of.
+     * @return The non-null view.
+     */
+    @Nonnull
+    default ItemTagView view(@Nonnull ItemStack bukkitItem) {
+        return new PersistentTagView(bukkitItem);
     }
 
     /**
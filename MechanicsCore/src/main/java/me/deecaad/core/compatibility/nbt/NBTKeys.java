@@ -0,0 +1,78 @@
+package me.deecaad.core.compatibility.nbt;
+
+import org.bukkit.NamespacedKey;
+
+import javax.annotation.Nonnull;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This final utility class caches the {@link NamespacedKey} of every
+ * plugin/key pair used to access tags. Tags are accessed many times per
+ * tick, and creating a key lowercases and validates both strings, so each
+ * key is only created once.
+ *
+ * <p>Each key is stored alongside its path in the bukkit values compound
+ * (<code>"plugin:key"</code>), which is used to read tags from NMS items.
+ */
+public final class NBTKeys {
+
+    // plugin -> key -> entry. Using 2 levels means we never have to
+    // concatenate the strings just to look up the key.
+    private static final Map<String, Map<String, Entry>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private NBTKeys() {
+    }
+
+    /**
+     * Returns the cached key for the given plugin and key.
+     *
+     * @param plugin The non-null owner of the tag.
+     * @param key    The non-null name of the tag.
+     * @return The non-null key.
+     */
+    @Nonnull
+    public static NamespacedKey getKey(@Nonnull String plugin, @Nonnull String key) {
+        return getEntry(plugin, key).key;
+    }
+
+    /**
+     * Returns the path of the tag inside the bukkit values compound, like
+     * <code>"weaponmechanics:ammo-left"</code>.
+     *
+     * @param plugin The non-null owner of the tag.
+     * @param key    The non-null name of the tag.
+     * @return The non-null path.
+     */
+    @Nonnull
+    public static String getPath(@Nonnull String plugin, @Nonnull String key) {
+        return getEntry(plugin, key).path;
+    }
+
+    private static Entry getEntry(String plugin, String key) {
+        Map<String, Entry> keys = CACHE.get(plugin);
+        if (keys == null)
+            keys = CACHE.computeIfAbsent(plugin, k -> new ConcurrentHashMap<>());
+
+        Entry entry = keys.get(key);
+        if (entry == null)
+            entry = keys.computeIfAbsent(key, k -> new Entry(new NamespacedKey(plugin.toLowerCase(Locale.ROOT), key.toLowerCase(Locale.ROOT))));
+
+        return entry;
+    }
+
+    private static final class Entry {
+
+        private final NamespacedKey key;
+        private final String path;
+
+        private Entry(NamespacedKey key) {
+            this.key = key;
+            this.path = key.toString();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package me.deecaad.core.compatibility.nbt;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This class is an {@link ItemTagView} backed by the item's
+ * {@link PersistentDataContainer}. The item's meta is read lazily, at most
+ * once, and is written back to the item once by {@link #apply()}.
+ *
+ * <p>Version dependant subclasses may override the read methods to read
+ * tags directly from the NMS item, as long as {@link #isLoaded()} is
+ * <code>false</code> (After the meta is loaded, the meta may contain changes
+ * that the NMS item does not have yet).
+ */
+public class PersistentTagView implements ItemTagView {
+
+    protected final ItemStack bukkitItem;
+    private ItemMeta meta;
+    private PersistentDataContainer nbt;
+    private boolean dirty;
+
+    public PersistentTagView(@Nonnull ItemStack bukkitItem) {
+        this.bukkitItem = bukkitItem;
+    }
+
+    /**
+     * Returns <code>true</code> if the item's meta was read by this view.
+     *
+     * @return true if the meta is loaded.
+     */
+    protected final boolean isLoaded() {
+        return meta != null;
+    }
+
+    private PersistentDataContainer nbt() {
+        if (meta == null) {
+            meta = bukkitItem.getItemMeta();
+            nbt = meta.getPersistentDataContainer();
+        }
+        return nbt;
+    }
+
+    @Nonnull
+    @Override
+    public ItemStack getItem() {
+        return bukkitItem;
+    }
+
+    @Override
+    public boolean hasString(@Nonnull String plugin, @Nonnull String key) {
+        return nbt().has(NBTKeys.getKey(plugin, key), PersistentDataType.STRING);
+    }
+
+    @Override
+    public String getString(@Nonnull String plugin, @Nonnull String key, String def) {
+        return nbt().getOrDefault(NBTKeys.getKey(plugin, key), PersistentDataType.STRING, def);
+    }
+
+    @Override
+    public void setString(@Nonnull String plugin, @Nonnull String key, String value) {
+        nbt().set(NBTKeys.getKey(plugin, key), PersistentDataType.STRING, value);
+        dirty = true;
+    }
+
+    @Override
+    public boolean hasInt(@Nonnull String plugin, @Nonnull String key) {
+        return nbt().has(NBTKeys.getKey(plugin, key), PersistentDataType.INTEGER);
+    }
+
+    @Override
+    public int getInt(@Nonnull String plugin, @Nonnull String key, int def) {
+        return nbt().getOrDefault(NBTKeys.getKey(plugin, key), PersistentDataType.INTEGER, def);
+    }
+
+    @Override
+    public void setInt(@Nonnull String plugin, @Nonnull String key, int value) {
+        nbt().set(NBTKeys.getKey(plugin, key), PersistentDataType.INTEGER, value);
+        dirty = true;
+    }
+
+    @Override
+    public boolean hasDouble(@Nonnull String plugin, @Nonnull String key) {
+        return nbt().has(NBTKeys.getKey(plugin, key), PersistentDataType.DOUBLE);
+    }
+
+    @Override
+    public double getDouble(@Nonnull String plugin, @Nonnull String key, double def) {
+        return nbt().getOrDefault(NBTKeys.getKey(plugin, key), PersistentDataType.DOUBLE, def);
+    }
+
+    @Override
+    public void setDouble(@Nonnull String plugin, @Nonnull String key, double value) {
+        nbt().set(NBTKeys.getKey(plugin, key), PersistentDataType.DOUBLE, value);
+        dirty = true;
+    }
+
+    @Override
+    public boolean hasArray(@Nonnull String plugin, @Nonnull String key) {
+        return nbt().has(NBTKeys.getKey(plugin, key), PersistentDataType.INTEGER_ARRAY);
+    }
+
+    @Override
+    public int[] getArray(@Nonnull String plugin, @Nonnull String key, int[] def) {
+        return nbt().getOrDefault(NBTKeys.getKey(plugin, key), PersistentDataType.INTEGER_ARRAY, def);
+    }
+
+    @Override
+    public void setArray(@Nonnull String plugin, @Nonnull String key, int[] value) {
+        nbt().set(NBTKeys.getKey(plugin, key), PersistentDataType.INTEGER_ARRAY, value);
+        dirty = true;
+    }
+
+    @Override
+    public void remove(@Nonnull String plugin, @Nonnull String key) {
+        nbt().remove(NBTKeys.getKey(plugin, key));
+        dirty = true;
+    }
+
+    @Override
+    public void apply() {
+        if (!dirty)
+            return;
+
+        bukkitItem.setItemMeta(meta);
+        dirty = false;
+    }
+}
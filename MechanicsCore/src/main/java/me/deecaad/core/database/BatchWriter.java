@@ -0,0 +1,413 @@
+package me.deecaad.core.database;
+
+import me.deecaad.core.MechanicsCore;
+import me.deecaad.core.utils.LogLevel;
+import org.bukkit.Bukkit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * This class writes rows to a {@link Database} on 1 dedicated thread
+ * (write-behind). Instead of starting a new async task for every update,
+ * rows are queued with {@link #submit(Object, String, Object...)} and the
+ * writer commits them in batches, using 1 {@link PreparedStatement} per SQL
+ * statement with bound parameters.
+ *
+ * <p>Every row has a key. When a row is submitted while a row with the same
+ * key is still queued, the queued row is replaced (coalesced), so a row that
+ * changes many times before it is written is only written once.
+ *
+ * <p>The queue is bounded. When it is full, {@link #submit(Object, String, Object...)}
+ * blocks until the writer has taken the next batch, unless it is used on
+ * the main server thread. A slow database should never freeze the server,
+ * so rows submitted on the main thread are queued over the capacity instead,
+ * and counted by {@link #getRowsOverflowed()}. Since rows are coalesced by
+ * key, the overflow is bounded by the amount of different keys.
+ *
+ * <p>A batch is committed once it has <code>batchSize</code> rows, or once
+ * the oldest queued row has waited <code>maxDelay</code> milliseconds.
+ */
+public class BatchWriter {
+
+    private final Database database;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+
+    // Guarded by lock. Insertion order is kept, so rows are written in the
+    // order they were first submitted.
+    private final LinkedHashMap<Object, Row> pending;
+    private final Set<Object> inFlight = new HashSet<>(); // Keys of the batch being written
+    private long oldestNanos;
+    private boolean writing;
+    private boolean flushRequested;
+    private boolean closed;
+
+    private final Thread thread;
+
+    // Metrics, written by the writer thread (rowsCoalesced and rowsOverflowed are written while holding the lock)
+    private volatile int lastBatchSize;
+    private volatile long lastCommitNanos;
+    private volatile long maxCommitNanos;
+    private volatile long batches;
+    private volatile long rowsWritten;
+    private volatile long rowsCoalesced;
+    private volatile long rowsOverflowed;
+    private volatile long failedBatches;
+
+    /**
+     * Creates and starts a new writer.
+     *
+     * @param database  The non-null database to write to.
+     * @param name      The non-null name of the writer thread.
+     * @param capacity  The maximum amount of queued rows.
+     * @param batchSize The maximum amount of rows committed at once.
+     * @param maxDelay  The maximum time, in milliseconds, a row is queued
+     *                  before it is written.
+     */
+    public BatchWriter(@Nonnull Database database, @Nonnull String name, int capacity, int batchSize, long maxDelay) {
+        if (capacity < 1 || batchSize < 1 || maxDelay < 0)
+            throw new IllegalArgumentException("Invalid writer settings: capacity=" + capacity + ", batchSize=" + batchSize + ", maxDelay=" + maxDelay);
+
+        this.database = database;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+        this.pending = new LinkedHashMap<>();
+
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues the given row to be written. If a row with the same key is
+     * already queued, it is replaced. The parameters are bound in order to
+     * the <code>?</code> placeholders of the SQL statement, so they must not
+     * be modified after this method is called.
+     *
+     * <p>When the queue is full, this method blocks until there is space,
+     * unless it is used on the main server thread.
+     *
+     * @param key        The non-null key that identifies the row.
+     * @param sql        The non-null SQL statement, like <code>"REPLACE INTO table (a, b) VALUES (?, ?)"</code>.
+     * @param parameters The parameters of the statement.
+     */
+    public void submit(@Nonnull Object key, @Nonnull String sql, Object... parameters) {
+        Row row = new Row(key, sql, parameters);
+
+        lock.lock();
+        try {
+            if (closed)
+                throw new IllegalStateException("Tried to submit a row after the writer was closed");
+
+            if (pending.containsKey(key)) {
+                pending.put(key, row);
+                rowsCoalesced++;
+                return;
+            }
+
+            if (pending.size() >= capacity && Bukkit.isPrimaryThread()) {
+                rowsOverflowed++;
+            } else {
+                while (pending.size() >= capacity && !closed)
+                    notFull.awaitUninterruptibly();
+            }
+
+            if (closed)
+                throw new IllegalStateException("Writer was closed while waiting for space");
+
+            if (pending.isEmpty())
+                oldestNanos = System.nanoTime();
+
+            pending.put(key, row);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every row queued before this method was called has been
+     * written.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            flushRequested = true;
+            notEmpty.signal();
+            while (!pending.isEmpty() || writing)
+                idle.awaitUninterruptibly();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every queued row whose key matches the given filter has
+     * been written (or failed to write). Rows with other keys may be written
+     * too. Used before reading rows from the database, so a read never
+     * misses a row that is still queued. Should not be used on the main
+     * server thread.
+     *
+     * @param keys The non-null filter for the keys to wait for.
+     */
+    public void flush(@Nonnull Predicate<Object> keys) {
+        lock.lock();
+        try {
+            while (contains(pending.keySet(), keys) || contains(inFlight, keys)) {
+                flushRequested = true;
+                notEmpty.signal();
+                idle.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean contains(Set<Object> set, Predicate<Object> keys) {
+        for (Object key : set) {
+            if (keys.test(key))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes every queued row, and stops the writer thread. This method
+     * blocks until the queued rows are written.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Row> batch = new ArrayList<>(batchSize);
+        while (true) {
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    flushRequested = false;
+                    idle.signalAll();
+                    notEmpty.awaitUninterruptibly();
+                }
+
+                if (pending.isEmpty()) {
+                    idle.signalAll();
+                    return;
+                }
+
+                // Wait for a full batch, unless the oldest row has waited long enough
+                while (pending.size() < batchSize && !closed && !flushRequested) {
+                    long remaining = oldestNanos + maxDelayNanos - System.nanoTime();
+                    if (remaining <= 0)
+                        break;
+
+                    try {
+                        notEmpty.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+
+                Iterator<Row> iterator = pending.values().iterator();
+                while (iterator.hasNext() && batch.size() < batchSize) {
+                    Row row = iterator.next();
+                    batch.add(row);
+                    inFlight.add(row.key);
+                    iterator.remove();
+                }
+
+                oldestNanos = System.nanoTime();
+                writing = true;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                write(batch);
+            } finally {
+                batch.clear();
+
+                // Per key flushes wait for the batch, even if it failed
+                lock.lock();
+                try {
+                    writing = false;
+                    inFlight.clear();
+                    idle.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private void write(List<Row> batch) {
+        long start = System.nanoTime();
+
+        // Rows with the same SQL share 1 prepared statement
+        Map<String, List<Object[]>> statements = new LinkedHashMap<>();
+        for (Row row : batch)
+            statements.computeIfAbsent(row.sql, k -> new ArrayList<>()).add(row.parameters);
+
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = database.getConnection();
+            connection.setAutoCommit(false);
+
+            for (Map.Entry<String, List<Object[]>> entry : statements.entrySet()) {
+                statement = connection.prepareStatement(entry.getKey());
+                for (Object[] parameters : entry.getValue()) {
+                    for (int i = 0; i < parameters.length; i++)
+                        bind(statement, i + 1, parameters[i]);
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+                statement.close();
+                statement = null;
+            }
+
+            connection.commit();
+            connection.setAutoCommit(true);
+        } catch (Throwable e) {
+            // Anything thrown here would kill the writer thread, and every
+            // flush would wait forever
+            failedBatches++;
+            MechanicsCore.debug.log(LogLevel.ERROR, "Failed to write " + batch.size() + " rows", e);
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                } catch (SQLException ex) {
+                    MechanicsCore.debug.log(LogLevel.ERROR, ex);
+                }
+            }
+            return;
+        } finally {
+            database.close(connection, statement, null);
+        }
+
+        long time = System.nanoTime() - start;
+        lastBatchSize = batch.size();
+        lastCommitNanos = time;
+        if (time > maxCommitNanos)
+            maxCommitNanos = time;
+        batches++;
+        rowsWritten += batch.size();
+    }
+
+    private static void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+        if (value == null)
+            statement.setNull(index, Types.NULL);
+        else
+            statement.setObject(index, value);
+    }
+
+    /**
+     * @return The amount of rows waiting to be written.
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The amount of rows in the last committed batch.
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * @return The time, in nanoseconds, the last batch took to commit.
+     */
+    public long getLastCommitNanos() {
+        return lastCommitNanos;
+    }
+
+    /**
+     * @return The longest time, in nanoseconds, a batch took to commit.
+     */
+    public long getMaxCommitNanos() {
+        return maxCommitNanos;
+    }
+
+    /**
+     * @return The amount of committed batches.
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return The amount of written rows.
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * @return The amount of rows that replaced a queued row.
+     */
+    public long getRowsCoalesced() {
+        return rowsCoalesced;
+    }
+
+    /**
+     * @return The amount of rows submitted on the main thread while the queue was full.
+     */
+    public long getRowsOverflowed() {
+        return rowsOverflowed;
+    }
+
+    /**
+     * @return The amount of batches that failed to commit.
+     */
+    public long getFailedBatches() {
+        return failedBatches;
+    }
+
+    private record Row(Object key, String sql, Object[] parameters) {
+    }
+}
@@ -1,6 +1,5 @@
 package me.deecaad.core.mechanics.defaultmechanics;
 
-import me.deecaad.core.MechanicsCore;
 import me.deecaad.core.file.InlineSerializer;
 import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.SerializerException;
@@ -9,7 +8,8 @@ import me.deecaad.core.mechanics.CastData;
 import me.deecaad.core.mechanics.conditions.Condition;
 import me.deecaad.core.mechanics.targeters.Targeter;
 import me.deecaad.core.utils.NumberUtil;
-import org.bukkit.scheduler.BukkitRunnable;
+import me.deecaad.core.utils.scheduler.TaskCategory;
+import me.deecaad.core.utils.scheduler.WheelTask;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -22,6 +22,8 @@ import java.util.List;
  */
 public abstract class Mechanic implements InlineSerializer<Mechanic> {
 
+    public static final TaskCategory REPEAT_TASKS = TaskCategory.of("MechanicsCore", "Mechanic Repeat");
+
     // package-private so the serializer can set them phase
     public Targeter targeter;
     public List<Condition> conditions;
@@ -96,7 +98,7 @@ public abstract class Mechanic implements InlineSerializer<Mechanic> {
         }
 
         // Schedule a repeating event to trigger the mechanic multiple times.
-        int task = new BukkitRunnable() {
+        int task = new WheelTask() {
             int runs = 0;
 
             @Override
@@ -115,7 +117,7 @@ public abstract class Mechanic implements InlineSerializer<Mechanic> {
                     use0(target);
                 }
             }
-        }.runTaskTimer(MechanicsCore.getPlugin(), delayBeforePlay, repeatInterval - 1).getTaskId();
+        }.runTaskTimer(REPEAT_TASKS, delayBeforePlay, repeatInterval - 1).getTaskId();
 
         // This allows developers to consume task ids from playing a Mechanic.
         // Good for canceling tasks early.
@@ -16,7 +16,10 @@ import static me.deecaad.core.MechanicsCore.debug;
 public class PlaceholderAPI {
 
     private static final Map<String, PlaceholderHandler> placeholderHandlers = new HashMap<>();
-    private static final Pattern PLACEHOLDERS = Pattern.compile("%([^%,^\\s]+)%");
+    static final Pattern PLACEHOLDERS = Pattern.compile("%([^%,^\\s]+)%");
+
+    // Whether Clip's PlaceholderAPI is installed, checked on first use
+    private static Boolean clipPlaceholders;
 
     /**
      * Same placeholder name can't be added twice
@@ -103,13 +106,35 @@ public class PlaceholderAPI {
                 to = to.replace("%" + currentPlaceholder + "%", request);
             }
         }
-        try {
-            Class.forName("me.clip.placeholderapi.PlaceholderAPI");
+        if (hasClipPlaceholders())
             to = me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, to);
-        } catch (ClassNotFoundException e) {/**/}
         return StringUtil.color(to);
     }
 
+    /**
+     * @param placeholderName the lowercase placeholder name (for example %my-placeholder%)
+     * @return the placeholder handler or null
+     */
+    @Nullable
+    static PlaceholderHandler getPlaceholderHandler(String placeholderName) {
+        return placeholderHandlers.get(placeholderName);
+    }
+
+    /**
+     * @return true if Clip's PlaceholderAPI is installed
+     */
+    static boolean hasClipPlaceholders() {
+        if (clipPlaceholders == null) {
+            try {
+                Class.forName("me.clip.placeholderapi.PlaceholderAPI");
+                clipPlaceholders = true;
+            } catch (ClassNotFoundException e) {
+                clipPlaceholders = false;
+            }
+        }
+        return clipPlaceholders;
+    }
+
     /**
      * Creates new list based on given collection.
      *
@@ -169,5 +194,6 @@ public class PlaceholderAPI {
      */
     public static void onDisable() {
         placeholderHandlers.clear();
+        clipPlaceholders = null;
     }
 }
\ No newline at end of file
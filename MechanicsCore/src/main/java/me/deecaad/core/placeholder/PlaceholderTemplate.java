@@ -0,0 +1,190 @@
+package me.deecaad.core.placeholder;
+
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.core.utils.StringUtil;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+import static me.deecaad.core.MechanicsCore.debug;
+
+/**
+ * An immutable, precompiled version of a message that contains
+ * placeholders. {@link PlaceholderAPI#applyPlaceholders(String, Player, ItemStack, String, EquipmentSlot)}
+ * searches the message with a regex and replaces every placeholder with
+ * {@link String#replace(CharSequence, CharSequence)} every time it is used.
+ * A template splits the message into literal and placeholder segments
+ * once, and colors the literal segments once, so {@link #apply(Player, ItemStack, String, EquipmentSlot)}
+ * is a single pass over the segments.
+ *
+ * <p>When the message is passed to Clip's PlaceholderAPI, it is built from
+ * the uncolored segments and colored once after Clip's placeholders are
+ * applied, like {@link PlaceholderAPI#applyPlaceholders(String, Player, ItemStack, String, EquipmentSlot)}.
+ * Coloring twice would turn escaped <code>\&amp;</code> into color codes.
+ *
+ * <p>Use templates for messages that are sent often, like action bars and
+ * boss bars. Placeholder handlers are looked up when the template is
+ * applied, so templates may be compiled before handlers are registered.
+ */
+public final class PlaceholderTemplate {
+
+    private final String source;
+
+    // For placeholder segments, the key is the lowercase "%name%" and the
+    // part is the original text (used when the placeholder is unknown).
+    // For literal segments, the key is null and the part is colored. The
+    // raw part is the uncolored text, used for Clip's PlaceholderAPI.
+    private final String[] keys;
+    private final String[] parts;
+    private final String[] rawParts;
+    private final int length;
+
+    // Clip's placeholders may contain characters our placeholders can't
+    private final boolean literalPercent;
+
+    private PlaceholderTemplate(String source, String[] keys, String[] parts, String[] rawParts, int length) {
+        this.source = source;
+        this.keys = keys;
+        this.parts = parts;
+        this.rawParts = rawParts;
+        this.length = length;
+
+        boolean literalPercent = false;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null && rawParts[i].indexOf('%') != -1)
+                literalPercent = true;
+        }
+        this.literalPercent = literalPercent;
+    }
+
+    /**
+     * Compiles the given message into a template.
+     *
+     * @param source The non-null message, with '&amp;' color codes.
+     * @return The non-null compiled template.
+     */
+    @Nonnull
+    public static PlaceholderTemplate compile(@Nonnull String source) {
+        List<String> keys = new ArrayList<>();
+        List<String> parts = new ArrayList<>();
+        List<String> rawParts = new ArrayList<>();
+        int length = 0;
+
+        Matcher matcher = PlaceholderAPI.PLACEHOLDERS.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() != last) {
+                String raw = source.substring(last, matcher.start());
+                String literal = StringUtil.color(raw);
+                keys.add(null);
+                parts.add(literal);
+                rawParts.add(raw);
+                length += literal.length();
+            }
+
+            keys.add("%" + matcher.group(1).toLowerCase(Locale.ROOT) + "%");
+            parts.add(matcher.group());
+            rawParts.add(matcher.group());
+            last = matcher.end();
+        }
+
+        if (last != source.length()) {
+            String raw = source.substring(last);
+            String literal = StringUtil.color(raw);
+            keys.add(null);
+            parts.add(literal);
+            rawParts.add(raw);
+            length += literal.length();
+        }
+
+        String[] array = new String[0];
+        return new PlaceholderTemplate(source, keys.toArray(array), parts.toArray(array), rawParts.toArray(array), length);
+    }
+
+    /**
+     * @return The non-null message this template was compiled from.
+     */
+    @Nonnull
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @see #apply(Player, ItemStack, String, EquipmentSlot, Map)
+     */
+    public String apply(@Nullable Player player, @Nullable ItemStack itemStack, @Nullable String itemTitle, @Nullable EquipmentSlot slot) {
+        return apply(player, itemStack, itemTitle, slot, null);
+    }
+
+    /**
+     * Applies all possible placeholders, the same way as
+     * {@link PlaceholderAPI#applyPlaceholders(String, Player, ItemStack, String, EquipmentSlot, Map)}.
+     * Includes Clip's PlaceholderAPI support, which is only used when a
+     * placeholder was not found, or when the message has other '%' signs.
+     *
+     * @param player the player involved in event or null
+     * @param itemStack the item stack involved in event or null
+     * @param itemTitle the item title involved in this request, can be null
+     * @param slot the weapon slot involved in this request, can be null
+     * @param temp the temporary placeholders to be used
+     * @return the colored string with applied placeholders
+     */
+    public String apply(@Nullable Player player, @Nullable ItemStack itemStack, @Nullable String itemTitle, @Nullable EquipmentSlot slot, @Nullable Map<String, String> temp) {
+        StringBuilder builder = new StringBuilder(length + 16 * keys.length);
+        boolean unresolved = false;
+
+        // Only messages that may contain Clip's placeholders are colored after Clip
+        boolean clip = source.indexOf('%') != -1 && PlaceholderAPI.hasClipPlaceholders();
+        String[] literals = clip ? rawParts : parts;
+
+        for (int i = 0; i < keys.length; i++) {
+            String key = keys[i];
+            if (key == null) {
+                builder.append(literals[i]);
+                continue;
+            }
+
+            String request = temp == null ? null : temp.get(key);
+            if (request == null) {
+                PlaceholderHandler placeholderHandler = PlaceholderAPI.getPlaceholderHandler(key);
+                if (placeholderHandler != null) {
+                    try {
+                        request = placeholderHandler.onRequest(player, itemStack, itemTitle, slot);
+                    } catch (Exception e) {
+                        debug.log(LogLevel.WARN, "Placeholder using keyword " + placeholderHandler.getPlaceholderName() + " caused this exception!", e);
+                    }
+                }
+            }
+
+            if (request == null) {
+                builder.append(parts[i]);
+                unresolved = true;
+            } else if (clip || request.indexOf('&') == -1) {
+                builder.append(request);
+            } else {
+                builder.append(StringUtil.color(request));
+            }
+        }
+
+        String result = builder.toString();
+        if (!clip)
+            return result;
+
+        if (unresolved || literalPercent)
+            result = me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, result);
+        return StringUtil.color(result);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,166 @@
+package me.deecaad.core.utils;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class outlines an immutable mapping of elements to a weight, which
+ * returns random elements using Vose's alias method. Unlike
+ * {@link ProbabilityMap}, which uses an O(log n) lookup in a tree, getting
+ * a random element is O(1) (1 random index, and 1 random coin flip).
+ *
+ * <p>Since the sampler cannot be modified after it is built, it is safe to
+ * use from multiple threads at the same time.
+ *
+ * @param <E> The type of the element to store.
+ */
+public final class AliasSampler<E> {
+
+    private final Object[] elements;
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds the alias table for the given elements.
+     *
+     * @param elements The non-null elements to sample.
+     * @param weights  The non-negative weight of each element.
+     * @throws IllegalArgumentException If the arrays have different lengths,
+     *                                  or if a weight is negative.
+     */
+    public AliasSampler(@Nonnull List<E> elements, @Nonnull double[] weights) {
+        int n = elements.size();
+        if (n != weights.length)
+            throw new IllegalArgumentException("Got " + n + " elements, but " + weights.length + " weights");
+
+        double total = 0.0;
+        for (double weight : weights) {
+            if (weight < 0.0 || Double.isNaN(weight))
+                throw new IllegalArgumentException("Weights cannot be negative, got " + weight);
+            total += weight;
+        }
+
+        // Elements with no weight can never be returned, so they are not
+        // included in the table at all.
+        List<Object> included = new ArrayList<>(n);
+        List<Double> includedWeights = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (weights[i] > 0.0) {
+                included.add(elements.get(i));
+                includedWeights.add(weights[i]);
+            }
+        }
+
+        n = included.size();
+        this.elements = included.toArray();
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // Scale the weights, so the average weight is 1. Then every column
+        // of the table is filled with 1 "small" element (weight < 1), and
+        // the rest of the column is taken from 1 "large" element.
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = includedWeights.get(i) * n / total;
+            if (scaled[i] < 1.0)
+                small[smallSize++] = i;
+            else
+                large[largeSize++] = i;
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0)
+                small[smallSize++] = more;
+            else
+                large[largeSize++] = more;
+        }
+
+        // Whatever is left over should have a weight of exactly 1, but
+        // floating point errors may leave it slightly off.
+        while (largeSize > 0)
+            probability[large[--largeSize]] = 1.0;
+        while (smallSize > 0)
+            probability[small[--smallSize]] = 1.0;
+    }
+
+    /**
+     * Builds an immutable sampler with the same elements and weights as the
+     * given map.
+     *
+     * @param map The non-null map to copy.
+     * @param <E> The type of the element to store.
+     * @return The non-null sampler.
+     */
+    @Nonnull
+    public static <E> AliasSampler<E> of(@Nonnull ProbabilityMap<E> map) {
+        List<E> elements = new ArrayList<>(map.size());
+        double[] weights = new double[map.size()];
+        for (ProbabilityMap.Node<E> node : map) {
+            weights[elements.size()] = node.getChance();
+            elements.add(node.getValue());
+        }
+        return new AliasSampler<>(elements, weights);
+    }
+
+    /**
+     * Returns a random element based on each element's weight. If there are
+     * no elements (with a positive weight), then this method will return
+     * <code>null</code>.
+     *
+     * @return The randomized element.
+     */
+    public E get() {
+        return get(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a random element based on each element's weight, using the
+     * given random number generator. If there are no elements (with a
+     * positive weight), then this method will return <code>null</code>.
+     *
+     * @param random The non-null random number generator.
+     * @return The randomized element.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(@Nonnull Random random) {
+        if (elements.length == 0)
+            return null;
+
+        int column = random.nextInt(elements.length);
+        return (E) elements[random.nextDouble() < probability[column] ? column : alias[column]];
+    }
+
+    /**
+     * Returns <code>true</code> if there are no elements with a positive
+     * weight.
+     *
+     * @return <code>true</code> if the sampler is empty.
+     */
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    /**
+     * Returns the number of elements with a positive weight.
+     *
+     * @return The amount of elements in the sampler.
+     */
+    public int size() {
+        return elements.length;
+    }
+}
@@ -6,6 +6,14 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -15,6 +23,15 @@ import java.util.logging.Logger;
  * only shown when the user wants to see debug messages, and errors are shown
  * if users want errors to be shown.
  *
+ * <p>Messages that are expensive to build should use
+ * {@link #log(LogLevel, Supplier)} or {@link #logFormat(LogLevel, String, Object...)},
+ * so the message is only built when it will be logged. In loops, check
+ * {@link #canLog(LogLevel)} once before the loop. Warnings that may repeat
+ * every tick should use {@link #logLimited(LogLevel, String, long, Supplier, Throwable)}.
+ *
+ * <p>When {@link #setAsync(boolean)} is enabled, messages are written to the
+ * logger by a separate thread, so console I/O never blocks the caller.
+ *
  * @see LogLevel
  */
 public class Debugger {
@@ -32,6 +49,10 @@ public class Debugger {
     private final BukkitRunnable warningTask;
     private boolean hasStarted;
 
+    // Key -> rate limit state, for logLimited
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    private volatile ExecutorService appender;
+
     public Debugger(Logger logger, int level) {
         this(logger, level, false);
     }
@@ -145,6 +166,132 @@ public class Debugger {
         if (canLog(LogLevel.ERROR)) log(LogLevel.ERROR, msg);
     }
 
+    /**
+     * Logs the message returned by the given supplier at the given
+     * {@link LogLevel}. The supplier is only called if the level can be
+     * logged, so building the message costs nothing when it is filtered out.
+     *
+     * @param level The non-null level to log the message.
+     * @param msg   The non-null supplier of the message.
+     */
+    public void log(LogLevel level, Supplier<String> msg) {
+        if (!canLog(level)) return;
+
+        log(level, msg.get());
+    }
+
+    /**
+     * Logs the given pattern at the given {@link LogLevel}, replacing each
+     * <code>{}</code> in the pattern with the next argument. The message is
+     * only built if the level can be logged. If there is 1 more argument than
+     * placeholders, and that argument is a {@link Throwable}, it is logged
+     * as the exception.
+     *
+     * @param level   The non-null level to log the message.
+     * @param pattern The non-null message with <code>{}</code> placeholders.
+     * @param args    The arguments to fill the placeholders with.
+     */
+    public void logFormat(LogLevel level, String pattern, Object... args) {
+        if (!canLog(level)) return;
+
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * args.length);
+        int start = 0;
+        int arg = 0;
+        int index;
+        while (arg < args.length && (index = pattern.indexOf("{}", start)) != -1) {
+            builder.append(pattern, start, index).append(args[arg++]);
+            start = index + 2;
+        }
+        builder.append(pattern, start, pattern.length());
+
+        if (arg == args.length - 1 && args[arg] instanceof Throwable error)
+            log(level, builder.toString(), error);
+        else
+            log(level, builder.toString());
+    }
+
+    /**
+     * Logs the message returned by the given supplier, at most once every
+     * <code>intervalMillis</code> for the given <code>key</code>. Messages
+     * with the same key that are logged during the interval are counted,
+     * and the count is added to the next message that is logged. Use this
+     * for warnings that may repeat every tick.
+     *
+     * @param level          The non-null level to log the message.
+     * @param key            The non-null key that identifies similar messages.
+     * @param intervalMillis The minimum time between messages with the same key.
+     * @param msg            The non-null supplier of the message.
+     * @param error          The nullable exception to log with the message.
+     */
+    public void logLimited(LogLevel level, String key, long intervalMillis, Supplier<String> msg, @Nullable Throwable error) {
+        if (!canLog(level)) return;
+
+        int suppressed;
+        Limit limit = limits.computeIfAbsent(key, k -> new Limit());
+        synchronized (limit) {
+            long now = System.currentTimeMillis();
+            if (limit.lastLog != 0L && now - limit.lastLog < intervalMillis) {
+                limit.suppressed++;
+                return;
+            }
+
+            suppressed = limit.suppressed;
+            limit.lastLog = now;
+            limit.suppressed = 0;
+        }
+
+        String message = msg.get();
+        if (suppressed > 0)
+            message += " (" + suppressed + " similar message(s) were hidden)";
+
+        if (error == null)
+            log(level, message);
+        else
+            log(level, message, error);
+    }
+
+    /**
+     * Sets whether messages are written to the logger by a separate thread.
+     * When disabled, messages that were already queued are written first.
+     *
+     * @param async true to write messages asynchronously.
+     */
+    public synchronized void setAsync(boolean async) {
+        if (async == (appender != null))
+            return;
+
+        if (async) {
+            appender = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, logger.getName() + " Log Appender");
+                thread.setDaemon(true);
+                return thread;
+            });
+            return;
+        }
+
+        ExecutorService temp = appender;
+        appender = null;
+        temp.shutdown();
+        try {
+            if (!temp.awaitTermination(5, TimeUnit.SECONDS))
+                temp.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isAsync() {
+        return appender != null;
+    }
+
+    /**
+     * Writes every queued message, and stops the asynchronous appender (if
+     * it was enabled). Should be used when the plugin is disabled.
+     */
+    public void close() {
+        setAsync(false);
+    }
+
     /**
      * Logs the given messages to console at the given {@link LogLevel}.
      *
@@ -155,7 +302,7 @@ public class Debugger {
         if (!canLog(level)) return;
 
         for (String str : msg) {
-            logger.log(level.getParallel(), str);
+            write(level.getParallel(), str, null);
         }
 
         // Used if we want to find the origin of an error
@@ -179,7 +326,7 @@ public class Debugger {
     public void log(LogLevel level, Throwable error) {
         if (!canLog(level)) return;
 
-        logger.log(level.getParallel(), "", error);
+        write(level.getParallel(), "", error);
     }
 
     /**
@@ -195,7 +342,21 @@ public class Debugger {
     public void log(LogLevel level, String msg, Throwable error) {
         if (!canLog(level)) return;
 
-        logger.log(level.getParallel(), msg, error);
+        write(level.getParallel(), msg, error);
+    }
+
+    private void write(Level level, String msg, @Nullable Throwable error) {
+        ExecutorService appender = this.appender;
+        if (appender != null) {
+            try {
+                appender.execute(() -> logger.log(level, msg, error));
+                return;
+            } catch (RuntimeException ignore) {
+                // The appender was shut down, so log on this thread
+            }
+        }
+
+        logger.log(level, msg, error);
     }
 
     /**
@@ -240,4 +401,9 @@ public class Debugger {
 
         hasStarted = true;
     }
+
+    private static final class Limit {
+        private long lastLog;
+        private int suppressed;
+    }
 }
@@ -1,15 +1,16 @@
 package me.deecaad.core.utils;
 
 import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.ICompatibility;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * This final utility class outlines static methods involving the visible
@@ -66,46 +67,44 @@ public final class DistanceUtil {
         if (world == null)
             throw new IllegalArgumentException();
 
-        // AABB
-        double x1max = origin.getX() - max;
-        double y1max = origin.getY() - max;
-        double z1max = origin.getZ() - max;
-        double x2max = origin.getX() + max;
-        double y2max = origin.getY() + max;
-        double z2max = origin.getZ() + max;
-
-        double x1min = origin.getX() - min;
-        double y1min = origin.getY() - min;
-        double z1min = origin.getZ() - min;
-        double x2min = origin.getX() + min;
-        double y2min = origin.getY() + min;
-        double z2min = origin.getZ() + min;
+        double x = origin.getX();
+        double y = origin.getY();
+        double z = origin.getZ();
 
         // Collect all players in box
-        List<Player> players = new LinkedList<>();
-        for (Player player : world.getPlayers()) {
-            Location pos = player.getLocation();
-
-            if (pos.getX() > x1max && pos.getX() < x2max
-                    && pos.getY() > y1max && pos.getY() < y2max
-                    && pos.getZ() > z1max && pos.getZ() < z2max) {
-
-                // Minimum range exclusion check, if applicable
-                if (min != -1) {
-                    if (pos.getX() > x1min && pos.getX() < x2min
-                            && pos.getY() > y1min && pos.getY() < y2min
-                            && pos.getZ() > z1min && pos.getZ() < z2min) {
-                        continue;
-                    }
-                }
-
-                players.add(player);
+        List<Player> players = new ArrayList<>();
+        PlayerIndex.forEachPlayerInRange(world, x, y, z, max, player -> {
+
+            // Minimum range exclusion check, if applicable
+            if (min != -1) {
+                Location pos = player.getLocation();
+                if (Math.abs(pos.getX() - x) < min && Math.abs(pos.getY() - y) < min && Math.abs(pos.getZ() - z) < min)
+                    return;
             }
-        }
+
+            players.add(player);
+        });
 
         return players;
     }
 
+    /**
+     * Runs the given consumer for every player who can see the given
+     * {@link Location}. The distance that a player can see is defined by
+     * {@link #getRange(World)}. Unlike {@link #getPlayersInRange(Location)},
+     * this method does not allocate a list.
+     *
+     * @param origin   The coordinates the players need to see.
+     * @param consumer The non-null action to run for every player in view.
+     */
+    public static void forEachPlayerInRange(@Nonnull Location origin, @Nonnull Consumer<Player> consumer) {
+        World world = origin.getWorld();
+        if (world == null)
+            throw new IllegalArgumentException("Cannot have null world");
+
+        PlayerIndex.forEachPlayerInRange(world, origin.getX(), origin.getY(), origin.getZ(), getRange(world), consumer);
+    }
+
     /**
      * Sends the given packet to all players who can see the given
      * {@link Location}. The distance that a player can see is defined by
@@ -131,11 +130,7 @@ public final class DistanceUtil {
         if (origin.getWorld() == null)
             throw new IllegalArgumentException("Cannot have null world");
 
-        for (Player entity : getPlayersInRange(origin)) {
-            if (entity.getType() != EntityType.PLAYER) {
-                continue;
-            }
-            CompatibilityAPI.getCompatibility().sendPackets(entity, packets);
-        }
+        ICompatibility compatibility = CompatibilityAPI.getCompatibility();
+        forEachPlayerInRange(origin, player -> compatibility.sendPackets(player, packets));
     }
 }
@@ -0,0 +1,207 @@
+package me.deecaad.core.utils;
+
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.ICompatibility;
+import me.deecaad.core.utils.primitive.IntMap;
+import me.deecaad.core.utils.primitive.LongMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class collects block packets (like block crack packets) during a
+ * tick, and sends them all at once. Sending a packet using
+ * {@link DistanceUtil#sendPacket(Location, Object...)} checks the distance
+ * to every player in the world, for every packet. Instead, queued packets
+ * are grouped by the 16 x 16 x 16 section they are in, the players that can
+ * see each section are found once using the {@link PlayerIndex}, and every
+ * player receives all of their packets in 1 call.
+ *
+ * <p>Each block keeps only the latest packet queued for it, since block
+ * packets overwrite each other on the client. So only queue packets that
+ * replace the previous packet for the same block, like crack packets with
+ * the same id.
+ *
+ * <p>Packets are sent by {@link #flush()}, which MechanicsCore runs once
+ * every tick. This class is not threadsafe, and should only be used on the
+ * main server thread.
+ */
+public final class PacketBroadcaster {
+
+    private static final Map<World, LongMap<Section>> QUEUE = new HashMap<>();
+
+    // Counters for the current tick, and for the last flushed tick
+    private static int queued;
+    private static int coalesced;
+    private static int lastQueued;
+    private static int lastCoalesced;
+    private static int lastSent;
+    private static int lastRecipients;
+    private static long lastFlushNanos;
+
+    /**
+     * Don't let anyone instantiate this class
+     */
+    private PacketBroadcaster() {
+    }
+
+    /**
+     * Shorthand for {@link #queue(World, int, int, int, Object)}.
+     *
+     * @param block  The non-null block the packet is about.
+     * @param packet The non-null packet to send.
+     */
+    public static void queue(@Nonnull Block block, @Nonnull Object packet) {
+        queue(block.getWorld(), block.getX(), block.getY(), block.getZ(), packet);
+    }
+
+    /**
+     * Queues the given packet to be sent to every player that can see the
+     * given block, at the end of this tick. If a packet was already queued
+     * for the same block this tick, it is replaced.
+     *
+     * @param world  The non-null world the block is in.
+     * @param x      The x coordinate of the block.
+     * @param y      The y coordinate of the block.
+     * @param z      The z coordinate of the block.
+     * @param packet The non-null packet to send.
+     */
+    public static void queue(@Nonnull World world, int x, int y, int z, @Nonnull Object packet) {
+        int sectionX = x >> 4;
+        int sectionY = y >> 4;
+        int sectionZ = z >> 4;
+        long key = ((long) (sectionX & 0x3FFFFFF) << 38) | ((long) (sectionZ & 0x3FFFFFF) << 12) | (sectionY & 0xFFF);
+
+        LongMap<Section> sections = QUEUE.computeIfAbsent(world, k -> new LongMap<>(64));
+        Section section = sections.get(key);
+        if (section == null) {
+            section = new Section(sectionX, sectionY, sectionZ);
+            sections.put(key, section);
+        }
+
+        queued++;
+        if (section.packets.put(((y & 15) << 8) | ((z & 15) << 4) | (x & 15), packet) != null)
+            coalesced++;
+    }
+
+    /**
+     * Sends every queued packet to the players that can see it, and clears
+     * the queue. The distance that a player can see is defined by
+     * {@link DistanceUtil#getRange(World)}.
+     */
+    public static void flush() {
+        long start = System.nanoTime();
+        int sent = 0;
+        int recipients = 0;
+
+        if (!QUEUE.isEmpty()) {
+            Map<Player, List<Object>> outgoing = new IdentityHashMap<>();
+            for (Map.Entry<World, LongMap<Section>> entry : QUEUE.entrySet())
+                collect(entry.getKey(), entry.getValue(), outgoing);
+            QUEUE.clear();
+
+            // Every player receives all of their packets in 1 call
+            ICompatibility compatibility = CompatibilityAPI.getCompatibility();
+            for (Map.Entry<Player, List<Object>> entry : outgoing.entrySet()) {
+                List<Object> packets = entry.getValue();
+                compatibility.sendPackets(entry.getKey(), packets.toArray());
+                sent += packets.size();
+            }
+            recipients = outgoing.size();
+        }
+
+        lastQueued = queued;
+        lastCoalesced = coalesced;
+        lastSent = sent;
+        lastRecipients = recipients;
+        lastFlushNanos = System.nanoTime() - start;
+        queued = 0;
+        coalesced = 0;
+    }
+
+    /**
+     * Removes every queued packet without sending them.
+     */
+    public static void clear() {
+        QUEUE.clear();
+        queued = 0;
+        coalesced = 0;
+    }
+
+    /**
+     * @return The amount of packets queued during the last flushed tick.
+     */
+    public static int getLastQueued() {
+        return lastQueued;
+    }
+
+    /**
+     * @return The amount of packets that replaced an older packet for the
+     *         same block during the last flushed tick.
+     */
+    public static int getLastCoalesced() {
+        return lastCoalesced;
+    }
+
+    /**
+     * @return The amount of packets sent (1 for each player that received
+     *         each packet) during the last flush.
+     */
+    public static int getLastSent() {
+        return lastSent;
+    }
+
+    /**
+     * @return The amount of players that received packets during the last flush.
+     */
+    public static int getLastRecipients() {
+        return lastRecipients;
+    }
+
+    public static long getLastFlushNanos() {
+        return lastFlushNanos;
+    }
+
+    private static void collect(World world, LongMap<Section> sections, Map<Player, List<Object>> outgoing) {
+        // A player can see a section when they are in range of any block
+        // in it, so grow the range by half the section's size.
+        double range = DistanceUtil.getRange(world) + 8.0;
+        sections.forEach((key, section) -> {
+            List<Object> packets = new ArrayList<>(section.packets.size());
+            section.packets.forEach((position, packet) -> packets.add(packet));
+
+            double x = (section.x << 4) + 8.0;
+            double y = (section.y << 4) + 8.0;
+            double z = (section.z << 4) + 8.0;
+            PlayerIndex.forEachPlayerInRange(world, x, y, z, range,
+                    player -> outgoing.computeIfAbsent(player, k -> new ArrayList<>()).addAll(packets));
+        });
+    }
+
+    /**
+     * The packets queued for the blocks of 1 16 x 16 x 16 section.
+     */
+    private static final class Section {
+
+        private final int x;
+        private final int y;
+        private final int z;
+
+        // Packed position inside the section -> latest packet
+        private final IntMap<Object> packets = new IntMap<>();
+
+        private Section(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+}
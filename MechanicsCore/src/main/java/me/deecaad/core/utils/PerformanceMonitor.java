@@ -0,0 +1,66 @@
+package me.deecaad.core.utils;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * This class holds named performance values (timings, counters, queue sizes,
+ * etc.) that plugins using MechanicsCore register so admins can view them
+ * using <code>/mechanicscore performance</code>. The suppliers are only
+ * called when the values are displayed, so registering a value is free.
+ */
+public final class PerformanceMonitor {
+
+    private static final Map<String, Supplier<Object>> VALUES = new LinkedHashMap<>();
+
+    /**
+     * Don't let anyone instantiate this class
+     */
+    private PerformanceMonitor() {
+    }
+
+    /**
+     * Registers (or replaces) a named value. Names should be prefixed by the
+     * feature they belong to, like <code>"Entity Index: Build Time"</code>.
+     *
+     * @param name  The non-null name of the value.
+     * @param value The non-null supplier of the current value.
+     */
+    public static synchronized void register(@Nonnull String name, @Nonnull Supplier<Object> value) {
+        VALUES.put(name, value);
+    }
+
+    /**
+     * Removes the value with the given name.
+     *
+     * @param name The non-null name of the value.
+     */
+    public static synchronized void unregister(@Nonnull String name) {
+        VALUES.remove(name);
+    }
+
+    /**
+     * Returns a snapshot of every registered value, in registration order.
+     *
+     * @return The non-null, unmodifiable map of names to current values.
+     */
+    @Nonnull
+    public static synchronized Map<String, Object> snapshot() {
+        Map<String, Object> temp = new LinkedHashMap<>();
+        VALUES.forEach((name, value) -> temp.put(name, value.get()));
+        return Collections.unmodifiableMap(temp);
+    }
+
+    /**
+     * Formats nanoseconds as milliseconds with 3 decimal places.
+     *
+     * @param nanos The time, in nanoseconds.
+     * @return The formatted time.
+     */
+    public static String formatNanos(long nanos) {
+        return NumberUtil.getAsRounded(nanos / 1_000_000.0, 3) + "ms";
+    }
+}
@@ -0,0 +1,333 @@
+package me.deecaad.core.utils;
+
+import me.deecaad.core.utils.primitive.LongMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * This class is a spatial hash of the online players in each world. Every
+ * cell of the hash is a 64 x 64 block column. Instead of checking the
+ * distance to every player in the world (like {@link World#getPlayers()}
+ * would), a query only checks the players in the cells that overlap the
+ * query's box.
+ *
+ * <p>The index is updated by {@link #update()}, which MechanicsCore runs once
+ * every tick. An update stores the position of every player, and only moves
+ * a player to a different cell when they crossed a cell border, so it is
+ * cheap when players stand still. Queries use the stored positions, which
+ * may be up to 1 tick old, and never allocate.
+ *
+ * <p>This class is not threadsafe, and should only be used on the main
+ * server thread.
+ */
+public final class PlayerIndex {
+
+    private static final int CELL_SHIFT = 6;
+
+    private static final Map<UUID, Grid> GRIDS = new HashMap<>();
+    private static final Map<Player, Entry> ENTRIES = new IdentityHashMap<>();
+    private static final Location REUSE = new Location(null, 0, 0, 0);
+
+    // Increased every update. Entries from an older generation are offline.
+    private static int generation;
+
+    // Timings for the current tick, and for the last complete tick
+    private static int queries;
+    private static int moved;
+    private static int lastQueries;
+    private static int lastMoved;
+    private static long lastUpdateNanos;
+
+    /**
+     * Don't let anyone instantiate this class
+     */
+    private PlayerIndex() {
+    }
+
+    /**
+     * Stores the current position of every online player, and moves players
+     * that crossed a cell border. This is called once every tick by
+     * MechanicsCore.
+     */
+    public static void update() {
+        long start = System.nanoTime();
+        generation++;
+
+        lastQueries = queries;
+        queries = 0;
+        moved = 0;
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Location location = player.getLocation(REUSE);
+            World world = location.getWorld();
+            if (world == null)
+                continue;
+
+            Entry entry = ENTRIES.get(player);
+            if (entry == null) {
+                entry = new Entry(player);
+                ENTRIES.put(player, entry);
+            }
+
+            entry.generation = generation;
+            entry.x = location.getX();
+            entry.y = location.getY();
+            entry.z = location.getZ();
+
+            int cellX = location.getBlockX() >> CELL_SHIFT;
+            int cellZ = location.getBlockZ() >> CELL_SHIFT;
+            if (entry.cell != null && entry.grid.world == world && entry.cell.x == cellX && entry.cell.z == cellZ)
+                continue;
+
+            if (entry.cell != null)
+                entry.cell.remove(entry);
+
+            Grid grid = GRIDS.computeIfAbsent(world.getUID(), uuid -> new Grid(world));
+            entry.grid = grid;
+            grid.getOrCreate(cellX, cellZ).add(entry);
+            moved++;
+        }
+
+        // Players that were not online during this update have left
+        Iterator<Entry> iterator = ENTRIES.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.generation != generation) {
+                entry.remove();
+                iterator.remove();
+            }
+        }
+
+        REUSE.setWorld(null);
+        lastMoved = moved;
+        lastUpdateNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Removes the given player from the index. Should be used when a player
+     * quits, so they are not returned by queries until the next update.
+     *
+     * @param player The non-null player to remove.
+     */
+    public static void remove(@Nonnull Player player) {
+        Entry entry = ENTRIES.remove(player);
+        if (entry != null)
+            entry.remove();
+    }
+
+    /**
+     * Removes the grid of the given world. Should be used when a world is
+     * unloaded.
+     *
+     * @param world The non-null world.
+     */
+    public static void remove(@Nonnull World world) {
+        Grid grid = GRIDS.remove(world.getUID());
+        if (grid == null)
+            return;
+
+        for (Entry entry : ENTRIES.values()) {
+            if (entry.grid == grid) {
+                entry.grid = null;
+                entry.cell = null;
+            }
+        }
+    }
+
+    /**
+     * Removes every player and grid.
+     */
+    public static void clear() {
+        GRIDS.clear();
+        ENTRIES.clear();
+    }
+
+    /**
+     * Runs the consumer for every player in the given world whose position
+     * is within <code>range</code> blocks of the given coordinates, on every
+     * axis (a box, not a sphere).
+     *
+     * @param world    The non-null world to check.
+     * @param x        The x coordinate of the center.
+     * @param y        The y coordinate of the center.
+     * @param z        The z coordinate of the center.
+     * @param range    The non-negative distance from the center, in blocks.
+     * @param consumer The non-null action to run for every player.
+     */
+    public static void forEachPlayerInRange(@Nonnull World world, double x, double y, double z, double range, @Nonnull Consumer<Player> consumer) {
+        queries++;
+
+        Grid grid = GRIDS.get(world.getUID());
+        if (grid == null)
+            return;
+
+        double minX = x - range;
+        double minY = y - range;
+        double minZ = z - range;
+        double maxX = x + range;
+        double maxY = y + range;
+        double maxZ = z + range;
+
+        int minCellX = NumberUtil.intFloor(minX) >> CELL_SHIFT;
+        int minCellZ = NumberUtil.intFloor(minZ) >> CELL_SHIFT;
+        int maxCellX = NumberUtil.intFloor(maxX) >> CELL_SHIFT;
+        int maxCellZ = NumberUtil.intFloor(maxZ) >> CELL_SHIFT;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                Cell cell = grid.cells.get(LongMap.pack(cellX, cellZ));
+                if (cell == null)
+                    continue;
+
+                Entry[] entries = cell.entries;
+                for (int i = 0; i < cell.size; i++) {
+                    Entry entry = entries[i];
+                    if (entry.x > minX && entry.x < maxX
+                            && entry.y > minY && entry.y < maxY
+                            && entry.z > minZ && entry.z < maxZ) {
+                        consumer.accept(entry.player);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The amount of players in the index.
+     */
+    public static int size() {
+        return ENTRIES.size();
+    }
+
+    /**
+     * @return The amount of non-empty cells, in every world.
+     */
+    public static int getCells() {
+        int cells = 0;
+        for (Grid grid : GRIDS.values())
+            cells += grid.cells.size();
+        return cells;
+    }
+
+    /**
+     * @return The number of queries during the last tick.
+     */
+    public static int getLastQueries() {
+        return lastQueries;
+    }
+
+    /**
+     * @return The number of players that moved to a different cell during the last update.
+     */
+    public static int getLastMoved() {
+        return lastMoved;
+    }
+
+    /**
+     * @return The nanoseconds spent in the last update.
+     */
+    public static long getLastUpdateNanos() {
+        return lastUpdateNanos;
+    }
+
+    /**
+     * The cells of 1 world.
+     */
+    private static final class Grid {
+
+        private final World world;
+        private final LongMap<Cell> cells = new LongMap<>(64);
+
+        private Grid(World world) {
+            this.world = world;
+        }
+
+        private Cell getOrCreate(int x, int z) {
+            long key = LongMap.pack(x, z);
+            Cell cell = cells.get(key);
+            if (cell == null) {
+                cell = new Cell(this, x, z);
+                cells.put(key, cell);
+            }
+            return cell;
+        }
+    }
+
+    /**
+     * The players in 1 64 x 64 block column. Entries know their index in the
+     * array, so they can be removed in constant time.
+     */
+    private static final class Cell {
+
+        private final Grid grid;
+        private final int x;
+        private final int z;
+        private Entry[] entries = new Entry[4];
+        private int size;
+
+        private Cell(Grid grid, int x, int z) {
+            this.grid = grid;
+            this.x = x;
+            this.z = z;
+        }
+
+        private void add(Entry entry) {
+            if (size == entries.length) {
+                Entry[] temp = new Entry[size * 2];
+                System.arraycopy(entries, 0, temp, 0, size);
+                entries = temp;
+            }
+
+            entry.cell = this;
+            entry.index = size;
+            entries[size++] = entry;
+        }
+
+        private void remove(Entry entry) {
+            // Move the last entry into the removed entry's place
+            Entry last = entries[--size];
+            entries[entry.index] = last;
+            last.index = entry.index;
+            entries[size] = null;
+
+            entry.cell = null;
+            if (size == 0)
+                grid.cells.remove(LongMap.pack(x, z));
+        }
+    }
+
+    /**
+     * The stored position of 1 player.
+     */
+    private static final class Entry {
+
+        private final Player player;
+        private Grid grid;
+        private Cell cell;
+        private int index;
+        private int generation;
+        private double x;
+        private double y;
+        private double z;
+
+        private Entry(Player player) {
+            this.player = player;
+        }
+
+        private void remove() {
+            if (cell != null)
+                cell.remove(this);
+            grid = null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import javax.annotation.Nonnull;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NavigableSet;
+import java.util.Random;
 import java.util.TreeSet;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -81,7 +82,19 @@ public class ProbabilityMap<E> implements Iterable<ProbabilityMap.Node<E>> {
      * @return The randomized element.
      */
     public E get() {
-        dummy.offset = ThreadLocalRandom.current().nextDouble(totalProbability);
+        return get(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a random element based on each element's weight, using the
+     * given random number generator. If there are no elements in the set,
+     * then this method will return <code>null</code>.
+     *
+     * @param random The non-null random number generator.
+     * @return The randomized element.
+     */
+    public E get(@Nonnull Random random) {
+        dummy.offset = random.nextDouble() * totalProbability;
         Node<E> temp = set.floor(dummy);
         return temp == null ? null : temp.value;
     }
@@ -0,0 +1,204 @@
+package me.deecaad.core.utils.primitive;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * An optimized implementation of a {@link java.util.HashMap} that maps a
+ * primitive <code>int</code> key to a value. Has the advantage of not
+ * needing to wrap/unwrap keys, and does not allocate a node for every
+ * entry. Useful for keys like packed block positions inside a chunk.
+ *
+ * <p>This map uses open addressing with linear probing, so removals shift
+ * the following entries back instead of leaving tombstones.
+ *
+ * @param <V> The value type.
+ */
+public class IntMap<V> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private V[] values;
+    private int size;
+    private int threshold;
+
+    public IntMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public IntMap(int cap) {
+        int capacity = tableSizeFor((int) Math.ceil(cap / LOAD_FACTOR));
+        keys = new int[capacity];
+        values = (V[]) new Object[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Returns the value mapped to the given key, or <code>null</code>.
+     *
+     * @param key The key to get the value of.
+     * @return The value, or <code>null</code>.
+     */
+    public V get(int key) {
+        int index = indexOf(key);
+        return index == -1 ? null : values[index];
+    }
+
+    /**
+     * Maps the given key to the given non-null value.
+     *
+     * @param key   The key.
+     * @param value The non-null value.
+     * @return The previously mapped value, or <code>null</code>.
+     */
+    public V put(int key, V value) {
+        if (value == null)
+            throw new IllegalArgumentException("Cannot put null value");
+
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V old = values[index];
+                values[index] = value;
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold)
+            resize();
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the given key. If there is no value, the
+     * function is used to create one, which is then mapped to the key.
+     *
+     * @param key      The key.
+     * @param function The function that creates a non-null value.
+     * @return The non-null value.
+     */
+    public V computeIfAbsent(int key, IntFunction<V> function) {
+        V value = get(key);
+        if (value == null) {
+            value = function.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes the mapping for the given key.
+     *
+     * @param key The key to remove.
+     * @return The removed value, or <code>null</code>.
+     */
+    public V remove(int key) {
+        int index = indexOf(key);
+        if (index == -1)
+            return null;
+
+        V old = values[index];
+        values[index] = null;
+        size--;
+
+        // Shift back following entries that were displaced by the removed one
+        int mask = keys.length - 1;
+        int gap = index;
+        int current = (index + 1) & mask;
+        while (values[current] != null) {
+            int ideal = hash(keys[current]) & mask;
+            if (((current - ideal) & mask) >= ((current - gap) & mask)) {
+                keys[gap] = keys[current];
+                values[gap] = values[current];
+                values[current] = null;
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Runs the given consumer for every key-value pair in this map. The map
+     * must not be modified while iterating.
+     *
+     * @param consumer The non-null action to run.
+     */
+    public void forEach(IntObjConsumer<? super V> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null)
+                consumer.accept(keys[i], values[i]);
+        }
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key)
+                return index;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        if (keys.length >= MAXIMUM_CAPACITY)
+            throw new IllegalStateException("IntMap is too big");
+
+        int[] oldKeys = keys;
+        V[] oldValues = values;
+        keys = new int[oldKeys.length << 1];
+        values = (V[]) new Object[oldKeys.length << 1];
+        threshold = (int) (keys.length * LOAD_FACTOR);
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null)
+                continue;
+
+            int index = hash(oldKeys[i]) & mask;
+            while (values[index] != null)
+                index = (index + 1) & mask;
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+        }
+    }
+
+    private static int hash(int key) {
+        // Mix the bits, so packed coordinates spread over the whole table
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int cap) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(cap, 2) - 1);
+        return n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
+    }
+}
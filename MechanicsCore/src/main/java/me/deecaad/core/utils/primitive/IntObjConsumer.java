@@ -0,0 +1,14 @@
+package me.deecaad.core.utils.primitive;
+
+/**
+ * This interface outlines some action that accepts an int first argument
+ * and a generic second argument. This interface has the advantage of not
+ * needing to wrap and unwrap an {@link Integer}.
+ *
+ * @param <V> The second argument generic type.
+ * @see IntMap#forEach(IntObjConsumer)
+ */
+@FunctionalInterface
+public interface IntObjConsumer<V> {
+    void accept(int key, V value);
+}
@@ -0,0 +1,14 @@
+package me.deecaad.core.utils.primitive;
+
+/**
+ * This interface outlines some action that accepts a long first argument
+ * and a generic second argument. This interface has the advantage of not
+ * needing to wrap and unwrap a {@link Long}.
+ *
+ * @param <V> The second argument generic type.
+ * @see LongMap#forEach(LongObjConsumer)
+ */
+@FunctionalInterface
+public interface LongObjConsumer<V> {
+    void accept(long key, V value);
+}
@@ -0,0 +1,448 @@
+package me.deecaad.core.utils.ray;
+
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.HitBox;
+import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.core.utils.primitive.LongMap;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * This class is a per-tick, per-world snapshot of the living entities in a
+ * world, and their hit boxes. Every chunk column is a cell of a uniform grid.
+ * The first query that touches a chunk during a tick reads the entities of
+ * that chunk once, and stores their positions and hit box bounds in flat
+ * primitive arrays. Every other query during the same tick (other
+ * projectiles, melee, explosions) reuses that snapshot instead of calling
+ * {@link Chunk#getEntities()} and building a new {@link HitBox} again.
+ *
+ * <p>Since entities move during the tick, the snapshot may be up to 1 tick
+ * old. The snapshot is thrown away by {@link #invalidateAll()}, which
+ * MechanicsCore runs once every tick. Unloaded chunks are never loaded by
+ * a query, they are treated as empty.
+ *
+ * <p>This class is not threadsafe, and should only be used on the main
+ * server thread.
+ */
+public final class EntityIndex {
+
+    private static final Map<UUID, EntityIndex> INDEXES = new HashMap<>();
+
+    // Cells that were not used for this many ticks are removed
+    private static final int PURGE_INTERVAL = 200;
+
+    // Increased every tick. A cell built during an older generation is stale.
+    private static int generation;
+
+    // Timings for the current tick, and for the last complete tick
+    private static long buildNanos;
+    private static long queryNanos;
+    private static int builtCells;
+    private static int queries;
+    private static long lastBuildNanos;
+    private static long lastQueryNanos;
+    private static int lastBuiltCells;
+    private static int lastQueries;
+
+    private final World world;
+    private final LongMap<Cell> cells;
+    private final Location reuse;
+
+    private EntityIndex(World world) {
+        this.world = world;
+        this.cells = new LongMap<>();
+        this.reuse = new Location(world, 0, 0, 0);
+    }
+
+    /**
+     * Returns the index for the given world.
+     *
+     * @param world The non-null world.
+     * @return The non-null index.
+     */
+    @Nonnull
+    public static EntityIndex of(@Nonnull World world) {
+        return INDEXES.computeIfAbsent(world.getUID(), uuid -> new EntityIndex(world));
+    }
+
+    /**
+     * Marks every snapshot as stale, so the next query rebuilds it. This is
+     * called once every tick by MechanicsCore.
+     */
+    public static void invalidateAll() {
+        generation++;
+
+        if (generation % PURGE_INTERVAL == 0) {
+            for (EntityIndex index : INDEXES.values())
+                index.purge();
+        }
+
+        lastBuildNanos = buildNanos;
+        lastQueryNanos = queryNanos;
+        lastBuiltCells = builtCells;
+        lastQueries = queries;
+        buildNanos = 0;
+        queryNanos = 0;
+        builtCells = 0;
+        queries = 0;
+    }
+
+    /**
+     * Removes the index of the given world. Should be used when a world is
+     * unloaded.
+     *
+     * @param world The non-null world.
+     */
+    public static void remove(@Nonnull World world) {
+        INDEXES.remove(world.getUID());
+    }
+
+    /**
+     * Removes every index.
+     */
+    public static void clear() {
+        INDEXES.clear();
+    }
+
+    /**
+     * @return the nanoseconds spent building snapshots during the last tick
+     */
+    public static long getLastBuildNanos() {
+        return lastBuildNanos;
+    }
+
+    /**
+     * @return the nanoseconds spent in queries during the last tick
+     */
+    public static long getLastQueryNanos() {
+        return lastQueryNanos;
+    }
+
+    /**
+     * @return the number of chunks snapshotted during the last tick
+     */
+    public static int getLastBuiltCells() {
+        return lastBuiltCells;
+    }
+
+    /**
+     * @return the number of queries during the last tick
+     */
+    public static int getLastQueries() {
+        return lastQueries;
+    }
+
+    /**
+     * Runs the consumer for every living entity whose hit box, grown by
+     * <code>grow</code> in every direction, overlaps the given bounding box.
+     * The consumer receives the shared snapshot hit box, which must NOT be
+     * modified. Use {@link HitBox#copy()} first when you need to modify it.
+     *
+     * <p>Entities without a hit box (dead or invulnerable entities) are
+     * skipped. This is checked again for every query, since an entity may
+     * die after its chunk was snapshotted.
+     *
+     * @param minX     The minimum x coordinate of the box.
+     * @param minY     The minimum y coordinate of the box.
+     * @param minZ     The minimum z coordinate of the box.
+     * @param maxX     The maximum x coordinate of the box.
+     * @param maxY     The maximum y coordinate of the box.
+     * @param maxZ     The maximum z coordinate of the box.
+     * @param grow     The amount to grow each hit box by before checking.
+     * @param consumer The non-null action to run for every entity.
+     */
+    public void forEachHitBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                              double grow, @Nonnull BiConsumer<LivingEntity, HitBox> consumer) {
+        long start = System.nanoTime();
+        long buildBefore = buildNanos;
+        queries++;
+
+        // The number 2.0 is taken from Mojang's code. Entities are stored in
+        // the chunk of their location, but their hit box may stick out.
+        int minChunkX = NumberUtil.intFloor((minX - 2.0) / 16.0);
+        int maxChunkX = NumberUtil.intFloor((maxX + 2.0) / 16.0);
+        int minChunkZ = NumberUtil.intFloor((minZ - 2.0) / 16.0);
+        int maxChunkZ = NumberUtil.intFloor((maxZ + 2.0) / 16.0);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Cell cell = getCell(chunkX, chunkZ);
+                if (cell == null)
+                    continue;
+
+                double[] bounds = cell.bounds;
+                for (int i = 0; i < cell.size; i++) {
+                    if (cell.boxes[i] == null)
+                        continue;
+
+                    int j = i * 6;
+                    if (bounds[j] - grow < maxX && bounds[j + 3] + grow > minX
+                            && bounds[j + 1] - grow < maxY && bounds[j + 4] + grow > minY
+                            && bounds[j + 2] - grow < maxZ && bounds[j + 5] + grow > minZ
+                            && isHittable(cell.entities[i])) {
+                        consumer.accept(cell.entities[i], cell.boxes[i]);
+                    }
+                }
+            }
+        }
+
+        // Time spent building snapshots is tracked separately
+        queryNanos += System.nanoTime() - start - (buildNanos - buildBefore);
+    }
+
+    /**
+     * Ray traces every living entity whose hit box, grown by
+     * <code>grow</code> in every direction, overlaps the given bounding box,
+     * and adds the hits to <code>hits</code>. Unlike
+     * {@link #forEachHitBox(double, double, double, double, double, double, double, BiConsumer)},
+     * this does not create any garbage.
+     *
+     * @param minX   The minimum x coordinate of the box.
+     * @param minY   The minimum y coordinate of the box.
+     * @param minZ   The minimum z coordinate of the box.
+     * @param maxX   The maximum x coordinate of the box.
+     * @param maxY   The maximum y coordinate of the box.
+     * @param maxZ   The maximum z coordinate of the box.
+     * @param startX The x coordinate of the start of the ray.
+     * @param startY The y coordinate of the start of the ray.
+     * @param startZ The z coordinate of the start of the ray.
+     * @param dirX   The x component of the normalized direction.
+     * @param dirY   The y component of the normalized direction.
+     * @param dirZ   The z component of the normalized direction.
+     * @param grow   The amount to grow each hit box by.
+     * @param filter The entities to skip, or null.
+     * @param hits   The non-null hits to add the hits to.
+     */
+    public void rayTrace(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                         double startX, double startY, double startZ, double dirX, double dirY, double dirZ,
+                         double grow, @Nullable Predicate<LivingEntity> filter, @Nonnull RayHits hits) {
+        long start = System.nanoTime();
+        long buildBefore = buildNanos;
+        queries++;
+
+        int minChunkX = NumberUtil.intFloor((minX - 2.0) / 16.0);
+        int maxChunkX = NumberUtil.intFloor((maxX + 2.0) / 16.0);
+        int minChunkZ = NumberUtil.intFloor((minZ - 2.0) / 16.0);
+        int maxChunkZ = NumberUtil.intFloor((maxZ + 2.0) / 16.0);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Cell cell = getCell(chunkX, chunkZ);
+                if (cell == null)
+                    continue;
+
+                double[] bounds = cell.bounds;
+                for (int i = 0; i < cell.size; i++) {
+                    if (cell.boxes[i] == null)
+                        continue;
+
+                    int j = i * 6;
+                    if (bounds[j] - grow < maxX && bounds[j + 3] + grow > minX
+                            && bounds[j + 1] - grow < maxY && bounds[j + 4] + grow > minY
+                            && bounds[j + 2] - grow < maxZ && bounds[j + 5] + grow > minZ) {
+
+                        if (!isHittable(cell.entities[i]) || (filter != null && filter.test(cell.entities[i])))
+                            continue;
+
+                        cell.boxes[i].rayTrace(startX, startY, startZ, dirX, dirY, dirZ, grow, hits);
+                    }
+                }
+            }
+        }
+
+        // Time spent building snapshots is tracked separately
+        queryNanos += System.nanoTime() - start - (buildNanos - buildBefore);
+    }
+
+    /**
+     * Returns every living entity whose location is within the given box.
+     * Unlike {@link #forEachHitBox(double, double, double, double, double, double, double, BiConsumer)},
+     * this includes entities without a hit box.
+     *
+     * @param minX The minimum x coordinate of the box.
+     * @param minY The minimum y coordinate of the box.
+     * @param minZ The minimum z coordinate of the box.
+     * @param maxX The maximum x coordinate of the box.
+     * @param maxY The maximum y coordinate of the box.
+     * @param maxZ The maximum z coordinate of the box.
+     * @return The non-null list of entities.
+     */
+    @Nonnull
+    public List<LivingEntity> getEntities(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        long start = System.nanoTime();
+        long buildBefore = buildNanos;
+        queries++;
+
+        int minChunkX = NumberUtil.intFloor(minX / 16.0);
+        int maxChunkX = NumberUtil.intFloor(maxX / 16.0);
+        int minChunkZ = NumberUtil.intFloor(minZ / 16.0);
+        int maxChunkZ = NumberUtil.intFloor(maxZ / 16.0);
+
+        List<LivingEntity> entities = new ArrayList<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Cell cell = getCell(chunkX, chunkZ);
+                if (cell == null)
+                    continue;
+
+                double[] positions = cell.positions;
+                for (int i = 0; i < cell.size; i++) {
+                    int j = i * 3;
+                    double x = positions[j];
+                    double y = positions[j + 1];
+                    double z = positions[j + 2];
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ)
+                        entities.add(cell.entities[i]);
+                }
+            }
+        }
+
+        // Time spent building snapshots is tracked separately
+        queryNanos += System.nanoTime() - start - (buildNanos - buildBefore);
+        return entities;
+    }
+
+    /**
+     * Returns the snapshot hit box of the given entity, which must NOT be
+     * modified. When the entity is not in the snapshot (for example, it
+     * spawned this tick), a new hit box is returned instead. Entities that
+     * died, were removed or became invulnerable since the snapshot have no
+     * hit box.
+     *
+     * @param entity The non-null entity.
+     * @return The hit box, or null if the entity has no hit box.
+     */
+    @Nullable
+    public HitBox getHitBox(@Nonnull LivingEntity entity) {
+        Location location = entity.getLocation(reuse);
+        Cell cell = getCell(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        if (cell != null) {
+            for (int i = 0; i < cell.size; i++) {
+                if (cell.entities[i] == entity)
+                    return isHittable(entity) ? cell.boxes[i] : null;
+            }
+        }
+
+        return CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
+    }
+
+    // The snapshot may be older than the entity dying, being removed or
+    // becoming invulnerable earlier during this tick
+    private static boolean isHittable(LivingEntity entity) {
+        return entity.isValid() && !entity.isDead() && !entity.isInvulnerable();
+    }
+
+    private void purge() {
+        LongMap<Cell> used = new LongMap<>();
+        cells.forEach((key, cell) -> {
+            if (generation - cell.generation < PURGE_INTERVAL)
+                used.put(key, cell);
+        });
+        cells.clear();
+        used.forEach(cells::put);
+    }
+
+    private Cell getCell(int chunkX, int chunkZ) {
+        if (!world.isChunkLoaded(chunkX, chunkZ))
+            return null;
+
+        long key = LongMap.pack(chunkX, chunkZ);
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(key, cell);
+        }
+
+        if (cell.generation != generation || !cell.built)
+            build(cell, world.getChunkAt(chunkX, chunkZ));
+
+        return cell;
+    }
+
+    private void build(Cell cell, Chunk chunk) {
+        long start = System.nanoTime();
+
+        cell.clear();
+        for (Entity entity : chunk.getEntities()) {
+            if (!entity.getType().isAlive())
+                continue;
+
+            Location location = entity.getLocation(reuse);
+            HitBox box = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
+            cell.add((LivingEntity) entity, box, location.getX(), location.getY(), location.getZ());
+        }
+
+        cell.generation = generation;
+        cell.built = true;
+
+        builtCells++;
+        buildNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * The snapshot of 1 chunk column. The arrays are reused every tick.
+     */
+    private static class Cell {
+
+        int generation;
+        boolean built;
+        int size;
+        LivingEntity[] entities = new LivingEntity[4];
+        HitBox[] boxes = new HitBox[4];
+
+        // minX, minY, minZ, maxX, maxY, maxZ for every entity
+        double[] bounds = new double[4 * 6];
+
+        // x, y, z for every entity
+        double[] positions = new double[4 * 3];
+
+        void clear() {
+            Arrays.fill(entities, 0, size, null);
+            Arrays.fill(boxes, 0, size, null);
+            size = 0;
+        }
+
+        void add(LivingEntity entity, HitBox box, double x, double y, double z) {
+            if (size == entities.length) {
+                int capacity = size * 2;
+                entities = Arrays.copyOf(entities, capacity);
+                boxes = Arrays.copyOf(boxes, capacity);
+                bounds = Arrays.copyOf(bounds, capacity * 6);
+                positions = Arrays.copyOf(positions, capacity * 3);
+            }
+
+            entities[size] = entity;
+            boxes[size] = box;
+
+            if (box != null) {
+                int j = size * 6;
+                bounds[j] = box.getMinX();
+                bounds[j + 1] = box.getMinY();
+                bounds[j + 2] = box.getMinZ();
+                bounds[j + 3] = box.getMaxX();
+                bounds[j + 4] = box.getMaxY();
+                bounds[j + 5] = box.getMaxZ();
+            }
+
+            int j = size * 3;
+            positions[j] = x;
+            positions[j + 1] = y;
+            positions[j + 2] = z;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package me.deecaad.core.utils.ray;
+
+import me.deecaad.core.compatibility.HitBox;
+import me.deecaad.core.compatibility.block.BlockShape;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.Vector;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is a reusable container for the hits of a ray trace. Hits are
+ * stored in primitive arrays, and the arrays are reused after
+ * {@link #clear()}, so casting rays into the same instance every tick does
+ * not create garbage. A {@link RayTraceResult} is only created when it is
+ * requested using {@link #get(int)}.
+ *
+ * <p>After {@link RayTrace#cast(org.bukkit.World, double, double, double, double, double, double, double, double, double, int, RayHits)},
+ * the hits are sorted by distance (closest first).
+ *
+ * <p>This class is not threadsafe. Each instance should only be used by
+ * 1 ray trace at a time.
+ */
+public final class RayHits {
+
+    private static final BlockFace[] X_FACES = new BlockFace[]{ BlockFace.WEST, BlockFace.EAST };
+    private static final BlockFace[] Y_FACES = new BlockFace[]{ BlockFace.DOWN, BlockFace.UP };
+    private static final BlockFace[] Z_FACES = new BlockFace[]{ BlockFace.NORTH, BlockFace.SOUTH };
+
+    private int size;
+    private double[] distances;
+    private double[] positions;
+    private BlockFace[] faces;
+    private Block[] blocks;
+    private BlockShape[] shapes;
+    private LivingEntity[] entities;
+    private HitBox[] hitBoxes;
+    private double[] grows;
+    private RayTraceResult[] results;
+
+    // The result of the last intersect() call
+    private double candidateDistance;
+    private BlockFace candidateFace;
+
+    public RayHits() {
+        this(4);
+    }
+
+    public RayHits(int capacity) {
+        capacity = Math.max(capacity, 1);
+        distances = new double[capacity];
+        positions = new double[capacity * 3];
+        faces = new BlockFace[capacity];
+        blocks = new Block[capacity];
+        shapes = new BlockShape[capacity];
+        entities = new LivingEntity[capacity];
+        hitBoxes = new HitBox[capacity];
+        grows = new double[capacity];
+        results = new RayTraceResult[capacity];
+    }
+
+    /**
+     * Returns the number of hits.
+     *
+     * @return The number of hits.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every hit, so this instance can be reused.
+     */
+    public void clear() {
+        Arrays.fill(blocks, 0, size, null);
+        Arrays.fill(shapes, 0, size, null);
+        Arrays.fill(entities, 0, size, null);
+        Arrays.fill(hitBoxes, 0, size, null);
+        Arrays.fill(results, 0, size, null);
+        Arrays.fill(faces, 0, size, null);
+        size = 0;
+    }
+
+    public double getDistance(int index) {
+        return distances[checkIndex(index)];
+    }
+
+    public double getX(int index) {
+        return positions[checkIndex(index) * 3];
+    }
+
+    public double getY(int index) {
+        return positions[checkIndex(index) * 3 + 1];
+    }
+
+    public double getZ(int index) {
+        return positions[checkIndex(index) * 3 + 2];
+    }
+
+    public BlockFace getHitFace(int index) {
+        return faces[checkIndex(index)];
+    }
+
+    @Nullable
+    public Block getBlock(int index) {
+        return blocks[checkIndex(index)];
+    }
+
+    @Nullable
+    public LivingEntity getLivingEntity(int index) {
+        return entities[checkIndex(index)];
+    }
+
+    /**
+     * Returns the hit at the given index as a {@link RayTraceResult}. The
+     * result is created the first time it is requested.
+     *
+     * @param index The index of the hit, where 0 is the closest hit.
+     * @return The non-null result.
+     */
+    @Nonnull
+    public RayTraceResult get(int index) {
+        RayTraceResult result = results[checkIndex(index)];
+        if (result != null)
+            return result;
+
+        int j = index * 3;
+        Vector hitLocation = new Vector(positions[j], positions[j + 1], positions[j + 2]);
+        if (blocks[index] != null) {
+            HitBox hitBox = hitBoxes[index] != null ? hitBoxes[index] : shapes[index].toHitBox(blocks[index]);
+            result = new RayTraceResult(hitBox, hitLocation, distances[index], faces[index], blocks[index]);
+        } else {
+            // The ray was tested against the grown hit box, so the result
+            // should contain the grown hit box as well. Copied since the hit
+            // box may be shared (for example, by the EntityIndex).
+            HitBox hitBox = hitBoxes[index].copy().grow(grows[index]);
+            if (entities[index] != null)
+                result = new RayTraceResult(hitBox, hitLocation, distances[index], faces[index], entities[index]);
+            else
+                result = new RayTraceResult(hitBox, hitLocation, distances[index], faces[index]);
+        }
+
+        results[index] = result;
+        return result;
+    }
+
+    /**
+     * Returns every hit as a new list of {@link RayTraceResult}.
+     *
+     * @return The non-null list of results.
+     */
+    @Nonnull
+    public List<RayTraceResult> toList() {
+        List<RayTraceResult> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            list.add(get(i));
+        return list;
+    }
+
+    /**
+     * Checks if the given ray intersects the given box. When this method
+     * returns <code>true</code>, the distance and the hit face are stored
+     * until the next call, and may be added using one of the add methods.
+     *
+     * <p>This is based on {@link org.bukkit.util.BoundingBox#rayTrace(Vector, Vector, double)},
+     * with slight modifications.
+     *
+     * @return true if the ray intersects the box.
+     */
+    public boolean intersect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                             double startX, double startY, double startZ,
+                             double dirX, double dirY, double dirZ) {
+
+        double divX = 1.0 / dirX;
+        double divY = 1.0 / dirY;
+        double divZ = 1.0 / dirZ;
+
+        double tMin, tMax, tyMin, tyMax, tzMin, tzMax;
+        BlockFace faceMin, faceMax;
+
+        // x
+        int xSign = dirX >= 0.0 ? 0 : 1;
+        if (xSign == 0) {
+            tMin = (minX - startX) * divX;
+            tMax = (maxX - startX) * divX;
+        } else {
+            tMin = (maxX - startX) * divX;
+            tMax = (minX - startX) * divX;
+        }
+        faceMin = X_FACES[xSign];
+        faceMax = X_FACES[1 - xSign];
+
+        // y
+        int ySign = dirY >= 0.0 ? 0 : 1;
+        if (ySign == 0) {
+            tyMin = (minY - startY) * divY;
+            tyMax = (maxY - startY) * divY;
+        } else {
+            tyMin = (maxY - startY) * divY;
+            tyMax = (minY - startY) * divY;
+        }
+        if (tMin > tyMax || tMax < tyMin)
+            return false;
+        if (tyMin > tMin) {
+            tMin = tyMin;
+            faceMin = Y_FACES[ySign];
+        }
+        if (tyMax < tMax) {
+            tMax = tyMax;
+            faceMax = Y_FACES[1 - ySign];
+        }
+
+        // z
+        int zSign = dirZ >= 0.0 ? 0 : 1;
+        if (zSign == 0) {
+            tzMin = (minZ - startZ) * divZ;
+            tzMax = (maxZ - startZ) * divZ;
+        } else {
+            tzMin = (maxZ - startZ) * divZ;
+            tzMax = (minZ - startZ) * divZ;
+        }
+        if (tMin > tzMax || tMax < tzMin)
+            return false;
+        if (tzMin > tMin) {
+            tMin = tzMin;
+            faceMin = Z_FACES[zSign];
+        }
+        if (tzMax < tMax) {
+            tMax = tzMax;
+            faceMax = Z_FACES[1 - zSign];
+        }
+
+        if (tMax < 0.0)
+            return false;
+
+        if (tMin < 0.0) {
+            candidateDistance = tMax;
+            candidateFace = faceMax;
+        } else {
+            candidateDistance = tMin;
+            candidateFace = faceMin;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the distance of the last successful {@link #intersect} call.
+     *
+     * @return The distance from the start of the ray.
+     */
+    public double getCandidateDistance() {
+        return candidateDistance;
+    }
+
+    /**
+     * Adds a block hit at the distance of the last successful
+     * {@link #intersect} call.
+     *
+     * @param block  The non-null block that was hit.
+     * @param shape  The shape of the block, used to create the hit box lazily.
+     * @param hitBox The hit box of the block, or null to use the shape.
+     */
+    public void addBlock(double startX, double startY, double startZ, double dirX, double dirY, double dirZ,
+                         @Nonnull Block block, @Nullable BlockShape shape, @Nullable HitBox hitBox) {
+        int index = add(startX, startY, startZ, dirX, dirY, dirZ);
+        blocks[index] = block;
+        shapes[index] = shape;
+        hitBoxes[index] = hitBox;
+    }
+
+    /**
+     * Adds a hit that is not a block at the distance of the last successful
+     * {@link #intersect} call.
+     *
+     * @param entity The entity that was hit, or null.
+     * @param hitBox The non-null hit box that was hit, before growing it.
+     * @param grow   The amount the hit box was grown by for the test.
+     */
+    public void addHitBox(double startX, double startY, double startZ, double dirX, double dirY, double dirZ,
+                          @Nullable LivingEntity entity, @Nonnull HitBox hitBox, double grow) {
+        int index = add(startX, startY, startZ, dirX, dirY, dirZ);
+        entities[index] = entity;
+        hitBoxes[index] = hitBox;
+        grows[index] = grow;
+    }
+
+    /**
+     * Sorts the hits by distance, closest first.
+     */
+    public void sort() {
+
+        // Rays usually only have a few hits, so insertion sort is fine
+        for (int i = 1; i < size; i++) {
+            for (int j = i; j > 0 && distances[j - 1] > distances[j]; j--)
+                swap(j - 1, j);
+        }
+    }
+
+    private int add(double startX, double startY, double startZ, double dirX, double dirY, double dirZ) {
+        if (size == distances.length)
+            grow();
+
+        int index = size++;
+        double t = candidateDistance;
+        distances[index] = t;
+        positions[index * 3] = startX + dirX * t;
+        positions[index * 3 + 1] = startY + dirY * t;
+        positions[index * 3 + 2] = startZ + dirZ * t;
+        faces[index] = candidateFace;
+        grows[index] = 0.0;
+        return index;
+    }
+
+    private void grow() {
+        int capacity = distances.length * 2;
+        distances = Arrays.copyOf(distances, capacity);
+        positions = Arrays.copyOf(positions, capacity * 3);
+        faces = Arrays.copyOf(faces, capacity);
+        blocks = Arrays.copyOf(blocks, capacity);
+        shapes = Arrays.copyOf(shapes, capacity);
+        entities = Arrays.copyOf(entities, capacity);
+        hitBoxes = Arrays.copyOf(hitBoxes, capacity);
+        grows = Arrays.copyOf(grows, capacity);
+        results = Arrays.copyOf(results, capacity);
+    }
+
+    private void swap(int a, int b) {
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+
+        for (int k = 0; k < 3; k++) {
+            double position = positions[a * 3 + k];
+            positions[a * 3 + k] = positions[b * 3 + k];
+            positions[b * 3 + k] = position;
+        }
+
+        double grow = grows[a];
+        grows[a] = grows[b];
+        grows[b] = grow;
+
+        swap(faces, a, b);
+        swap(blocks, a, b);
+        swap(shapes, a, b);
+        swap(entities, a, b);
+        swap(hitBoxes, a, b);
+        swap(results, a, b);
+    }
+
+    private static <T> void swap(T[] array, int a, int b) {
+        T temp = array[a];
+        array[a] = array[b];
+        array[b] = temp;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return index;
+    }
+}
@@ -2,16 +2,14 @@ package me.deecaad.core.utils.ray;
 
 import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.HitBox;
+import me.deecaad.core.compatibility.block.BlockShape;
 import me.deecaad.core.utils.NumberUtil;
-import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -84,49 +82,95 @@ public class RayTrace {
     }
 
     public List<RayTraceResult> cast(World world, Vector start, Vector end, Vector direction, int maximumBlockThrough) {
-        List<RayTraceResult> hits = new ArrayList<>(5);
-        getBlockHits(hits, world, start, end, direction, maximumBlockThrough);
-        getEntityHits(hits, world, start, end, direction);
-
-        if (!hits.isEmpty()) {
-
-            // If more than 1 hit, sort based on distance travelled (lowest to highest)
-            if (hits.size() > 1) hits.sort(Comparator.comparingDouble(RayTraceResult::getDistanceTravelled));
-
-            if (this.outlineHitPosition) hits.get(0).outlineOnlyHitPosition(entity);
-            if (this.outlineHitBox) {
-                RayTraceResult firstHit = hits.get(0);
-                if (firstHit.isBlock()) {
-                    CompatibilityAPI.getBlockCompatibility().getHitBox(firstHit.getBlock()).outlineAllBoxes(entity);
-                } else {
-                    HitBox entityBox = CompatibilityAPI.getEntityCompatibility().getHitBox(firstHit.getLivingEntity());
-                    entityBox.grow(raySize);
-                    entityBox.outlineAllBoxes(entity);
-                }
+        RayHits hits = new RayHits();
+        cast(world, start.getX(), start.getY(), start.getZ(), end.getX(), end.getY(), end.getZ(),
+                direction.getX(), direction.getY(), direction.getZ(), maximumBlockThrough, hits);
+
+        return hits.isEmpty() ? null : hits.toList();
+    }
+
+    /**
+     * Primitive version of {@link #cast(World, Vector, Vector, double)}.
+     *
+     * @param world The non-null world to cast the ray in.
+     * @param startX The x coordinate of the start of the ray.
+     * @param startY The y coordinate of the start of the ray.
+     * @param startZ The z coordinate of the start of the ray.
+     * @param dirX The x component of the normalized direction.
+     * @param dirY The y component of the normalized direction.
+     * @param dirZ The z component of the normalized direction.
+     * @param range The length of the ray.
+     * @param hits The non-null hits, which are cleared before casting.
+     * @return true if there was at least 1 hit.
+     */
+    public boolean cast(World world, double startX, double startY, double startZ, double dirX, double dirY, double dirZ,
+                        double range, RayHits hits) {
+        return cast(world, startX, startY, startZ, startX + dirX * range, startY + dirY * range, startZ + dirZ * range,
+                dirX, dirY, dirZ, 0, hits);
+    }
+
+    /**
+     * Primitive version of {@link #cast(World, Vector, Vector, Vector, int)}.
+     * This method does not create a list or any results. The hits are
+     * stored in the given <code>hits</code>, sorted by distance, so the same
+     * {@link RayHits} can be reused for every cast.
+     *
+     * @param world The non-null world to cast the ray in.
+     * @param startX The x coordinate of the start of the ray.
+     * @param startY The y coordinate of the start of the ray.
+     * @param startZ The z coordinate of the start of the ray.
+     * @param endX The x coordinate of the end of the ray.
+     * @param endY The y coordinate of the end of the ray.
+     * @param endZ The z coordinate of the end of the ray.
+     * @param dirX The x component of the normalized direction.
+     * @param dirY The y component of the normalized direction.
+     * @param dirZ The z component of the normalized direction.
+     * @param maximumBlockThrough The amount of blocks the ray may go through, or -1 for no limit.
+     * @param hits The non-null hits, which are cleared before casting.
+     * @return true if there was at least 1 hit.
+     */
+    public boolean cast(World world, double startX, double startY, double startZ, double endX, double endY, double endZ,
+                        double dirX, double dirY, double dirZ, int maximumBlockThrough, RayHits hits) {
+        hits.clear();
+        getBlockHits(hits, world, startX, startY, startZ, endX, endY, endZ, dirX, dirY, dirZ, maximumBlockThrough);
+        getEntityHits(hits, world, startX, startY, startZ, endX, endY, endZ, dirX, dirY, dirZ);
+
+        if (hits.isEmpty()) return false;
+
+        // If more than 1 hit, sort based on distance travelled (lowest to highest)
+        if (hits.size() > 1) hits.sort();
+
+        if (this.outlineHitPosition) hits.get(0).outlineOnlyHitPosition(entity);
+        if (this.outlineHitBox) {
+            RayTraceResult firstHit = hits.get(0);
+            if (firstHit.isBlock()) {
+                CompatibilityAPI.getBlockCompatibility().getHitBox(firstHit.getBlock()).outlineAllBoxes(entity);
+            } else {
+                HitBox entityBox = CompatibilityAPI.getEntityCompatibility().getHitBox(firstHit.getLivingEntity());
+                entityBox.grow(raySize);
+                entityBox.outlineAllBoxes(entity);
             }
-            return hits;
         }
-
-        return null;
+        return true;
     }
 
-    private void getBlockHits(List<RayTraceResult> hits, World world, Vector start, Vector end, Vector direction, int maximumBlockThrough) {
+    private void getBlockHits(RayHits hits, World world, double rayStartX, double rayStartY, double rayStartZ,
+                              double rayEndX, double rayEndY, double rayEndZ, double dirX, double dirY, double dirZ,
+                              int maximumBlockThrough) {
         if (this.disableBlockChecks) return;
 
         // Method based on NMS block traversing
 
-        double startX = NumberUtil.lerp(start.getX(), end.getX(), -1.0E-7);
-        double startY = NumberUtil.lerp(start.getY(), end.getY(), -1.0E-7);
-        double startZ = NumberUtil.lerp(start.getZ(), end.getZ(), -1.0E-7);
+        double startX = NumberUtil.lerp(rayStartX, rayEndX, -1.0E-7);
+        double startY = NumberUtil.lerp(rayStartY, rayEndY, -1.0E-7);
+        double startZ = NumberUtil.lerp(rayStartZ, rayEndZ, -1.0E-7);
 
         int currentX = NumberUtil.intFloor(startX);
         int currentY = NumberUtil.intFloor(startY);
         int currentZ = NumberUtil.intFloor(startZ);
 
         Block startBlock = world.getBlockAt(currentX, currentY, currentZ);
-        RayTraceResult rayStartBlock = rayBlock(startBlock, start, direction);
-        if (rayStartBlock != null) {
-            hits.add(rayStartBlock);
+        if (rayBlock(hits, startBlock, rayStartX, rayStartY, rayStartZ, dirX, dirY, dirZ)) {
 
             // Don't count liquid as actual hits along the path
             if (!allowLiquid || !startBlock.isLiquid()) {
@@ -134,9 +178,9 @@ public class RayTrace {
             }
         }
 
-        double endX = NumberUtil.lerp(end.getX(), start.getX(), -1.0E-7);
-        double endY = NumberUtil.lerp(end.getY(), start.getY(), -1.0E-7);
-        double endZ = NumberUtil.lerp(end.getZ(), start.getZ(), -1.0E-7);
+        double endX = NumberUtil.lerp(rayEndX, rayStartX, -1.0E-7);
+        double endY = NumberUtil.lerp(rayEndY, rayStartY, -1.0E-7);
+        double endZ = NumberUtil.lerp(rayEndZ, rayStartZ, -1.0E-7);
 
         double directionX = endX - startX;
         double directionY = endY - startY;
@@ -173,9 +217,7 @@ public class RayTrace {
             }
 
             Block newBlock = world.getBlockAt(currentX, currentY, currentZ);
-            RayTraceResult rayNewBlock = rayBlock(newBlock, start, direction);
-            if (rayNewBlock != null) {
-                hits.add(rayNewBlock);
+            if (rayBlock(hits, newBlock, rayStartX, rayStartY, rayStartZ, dirX, dirY, dirZ)) {
 
                 // Don't count liquid as actual hits along the path
                 if (!allowLiquid || !newBlock.isLiquid()) {
@@ -186,47 +228,26 @@ public class RayTrace {
         }
     }
 
-    private RayTraceResult rayBlock(Block block, Vector start, Vector direction) {
-        if (blockFilter != null && blockFilter.test(block)) return null;
+    private boolean rayBlock(RayHits hits, Block block, double startX, double startY, double startZ, double dirX, double dirY, double dirZ) {
+        if (blockFilter != null && blockFilter.test(block)) return false;
 
-        HitBox blockBox = CompatibilityAPI.getBlockCompatibility().getHitBox(block, allowLiquid);
-        if (blockBox == null) return null;
+        // The cached shape is tested directly, a hit box is only created
+        // when the result is requested.
+        BlockShape shape = CompatibilityAPI.getBlockCompatibility().getShape(block, allowLiquid);
+        if (shape == null) return false;
 
-        return blockBox.rayTrace(start, direction);
+        return shape.rayTrace(block, startX, startY, startZ, dirX, dirY, dirZ, hits);
     }
 
-    private void getEntityHits(List<RayTraceResult> hits, World world, Vector start, Vector end, Vector direction) {
+    private void getEntityHits(RayHits hits, World world, double startX, double startY, double startZ,
+                               double endX, double endY, double endZ, double dirX, double dirY, double dirZ) {
         if (this.disableEntityChecks) return;
-        HitBox hitBox = new HitBox(start, end);
-
-        int minX = NumberUtil.intFloor((hitBox.getMinX() - 2.0) / 16.0);
-        int maxX = NumberUtil.intFloor((hitBox.getMaxX() + 2.0) / 16.0);
-        int minZ = NumberUtil.intFloor((hitBox.getMinZ() - 2.0) / 16.0);
-        int maxZ = NumberUtil.intFloor((hitBox.getMaxZ() + 2.0) / 16.0);
-
-        for (int x = minX; x <= maxX; ++x) {
-            for (int z = minZ; z <= maxZ; ++z) {
-                Chunk chunk = world.getChunkAt(x, z);
-                for (final Entity entity : chunk.getEntities()) {
-                    RayTraceResult rayNewEntity = rayEntity(hitBox, entity, start, direction);
-                    if (rayNewEntity != null) {
-                        hits.add(rayNewEntity);
-                    }
-                }
-            }
-        }
-    }
-
-    private RayTraceResult rayEntity(HitBox hitBox, Entity entity, Vector start, Vector direction) {
-        if (!entity.getType().isAlive()) return null;
-        if (entityFilter != null && entityFilter.test((LivingEntity) entity)) return null;
-
-        HitBox entityBox = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
-        if (entityBox == null) return null;
-
-        entityBox.grow(raySize);
-        if (!hitBox.overlaps(entityBox)) return null;
 
-        return entityBox.rayTrace(start, direction);
+        // The index only tests entities whose grown hit box overlaps the
+        // ray's bounding box, so the chunk scanning is shared by every ray
+        // cast during this tick.
+        EntityIndex.of(world).rayTrace(Math.min(startX, endX), Math.min(startY, endY), Math.min(startZ, endZ),
+                Math.max(startX, endX), Math.max(startY, endY), Math.max(startZ, endZ),
+                startX, startY, startZ, dirX, dirY, dirZ, raySize, entityFilter, hits);
     }
-}
\ No newline at end of file
+}
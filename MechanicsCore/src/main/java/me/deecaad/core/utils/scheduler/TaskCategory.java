@@ -0,0 +1,96 @@
+package me.deecaad.core.utils.scheduler;
+
+import me.deecaad.core.utils.PerformanceMonitor;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A category groups the {@link WheelTask}s of 1 feature (like reloads, or
+ * burst fire) so they can be counted and cancelled together. Each category
+ * belongs to a plugin, and {@link TimingWheel#cancelTasks(String)} cancels
+ * every task in every category of that plugin.
+ *
+ * <p>Categories are registered once, usually as a <code>static final</code>
+ * field, using {@link #of(String, String)}. Their counters are registered
+ * to the {@link PerformanceMonitor}.
+ */
+public final class TaskCategory {
+
+    private static final Map<String, TaskCategory> CATEGORIES = new LinkedHashMap<>();
+
+    private final String plugin;
+    private final String name;
+
+    // Only modified on the main thread
+    int active;
+    long scheduled;
+    long run;
+    long cancelled;
+
+    private TaskCategory(String plugin, String name) {
+        this.plugin = plugin;
+        this.name = name;
+    }
+
+    /**
+     * Returns the category with the given name, creating it if it does not
+     * exist yet.
+     *
+     * @param plugin The non-null name of the plugin that owns the category.
+     * @param name   The non-null name of the category.
+     * @return The non-null category.
+     */
+    @Nonnull
+    public static synchronized TaskCategory of(@Nonnull String plugin, @Nonnull String name) {
+        return CATEGORIES.computeIfAbsent(plugin + ":" + name, key -> {
+            TaskCategory category = new TaskCategory(plugin, name);
+            PerformanceMonitor.register("Timing Wheel: " + name, () -> category.active + " active, " + category.run + " run, " + category.cancelled + " cancelled");
+            return category;
+        });
+    }
+
+    @Nonnull
+    public String getPlugin() {
+        return plugin;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The amount of tasks that are currently scheduled.
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * @return The amount of tasks that were ever scheduled.
+     */
+    public long getScheduled() {
+        return scheduled;
+    }
+
+    /**
+     * @return The amount of times a task in this category was run.
+     */
+    public long getRun() {
+        return run;
+    }
+
+    /**
+     * @return The amount of tasks that were cancelled before they finished.
+     */
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return plugin + ":" + name;
+    }
+}
@@ -0,0 +1,343 @@
+package me.deecaad.core.utils.scheduler;
+
+import me.deecaad.core.MechanicsCore;
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.core.utils.PerformanceMonitor;
+import me.deecaad.core.utils.primitive.LongMap;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is a hierarchical timing wheel that runs {@link WheelTask}s on
+ * the main thread. The Bukkit scheduler keeps every task in a priority
+ * queue, so scheduling and cancelling a task costs <code>O(log n)</code>,
+ * and cancelling a task by its id searches the pending tasks. Weapons
+ * schedule and cancel many short tasks (burst shots, reloads, firearm
+ * actions), so instead every task is linked into a slot of this wheel, and
+ * the wheel is driven by 1 Bukkit task that runs every tick.
+ *
+ * <p>The first level has 256 slots of 1 tick. The second level has 64 slots
+ * of 256 ticks, and its tasks are moved into the first level once their
+ * slot is reached. Tasks further away than the second level are kept in an
+ * overflow slot, which is redistributed once every 16384 ticks.
+ *
+ * <p>MechanicsCore starts 1 wheel when it is enabled, see {@link #getInstance()}.
+ * This class is not thread safe, and should only be used on the main thread.
+ */
+public final class TimingWheel {
+
+    private static final int LEVEL_0_BITS = 8;
+    private static final int LEVEL_0_SIZE = 1 << LEVEL_0_BITS;
+    private static final int LEVEL_0_MASK = LEVEL_0_SIZE - 1;
+    private static final int LEVEL_1_SIZE = 64;
+    private static final int LEVEL_1_MASK = LEVEL_1_SIZE - 1;
+
+    private static TimingWheel instance;
+
+    private final Slot[] level0 = new Slot[LEVEL_0_SIZE];
+    private final Slot[] level1 = new Slot[LEVEL_1_SIZE];
+    private final Slot overflow = new Slot();
+
+    // Task id -> task, used to cancel tasks by their id
+    private final LongMap<WheelTask> tasks = new LongMap<>(256);
+    private final Map<Object, WheelTask> owners = new IdentityHashMap<>();
+    private final BukkitTask driver;
+    private long now;
+    private int nextId;
+
+    // Metrics
+    private long lastTickNanos;
+
+    private TimingWheel(Plugin plugin) {
+        for (int i = 0; i < LEVEL_0_SIZE; i++)
+            level0[i] = new Slot();
+        for (int i = 0; i < LEVEL_1_SIZE; i++)
+            level1[i] = new Slot();
+
+        driver = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+    }
+
+    /**
+     * Starts the wheel. Any previously started wheel is stopped first.
+     *
+     * @param plugin The non-null plugin that drives the wheel.
+     */
+    public static void start(@Nonnull Plugin plugin) {
+        if (instance != null)
+            stop();
+
+        instance = new TimingWheel(plugin);
+        PerformanceMonitor.register("Timing Wheel: Tasks", () -> instance == null ? 0 : instance.tasks.size());
+        PerformanceMonitor.register("Timing Wheel: Tick Time", () -> instance == null ? "-" : PerformanceMonitor.formatNanos(instance.lastTickNanos));
+    }
+
+    /**
+     * Cancels every scheduled task and stops the wheel.
+     */
+    public static void stop() {
+        if (instance == null)
+            return;
+
+        instance.driver.cancel();
+        for (WheelTask task : instance.collect(null))
+            instance.cancel(task);
+        instance = null;
+    }
+
+    /**
+     * Returns the wheel started by MechanicsCore.
+     *
+     * @return The non-null wheel.
+     */
+    @Nonnull
+    public static TimingWheel getInstance() {
+        if (instance == null)
+            throw new IllegalStateException("The timing wheel was not started");
+
+        return instance;
+    }
+
+    /**
+     * Cancels the task with the given id. Negative ids belong to the wheel,
+     * and any other id is cancelled using the Bukkit scheduler, so task ids
+     * from both schedulers can be stored together.
+     *
+     * @param taskId The id of the task to cancel.
+     */
+    public static void cancelTask(int taskId) {
+        if (taskId >= 0) {
+            Bukkit.getScheduler().cancelTask(taskId);
+            return;
+        }
+
+        if (instance == null)
+            return;
+
+        WheelTask task = instance.tasks.get(taskId);
+        if (task != null)
+            instance.cancel(task);
+    }
+
+    /**
+     * Cancels every task with the given owner.
+     *
+     * @param owner The non-null owner of the tasks.
+     */
+    public void cancelAll(@Nonnull Object owner) {
+        WheelTask task = owners.get(owner);
+        while (task != null) {
+            WheelTask next = task.ownerNext;
+            cancel(task);
+            task = next;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the given owner has any scheduled tasks.
+     *
+     * @param owner The non-null owner of the tasks.
+     * @return true if the owner has tasks.
+     */
+    public boolean hasTasks(@Nonnull Object owner) {
+        return owners.containsKey(owner);
+    }
+
+    /**
+     * Cancels every task in every category of the given plugin. Plugins
+     * should call this when they are disabled, since the wheel belongs to
+     * MechanicsCore.
+     *
+     * @param plugin The non-null name of the plugin.
+     */
+    public void cancelTasks(@Nonnull String plugin) {
+        for (WheelTask task : collect(plugin))
+            cancel(task);
+    }
+
+    /**
+     * @return The amount of scheduled tasks.
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * @return The current tick of the wheel.
+     */
+    public long getCurrentTick() {
+        return now;
+    }
+
+    void schedule(WheelTask task, @Nullable Object owner, TaskCategory category, long delay, long period) {
+        task.wheel = this;
+        task.category = category;
+        task.owner = owner;
+        task.id = nextId();
+        task.deadline = now + Math.max(1, delay);
+        task.period = period;
+
+        tasks.put(task.id, task);
+        if (owner != null) {
+            WheelTask head = owners.put(owner, task);
+            task.ownerNext = head;
+            if (head != null)
+                head.ownerPrev = task;
+        }
+
+        category.scheduled++;
+        category.active++;
+        place(task);
+    }
+
+    void cancel(WheelTask task) {
+        if (task.cancelled || task.finished)
+            return;
+
+        task.cancelled = true;
+        if (task.slot != null)
+            task.slot.remove(task);
+
+        task.category.cancelled++;
+        finish(task);
+    }
+
+    private int nextId() {
+        do {
+            nextId = nextId == Integer.MIN_VALUE ? -1 : nextId - 1;
+        } while (tasks.containsKey(nextId));
+        return nextId;
+    }
+
+    private void place(WheelTask task) {
+        long deadline = task.deadline;
+        if (deadline - now < LEVEL_0_SIZE)
+            level0[(int) (deadline & LEVEL_0_MASK)].add(task);
+        else if ((deadline >>> LEVEL_0_BITS) - (now >>> LEVEL_0_BITS) < LEVEL_1_SIZE)
+            level1[(int) ((deadline >>> LEVEL_0_BITS) & LEVEL_1_MASK)].add(task);
+        else
+            overflow.add(task);
+    }
+
+    private void finish(WheelTask task) {
+        task.finished = true;
+        task.category.active--;
+        tasks.remove(task.id);
+
+        if (task.owner != null) {
+            if (task.ownerPrev != null)
+                task.ownerPrev.ownerNext = task.ownerNext;
+            else if (task.ownerNext != null)
+                owners.put(task.owner, task.ownerNext);
+            else
+                owners.remove(task.owner);
+
+            if (task.ownerNext != null)
+                task.ownerNext.ownerPrev = task.ownerPrev;
+            task.ownerPrev = null;
+            task.ownerNext = null;
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        now++;
+
+        // Move the tasks of the next 256 ticks down into the first level
+        if ((now & LEVEL_0_MASK) == 0) {
+            int index = (int) ((now >>> LEVEL_0_BITS) & LEVEL_1_MASK);
+            if (index == 0)
+                cascade(overflow);
+            cascade(level1[index]);
+        }
+
+        Slot slot = level0[(int) (now & LEVEL_0_MASK)];
+        WheelTask task;
+        while ((task = slot.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable ex) {
+                MechanicsCore.debug.log(LogLevel.ERROR, "Task " + task.id + " in category " + task.category + " threw an exception", ex);
+            }
+
+            task.category.run++;
+            if (task.cancelled)
+                continue;
+
+            if (task.period > 0) {
+                task.deadline = now + task.period;
+                place(task);
+            } else {
+                finish(task);
+            }
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    private void cascade(Slot slot) {
+        WheelTask task;
+        while ((task = slot.poll()) != null)
+            place(task);
+    }
+
+    private List<WheelTask> collect(@Nullable String plugin) {
+        List<WheelTask> list = new ArrayList<>();
+        tasks.forEach((id, task) -> {
+            if (plugin == null || plugin.equals(task.category.getPlugin()))
+                list.add(task);
+        });
+        return list;
+    }
+
+    /**
+     * A doubly linked list of the tasks in 1 slot of the wheel.
+     */
+    static final class Slot {
+
+        private WheelTask head;
+        private WheelTask tail;
+
+        void add(WheelTask task) {
+            task.slot = this;
+            task.prev = tail;
+            task.next = null;
+            if (tail == null)
+                head = task;
+            else
+                tail.next = task;
+            tail = task;
+        }
+
+        void remove(WheelTask task) {
+            if (task.prev == null)
+                head = task.next;
+            else
+                task.prev.next = task.next;
+
+            if (task.next == null)
+                tail = task.prev;
+            else
+                task.next.prev = task.prev;
+
+            task.slot = null;
+            task.prev = null;
+            task.next = null;
+        }
+
+        @Nullable
+        WheelTask poll() {
+            WheelTask task = head;
+            if (task != null)
+                remove(task);
+            return task;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package me.deecaad.core.utils.scheduler;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * This class is a task that is scheduled on the {@link TimingWheel}, and is
+ * used like a {@link org.bukkit.scheduler.BukkitRunnable}. Scheduling and
+ * cancelling a task are both constant time, since the task links itself
+ * into the slot of the wheel it is scheduled in.
+ *
+ * <p>A task may have an owner (like the hand that is shooting). Every task
+ * of an owner can be cancelled at once using {@link TimingWheel#cancelAll(Object)}.
+ *
+ * <p>Like a {@link org.bukkit.scheduler.BukkitRunnable}, a task can only be
+ * scheduled once, and must be scheduled and cancelled on the main thread.
+ */
+public abstract class WheelTask implements Runnable {
+
+    TimingWheel wheel;
+    TaskCategory category;
+    Object owner;
+    int id;
+    long deadline;
+    long period;
+    boolean cancelled;
+    boolean finished;
+
+    // The slot this task is linked into, or null while it is running
+    TimingWheel.Slot slot;
+    WheelTask prev;
+    WheelTask next;
+
+    // Tasks with the same owner
+    WheelTask ownerPrev;
+    WheelTask ownerNext;
+
+    /**
+     * Schedules this task to run once after the given delay.
+     *
+     * @param category The non-null category of this task.
+     * @param delay    The delay, in ticks.
+     * @return A non-null reference to this task.
+     */
+    public final WheelTask runTaskLater(@Nonnull TaskCategory category, long delay) {
+        return runTaskTimer(null, category, delay, -1);
+    }
+
+    /**
+     * Schedules this task to run once after the given delay.
+     *
+     * @param owner    The nullable owner of this task.
+     * @param category The non-null category of this task.
+     * @param delay    The delay, in ticks.
+     * @return A non-null reference to this task.
+     */
+    public final WheelTask runTaskLater(@Nullable Object owner, @Nonnull TaskCategory category, long delay) {
+        return runTaskTimer(owner, category, delay, -1);
+    }
+
+    /**
+     * Schedules this task to run repeatedly until it is cancelled.
+     *
+     * @param category The non-null category of this task.
+     * @param delay    The delay before the first run, in ticks.
+     * @param period   The ticks between each run.
+     * @return A non-null reference to this task.
+     */
+    public final WheelTask runTaskTimer(@Nonnull TaskCategory category, long delay, long period) {
+        return runTaskTimer(null, category, delay, period);
+    }
+
+    /**
+     * Schedules this task to run repeatedly until it is cancelled. Like the
+     * Bukkit scheduler, delays and periods less than 1 tick are treated as
+     * 1 tick, and a negative period runs the task only once.
+     *
+     * @param owner    The nullable owner of this task.
+     * @param category The non-null category of this task.
+     * @param delay    The delay before the first run, in ticks.
+     * @param period   The ticks between each run, or -1 to run once.
+     * @return A non-null reference to this task.
+     */
+    public final WheelTask runTaskTimer(@Nullable Object owner, @Nonnull TaskCategory category, long delay, long period) {
+        if (wheel != null)
+            throw new IllegalStateException("Already scheduled as " + id);
+
+        TimingWheel.getInstance().schedule(this, owner, category, delay, period < 0 ? 0 : Math.max(1, period));
+        return this;
+    }
+
+    /**
+     * Cancels this task. Does nothing if the task was already cancelled, or
+     * if it has finished.
+     */
+    public final void cancel() {
+        if (wheel != null)
+            wheel.cancel(this);
+    }
+
+    /**
+     * @return true if this task was cancelled.
+     */
+    public final boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns the id of this task. Ids of wheel tasks are always negative, so
+     * they never collide with Bukkit task ids, and can be cancelled using
+     * {@link TimingWheel#cancelTask(int)}.
+     *
+     * @return The id of this task.
+     */
+    public final int getTaskId() {
+        if (wheel == null)
+            throw new IllegalStateException("Not scheduled yet");
+
+        return id;
+    }
+
+    @Nullable
+    public final TaskCategory getCategory() {
+        return category;
+    }
+}
@@ -0,0 +1,42 @@
+package me.deecaad.core.placeholder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlaceholderTemplateTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "%ammo%,30",
+            "Ammo: %ammo%/%max%,Ammo: 30/60",
+            "%AMMO%%max%,3060",
+            "No placeholders,No placeholders",
+            "%unknown% %ammo%,%unknown% 30",
+            "100% %ammo%,100% 30"
+    })
+    void test_apply(String message, String expected) {
+        Map<String, String> temp = Map.of("%ammo%", "30", "%max%", "60");
+        assertEquals(expected, PlaceholderTemplate.compile(message).apply(null, null, null, null, temp));
+    }
+
+    @Test
+    void test_colors() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("&a%ammo%&7/%max%");
+        Map<String, String> temp = Map.of("%ammo%", "&c0", "%max%", "60");
+
+        assertEquals("§a§c0§7/60", template.apply(null, null, null, null, temp));
+    }
+
+    @Test
+    void test_escapedColors() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("\\&a %ammo%");
+        Map<String, String> temp = Map.of("%ammo%", "30");
+
+        assertEquals("&a 30", template.apply(null, null, null, null, temp));
+    }
+}
@@ -0,0 +1,121 @@
+package me.deecaad.core.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasSamplerTest {
+
+    private static final int SAMPLES = 200000;
+
+    // Chi-squared critical value for 9 degrees of freedom at p = 0.0001. Every
+    // random number generator is seeded, so the result is deterministic.
+    private static final double CRITICAL_VALUE = 33.72;
+
+    private static Stream<Arguments> provide_weights() {
+        return Stream.of(
+                Arguments.of((Object) new double[]{1, 1, 1, 1, 1, 1, 1, 1, 1, 1}),
+                Arguments.of((Object) new double[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}),
+                Arguments.of((Object) new double[]{0.9, 0.1, 0.5, 0.01, 1, 0.3, 0.7, 0.2, 0.05, 0.6}),
+                Arguments.of((Object) new double[]{100, 1, 1, 1, 1, 1, 1, 1, 1, 1})
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provide_weights")
+    void test_matchesProbabilityMap(double[] weights) {
+        List<Integer> elements = new ArrayList<>();
+        ProbabilityMap<Integer> map = new ProbabilityMap<>();
+        for (int i = 0; i < weights.length; i++) {
+            elements.add(i);
+            map.add(i, weights[i]);
+        }
+
+        AliasSampler<Integer> sampler = new AliasSampler<>(elements, weights);
+        Random samplerRandom = new Random(12345L);
+        Random mapRandom = new Random(54321L);
+
+        int[] samplerCounts = new int[weights.length];
+        int[] mapCounts = new int[weights.length];
+        for (int i = 0; i < SAMPLES; i++) {
+            samplerCounts[sampler.get(samplerRandom)]++;
+            mapCounts[map.get(mapRandom)]++;
+        }
+
+        // Both should fit the expected distribution, and so each other
+        assertTrue(chiSquared(samplerCounts, weights) < CRITICAL_VALUE, "Alias sampler does not fit the weights");
+        assertTrue(chiSquared(mapCounts, weights) < CRITICAL_VALUE, "Probability map does not fit the weights");
+        assertTrue(chiSquared(samplerCounts, toDoubles(mapCounts)) < 2 * CRITICAL_VALUE, "Alias sampler does not fit the probability map");
+    }
+
+    @Test
+    void test_of() {
+        ProbabilityMap<String> map = new ProbabilityMap<>();
+        map.add("a", 1.0);
+        map.add("b", 3.0);
+
+        AliasSampler<String> sampler = AliasSampler.of(map);
+        assertEquals(2, sampler.size());
+
+        Random random = new Random(1L);
+        int a = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            if ("a".equals(sampler.get(random)))
+                a++;
+        }
+        assertEquals(0.25, (double) a / SAMPLES, 0.01);
+    }
+
+    @Test
+    void test_zeroWeights() {
+        AliasSampler<String> sampler = new AliasSampler<>(List.of("a", "b", "c"), new double[]{0.0, 1.0, 0.0});
+        assertEquals(1, sampler.size());
+
+        Random random = new Random(1L);
+        for (int i = 0; i < 1000; i++)
+            assertEquals("b", sampler.get(random));
+    }
+
+    @Test
+    void test_empty() {
+        AliasSampler<String> sampler = new AliasSampler<>(Collections.emptyList(), new double[0]);
+        assertTrue(sampler.isEmpty());
+        assertNull(sampler.get());
+    }
+
+    @Test
+    void test_illegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler<>(List.of("a"), new double[]{1.0, 2.0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler<>(List.of("a"), new double[]{-1.0}));
+    }
+
+    private static double chiSquared(int[] counts, double[] weights) {
+        double total = 0.0;
+        for (double weight : weights)
+            total += weight;
+
+        double sum = 0.0;
+        for (int i = 0; i < counts.length; i++) {
+            double expected = SAMPLES * weights[i] / total;
+            double difference = counts[i] - expected;
+            sum += difference * difference / expected;
+        }
+        return sum;
+    }
+
+    private static double[] toDoubles(int[] counts) {
+        double[] doubles = new double[counts.length];
+        for (int i = 0; i < counts.length; i++)
+            doubles[i] = counts[i];
+        return doubles;
+    }
+}
@@ -0,0 +1,88 @@
+package me.deecaad.core.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DebuggerTest {
+
+    private List<LogRecord> records;
+    private Debugger debug;
+
+    @BeforeEach
+    public void setUp() {
+        records = new ArrayList<>();
+
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        debug = new Debugger(logger, 2);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"Hello {}!,Hello 1!", "{} and {},1 and 2", "{}{}{},123", "No placeholders,No placeholders"})
+    public void test_logFormat(String pattern, String expected) {
+        debug.logFormat(LogLevel.WARN, pattern, 1, 2, 3);
+
+        assertEquals(1, records.size());
+        assertEquals(expected, records.get(0).getMessage());
+    }
+
+    @Test
+    public void test_logFormat_throwable() {
+        IllegalStateException error = new IllegalStateException();
+        debug.logFormat(LogLevel.WARN, "Broke at {}", 5, error);
+
+        assertEquals("Broke at 5", records.get(0).getMessage());
+        assertSame(error, records.get(0).getThrown());
+    }
+
+    @Test
+    public void test_filteredIsLazy() {
+        debug.log(LogLevel.DEBUG, () -> fail("Built a filtered message"));
+        debug.logFormat(LogLevel.DEBUG, "{}", new Object() {
+            @Override
+            public String toString() {
+                return fail("Built a filtered message");
+            }
+        });
+
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    public void test_logLimited() {
+        for (int i = 0; i < 5; i++)
+            debug.logLimited(LogLevel.WARN, "key", 0L, () -> "Message", null);
+        assertEquals(5, records.size());
+
+        records.clear();
+        for (int i = 0; i < 5; i++)
+            debug.logLimited(LogLevel.WARN, "other", 60000L, () -> "Message", null);
+        assertEquals(1, records.size());
+        assertEquals("Message", records.get(0).getMessage());
+    }
+}
@@ -0,0 +1,95 @@
+package me.deecaad.core.utils.primitive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntMapTest {
+
+    private static IntMap<String> provideBlocks() {
+        IntMap<String> blocks = new IntMap<>();
+        blocks.put(0, "Origin");
+        blocks.put(-1, "Below");
+        blocks.put(255, "Corner");
+        blocks.put(Integer.MIN_VALUE, "Min");
+        blocks.put(Integer.MAX_VALUE, "Max");
+
+        return blocks;
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,Origin", "-1,Below", "255,Corner", "-2147483648,Min", "2147483647,Max"})
+    public void test_get(int key, String expected) {
+        IntMap<String> blocks = provideBlocks();
+
+        assertEquals(expected, blocks.get(key));
+        assertTrue(blocks.containsKey(key));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1", "-2", "256", "65536"})
+    public void test_missing(int key) {
+        IntMap<String> blocks = provideBlocks();
+
+        assertNull(blocks.get(key));
+        assertFalse(blocks.containsKey(key));
+    }
+
+    @Test
+    public void test_emptyMap() {
+        IntMap<String> empty = new IntMap<>();
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertNull(empty.get(0));
+        assertNull(empty.remove(0));
+
+        // Fail if it loops at all
+        empty.forEach((key, value) -> fail());
+    }
+
+    @Test
+    public void test_putReplaces() {
+        IntMap<String> blocks = provideBlocks();
+
+        assertEquals("Origin", blocks.put(0, "Center"));
+        assertEquals("Center", blocks.get(0));
+        assertEquals(5, blocks.size());
+    }
+
+    @Test
+    public void test_computeIfAbsent() {
+        IntMap<String> blocks = provideBlocks();
+
+        assertEquals("Origin", blocks.computeIfAbsent(0, key -> fail()));
+        assertEquals("Created", blocks.computeIfAbsent(9, key -> "Created"));
+        assertEquals(6, blocks.size());
+    }
+
+    @Test
+    public void test_matchesHashMap() {
+        IntMap<Integer> map = new IntMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(12345);
+
+        // Randomly put, remove and get keys from a small range, so there are
+        // many collisions and removals that shift entries back.
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(4096) - 2048;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        map.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+}
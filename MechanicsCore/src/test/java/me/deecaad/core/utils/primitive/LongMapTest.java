@@ -0,0 +1,113 @@
+package me.deecaad.core.utils.primitive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongMapTest {
+
+    private static LongMap<String> provideChunks() {
+        LongMap<String> chunks = new LongMap<>();
+        chunks.put(LongMap.pack(0, 0), "Spawn");
+        chunks.put(LongMap.pack(-1, 0), "West");
+        chunks.put(LongMap.pack(0, -1), "North");
+        chunks.put(LongMap.pack(1, 1), "SouthEast");
+        chunks.put(LongMap.pack(-1875000, 1875000), "Border");
+
+        return chunks;
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,0,Spawn", "-1,0,West", "0,-1,North", "1,1,SouthEast", "-1875000,1875000,Border"})
+    public void test_get(int x, int z, String expected) {
+        LongMap<String> chunks = provideChunks();
+
+        assertEquals(expected, chunks.get(LongMap.pack(x, z)));
+        assertTrue(chunks.containsKey(LongMap.pack(x, z)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1,0", "0,1", "-1,-1", "1875000,-1875000"})
+    public void test_missing(int x, int z) {
+        LongMap<String> chunks = provideChunks();
+
+        assertNull(chunks.get(LongMap.pack(x, z)));
+        assertFalse(chunks.containsKey(LongMap.pack(x, z)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,0", "-1,5", "5,-1", "-30000000,30000000", "2147483647,-2147483648"})
+    public void test_pack(int x, int z) {
+        long packed = LongMap.pack(x, z);
+
+        assertEquals(x, LongMap.unpackX(packed));
+        assertEquals(z, LongMap.unpackZ(packed));
+    }
+
+    @Test
+    public void test_emptyMap() {
+        LongMap<String> empty = new LongMap<>();
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertNull(empty.get(0L));
+        assertNull(empty.remove(0L));
+
+        // Fail if it loops at all
+        empty.forEach((key, value) -> fail());
+    }
+
+    @Test
+    public void test_putReplaces() {
+        LongMap<String> chunks = provideChunks();
+
+        assertEquals("Spawn", chunks.put(LongMap.pack(0, 0), "Lobby"));
+        assertEquals("Lobby", chunks.get(LongMap.pack(0, 0)));
+        assertEquals(5, chunks.size());
+    }
+
+    @Test
+    public void test_computeIfAbsent() {
+        LongMap<String> chunks = provideChunks();
+
+        assertEquals("Spawn", chunks.computeIfAbsent(LongMap.pack(0, 0), key -> fail()));
+        assertEquals("Created", chunks.computeIfAbsent(LongMap.pack(9, 9), key -> "Created"));
+        assertEquals(6, chunks.size());
+    }
+
+    @Test
+    public void test_clear() {
+        LongMap<String> chunks = provideChunks();
+        chunks.clear();
+
+        assertTrue(chunks.isEmpty());
+        assertNull(chunks.get(LongMap.pack(0, 0)));
+    }
+
+    @Test
+    public void test_matchesHashMap() {
+        LongMap<Integer> map = new LongMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(12345);
+
+        // Randomly put, remove and get keys from a small area, so there are
+        // many collisions and removals that shift entries back.
+        for (int i = 0; i < 100000; i++) {
+            long key = LongMap.pack(random.nextInt(64) - 32, random.nextInt(64) - 32);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        map.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+}
@@ -0,0 +1,85 @@
+package me.deecaad.core.utils.ray;
+
+import me.deecaad.core.compatibility.HitBox;
+import org.bukkit.block.BlockFace;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RayHitsTest {
+
+    @ParameterizedTest
+    @CsvSource({"1,0,0,1.0,WEST", "-1,0,0,1.0,EAST", "0,1,0,1.0,DOWN", "0,-1,0,1.0,UP", "0,0,1,1.0,NORTH", "0,0,-1,1.0,SOUTH"})
+    public void test_intersect(double dirX, double dirY, double dirZ, double expected, BlockFace face) {
+        RayHits hits = new RayHits();
+
+        // A 1x1x1 box 1 block away from the start in the given direction
+        double x = dirX * 1.5;
+        double y = dirY * 1.5;
+        double z = dirZ * 1.5;
+        HitBox box = new HitBox(x - 0.5, y - 0.5, z - 0.5, x + 0.5, y + 0.5, z + 0.5);
+
+        assertTrue(box.rayTrace(0, 0, 0, dirX, dirY, dirZ, 0.0, hits));
+        assertEquals(1, hits.size());
+        assertEquals(expected, hits.getDistance(0), 1e-10);
+        assertEquals(face, hits.getHitFace(0));
+        assertEquals(dirX, hits.getX(0), 1e-10);
+        assertEquals(dirY, hits.getY(0), 1e-10);
+        assertEquals(dirZ, hits.getZ(0), 1e-10);
+    }
+
+    @Test
+    public void test_miss() {
+        RayHits hits = new RayHits();
+        HitBox box = new HitBox(1, 1, 1, 2, 2, 2);
+
+        assertFalse(box.rayTrace(0, 0, 0, -1, 0, 0, 0.0, hits));
+        assertTrue(hits.isEmpty());
+    }
+
+    @Test
+    public void test_grow() {
+        RayHits hits = new RayHits();
+        HitBox box = new HitBox(1, 1, 1, 2, 2, 2);
+
+        // The ray passes just below the box, so it only hits the grown box
+        assertFalse(box.rayTrace(0, 0.95, 1.5, 1, 0, 0, 0.0, hits));
+        assertTrue(box.rayTrace(0, 0.95, 1.5, 1, 0, 0, 0.1, hits));
+        assertEquals(0.9, hits.getDistance(0), 1e-10);
+
+        // The original hit box is not modified
+        assertEquals(1.0, box.getMinX());
+        assertEquals(0.9, hits.get(0).getHitBox().getMinX(), 1e-10);
+    }
+
+    @Test
+    public void test_startInside() {
+        RayHits hits = new RayHits();
+        HitBox box = new HitBox(-1, -1, -1, 1, 1, 1);
+
+        assertTrue(box.rayTrace(0, 0, 0, 1, 0, 0, 0.0, hits));
+        assertEquals(1.0, hits.getDistance(0), 1e-10);
+        assertEquals(BlockFace.EAST, hits.getHitFace(0));
+    }
+
+    @Test
+    public void test_sortAndClear() {
+        RayHits hits = new RayHits(1);
+        new HitBox(5, -1, -1, 6, 1, 1).rayTrace(0, 0, 0, 1, 0, 0, 0.0, hits);
+        new HitBox(2, -1, -1, 3, 1, 1).rayTrace(0, 0, 0, 1, 0, 0, 0.0, hits);
+        new HitBox(8, -1, -1, 9, 1, 1).rayTrace(0, 0, 0, 1, 0, 0, 0.0, hits);
+        hits.sort();
+
+        assertEquals(3, hits.size());
+        assertEquals(2.0, hits.getDistance(0), 1e-10);
+        assertEquals(5.0, hits.getDistance(1), 1e-10);
+        assertEquals(8.0, hits.getDistance(2), 1e-10);
+        assertEquals(2.0, hits.get(0).getHitLocation().getX(), 1e-10);
+
+        hits.clear();
+        assertTrue(hits.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> hits.get(0));
+    }
+}
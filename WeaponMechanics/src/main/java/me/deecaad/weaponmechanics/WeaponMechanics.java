@@ -11,6 +11,7 @@ import me.deecaad.core.MechanicsCore;
 import me.deecaad.core.commands.MainCommand;
 import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.worldguard.WorldGuardCompatibility;
+import me.deecaad.core.database.BatchWriter;
 import me.deecaad.core.database.Database;
 import me.deecaad.core.database.MySQL;
 import me.deecaad.core.database.SQLite;
@@ -20,6 +21,7 @@ import me.deecaad.core.mechanics.Mechanics;
 import me.deecaad.core.placeholder.PlaceholderAPI;
 import me.deecaad.core.placeholder.PlaceholderHandler;
 import me.deecaad.core.utils.*;
+import me.deecaad.core.utils.scheduler.TimingWheel;
 import me.deecaad.weaponmechanics.commands.WeaponMechanicsCommand;
 import me.deecaad.weaponmechanics.commands.WeaponMechanicsMainCommand;
 import me.deecaad.weaponmechanics.lib.MythicMobsLoader;
@@ -32,20 +34,26 @@ import me.deecaad.weaponmechanics.listeners.trigger.TriggerPlayerListeners;
 import me.deecaad.weaponmechanics.mechanics.ReloadingCondition;
 import me.deecaad.weaponmechanics.packetlisteners.OutAbilitiesListener;
 import me.deecaad.weaponmechanics.packetlisteners.OutEntityEffectListener;
+import me.deecaad.weaponmechanics.packetlisteners.OutInventoryListener;
 import me.deecaad.weaponmechanics.packetlisteners.OutRemoveEntityEffectListener;
 import me.deecaad.weaponmechanics.packetlisteners.OutSetSlotBobFix;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
 import me.deecaad.weaponmechanics.weapon.damage.AssistData;
 import me.deecaad.weaponmechanics.weapon.damage.BlockDamageData;
+import me.deecaad.weaponmechanics.weapon.damage.BlockDamageJournal;
+import me.deecaad.weaponmechanics.weapon.explode.exposures.ExposureRays;
 import me.deecaad.weaponmechanics.weapon.info.InfoHandler;
 import me.deecaad.weaponmechanics.weapon.placeholders.PlaceholderValidator;
 import me.deecaad.weaponmechanics.weapon.projectile.HitBoxValidator;
 import me.deecaad.weaponmechanics.weapon.projectile.ProjectilesRunnable;
 import me.deecaad.weaponmechanics.weapon.reload.ammo.AmmoTypes;
 import me.deecaad.weaponmechanics.weapon.shoot.recoil.Recoil;
+import me.deecaad.weaponmechanics.weapon.shoot.recoil.RecoilScheduler;
 import me.deecaad.weaponmechanics.weapon.stats.PlayerStat;
 import me.deecaad.weaponmechanics.weapon.stats.WeaponStat;
 import me.deecaad.weaponmechanics.wrappers.EntityWrapper;
+import me.deecaad.weaponmechanics.wrappers.MovementSampler;
+import me.deecaad.weaponmechanics.wrappers.PacketState;
 import me.deecaad.weaponmechanics.wrappers.PlayerWrapper;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
@@ -89,10 +97,13 @@ public class WeaponMechanics {
     WeaponHandler weaponHandler;
     UpdateChecker updateChecker;
     ProjectilesRunnable projectilesRunnable;
+    RecoilScheduler recoilScheduler;
+    MovementSampler movementSampler;
     ProtocolManager protocolManager;
     TimingManager timingManager;
     Metrics metrics;
     Database database;
+    BatchWriter statsWriter;
 
     // public so people can import a static variable
     public static Debugger debug;
@@ -155,8 +166,24 @@ public class WeaponMechanics {
         // Start custom projectile runnable
         projectilesRunnable = new ProjectilesRunnable(getPlugin());
 
+        // Start sampling entity movement, used by movement triggers
+        movementSampler = new MovementSampler(getPlugin());
+        movementSampler.loadConfig(basicConfiguration);
+        registerMovementMetrics();
+
         // Set millis between recoil rotations
         Recoil.MILLIS_BETWEEN_ROTATIONS = basicConfiguration.getInt("Recoil_Millis_Between_Rotations", 20);
+        recoilScheduler = new RecoilScheduler(Recoil.MILLIS_BETWEEN_ROTATIONS);
+
+        // Set the amount of projectiles required to step projectile motion on multiple threads
+        ProjectilesRunnable.PARALLEL_THRESHOLD = basicConfiguration.getInt("Projectile_Parallel_Threshold", 512);
+
+        // Set the amount of exposure rays required to test explosion exposure on multiple threads
+        ExposureRays.PARALLEL_THRESHOLD = basicConfiguration.getInt("Exposure_Parallel_Threshold", 128);
+
+        PerformanceMonitor.register("Block Damage: Blocks", BlockDamageData::getDamagedBlocks);
+        PerformanceMonitor.register("Block Damage: Chunks", BlockDamageData::getDamagedChunks);
+        PerformanceMonitor.register("Recoil: Active Curves", () -> recoilScheduler == null ? 0 : recoilScheduler.getActive());
 
         setupDatabase();
 
@@ -179,6 +206,7 @@ public class WeaponMechanics {
                     registerListeners();
                     registerBStats();
                     registerPermissions();
+                    setupBlockDamageJournal();
                 });
 
 
@@ -201,7 +229,10 @@ public class WeaponMechanics {
         Logger logger = getLogger();
         int level = getConfig().getInt("Debug_Level", 2);
         boolean isPrintTraces = getConfig().getBoolean("Print_Traces", false);
+        if (debug != null)
+            debug.close();
         debug = new Debugger(logger, level, isPrintTraces);
+        debug.setAsync(getConfig().getBoolean("Async_Logging", false));
         MechanicsCore.debug.setLevel(level);
         debug.permission = "weaponmechanics.errorlog";
         debug.msg = "WeaponMechanics had %s error(s) in console.";
@@ -264,6 +295,11 @@ public class WeaponMechanics {
         }
     }
 
+    void registerMovementMetrics() {
+        PerformanceMonitor.register("Movement Sampler: Tick Time", () -> movementSampler == null ? "-" : PerformanceMonitor.formatNanos(movementSampler.getLastTickNanos()));
+        PerformanceMonitor.register("Movement Sampler: Tracked", () -> movementSampler == null ? 0 : movementSampler.getTracked());
+    }
+
     void setupDatabase() {
         if (basicConfiguration.getBool("Database.Enable", true)) {
 
@@ -285,9 +321,43 @@ public class WeaponMechanics {
                 database = new MySQL(hostname, port, databaseName, username, password);
             }
             database.executeUpdate(true, PlayerStat.getCreateTableString(), WeaponStat.getCreateTableString());
+
+            int capacity = basicConfiguration.getInt("Database.Writer.Queue_Capacity", 1024);
+            int batchSize = basicConfiguration.getInt("Database.Writer.Batch_Size", 64);
+            int maxDelay = basicConfiguration.getInt("Database.Writer.Max_Delay", 1000);
+            statsWriter = new BatchWriter(database, "WeaponMechanics Stats Writer", capacity, batchSize, maxDelay);
+
+            PerformanceMonitor.register("Stats Writer: Queue Depth", () -> statsWriter == null ? 0 : statsWriter.getQueueDepth());
+            PerformanceMonitor.register("Stats Writer: Batch Size", () -> statsWriter == null ? 0 : statsWriter.getLastBatchSize());
+            PerformanceMonitor.register("Stats Writer: Commit Time", () -> statsWriter == null ? "-" : PerformanceMonitor.formatNanos(statsWriter.getLastCommitNanos()));
+            PerformanceMonitor.register("Stats Writer: Max Commit Time", () -> statsWriter == null ? "-" : PerformanceMonitor.formatNanos(statsWriter.getMaxCommitNanos()));
+            PerformanceMonitor.register("Stats Writer: Rows Written", () -> statsWriter == null ? 0 : statsWriter.getRowsWritten());
+            PerformanceMonitor.register("Stats Writer: Rows Coalesced", () -> statsWriter == null ? 0 : statsWriter.getRowsCoalesced());
+            PerformanceMonitor.register("Stats Writer: Rows Overflowed", () -> statsWriter == null ? 0 : statsWriter.getRowsOverflowed());
         }
     }
 
+    void setupBlockDamageJournal() {
+        if (!basicConfiguration.getBool("Explosions.Journal.Enabled", true))
+            return;
+
+        BlockDamageJournal.COMPACT_THRESHOLD = basicConfiguration.getInt("Explosions.Journal.Compact_Threshold", 4096);
+        try {
+            BlockDamageJournal journal = new BlockDamageJournal(new File(getDataFolder(), "journal"));
+            BlockDamageData.setJournal(journal);
+            journal.replayLoaded();
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Failed to open block damage journal, blocks will regenerate on shutdown", e);
+            return;
+        }
+
+        PerformanceMonitor.register("Block Journal: Live Blocks", () -> BlockDamageData.getJournal() == null ? 0 : BlockDamageData.getJournal().getLiveBlocks());
+        PerformanceMonitor.register("Block Journal: Pending Blocks", () -> BlockDamageData.getJournal() == null ? 0 : BlockDamageData.getJournal().getPendingBlocks());
+        PerformanceMonitor.register("Block Journal: Size", () -> BlockDamageData.getJournal() == null ? 0 : BlockDamageData.getJournal().getSize());
+        PerformanceMonitor.register("Block Journal: Replayed", () -> BlockDamageData.getJournal() == null ? 0 : BlockDamageData.getJournal().getReplayed());
+        PerformanceMonitor.register("Block Journal: Compactions", () -> BlockDamageData.getJournal() == null ? 0 : BlockDamageData.getJournal().getCompactions());
+    }
+
     void loadConfig() {
         debug.debug("Loading and serializing config");
 
@@ -320,6 +390,9 @@ public class WeaponMechanics {
         } catch (DuplicateKeyException e) {
             debug.error("Error loading config: " + e.getMessage());
         }
+
+        // Compile the options used every shot, so they are not looked up by key
+        weaponHandler.getInfoHandler().compileDefinitions(configurations);
     }
 
     void registerPlaceholders() {
@@ -368,6 +441,7 @@ public class WeaponMechanics {
         protocolManager.addPacketListener(new OutEntityEffectListener(javaPlugin));
         protocolManager.addPacketListener(new OutRemoveEntityEffectListener(javaPlugin));
         protocolManager.addPacketListener(new OutSetSlotBobFix(javaPlugin));
+        protocolManager.addPacketListener(new OutInventoryListener(javaPlugin));
     }
 
     void registerCommands() {
@@ -564,10 +638,14 @@ public class WeaponMechanics {
         entityWrappers = new HashMap<>();
         weaponHandler = new WeaponHandler();
         projectilesRunnable = new ProjectilesRunnable(getPlugin());
+        recoilScheduler = new RecoilScheduler(Recoil.MILLIS_BETWEEN_ROTATIONS);
+        movementSampler = new MovementSampler(getPlugin());
 
         return new TaskChain(getPlugin())
                 .thenRunAsync(this::writeFiles)
                 .thenRunSync(() -> {
+                    movementSampler.loadConfig(basicConfiguration);
+                    registerMovementMetrics();
 
                     // Register mechanics/conditions/targeters
                     Mechanics.CONDITIONS.add(new ReloadingCondition());
@@ -580,6 +658,7 @@ public class WeaponMechanics {
                     registerPermissions();
                     registerUpdateChecker();
                     setupDatabase();
+                    setupBlockDamageJournal();
 
                     for (Player player : Bukkit.getOnlinePlayers()) {
                         // Add PlayerWrapper in onEnable in case server is reloaded for example
@@ -592,11 +671,18 @@ public class WeaponMechanics {
     }
 
     public void onDisable() {
-        BlockDamageData.regenerateAll();
+        // Journaled blocks are left for the next startup to regenerate
+        BlockDamageData.close();
 
         HandlerList.unregisterAll(getPlugin());
         Bukkit.getServer().getScheduler().cancelTasks(getPlugin());
 
+        // The timing wheel belongs to MechanicsCore, so only our tasks are cancelled
+        TimingWheel.getInstance().cancelTasks("WeaponMechanics");
+
+        // Recoil is rotated on its own thread, which is stopped here
+        if (recoilScheduler != null) recoilScheduler.close();
+
         // Clear AmmoType registry for reload
         AmmoTypes.clearRegistry();
 
@@ -604,8 +690,11 @@ public class WeaponMechanics {
         if (database != null) {
             for (EntityWrapper entityWrapper : entityWrappers.values()) {
                 if (!entityWrapper.isPlayer()) continue;
-                weaponHandler.getStatsHandler().save((PlayerWrapper) entityWrapper, true);
+                weaponHandler.getStatsHandler().save((PlayerWrapper) entityWrapper, false);
             }
+
+            // Closing the writer blocks until every queued row is written
+            if (statsWriter != null) statsWriter.close();
             try {
                 database.close();
             } catch (SQLException e) {
@@ -615,8 +704,10 @@ public class WeaponMechanics {
 
         // Unregister packet listeners
         protocolManager.removePacketListeners(javaPlugin);
+        PacketState.clear();
 
         database = null;
+        statsWriter = null;
         weaponHandler = null;
         //updateChecker = null; do not reset update checker
         entityWrappers = null;
@@ -624,7 +715,10 @@ public class WeaponMechanics {
         configurations = null;
         basicConfiguration = null;
         projectilesRunnable = null;
+        recoilScheduler = null;
+        movementSampler = null;
         plugin = null;
+        debug.close();
         debug = null;
         WeaponMechanicsAPI.setInstance(null);
     }
@@ -636,6 +730,20 @@ public class WeaponMechanics {
         return plugin.projectilesRunnable;
     }
 
+    /**
+     * @return the scheduler rotating the camera of players with recoil
+     */
+    public static RecoilScheduler getRecoilScheduler() {
+        return plugin.recoilScheduler;
+    }
+
+    /**
+     * @return the sampler used to track movement of entity wrappers
+     */
+    public static MovementSampler getMovementSampler() {
+        return plugin.movementSampler;
+    }
+
     /**
      * @return the WeaponMechanics plugin instance
      */
@@ -702,19 +810,21 @@ public class WeaponMechanics {
 
     /**
      * Removes entity (and player) wrapper and all of its content.
-     * Move task is also cancelled.
+     * The entity's movement is no longer sampled.
      *
      * @param entity the entity (or player)
      */
     public static void removeEntityWrapper(LivingEntity entity) {
         EntityWrapper oldWrapper = plugin.entityWrappers.remove(entity);
         if (oldWrapper != null) {
-            int oldMoveTask = oldWrapper.getMoveTaskId();
-            if (oldMoveTask != 0) {
-                Bukkit.getScheduler().cancelTask(oldMoveTask);
+            if (plugin.movementSampler != null) {
+                plugin.movementSampler.untrack(oldWrapper);
             }
             oldWrapper.getMainHandData().cancelTasks();
             oldWrapper.getOffHandData().cancelTasks();
+            if (oldWrapper instanceof PlayerWrapper playerWrapper) {
+                playerWrapper.getPacketState().unregister();
+            }
         }
     }
 
@@ -761,4 +871,12 @@ public class WeaponMechanics {
     public static Database getDatabase() {
         return plugin.database;
     }
+
+    /**
+     * @return the writer used to save stats, if the database is enabled
+     */
+    @Nullable
+    public static BatchWriter getStatsWriter() {
+        return plugin.statsWriter;
+    }
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package me.deecaad.weaponmechanics.listeners;
 
 import me.deecaad.weaponmechanics.weapon.damage.BlockDamageData;
+import me.deecaad.weaponmechanics.weapon.damage.BlockDamageJournal;
 import org.bukkit.Chunk;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.hanging.HangingBreakEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
 
 /**
@@ -14,10 +16,18 @@ import org.bukkit.event.world.ChunkUnloadEvent;
  * with block regeneration, or cause damage because
  * of the missing blocks
  *
- * It also regenerates blocks if chunks unload
+ * It also regenerates blocks if chunks unload, and regenerates
+ * journaled blocks from previous runs when chunks load
  */
 public class ExplosionInteractionListeners implements Listener {
 
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent e) {
+        BlockDamageJournal journal = BlockDamageData.getJournal();
+        if (journal != null)
+            journal.replay(e.getChunk());
+    }
+
     @EventHandler
     public void onChunkUnload(ChunkUnloadEvent e) {
         Chunk chunk = e.getChunk();
@@ -117,25 +117,25 @@ public class TriggerEntityListeners implements Listener {
 
     @EventHandler
     public void toggleWalk(EntityToggleWalkEvent e) {
-        // Whether this is used its checked already in MoveTask class
+        // Whether this is used its checked already in MovementSampler class
         weaponHandler.useTrigger(e.getLivingEntity(), e.isWalking() ? TriggerType.START_WALK : TriggerType.END_WALK, false);
     }
 
     @EventHandler
     public void toggleInMidair(EntityToggleInMidairEvent e) {
-        // Whether this is used its checked already in MoveTask class
+        // Whether this is used its checked already in MovementSampler class
         weaponHandler.useTrigger(e.getLivingEntity(), e.isInMidair() ? TriggerType.START_IN_MIDAIR : TriggerType.END_IN_MIDAIR, false);
     }
 
     @EventHandler
     public void toggleStand(EntityToggleStandEvent e) {
-        // Whether this is used its checked already in MoveTask class
+        // Whether this is used its checked already in MovementSampler class
         weaponHandler.useTrigger(e.getLivingEntity(), e.isStanding() ? TriggerType.START_STAND : TriggerType.END_STAND, false);
     }
 
     @EventHandler
     public void toggleSwim(EntityToggleSwimEvent e) {
-        // Whether this is used its checked already in MoveTask class
+        // Whether this is used its checked already in MovementSampler class
         weaponHandler.useTrigger(e.getLivingEntity(), e.isSwimming() ? TriggerType.START_SWIM : TriggerType.END_SWIM, false);
     }
 
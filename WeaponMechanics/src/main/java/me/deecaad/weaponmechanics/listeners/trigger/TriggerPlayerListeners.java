@@ -74,7 +74,7 @@ public class TriggerPlayerListeners implements Listener {
 
     @EventHandler
     public void jump(PlayerJumpEvent e) {
-        // Whether this is used its checked already in MoveTask class
+        // Whether this is used its checked already in MovementSampler class
         weaponHandler.useTrigger(e.getPlayer(), e.isDoubleJump() ? TriggerType.DOUBLE_JUMP : TriggerType.JUMP, false);
     }
 
@@ -4,9 +4,9 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.ListenerPriority;
 import com.comphenix.protocol.events.PacketAdapter;
 import com.comphenix.protocol.events.PacketEvent;
-import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.weapon.scope.ScopeLevel;
 import me.deecaad.weaponmechanics.wrappers.EntityWrapper;
+import me.deecaad.weaponmechanics.wrappers.PacketState;
 import me.deecaad.weaponmechanics.wrappers.ZoomData;
 import org.bukkit.plugin.Plugin;
 
@@ -22,7 +22,13 @@ public class OutAbilitiesListener extends PacketAdapter {
 
     @Override
     public void onPacketSending(PacketEvent event) {
-        EntityWrapper entity = WeaponMechanics.getEntityWrapper(event.getPlayer());
+        // The wrapper is found through the packet state, since this runs on
+        // netty threads. When it is missing, the player has no weapon state.
+        PacketState state = PacketState.get(event.getPlayer().getEntityId());
+        if (state == null)
+            return;
+
+        EntityWrapper entity = state.getWrapper();
 
         ZoomData mainZoomData = entity.getMainHandData().getZoomData();
         ZoomData offZoomData = entity.getOffHandData().getZoomData();
@@ -4,8 +4,8 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.ListenerPriority;
 import com.comphenix.protocol.events.PacketAdapter;
 import com.comphenix.protocol.events.PacketEvent;
-import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.wrappers.EntityWrapper;
+import me.deecaad.weaponmechanics.wrappers.PacketState;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.potion.PotionEffectType;
 
@@ -34,7 +34,13 @@ public class OutEntityEffectListener extends PacketAdapter {
         if (id != event.getPlayer().getEntityId())
             return;
 
-        EntityWrapper entity = WeaponMechanics.getEntityWrapper(event.getPlayer());
+        // The wrapper is found through the packet state, since this runs on
+        // netty threads. When it is missing, the player has no weapon state.
+        PacketState state = PacketState.get(event.getPlayer().getEntityId());
+        if (state == null)
+            return;
+
+        EntityWrapper entity = state.getWrapper();
 
         if (!entity.getMainHandData().getZoomData().hasZoomNightVision() && !entity.getOffHandData().getZoomData().hasZoomNightVision())
             return;
@@ -0,0 +1,122 @@
+package me.deecaad.weaponmechanics.packetlisteners;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.PacketAdapter;
+import com.comphenix.protocol.events.PacketEvent;
+import me.deecaad.core.utils.ReflectionUtil;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import me.deecaad.weaponmechanics.weapon.reload.ammo.AmmoIndex;
+import me.deecaad.weaponmechanics.wrappers.PacketState;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Keeps the {@link AmmoIndex} of every player up to date. Every change to
+ * a player's inventory made by the server (including other plugins) is
+ * sent to the player in a slot packet, so those packets mark the changed
+ * slots dirty. Changes made by the player's own clicks are not always sent
+ * back to them, so those are handled by inventory events.
+ */
+public class OutInventoryListener extends PacketAdapter implements Listener {
+
+    // Window ids used by the server for the player's own inventory
+    private static final int PLAYER_WINDOW = 0;
+    private static final int PLAYER_INVENTORY = -2;
+    private static final int CURSOR = -1;
+
+    public OutInventoryListener(Plugin plugin) {
+        super(plugin, ListenerPriority.MONITOR, PacketType.Play.Server.SET_SLOT, PacketType.Play.Server.WINDOW_ITEMS);
+
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void click(InventoryClickEvent event) {
+        markAllDirty(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void drag(InventoryDragEvent event) {
+        markAllDirty(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void pickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player)
+            markAllDirty(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void drop(PlayerDropItemEvent event) {
+        Player player = event.getPlayer();
+        WeaponMechanics.getPlayerWrapper(player).getAmmoIndex().markDirty(player.getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void swap(PlayerSwapHandItemsEvent event) {
+        Player player = event.getPlayer();
+        WeaponMechanics.getPlayerWrapper(player).getAmmoIndex().markDirty(player.getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void death(PlayerDeathEvent event) {
+        markAllDirty(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void respawn(PlayerRespawnEvent event) {
+        markAllDirty(event.getPlayer());
+    }
+
+    private static void markAllDirty(HumanEntity entity) {
+        if (entity instanceof Player player)
+            WeaponMechanics.getPlayerWrapper(player).getAmmoIndex().markAllDirty();
+    }
+
+    @Override
+    public void onPacketReceiving(PacketEvent event) {
+    }
+
+    @Override
+    public void onPacketSending(PacketEvent event) {
+        // This runs on netty threads, so only the packet state may be used
+        PacketState state = PacketState.get(event.getPlayer().getEntityId());
+        if (state == null)
+            return;
+
+        AmmoIndex index = state.getWrapper().getAmmoIndex();
+        if (event.getPacketType() == PacketType.Play.Server.WINDOW_ITEMS) {
+            index.markAllDirty();
+            return;
+        }
+
+        int window = event.getPacket().getIntegers().read(0);
+        int slot = event.getPacket().getIntegers().read(ReflectionUtil.getMCVersion() >= 17 ? 2 : 1);
+
+        if (window == PLAYER_WINDOW) {
+            // Hotbar slots are 36-44, and the rest of the inventory is 9-35
+            if (slot >= 36 && slot <= 44)
+                index.markDirty(slot - 36);
+            else if (slot >= 9 && slot <= 35)
+                index.markDirty(slot);
+        } else if (window == PLAYER_INVENTORY) {
+            index.markDirty(slot);
+        } else if (window != CURSOR) {
+            // Another window is open, which has its own slot numbers
+            index.markAllDirty();
+        }
+    }
+}
@@ -5,9 +5,9 @@ import com.comphenix.protocol.events.ListenerPriority;
 import com.comphenix.protocol.events.PacketAdapter;
 import com.comphenix.protocol.events.PacketEvent;
 import me.deecaad.core.utils.ReflectionUtil;
-import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.compatibility.WeaponCompatibilityAPI;
 import me.deecaad.weaponmechanics.wrappers.EntityWrapper;
+import me.deecaad.weaponmechanics.wrappers.PacketState;
 import org.bukkit.plugin.Plugin;
 
 import java.lang.reflect.Field;
@@ -35,7 +35,13 @@ public class OutRemoveEntityEffectListener extends PacketAdapter {
         if (event.getPacket().getIntegers().read(0) != event.getPlayer().getEntityId())
             return;
 
-        EntityWrapper entity = WeaponMechanics.getEntityWrapper(event.getPlayer());
+        // The wrapper is found through the packet state, since this runs on
+        // netty threads. When it is missing, the player has no weapon state.
+        PacketState state = PacketState.get(event.getPlayer().getEntityId());
+        if (state == null)
+            return;
+
+        EntityWrapper entity = state.getWrapper();
 
         if (!entity.getMainHandData().getZoomData().hasZoomNightVision() && !entity.getOffHandData().getZoomData().hasZoomNightVision())
             return;
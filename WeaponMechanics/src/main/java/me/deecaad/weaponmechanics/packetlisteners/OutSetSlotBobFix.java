@@ -6,7 +6,9 @@ import com.comphenix.protocol.events.PacketAdapter;
 import com.comphenix.protocol.events.PacketEvent;
 import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.utils.ReflectionUtil;
+import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.utils.CustomTag;
+import me.deecaad.weaponmechanics.wrappers.PacketState;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.HumanEntity;
@@ -17,60 +19,43 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerItemHeldEvent;
-import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.Plugin;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 public class OutSetSlotBobFix extends PacketAdapter implements Listener {
 
-    private final Map<Player, SimpleItemData> mainHand;
-    private final Map<Player, SimpleItemData> offHand;
-
     public OutSetSlotBobFix(Plugin plugin) {
         super(plugin, ListenerPriority.NORMAL, PacketType.Play.Server.SET_SLOT);
-        mainHand = new HashMap<>();
-        offHand = new HashMap<>();
-
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     @EventHandler
     public void drop(PlayerDropItemEvent event) {
-        mainHand.put(event.getPlayer(), null);
+        WeaponMechanics.getPlayerWrapper(event.getPlayer()).getPacketState().setHandItem(true, null);
     }
 
     @EventHandler
     public void click(InventoryClickEvent event) {
         HumanEntity humanEntity = event.getWhoClicked();
         if (!(humanEntity instanceof Player player)) return;
-        mainHand.put(player, null);
-        offHand.put(player, null);
+        WeaponMechanics.getPlayerWrapper(player).getPacketState().resetHandItems();
     }
 
     @EventHandler
     public void click(InventoryDragEvent event) {
         HumanEntity humanEntity = event.getWhoClicked();
         if (!(humanEntity instanceof Player player)) return;
-        mainHand.put(player, null);
-        offHand.put(player, null);
+        WeaponMechanics.getPlayerWrapper(player).getPacketState().resetHandItems();
     }
 
     @EventHandler(ignoreCancelled = true)
     public void held(PlayerItemHeldEvent e) {
-        mainHand.put(e.getPlayer(), null);
-    }
-
-    @EventHandler
-    public void quit(PlayerQuitEvent event) {
-        mainHand.remove(event.getPlayer());
-        offHand.remove(event.getPlayer());
+        WeaponMechanics.getPlayerWrapper(e.getPlayer()).getPacketState().setHandItem(true, null);
     }
 
     @Override
@@ -90,23 +75,22 @@ public class OutSetSlotBobFix extends PacketAdapter implements Listener {
         boolean mainHand = slotNum == 36 + player.getInventory().getHeldItemSlot();
         if (!mainHand && slotNum != 45) return;
 
-        Map<Player, SimpleItemData> data = mainHand ? this.mainHand : this.offHand;
+        // The state is removed when the player quits, so the quit event
+        // doesn't need to be handled here.
+        PacketState state = PacketState.get(player.getEntityId());
+        if (state == null)
+            return;
 
         ItemStack packetItem = event.getPacket().getItemModifier().read(0);
         if (!packetItem.hasItemMeta() || !CustomTag.WEAPON_TITLE.hasString(packetItem)) {
-            data.put(player, null);
-            return;
-        }
-
-        SimpleItemData lastData = data.get(player);
-        if (lastData == null) {
-            data.put(player, new SimpleItemData(slotNum, packetItem));
+            state.setHandItem(mainHand, null);
             return;
         }
 
+        SimpleItemData lastData = state.getHandItem(mainHand);
         SimpleItemData newData = new SimpleItemData(slotNum, packetItem);
-        if (newData.isDifferent(lastData)) {
-            data.put(player, newData);
+        if (lastData == null || newData.isDifferent(lastData)) {
+            state.setHandItem(mainHand, newData);
             return;
         }
 
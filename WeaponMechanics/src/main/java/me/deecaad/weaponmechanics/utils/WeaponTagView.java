@@ -0,0 +1,81 @@
+package me.deecaad.weaponmechanics.utils;
+
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.nbt.ItemTagView;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This class wraps an {@link ItemTagView} to read and change the
+ * {@link CustomTag}s of 1 item. Use this instead of the {@link CustomTag}
+ * methods when multiple tags are used in 1 operation, so the item's tags
+ * are read once, and all changes are written back once by {@link #apply()}.
+ *
+ * <p>Like {@link ItemTagView}, instances should not be stored.
+ */
+public class WeaponTagView {
+
+    private static final String PLUGIN = "WeaponMechanics";
+
+    private final ItemTagView view;
+
+    public WeaponTagView(@Nonnull ItemStack item) {
+        this.view = CompatibilityAPI.getNBTCompatibility().view(item);
+    }
+
+    /**
+     * @return The non-null item this view reads tags from.
+     */
+    @Nonnull
+    public ItemStack getItem() {
+        return view.getItem();
+    }
+
+    public boolean hasString(CustomTag tag) {
+        return view.hasString(PLUGIN, tag.getId());
+    }
+
+    public String getString(CustomTag tag) {
+        return view.getString(PLUGIN, tag.getId(), null);
+    }
+
+    public void setString(CustomTag tag, String value) {
+        view.setString(PLUGIN, tag.getId(), value);
+    }
+
+    public boolean hasInteger(CustomTag tag) {
+        return view.hasInt(PLUGIN, tag.getId());
+    }
+
+    public int getInteger(CustomTag tag) {
+        return view.getInt(PLUGIN, tag.getId(), 0);
+    }
+
+    public void setInteger(CustomTag tag, int value) {
+        view.setInt(PLUGIN, tag.getId(), value);
+    }
+
+    public boolean hasDouble(CustomTag tag) {
+        return view.hasDouble(PLUGIN, tag.getId());
+    }
+
+    public double getDouble(CustomTag tag) {
+        return view.getDouble(PLUGIN, tag.getId(), 0.0);
+    }
+
+    public void setDouble(CustomTag tag, double value) {
+        view.setDouble(PLUGIN, tag.getId(), value);
+    }
+
+    public void remove(CustomTag tag) {
+        view.remove(PLUGIN, tag.getId());
+    }
+
+    /**
+     * Writes every change made through this view to the item.
+     */
+    public void apply() {
+        view.apply();
+    }
+}
@@ -12,6 +12,7 @@ import me.deecaad.weaponmechanics.weapon.damage.DamageHandler;
 import me.deecaad.weaponmechanics.weapon.damage.DamagePoint;
 import me.deecaad.weaponmechanics.weapon.explode.Explosion;
 import me.deecaad.weaponmechanics.weapon.explode.ExplosionTrigger;
+import me.deecaad.weaponmechanics.weapon.info.WeaponDefinition;
 import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.WeaponProjectile;
 import me.deecaad.weaponmechanics.weapon.weaponevents.ProjectileHitBlockEvent;
 import me.deecaad.weaponmechanics.weapon.weaponevents.ProjectileHitEntityEvent;
@@ -28,7 +29,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
-import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
 
 public class HitHandler {
 
@@ -69,9 +69,9 @@ public class HitHandler {
             return true;
         }
 
-        Configuration config = WeaponMechanics.getConfigurations();
+        WeaponDefinition definition = weaponHandler.getInfoHandler().getDefinition(weaponTitle);
         LivingEntity livingEntity = result.getLivingEntity();
-        int meleeHitDelay = config.getInt(weaponTitle + ".Melee.Melee_Hit_Delay") / 50;
+        int meleeHitDelay = definition.getMeleeHitDelay() / 50;
         boolean backstab = livingEntity.getLocation().getDirection().dot(shooterDirection) > 0.0;
         WeaponMeleeHitEvent event = new WeaponMeleeHitEvent(weaponTitle, weaponStack, shooter, slot, livingEntity, meleeHitDelay, backstab);
         Bukkit.getPluginManager().callEvent(event);
@@ -86,7 +86,7 @@ public class HitHandler {
             hand.setLastMeleeTime(System.currentTimeMillis());
         }
 
-        return !weaponHandler.getDamageHandler().tryUse(livingEntity, getConfigurations().getDouble(weaponTitle + ".Damage.Base_Damage"),
+        return !weaponHandler.getDamageHandler().tryUse(livingEntity, definition.getBaseDamage(),
                 getDamagePoint(result, shooterDirection), backstab, shooter, weaponTitle, weaponStack, slot, result.getDistanceTravelled());
     }
 
@@ -95,7 +95,7 @@ public class HitHandler {
         Bukkit.getPluginManager().callEvent(hitBlockEvent);
         if (hitBlockEvent.isCancelled()) return true;
 
-        Explosion explosion = getConfigurations().getObject(projectile.getWeaponTitle() + ".Explosion", Explosion.class);
+        Explosion explosion = weaponHandler.getInfoHandler().getDefinition(projectile.getWeaponTitle()).getExplosion();
         if (explosion != null) explosion.handleExplosion(projectile.getShooter(), result.getHitLocation().clone().toLocation(projectile.getWorld()), projectile, ExplosionTrigger.BLOCK);
 
         return false;
@@ -127,12 +127,13 @@ public class HitHandler {
         hitPoint = hitEntityEvent.getPoint();
         backstab = hitEntityEvent.isBackStab();
 
-        if (!weaponHandler.getDamageHandler().tryUse(livingEntity, projectile, getConfigurations().getDouble(projectile.getWeaponTitle() + ".Damage.Base_Damage"), hitPoint, backstab)) {
+        WeaponDefinition definition = weaponHandler.getInfoHandler().getDefinition(projectile.getWeaponTitle());
+        if (!weaponHandler.getDamageHandler().tryUse(livingEntity, projectile, definition.getBaseDamage(), hitPoint, backstab)) {
             // Damage was cancelled
             return true;
         }
 
-        Explosion explosion = getConfigurations().getObject(projectile.getWeaponTitle() + ".Explosion", Explosion.class);
+        Explosion explosion = definition.getExplosion();
         if (explosion != null) explosion.handleExplosion(projectile.getShooter(), result.getHitLocation().clone().toLocation(projectile.getWorld()), projectile, ExplosionTrigger.ENTITY);
 
         return false;
@@ -1,10 +1,13 @@
 package me.deecaad.weaponmechanics.weapon.damage;
 
 import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.block.BlockChanges;
 import me.deecaad.core.compatibility.block.BlockCompatibility;
-import me.deecaad.core.utils.DistanceUtil;
 import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.core.utils.PacketBroadcaster;
 import me.deecaad.core.utils.ReflectionUtil;
+import me.deecaad.core.utils.primitive.IntMap;
+import me.deecaad.core.utils.primitive.LongMap;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Chunk;
 import org.bukkit.Material;
@@ -13,6 +16,7 @@ import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.Chest;
+import org.bukkit.block.TileState;
 import org.bukkit.block.data.*;
 import org.bukkit.block.data.type.Candle;
 import org.bukkit.block.data.type.SeaPickle;
@@ -22,27 +26,103 @@ import org.bukkit.inventory.InventoryHolder;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Utility class that stores all block damage on the server.
+ *
+ * <p>Damage is indexed by world, then by packed chunk coordinates (see
+ * {@link LongMap#pack(int, int)}), then by the packed position of the block
+ * inside its chunk (see {@link #packInChunk(int, int, int)}). Lookups only
+ * use block coordinates, so they never load a chunk, and they never hash a
+ * {@link Block} (which hashes its world).
+ *
+ * <p>Blocks that are broken or regenerated between {@link #beginBatch(World)}
+ * and {@link #flushBatch()} are changed together, using
+ * {@link BlockCompatibility#setBlocks(BlockChanges)}.
  */
 public final class BlockDamageData {
 
-    private static final Map<ChunkPos, Map<Block, DamageData>> DAMAGE_MAP = new LinkedHashMap<>(256);
+    private static final Map<World, LongMap<IntMap<DamageData>>> DAMAGE_MAP = new HashMap<>();
     public static final int MAX_BLOCK_CRACK = 9;
     public static final Material MASK = Material.valueOf("AIR");
 
     public static final double EPSILON = 1e-7;
 
+    private static BlockDamageJournal journal;
+    private static BlockChanges batch;
+    private static int damagedBlocks;
+    private static int damagedChunks;
+
     /**
      * Don't let anyone instantiate this class
      */
     private BlockDamageData() {
     }
 
+    /**
+     * Returns the journal that broken blocks are written to, or
+     * <code>null</code> if the journal is disabled.
+     *
+     * @return The nullable journal.
+     */
+    @Nullable
+    public static BlockDamageJournal getJournal() {
+        return journal;
+    }
+
+    public static void setJournal(@Nullable BlockDamageJournal journal) {
+        BlockDamageData.journal = journal;
+    }
+
+    /**
+     * Starts collecting block changes in the given world, instead of setting
+     * each block separately. Only blocks that are broken without physics
+     * (regenerating explosions), and regenerated blocks without a block
+     * entity, are collected. The changes are applied by {@link #flushBatch()},
+     * which must be called before the end of the tick.
+     *
+     * <p>Batches cannot be nested, so an active batch is flushed first. Does
+     * nothing before 1.14.
+     *
+     * @param world The non-null world the changed blocks are in.
+     */
+    public static void beginBatch(@Nonnull World world) {
+        if (ReflectionUtil.getMCVersion() < 14)
+            return;
+
+        flushBatch();
+        batch = new BlockChanges(world, false);
+    }
+
+    /**
+     * Applies every block change collected since {@link #beginBatch(World)}.
+     * Does nothing if there is no active batch.
+     */
+    public static void flushBatch() {
+        BlockChanges changes = batch;
+        if (changes == null)
+            return;
+
+        batch = null;
+        if (!changes.isEmpty())
+            CompatibilityAPI.getBlockCompatibility().setBlocks(changes);
+    }
+
+    /**
+     * @return The amount of blocks that have damage.
+     */
+    public static int getDamagedBlocks() {
+        return damagedBlocks;
+    }
+
+    /**
+     * @return The amount of chunks that have damaged blocks.
+     */
+    public static int getDamagedChunks() {
+        return damagedChunks;
+    }
+
     /**
      * Shorthand for {@link #damage(Block, double, boolean, boolean, Material)}
      */
@@ -63,11 +143,27 @@ public final class BlockDamageData {
      * @return <code>true</code> if the block was broken.
      */
     public static DamageData damage(@Nonnull Block block, double damage, boolean isBreak, boolean isRegenerate, Material mask) {
-        ChunkPos pos = new ChunkPos(block);
+        World world = block.getWorld();
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
 
         // Get the DamageData for the given block, or create a new one if needed
-        Map<Block, DamageData> map = DAMAGE_MAP.computeIfAbsent(pos, k -> new HashMap<>());
-        DamageData damageData = map.computeIfAbsent(block, DamageData::new);
+        LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.computeIfAbsent(world, k -> new LongMap<>(256));
+        IntMap<DamageData> blocks = chunks.get(LongMap.pack(x >> 4, z >> 4));
+        if (blocks == null) {
+            blocks = new IntMap<>();
+            chunks.put(LongMap.pack(x >> 4, z >> 4), blocks);
+            damagedChunks++;
+        }
+
+        int key = packInChunk(x, y, z);
+        DamageData damageData = blocks.get(key);
+        if (damageData == null) {
+            damageData = new DamageData(world, x, y, z);
+            blocks.put(key, damageData);
+            damagedBlocks++;
+        }
 
         damageData.damage(damage, isBreak, isRegenerate, mask);
         return damageData;
@@ -75,12 +171,12 @@ public final class BlockDamageData {
 
     @Nullable
     public static DamageData getBlockDamage(@Nonnull Block block) {
-        Map<Block, DamageData> map = DAMAGE_MAP.get(new ChunkPos(block));
-        if (map == null)
+        IntMap<DamageData> blocks = getChunk(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+        if (blocks == null)
             return null;
 
         // may return null
-        return map.get(block);
+        return blocks.get(packInChunk(block.getX(), block.getY(), block.getZ()));
     }
 
     /**
@@ -105,14 +201,12 @@ public final class BlockDamageData {
      * @param block The non-null block to regenerate
      */
     public static void regenerate(@Nonnull Block block) {
-        Map<Block, DamageData> data = DAMAGE_MAP.get(new ChunkPos(block));
-
-        if (data == null)
+        DamageData damage = getBlockDamage(block);
+        if (damage == null)
             return;
 
-        DamageData damage = data.get(block);
         damage.regenerate();
-        data.remove(block);
+        damage.remove();
     }
 
     /**
@@ -126,10 +220,13 @@ public final class BlockDamageData {
      * @see #regenerate(Block)
      */
     public static void regenerate(@Nonnull Chunk chunk) {
-        ChunkPos pos = new ChunkPos(chunk);
+        LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.get(chunk.getWorld());
+        if (chunks == null)
+            return;
 
-        regenerate(pos);
-        DAMAGE_MAP.remove(pos);
+        IntMap<DamageData> blocks = chunks.remove(LongMap.pack(chunk.getX(), chunk.getZ()));
+        if (blocks != null)
+            regenerate(chunk.getWorld(), blocks);
     }
 
     /**
@@ -142,83 +239,105 @@ public final class BlockDamageData {
      * @see #regenerate(Block)
      */
     public static void regenerate(@Nonnull World world) {
-        Iterator<ChunkPos> iterator = DAMAGE_MAP.keySet().iterator();
-
-        while (iterator.hasNext()) {
-            ChunkPos pos = iterator.next();
-
-            if (pos.world.equals(world)) {
-                regenerate(pos);
-                iterator.remove();
-            }
-        }
+        LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.remove(world);
+        if (chunks != null)
+            chunks.forEach((key, blocks) -> regenerate(world, blocks));
     }
 
     public static void regenerateAll() {
-        Iterator<ChunkPos> iterator = DAMAGE_MAP.keySet().iterator();
+        for (Map.Entry<World, LongMap<IntMap<DamageData>>> entry : DAMAGE_MAP.entrySet())
+            entry.getValue().forEach((key, blocks) -> regenerate(entry.getKey(), blocks));
 
-        while (iterator.hasNext()) {
-            ChunkPos pos = iterator.next();
-            regenerate(pos);
-            iterator.remove();
-        }
+        DAMAGE_MAP.clear();
     }
 
-    private static void regenerate(@Nonnull ChunkPos pos) {
-        Map<Block, DamageData> blocks = DAMAGE_MAP.get(pos);
-
-        if (blocks == null)
+    /**
+     * Regenerates all blocks, except for blocks that were written to the
+     * journal, and closes the journal. Journaled blocks are regenerated the next time the
+     * journal is opened and their chunk is loaded, so shutting down does not
+     * have to wait for them. Without a journal, this is the same as
+     * {@link #regenerateAll()}.
+     */
+    public static void close() {
+        if (journal == null) {
+            regenerateAll();
             return;
+        }
+
+        for (LongMap<IntMap<DamageData>> chunks : DAMAGE_MAP.values()) {
+            chunks.forEach((key, blocks) -> blocks.forEach((position, damage) -> {
+                if (!damage.journaled)
+                    damage.regenerate();
+            }));
+        }
 
-        blocks.forEach((block, damage) -> {
-            damage.regenerate();
-        });
+        DAMAGE_MAP.clear();
+        damagedBlocks = 0;
+        damagedChunks = 0;
+        journal.close();
+        journal = null;
     }
 
     /**
-     * The {@link org.bukkit.Chunk} class does not provide a hashing method,
-     * so we are stuck wrapping the chunk in order to use a {@link HashMap}
+     * Packs the position of a block inside its chunk into 1 int. The lowest
+     * 8 bits store the x and z coordinates inside the chunk, and the
+     * remaining (signed) bits store the y coordinate.
+     *
+     * @param x The x coordinate of the block.
+     * @param y The y coordinate of the block.
+     * @param z The z coordinate of the block.
+     * @return The packed position.
      */
-    public static class ChunkPos {
-
-        private final World world;
-        private final int x;
-        private final int z;
-
-        public ChunkPos(Block block) {
-            this(block.getChunk());
-        }
-
-        public ChunkPos(Chunk chunk) {
-            this.world = chunk.getWorld();
-            this.x = chunk.getX();
-            this.z = chunk.getZ();
-        }
+    public static int packInChunk(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            ChunkPos chunkPos = (ChunkPos) o;
-            return x == chunkPos.x && z == chunkPos.z && world.equals(chunkPos.world);
-        }
+    @Nullable
+    private static IntMap<DamageData> getChunk(World world, int chunkX, int chunkZ) {
+        LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.get(world);
+        return chunks == null ? null : chunks.get(LongMap.pack(chunkX, chunkZ));
+    }
 
-        @Override
-        public int hashCode() {
-            return ((x * 31) ^ z) ^ world.hashCode();
-        }
+    // Called after the chunk's map was removed from the index
+    private static void regenerate(World world, IntMap<DamageData> blocks) {
+        beginBatch(world);
+        blocks.forEach((key, damage) -> damage.regenerate());
+        flushBatch();
+        damagedBlocks -= blocks.size();
+        damagedChunks--;
     }
 
     public static class DamageData {
 
-        private final Block block;
+        private final World world;
+        private final int x;
+        private final int y;
+        private final int z;
         private double durability = 1.0; // Stores a value [0.0, 1.0]. 0.0 = broken
 
         private BlockState state = null; // Stores the BlockState of a block before it is broken
         private int packetId = -1;       // Stores the ID used for the block cracking packet
+        private boolean journaled;       // Whether the broken block was written to the journal
 
-        private DamageData(Block block) {
-            this.block = block;
+        private DamageData(World world, int x, int y, int z) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        /**
+         * @return The non-null world the damaged block is in.
+         */
+        public World getWorld() {
+            return world;
+        }
+
+        /**
+         * @return The non-null block that is damaged.
+         */
+        public Block getBlock() {
+            return world.getBlockAt(x, y, z);
         }
 
         public void damage(double amount, boolean isBreak, boolean isRegenerate) {
@@ -241,6 +360,7 @@ public final class BlockDamageData {
         }
 
         public void destroy(boolean isRegenerate, Material mask) {
+            Block block = getBlock();
             state = block.getState();
 
             // We need to clear the contents of the inventory(s). If we skip
@@ -280,26 +400,70 @@ public final class BlockDamageData {
                 if (newData instanceof Rotatable newRotate && oldData instanceof Rotatable oldRotate)
                     newRotate.setRotation(oldRotate.getRotation());
 
-                block.setBlockData(newData, false);
+                if (batch != null)
+                    batch.add(x, y, z, newData);
+                else
+                    block.setBlockData(newData, false);
                 return;
             }
 
-            block.setType(mask, !isRegenerate);
+            if (isRegenerate && batch != null)
+                batch.add(x, y, z, mask.createBlockData());
+            else
+                block.setType(mask, !isRegenerate);
+        }
+
+        /**
+         * Writes this broken block to the {@link BlockDamageJournal}, so it
+         * is regenerated even if the server stops before it regenerates.
+         * Does nothing if the block is not broken, or if the journal is
+         * disabled.
+         *
+         * @param deadline The time, in epoch milliseconds, the block will regenerate at.
+         */
+        public void journal(long deadline) {
+            if (state == null || journaled || journal == null)
+                return;
+
+            journaled = journal.append(getBlock(), state, deadline);
         }
 
         public void regenerate() {
             if (state != null) {
-                state.update(true, false);
+
+                // Block entities (inventories, signs, etc.) need bukkit to
+                // copy their data back, so they are not batched.
+                if (batch != null && !(state instanceof TileState))
+                    batch.add(x, y, z, state.getBlockData());
+                else
+                    state.update(true, false);
                 state = null;
             }
 
+            if (journaled) {
+                if (journal != null)
+                    journal.remove(getBlock());
+                journaled = false;
+            }
+
             durability = 1.0;
             sendCrackPacket();
         }
 
         public void remove() {
-            Map<Block, DamageData> map = DAMAGE_MAP.get(new ChunkPos(block));
-            map.remove(block);
+            // The chunk may have been regenerated, and damaged again, since
+            IntMap<DamageData> blocks = getChunk(world, x >> 4, z >> 4);
+            int key = packInChunk(x, y, z);
+            if (blocks == null || blocks.get(key) != this)
+                return;
+
+            blocks.remove(key);
+
+            damagedBlocks--;
+            if (blocks.isEmpty()) {
+                DAMAGE_MAP.get(world).remove(LongMap.pack(x >> 4, z >> 4));
+                damagedChunks--;
+            }
         }
 
         public void sendCrackPacket() {
@@ -312,8 +476,10 @@ public final class BlockDamageData {
                     ? -1
                     : (int) NumberUtil.lerp(MAX_BLOCK_CRACK, 0, durability);
 
+            // Only the latest crack of each block is sent at the end of the tick
+            Block block = getBlock();
             Object packet = CompatibilityAPI.getBlockCompatibility().getCrackPacket(block, crack, packetId);
-            DistanceUtil.sendPacket(block.getLocation(), packet);
+            PacketBroadcaster.queue(world, x, y, z, packet);
         }
     }
 }
@@ -0,0 +1,544 @@
+package me.deecaad.weaponmechanics.weapon.damage;
+
+import me.deecaad.core.file.TaskChain;
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.core.utils.ReflectionUtil;
+import me.deecaad.core.utils.scheduler.WheelTask;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import me.deecaad.weaponmechanics.weapon.explode.Explosion;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Container;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+
+/**
+ * This class is an append-only journal of the blocks broken by explosions
+ * that are waiting to regenerate. Each broken block is written with its
+ * original block data, its inventory contents (if it is a container), and
+ * the time it should regenerate at. When the block regenerates, a record is
+ * appended that marks it as regenerated.
+ *
+ * <p>The journal is memory mapped, so records survive the server process
+ * crashing. Blocks that were still broken when the server stopped are
+ * regenerated the next time their chunk is loaded, which means the server
+ * does not have to regenerate every crater while shutting down.
+ *
+ * <p>Once the journal has enough regenerated records, it is compacted by
+ * writing only the broken blocks to a new file on another thread. Each file
+ * is a new <i>generation</i>, and only the newest generation is read.
+ *
+ * <p>Every record is <code>[int length][int crc32][payload]</code>. A record
+ * with a length of 0, or a checksum that does not match, marks the end of
+ * the journal (a crash while writing).
+ */
+public final class BlockDamageJournal {
+
+    /**
+     * Once at least this many records are regenerated (and there are more of
+     * them than broken blocks), the journal is compacted.
+     */
+    public static int COMPACT_THRESHOLD = 4096;
+
+    private static final byte BREAK = 1;
+    private static final byte REGENERATE = 2;
+    private static final int HEADER = 8;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private final File folder;
+    private long generation;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private boolean closed;
+
+    // Blocks that are broken and not regenerated yet -> their BREAK payload
+    private final Map<BlockKey, byte[]> live = new HashMap<>();
+
+    // Blocks from a previous run, waiting for their chunk to load
+    private final Map<ChunkKey, List<Entry>> pending = new HashMap<>();
+
+    private int deadRecords;
+    private List<byte[]> backlog; // Records appended while compacting
+
+    // Metrics
+    private long recordsWritten;
+    private long replayed;
+    private int compactions;
+
+    /**
+     * Opens the newest journal in the given folder, creating it if needed.
+     * Blocks that were broken in the journal are regenerated once their
+     * chunk is loaded, see {@link #replay(Chunk)}.
+     *
+     * @param folder The non-null folder to store the journal in.
+     * @throws IOException If the journal cannot be read or created.
+     */
+    public BlockDamageJournal(@Nonnull File folder) throws IOException {
+        this.folder = folder;
+        if (!folder.exists() && !folder.mkdirs())
+            throw new IOException("Could not create " + folder);
+
+        // Find the newest generation. Older generations and unfinished
+        // compactions are left over from a crash.
+        generation = 0;
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                long fileGeneration = parseGeneration(file.getName());
+                if (fileGeneration > generation)
+                    generation = fileGeneration;
+            }
+            for (File file : files) {
+                if (file.getName().endsWith(".tmp") || (parseGeneration(file.getName()) != -1 && parseGeneration(file.getName()) != generation))
+                    Files.deleteIfExists(file.toPath());
+            }
+        }
+
+        open(getFile(generation));
+
+        // Every block in the journal was broken by a previous run, so its
+        // regeneration task does not exist anymore.
+        live.forEach((key, payload) -> {
+            try {
+                Entry entry = decodeBreak(payload);
+                pending.computeIfAbsent(new ChunkKey(key.world, key.x >> 4, key.z >> 4), k -> new ArrayList<>()).add(entry);
+            } catch (IOException e) {
+                debug.log(LogLevel.WARN, "Could not read journaled block " + key, e);
+            }
+        });
+    }
+
+    /**
+     * Writes the given broken block to the journal.
+     *
+     * @param block    The non-null block that was broken.
+     * @param state    The non-null state of the block before it was broken.
+     * @param deadline The time, in epoch milliseconds, the block will regenerate at.
+     * @return true if the block was written, false if it has to be
+     *         regenerated some other way.
+     */
+    public boolean append(@Nonnull Block block, @Nonnull BlockState state, long deadline) {
+        if (closed)
+            return false;
+
+        BlockKey key = new BlockKey(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+        try {
+            byte[] payload = encodeBreak(key, state, deadline);
+            write(payload);
+            live.put(key, payload);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            debug.log(LogLevel.WARN, "Could not journal broken block " + key, e);
+            return false;
+        }
+    }
+
+    /**
+     * Marks the given block as regenerated. Does nothing if the block is not
+     * in the journal.
+     *
+     * @param block The non-null block that was regenerated.
+     */
+    public void remove(@Nonnull Block block) {
+        remove(new BlockKey(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ()));
+    }
+
+    private void remove(BlockKey key) {
+        if (closed || live.remove(key) == null)
+            return;
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(29);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(REGENERATE);
+            writeKey(out, key);
+            write(bytes.toByteArray());
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Could not journal regenerated block " + key, e);
+        }
+
+        // Both the BREAK and REGENERATE records are no longer needed
+        deadRecords += 2;
+        if (backlog == null && deadRecords >= COMPACT_THRESHOLD && deadRecords > live.size())
+            compact();
+    }
+
+    /**
+     * Regenerates the blocks from a previous run in the given chunk. Blocks
+     * that should not regenerate yet are scheduled to regenerate later.
+     *
+     * @param chunk The non-null chunk that was loaded.
+     */
+    public void replay(@Nonnull Chunk chunk) {
+        if (pending.isEmpty())
+            return;
+
+        List<Entry> entries = pending.remove(new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()));
+        if (entries == null)
+            return;
+
+        World world = chunk.getWorld();
+        long now = System.currentTimeMillis();
+        for (Entry entry : entries) {
+            if (entry.deadline <= now) {
+                restore(world, entry);
+                continue;
+            }
+
+            new WheelTask() {
+                @Override
+                public void run() {
+                    restore(world, entry);
+                }
+            }.runTaskLater(Explosion.REGENERATION_TASKS, (entry.deadline - now) / 50);
+        }
+    }
+
+    /**
+     * Replays every chunk that is currently loaded.
+     */
+    public void replayLoaded() {
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks())
+                replay(chunk);
+        }
+    }
+
+    /**
+     * Forces every record to be written to the disk, and closes the journal.
+     * Blocks that are still broken are regenerated the next time the
+     * journal is opened.
+     */
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        buffer.force();
+        try {
+            // The mapped file is not truncated here, since some systems can't
+            // truncate a mapped file. open() truncates it after the last record.
+            channel.close();
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Could not close block damage journal", e);
+        }
+    }
+
+    /**
+     * @return The amount of broken blocks in the journal.
+     */
+    public int getLiveBlocks() {
+        return live.size();
+    }
+
+    /**
+     * @return The amount of journaled blocks waiting for their chunk to load.
+     */
+    public int getPendingBlocks() {
+        int count = 0;
+        for (List<Entry> entries : pending.values())
+            count += entries.size();
+        return count;
+    }
+
+    /**
+     * @return The size, in bytes, of the records in the current generation.
+     */
+    public int getSize() {
+        return buffer.position();
+    }
+
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    public long getReplayed() {
+        return replayed;
+    }
+
+    public int getCompactions() {
+        return compactions;
+    }
+
+    private void restore(World world, Entry entry) {
+        Block block = world.getBlockAt(entry.key.x, entry.key.y, entry.key.z);
+        if (ReflectionUtil.getMCVersion() >= 13) {
+            block.setBlockData(Bukkit.createBlockData(entry.data), false);
+        } else {
+            int split = entry.data.lastIndexOf(':');
+            block.setType(Material.valueOf(entry.data.substring(0, split)), false);
+            BlockState state = block.getState();
+            state.setRawData(Byte.parseByte(entry.data.substring(split + 1)));
+            state.update(true, false);
+        }
+
+        if (entry.contents != null && block.getState() instanceof Container container) {
+            container.getSnapshotInventory().setContents(entry.contents);
+            container.update(true, false);
+        }
+
+        replayed++;
+        remove(entry.key);
+    }
+
+    private void compact() {
+        backlog = new ArrayList<>();
+        List<byte[]> snapshot = new ArrayList<>(live.values());
+        long next = generation + 1;
+        File temp = new File(folder, "journal-" + next + ".tmp");
+
+        new TaskChain(WeaponMechanics.getPlugin())
+                .thenRunAsync(() -> {
+                    try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        for (byte[] payload : snapshot)
+                            out.write(frame(payload));
+                        out.force(true);
+                    } catch (IOException e) {
+                        debug.log(LogLevel.WARN, "Could not compact block damage journal", e);
+                        temp.delete();
+                    }
+                })
+                .thenRunSync(() -> swap(next, temp));
+    }
+
+    private void swap(long next, File temp) {
+        List<byte[]> appended = backlog;
+        backlog = null;
+        if (closed || !temp.exists()) {
+            temp.delete();
+            return;
+        }
+
+        File file = getFile(next);
+        try {
+            int tombstones = 0;
+            try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                for (byte[] payload : appended) {
+                    out.write(frame(payload));
+                    if (payload[0] == REGENERATE)
+                        tombstones++;
+                }
+                out.force(true);
+            }
+
+            // Once the new generation exists, it is the one that is read
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+            buffer.force();
+            channel.close();
+            File old = getFile(generation);
+            if (!old.delete())
+                old.deleteOnExit();
+
+            generation = next;
+            open(file);
+            deadRecords = tombstones * 2;
+            compactions++;
+        } catch (IOException e) {
+            closed = true;
+            debug.log(LogLevel.ERROR, "Could not switch to the compacted block damage journal", e);
+        }
+    }
+
+    // Reads every valid record, and maps the file with the buffer positioned after the last one
+    private void open(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // The records are read before the file is mapped, since mapping the
+        // file extends it to the capacity of the mapping.
+        ByteBuffer records = ByteBuffer.allocate((int) channel.size());
+        while (records.hasRemaining()) {
+            if (channel.read(records, records.position()) == -1)
+                break;
+        }
+        records.flip();
+        int end = read(records);
+
+        // Anything after the last valid record is from a crash while writing
+        channel.truncate(end);
+        long capacity = Math.max(INITIAL_CAPACITY, Long.highestOneBit(end) << 1);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.position(end);
+    }
+
+    // Returns the position after the last valid record
+    private int read(ByteBuffer records) throws IOException {
+        live.clear();
+        deadRecords = 0;
+        CRC32 crc = new CRC32();
+        while (records.remaining() >= HEADER) {
+            int start = records.position();
+            int length = records.getInt();
+            int checksum = records.getInt();
+            if (length <= 0 || length > records.remaining())
+                return start;
+
+            byte[] payload = new byte[length];
+            records.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum)
+                return start;
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte type = in.readByte();
+            BlockKey key = readKey(in);
+            if (type == BREAK) {
+                live.put(key, payload);
+            } else if (live.remove(key) != null) {
+                deadRecords += 2;
+            }
+        }
+        return records.position();
+    }
+
+    private void write(byte[] payload) {
+        ByteBuffer frame = frame(payload);
+        if (buffer.remaining() < frame.remaining())
+            grow(frame.remaining());
+
+        buffer.put(frame);
+        recordsWritten++;
+        if (backlog != null)
+            backlog.add(payload);
+    }
+
+    private void grow(int needed) {
+        int position = buffer.position();
+        try {
+            buffer.force();
+            long capacity = Math.max((long) buffer.capacity() * 2, position + needed);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.position(position);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not grow block damage journal", e);
+        }
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER + payload.length);
+        frame.putInt(payload.length);
+        frame.putInt((int) crc.getValue());
+        frame.put(payload);
+        frame.flip();
+        return frame;
+    }
+
+    private static byte[] encodeBreak(BlockKey key, BlockState state, long deadline) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(BREAK);
+        writeKey(out, key);
+        out.writeLong(deadline);
+
+        if (ReflectionUtil.getMCVersion() >= 13) {
+            out.writeUTF(state.getBlockData().getAsString());
+
+            // Only the inventory of tile entities is kept, the state snapshot
+            // still has the items that were cleared from the world.
+            if (state instanceof Container container) {
+                ByteArrayOutputStream itemBytes = new ByteArrayOutputStream();
+                try (BukkitObjectOutputStream items = new BukkitObjectOutputStream(itemBytes)) {
+                    items.writeObject(container.getSnapshotInventory().getContents());
+                }
+                out.writeInt(itemBytes.size());
+                itemBytes.writeTo(out);
+            } else {
+                out.writeInt(0);
+            }
+        } else {
+            out.writeUTF(state.getType().name() + ":" + state.getRawData());
+            out.writeInt(0);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static Entry decodeBreak(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        in.readByte();
+        BlockKey key = readKey(in);
+        long deadline = in.readLong();
+        String data = in.readUTF();
+
+        ItemStack[] contents = null;
+        int length = in.readInt();
+        if (length > 0) {
+            byte[] itemBytes = in.readNBytes(length);
+            try (BukkitObjectInputStream items = new BukkitObjectInputStream(new ByteArrayInputStream(itemBytes))) {
+                contents = (ItemStack[]) items.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+
+        return new Entry(key, deadline, data, contents);
+    }
+
+    private static void writeKey(DataOutputStream out, BlockKey key) throws IOException {
+        out.writeLong(key.world.getMostSignificantBits());
+        out.writeLong(key.world.getLeastSignificantBits());
+        out.writeInt(key.x);
+        out.writeInt(key.y);
+        out.writeInt(key.z);
+    }
+
+    private static BlockKey readKey(DataInputStream in) throws IOException {
+        UUID world = new UUID(in.readLong(), in.readLong());
+        return new BlockKey(world, in.readInt(), in.readInt(), in.readInt());
+    }
+
+    private File getFile(long generation) {
+        return new File(folder, "journal-" + generation + ".dat");
+    }
+
+    private static long parseGeneration(String name) {
+        if (!name.startsWith("journal-") || !name.endsWith(".dat"))
+            return -1;
+
+        try {
+            return Long.parseLong(name.substring(8, name.length() - 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record BlockKey(UUID world, int x, int y, int z) {
+    }
+
+    private record ChunkKey(UUID world, int x, int z) {
+    }
+
+    private record Entry(BlockKey key, long deadline, String data, @Nullable ItemStack[] contents) {
+    }
+}
@@ -1,6 +1,5 @@
 package me.deecaad.weaponmechanics.weapon.damage;
 
-import me.deecaad.core.file.Configuration;
 import me.deecaad.core.mechanics.CastData;
 import me.deecaad.core.mechanics.Mechanics;
 import me.deecaad.core.utils.NumberUtil;
@@ -9,6 +8,7 @@ import me.deecaad.core.utils.primitive.DoubleMap;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.utils.MetadataKey;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
+import me.deecaad.weaponmechanics.weapon.info.WeaponDefinition;
 import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.WeaponProjectile;
 import me.deecaad.weaponmechanics.weapon.stats.PlayerStat;
 import me.deecaad.weaponmechanics.weapon.stats.WeaponStat;
@@ -30,7 +30,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getBasicConfigurations;
-import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
 
 public class DamageHandler {
 
@@ -56,23 +55,23 @@ public class DamageHandler {
      */
     public boolean tryUse(LivingEntity victim, double damage, DamagePoint point, boolean isBackstab,
                           LivingEntity shooter, String weaponTitle, ItemStack weaponStack, EquipmentSlot slot, double distanceTravelled) {
-        Configuration config = getConfigurations();
+        WeaponDefinition definition = weaponHandler.getInfoHandler().getDefinition(weaponTitle);
 
-        if (!DamageUtil.canHarmScoreboardTeams(shooter, victim) && !config.getBool(weaponTitle + ".Damage.Ignore_Teams")) {
+        if (!DamageUtil.canHarmScoreboardTeams(shooter, victim) && !definition.isIgnoreTeams()) {
             return false;
         }
 
-        boolean isOwnerImmune = config.getBool(weaponTitle + ".Damage.Enable_Owner_Immunity");
+        boolean isOwnerImmune = definition.isOwnerImmunity();
         if (isOwnerImmune && victim.equals(shooter)) {
             return false;
         }
 
         // Critical Hit chance
-        double chance = config.getDouble(weaponTitle + ".Damage.Critical_Hit.Chance", -1);
+        double chance = definition.getCriticalHitChance();
         boolean isCritical = chance != -1 && NumberUtil.chance((chance / 100));
 
-        int armorDamage = config.getInt(weaponTitle + ".Damage.Armor_Damage");
-        int fireTicks = config.getInt(weaponTitle + ".Damage.Fire_Ticks");
+        int armorDamage = definition.getArmorDamage();
+        int fireTicks = definition.getFireTicks();
 
         WeaponDamageEntityEvent damageEntityEvent = new WeaponDamageEntityEvent(weaponTitle, weaponStack, shooter, slot, victim,
                 damage, isBackstab, isCritical, point, armorDamage, fireTicks, distanceTravelled);
@@ -115,7 +114,7 @@ public class DamageHandler {
         StatsData victimData = victim.getType() == EntityType.PLAYER ? ((PlayerWrapper) victimWrapper).getStatsData() : null;
 
         // On all damage
-        useMechanics(config, cast, weaponTitle + ".Damage");
+        useMechanics(definition.getDamageMechanics(), cast);
         if (shooterData != null) {
             shooterData.add(weaponTitle, WeaponStat.TOTAL_DAMAGE, (float) finalDamage);
             shooterData.set(weaponTitle, WeaponStat.LONGEST_DISTANCE_HIT,
@@ -129,7 +128,7 @@ public class DamageHandler {
             Bukkit.getPluginManager().callEvent(new WeaponKillEntityEvent(weaponTitle, weaponStack, shooter, slot, victim, damageEntityEvent));
 
             // On kill
-            useMechanics(config, cast, weaponTitle + ".Damage.Kill");
+            useMechanics(definition.getKillMechanics(), cast);
             if (victimData != null) victimData.add(PlayerStat.WEAPON_DEATHS, 1);
 
             if (shooterData != null) {
@@ -157,7 +156,7 @@ public class DamageHandler {
 
         // On backstab
         if (damageEntityEvent.isBackstab()) {
-            useMechanics(config, cast, weaponTitle + ".Damage.Backstab");
+            useMechanics(definition.getBackstabMechanics(), cast);
             if (shooterData != null) {
                 shooterData.add(weaponTitle, WeaponStat.BACKSTABS, 1);
                 if (killed) shooterData.add(weaponTitle, WeaponStat.BACKSTAB_KILLS, 1);
@@ -166,7 +165,7 @@ public class DamageHandler {
 
         // On critical
         if (damageEntityEvent.isCritical()) {
-            useMechanics(config, cast, weaponTitle + ".Damage.Critical_Hit");
+            useMechanics(definition.getCriticalHitMechanics(), cast);
             if (shooterData != null) {
                 shooterData.add(weaponTitle, WeaponStat.CRITICAL_HITS, 1);
                 if (killed) shooterData.add(weaponTitle, WeaponStat.CRITICAL_KILLS, 1);
@@ -175,7 +174,7 @@ public class DamageHandler {
 
         // On point
         if (point != null) {
-            useMechanics(config, cast, weaponTitle + ".Damage." + point.getReadable());
+            useMechanics(definition.getPointMechanics(point), cast);
 
             if (shooterData != null) {
                 switch (point) {
@@ -206,21 +205,18 @@ public class DamageHandler {
         return true;
     }
 
-    private void useMechanics(Configuration config, CastData cast, String path) {
-        Mechanics mechanics = config.getObject(path + ".Mechanics", Mechanics.class);
+    private void useMechanics(Mechanics mechanics, CastData cast) {
         if (mechanics != null) {
             mechanics.use(cast);
         }
     }
 
     public void tryUseExplosion(WeaponProjectile projectile, Location origin, DoubleMap<LivingEntity> exposures) {
-        Configuration config = getConfigurations();
-
-        String weaponTitle = projectile.getWeaponTitle();
-        double damage = config.getDouble(weaponTitle + ".Damage.Base_Explosion_Damage");
+        WeaponDefinition definition = weaponHandler.getInfoHandler().getDefinition(projectile.getWeaponTitle());
+        double damage = definition.getBaseExplosionDamage();
         if (damage == 0) {
             // If explosion damage isn't used, use Base_Damage
-            damage = config.getDouble(weaponTitle + ".Damage.Base_Damage");
+            damage = definition.getBaseDamage();
         }
 
         for (DoubleEntry<LivingEntity> entry : exposures.entrySet()) {
@@ -15,6 +15,8 @@ import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.VectorUtil;
 import me.deecaad.core.utils.primitive.DoubleEntry;
 import me.deecaad.core.utils.primitive.DoubleMap;
+import me.deecaad.core.utils.scheduler.TaskCategory;
+import me.deecaad.core.utils.scheduler.WheelTask;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.weapon.damage.BlockDamageData;
 import me.deecaad.weaponmechanics.weapon.explode.exposures.ExplosionExposure;
@@ -42,7 +44,6 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.entity.EntityExplodeEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import javax.annotation.Nonnull;
@@ -56,6 +57,9 @@ import static me.deecaad.weaponmechanics.WeaponMechanics.getBasicConfigurations;
 
 public class Explosion implements Serializer<Explosion> {
 
+    public static final TaskCategory DETONATION_TASKS = TaskCategory.of("WeaponMechanics", "Detonation");
+    public static final TaskCategory REGENERATION_TASKS = TaskCategory.of("WeaponMechanics", "Block Regeneration");
+
     private ExplosionShape shape;
     private ExplosionExposure exposure;
     private BlockDamage blockDamage;
@@ -185,7 +189,7 @@ public class Explosion implements Serializer<Explosion> {
         // Set to 1 to indicate that this projectile has been detonated
         projectile.setIntTag("explosion-detonation", 1);
 
-        new BukkitRunnable() {
+        new WheelTask() {
             public void run() {
                 ProjectilePreExplodeEvent event = new ProjectilePreExplodeEvent(projectile, Explosion.this);
                 Bukkit.getPluginManager().callEvent(event);
@@ -197,7 +201,7 @@ public class Explosion implements Serializer<Explosion> {
                     projectile.remove();
                 }
             }
-        }.runTaskLater(WeaponMechanics.getPlugin(), currentDetonation.getDelay());
+        }.runTaskLater(DETONATION_TASKS, currentDetonation.getDelay());
     }
 
     public void explode(LivingEntity cause, Location origin, WeaponProjectile projectile) {
@@ -273,7 +277,7 @@ public class Explosion implements Serializer<Explosion> {
             if (sorter == null) {
                 debug.debug("Null sorter used while regenerating explosion... Was this intentional?");
             } else {
-                solid.sort(sorter);
+                sorter.sort(solid);
             }
         } catch (IllegalArgumentException e) {
             debug.log(LogLevel.ERROR, "A plugin modified the explosion block sorter with an illegal sorter! " +
@@ -345,6 +349,9 @@ public class Explosion implements Serializer<Explosion> {
 
         int blocksBroken = 0;
 
+        // Break the blocks together, 1 chunk section at a time
+        BlockDamageData.beginBatch(origin.getWorld());
+
         int size = blocks.size();
         for (int i = 0; i < size; i++) {
             Block block = blocks.get(i);
@@ -379,9 +386,16 @@ public class Explosion implements Serializer<Explosion> {
                     int time = timeOffset + ((isAtOnce ? size : i) / regeneration.getMaxBlocksPerUpdate() * regeneration.getInterval());
 
                     List<BlockDamageData.DamageData> finalBrokenBlocks = new ArrayList<>(brokenBlocks);
-                    new BukkitRunnable() {
+
+                    // Journal the blocks, so they still regenerate if the server stops first
+                    long deadline = System.currentTimeMillis() + time * 50L;
+                    for (BlockDamageData.DamageData block : finalBrokenBlocks)
+                        block.journal(deadline);
+
+                    new WheelTask() {
                         @Override
                         public void run() {
+                            BlockDamageData.beginBatch(finalBrokenBlocks.get(0).getWorld());
                             for (BlockDamageData.DamageData block : finalBrokenBlocks) {
 
                                 // The blocks may have been regenerated already
@@ -390,8 +404,9 @@ public class Explosion implements Serializer<Explosion> {
                                     block.remove();
                                 }
                             }
+                            BlockDamageData.flushBatch();
                         }
-                    }.runTaskLater(WeaponMechanics.getPlugin(), time);
+                    }.runTaskLater(REGENERATION_TASKS, time);
 
                     // Reset back to 0 elements, so we can continue adding
                     // blocks to regenerate to the list.
@@ -422,6 +437,8 @@ public class Explosion implements Serializer<Explosion> {
             }
         }
 
+        BlockDamageData.flushBatch();
+
         if (blocksBroken != 0 && playerWrapper != null && playerWrapper.getStatsData() != null
                 && projectile != null && projectile.getWeaponTitle() != null)
             playerWrapper.getStatsData().add(projectile.getWeaponTitle(), WeaponStat.BLOCKS_DESTROYED, blocksBroken);
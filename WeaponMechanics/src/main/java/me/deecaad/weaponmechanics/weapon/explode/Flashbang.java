@@ -5,15 +5,16 @@ import me.deecaad.core.file.Serializer;
 import me.deecaad.core.file.SerializerException;
 import me.deecaad.core.mechanics.CastData;
 import me.deecaad.core.mechanics.Mechanics;
+import me.deecaad.core.utils.PlayerIndex;
 import me.deecaad.weaponmechanics.weapon.explode.exposures.ExplosionExposure;
 import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.WeaponProjectile;
 import org.bukkit.Location;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Flashbang implements Serializer<Flashbang> {
 
@@ -56,14 +57,15 @@ public class Flashbang implements Serializer<Flashbang> {
      * @param origin The center of the flashbang
      */
     public void trigger(ExplosionExposure exposure, WeaponProjectile projectile, Location origin) {
-        Collection<Entity> entities = origin.getWorld().getNearbyEntities(origin, distance, distance, distance);
-        for (Entity entity : entities) {
-            if (entity.getType() != EntityType.PLAYER) {
-                continue;
-            }
-            LivingEntity livingEntity = (LivingEntity) entity;
-            if (canEffect(exposure, origin, livingEntity)) {
-                effect(projectile, livingEntity, origin);
+        // Only players are effected, so there is no need to check every
+        // entity. Players are stored by their feet, but the radius is checked
+        // from their eyes, so add some extra range.
+        List<Player> players = new ArrayList<>();
+        PlayerIndex.forEachPlayerInRange(origin.getWorld(), origin.getX(), origin.getY(), origin.getZ(), distance + 2.0, players::add);
+
+        for (Player player : players) {
+            if (canEffect(exposure, origin, player)) {
+                effect(projectile, player, origin);
             }
         }
     }
@@ -1,19 +1,14 @@
 package me.deecaad.weaponmechanics.weapon.explode.exposures;
 
-import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.primitive.DoubleMap;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.Ray;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceCollision;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceResult;
+import me.deecaad.core.utils.ray.EntityIndex;
 import me.deecaad.weaponmechanics.weapon.explode.shapes.ExplosionShape;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.util.Vector;
 
 import javax.annotation.Nonnull;
 import java.util.List;
@@ -45,53 +40,72 @@ public class DefaultExposure implements ExplosionExposure {
             return temp;
         }
 
-        Vector vector = new Vector(x, y, z);
+        // Every ray of every entity is traced in 1 batch, so the blocks
+        // between the explosion and the entities are only read once.
+        ExposureRays rays = new ExposureRays(world, x, y, z);
+        LivingEntity[] exposed = new LivingEntity[entities.size()];
+        double[] impactRates = new double[entities.size()];
+        int[] firstRays = new int[entities.size()];
+        int count = 0;
 
+        Location reuse = new Location(null, 0, 0, 0);
         for (LivingEntity entity : entities) {
-            Vector entityLocation = entity.getLocation().toVector();
+            Location entityLocation = entity.getLocation(reuse);
 
             // Gets the "rate" or percentage of how far the entity
             // is from the explosion. For example, it the distance
             // is 8 and explosion radius is 10, the rate will be 1/5
-            double impactRate = (damageRadius - entityLocation.distance(vector)) / damageRadius;
+            double betweenX = entityLocation.getX() - x;
+            double betweenY = entityLocation.getY() - y;
+            double betweenZ = entityLocation.getZ() - z;
+            double distance = Math.sqrt(betweenX * betweenX + betweenY * betweenY + betweenZ * betweenZ);
+            double impactRate = (damageRadius - distance) / damageRadius;
 
             if (impactRate > 1.0D) {
-                debug.log(LogLevel.DEBUG, "Entity " + entity + " was just outside the blast radius");
+                debug.log(LogLevel.DEBUG, () -> "Entity " + entity + " was just outside the blast radius");
                 continue;
             }
 
-            Vector betweenEntityAndExplosion = entityLocation.subtract(vector);
-            double distance = betweenEntityAndExplosion.length();
-
             // If there is distance between the entity and the explosion
             if (distance != 0.0) {
+                HitBox box = EntityIndex.of(world).getHitBox(entity);
+                int first = box == null ? -1 : addRays(rays, box);
 
-                // Normalize
-                betweenEntityAndExplosion.multiply(1 / distance);
-
-                double exposure = getExposure(vector, entity);
-                double impact = impactRate * exposure;
+                // Outside the grid, or no hit box
+                if (first == -1) {
+                    temp.put(entity, 0.0);
+                    continue;
+                }
 
-                temp.put(entity, impact);
+                exposed[count] = entity;
+                impactRates[count] = impactRate;
+                firstRays[count] = first;
+                count++;
             }
         }
 
+        if (count == 0)
+            return temp;
+
+        rays.trace();
+        for (int i = 0; i < count; i++) {
+            int last = i + 1 < count ? firstRays[i + 1] : rays.size();
+            double exposure = getExposure(rays, firstRays[i], last);
+            temp.put(exposed[i], impactRates[i] * exposure);
+        }
+
         return temp;
     }
 
     /**
-     * Gets a double [0, 1] representing how exposed the entity is to the explosion
+     * Adds a grid of rays from the origin of the explosion to the bounding
+     * box of 1 entity.
      *
-     * @param vec3d The origin of the explosion
-     * @param entity The entity exposed to the explosion
-     * @return The level of exposure of the entity to the epxlosion
+     * @param rays The rays of the explosion
+     * @param box The hit box of the entity
+     * @return The index of the first added ray, or -1 if no rays were added
      */
-    private static double getExposure(Vector vec3d, Entity entity) {
-        HitBox box = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
-
-        if (box == null) {
-            return 0.0;
-        }
+    private static int addRays(ExposureRays rays, HitBox box) {
 
         // Get the dimensions of the bounding box
         double width = box.getWidth();
@@ -108,16 +122,12 @@ public class DefaultExposure implements ExplosionExposure {
 
         // Outside the grid
         if (gridX < 0.0 || gridY < 0.0 || gridZ < 0.0)
-            return 0.0;
+            return -1;
 
         double d3 = (1.0 - Math.floor(stepX) * gridX) / 2.0;
         double d4 = (1.0 - Math.floor(stepZ) * gridZ) / 2.0;
 
-        // Setup variables for the loop
-        World world = entity.getWorld();
-
-        int successfulTraces = 0;
-        int totalTraces = 0;
+        int first = rays.size();
 
         // For each grid on the bounding box
         for (double x = 0; x <= 1; x += gridX) {
@@ -129,19 +139,33 @@ public class DefaultExposure implements ExplosionExposure {
                     double c = NumberUtil.lerp(box.getMinZ(), box.getMaxZ(), z);
 
                     // Calculates a path from the origin of the explosion
-                    // (0, 0, 0) to the current grid on the entity's bounding
-                    // box. The Vector is then ray traced to check for obstructions
-                    Vector vector = new Vector(a + d3, b, c + d4).subtract(vec3d);
+                    // to the current grid on the entity's bounding box.
+                    rays.add(a + d3, b, c + d4);
+                }
+            }
+        }
 
-                    Ray ray = new Ray(vec3d.toLocation(world), vector);
-                    TraceResult trace = ray.trace(TraceCollision.BLOCK, 0.3);
-                    if (trace.getBlocks().isEmpty()) {
-                        successfulTraces++;
-                    }
+        return first;
+    }
 
-                    totalTraces++;
-                }
+    /**
+     * Gets a double [0, 1] representing how exposed the entity is to the explosion
+     *
+     * @param rays The traced rays of the explosion
+     * @param first The index of the first ray of the entity
+     * @param last The index after the last ray of the entity
+     * @return The level of exposure of the entity to the epxlosion
+     */
+    private static double getExposure(ExposureRays rays, int first, int last) {
+        int successfulTraces = 0;
+        int totalTraces = 0;
+
+        for (int i = first; i < last; i++) {
+            if (rays.isVisible(i)) {
+                successfulTraces++;
             }
+
+            totalTraces++;
         }
 
         // The percentage of successful traces
@@ -104,7 +104,7 @@ public interface ExplosionExposure {
                 } else if (name.equals("SLIME_BLOCK")) {
                     return false;
                 } else {
-                    return CompatibilityAPI.getBlockCompatibility().getHitBox(block) != null;
+                    return CompatibilityAPI.getBlockCompatibility().getShape(block) != null;
                 }
             }
 
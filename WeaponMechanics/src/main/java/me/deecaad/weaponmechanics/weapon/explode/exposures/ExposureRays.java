@@ -0,0 +1,215 @@
+package me.deecaad.weaponmechanics.weapon.explode.exposures;
+
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.block.BlockCompatibility;
+import me.deecaad.core.compatibility.block.BlockShape;
+import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.core.utils.primitive.LongMap;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class casts every exposure ray of 1 explosion in 1 batch. Each ray
+ * starts at the origin of the explosion, and is blocked if any of its
+ * sample points (every 0.3 blocks, like
+ * {@link me.deecaad.weaponmechanics.weapon.explode.raytrace.Ray}) is inside
+ * the hit box of a block.
+ *
+ * <p>Tracing happens in 2 phases. First, on the main thread, the shape of
+ * every block touched by any ray is read from the world exactly once. Rays
+ * from the same origin share most of their blocks, so this memoizes the
+ * block lookups across every ray of the explosion. Second, the rays are
+ * tested against that immutable snapshot, which does not touch the world,
+ * so large batches are split across a {@link ForkJoinPool}. Both phases run
+ * during {@link #trace()}, so results are available in the same tick.
+ */
+public class ExposureRays {
+
+    /**
+     * When at least this many rays are traced in 1 batch, the rays are
+     * tested on multiple threads. Use -1 to always use only the main thread.
+     */
+    public static int PARALLEL_THRESHOLD = 128;
+
+    // The amount of rays handled by 1 fork join task before it stops splitting
+    private static final int BATCH_SIZE = 32;
+
+    // The distance between the sample points of a ray
+    private static final double ACCURACY = 0.3;
+
+    // Used as the value for passable blocks, since the map cannot store null
+    private static final Object PASSABLE = new Object();
+
+    private final World world;
+    private final double originX;
+    private final double originY;
+    private final double originZ;
+
+    private double[] ends;
+    private boolean[] visible;
+    private int size;
+
+    // Packed block position -> BlockShape, or PASSABLE
+    private final LongMap<Object> blocks;
+
+    public ExposureRays(World world, double originX, double originY, double originZ) {
+        this.world = world;
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.ends = new double[16 * 3];
+        this.blocks = new LongMap<>(256);
+    }
+
+    /**
+     * Adds a ray from the origin to the given point.
+     *
+     * @param endX The x coordinate of the end of the ray.
+     * @param endY The y coordinate of the end of the ray.
+     * @param endZ The z coordinate of the end of the ray.
+     * @return The index of the ray, used by {@link #isVisible(int)}.
+     */
+    public int add(double endX, double endY, double endZ) {
+        if (size * 3 == ends.length)
+            ends = Arrays.copyOf(ends, ends.length * 2);
+
+        ends[size * 3] = endX;
+        ends[size * 3 + 1] = endY;
+        ends[size * 3 + 2] = endZ;
+        return size++;
+    }
+
+    /**
+     * @return The amount of rays added.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Traces every ray that was added. This method must be called from the
+     * main thread.
+     */
+    public void trace() {
+        visible = new boolean[size];
+
+        // Read every block along the rays from the world once
+        BlockCompatibility compatibility = CompatibilityAPI.getBlockCompatibility();
+        for (int ray = 0; ray < size; ray++)
+            load(ray, compatibility);
+
+        if (PARALLEL_THRESHOLD == -1 || size < PARALLEL_THRESHOLD) {
+            for (int ray = 0; ray < size; ray++)
+                visible[ray] = test(ray);
+            return;
+        }
+
+        ForkJoinPool.commonPool().invoke(new TraceTask(this, 0, size));
+    }
+
+    /**
+     * Returns <code>true</code> if the given ray was not blocked. Only
+     * available after {@link #trace()}.
+     *
+     * @param ray The index of the ray, returned by {@link #add(double, double, double)}.
+     * @return true if the end of the ray can see the origin.
+     */
+    public boolean isVisible(int ray) {
+        if (visible == null)
+            throw new IllegalStateException("Rays were not traced yet");
+
+        return visible[ray];
+    }
+
+    private void load(int ray, BlockCompatibility compatibility) {
+        double endX = ends[ray * 3];
+        double endY = ends[ray * 3 + 1];
+        double endZ = ends[ray * 3 + 2];
+        double step = step(endX, endY, endZ);
+
+        long previous = 0L;
+        boolean first = true;
+        for (double i = step; i <= 1; i += step) {
+            int x = NumberUtil.intFloor(NumberUtil.lerp(originX, endX, i));
+            int y = NumberUtil.intFloor(NumberUtil.lerp(originY, endY, i));
+            int z = NumberUtil.intFloor(NumberUtil.lerp(originZ, endZ, i));
+            long key = pack(x, y, z);
+
+            // Consecutive points are usually in the same block
+            if (!first && key == previous)
+                continue;
+
+            first = false;
+            previous = key;
+            if (!blocks.containsKey(key)) {
+                BlockShape shape = compatibility.getShape(world.getBlockAt(x, y, z));
+                blocks.put(key, shape == null ? PASSABLE : shape);
+            }
+        }
+    }
+
+    private boolean test(int ray) {
+        double endX = ends[ray * 3];
+        double endY = ends[ray * 3 + 1];
+        double endZ = ends[ray * 3 + 2];
+        double step = step(endX, endY, endZ);
+
+        for (double i = step; i <= 1; i += step) {
+            double pointX = NumberUtil.lerp(originX, endX, i);
+            double pointY = NumberUtil.lerp(originY, endY, i);
+            double pointZ = NumberUtil.lerp(originZ, endZ, i);
+            int x = NumberUtil.intFloor(pointX);
+            int y = NumberUtil.intFloor(pointY);
+            int z = NumberUtil.intFloor(pointZ);
+
+            Object shape = blocks.get(pack(x, y, z));
+            if (shape != PASSABLE && ((BlockShape) shape).contains(x, y, z, pointX, pointY, pointZ))
+                return false;
+        }
+
+        return true;
+    }
+
+    private double step(double endX, double endY, double endZ) {
+        double dx = endX - originX;
+        double dy = endY - originY;
+        double dz = endZ - originZ;
+
+        // Step is a number [0.0, 1.0] that defines a percentage of distance
+        // between our starting and stopping point. If step exceeds 1, the
+        // loops are skipped, so the ray is not blocked.
+        return ACCURACY / Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static class TraceTask extends RecursiveAction {
+
+        private final ExposureRays rays;
+        private final int from;
+        private final int to;
+
+        TraceTask(ExposureRays rays, int from, int to) {
+            this.rays = rays;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                for (int ray = from; ray < to; ray++)
+                    rays.visible[ray] = rays.test(ray);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new TraceTask(rays, from, middle), new TraceTask(rays, middle, to));
+        }
+    }
+}
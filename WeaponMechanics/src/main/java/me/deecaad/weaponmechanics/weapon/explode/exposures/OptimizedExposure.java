@@ -1,19 +1,14 @@
 package me.deecaad.weaponmechanics.weapon.explode.exposures;
 
-import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.utils.LogLevel;
-import me.deecaad.core.utils.VectorUtil;
+import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.primitive.DoubleMap;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.Ray;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceCollision;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceResult;
+import me.deecaad.core.utils.ray.EntityIndex;
 import me.deecaad.weaponmechanics.weapon.explode.shapes.ExplosionShape;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.util.Vector;
 
 import javax.annotation.Nonnull;
 import java.util.List;
@@ -43,39 +38,85 @@ public class OptimizedExposure implements ExplosionExposure {
             return temp;
         }
 
-        Vector vector = new Vector(x, y, z);
+        // Every ray of every entity is traced in 1 batch, so the blocks
+        // between the explosion and the entities are only read once.
+        ExposureRays rays = new ExposureRays(world, x, y, z);
+        LivingEntity[] exposed = new LivingEntity[entities.size()];
+        double[] impactRates = new double[entities.size()];
+        int[] firstRays = new int[entities.size()];
+        int count = 0;
+
+        Location reuse = new Location(null, 0, 0, 0);
         for (LivingEntity entity : entities) {
-            Vector entityLocation = entity.getLocation().toVector();
+            Location entityLocation = entity.getLocation(reuse);
 
             // Gets the "rate" or percentage of how far the entity
             // is from the explosion. For example, if the distance
             // is 8 and explosion radius is 10, the rate will be 1/5
-            Vector between = entityLocation.subtract(vector);
-            double distance = between.length();
+            double betweenX = entityLocation.getX() - x;
+            double betweenY = entityLocation.getY() - y;
+            double betweenZ = entityLocation.getZ() - z;
+            double distance = Math.sqrt(betweenX * betweenX + betweenY * betweenY + betweenZ * betweenZ);
             double impactRate = (damageRadius - distance) / damageRadius;
             if (impactRate > 1.0D) {
-                debug.log(LogLevel.DEBUG, "Entity " + entity + " was just outside the blast radius");
+                debug.log(LogLevel.DEBUG, () -> "Entity " + entity + " was just outside the blast radius");
                 continue;
             }
 
-            Vector betweenEntityAndExplosion = entityLocation.subtract(vector);
-
             // If there is distance between the entity and the explosion
             if (distance != 0.0) {
+                HitBox box = EntityIndex.of(world).getHitBox(entity);
+                if (box == null) {
+                    temp.put(entity, 0.0);
+                    continue;
+                }
 
-                // Normalize
-                betweenEntityAndExplosion.multiply(1.0 / distance);
+                exposed[count] = entity;
+                impactRates[count] = impactRate;
+                firstRays[count] = addRays(rays, box);
+                count++;
+            }
+        }
 
-                double exposure = getExposure(vector, entity);
-                double impact = impactRate * exposure;
+        if (count == 0)
+            return temp;
 
-                temp.put(entity, impact);
-            }
+        rays.trace();
+        for (int i = 0; i < count; i++) {
+            double exposure = getExposure(rays, firstRays[i]);
+            temp.put(exposed[i], impactRates[i] * exposure);
         }
 
         return temp;
     }
 
+    /**
+     * Adds the rays used to determine the exposure of 1 entity. Exposure is
+     * determined by 8 rays, 1 ray for each corner of an entity's bounding
+     * box, and 1 more ray to the center of the bounding box.
+     *
+     * @param rays The rays of the explosion
+     * @param box The hit box of the entity
+     * @return The index of the first added ray
+     */
+    private static int addRays(ExposureRays rays, HitBox box) {
+        int first = rays.size();
+
+        // For each corner of the bounding box
+        for (int x = 0; x <= 1; x++) {
+            for (int y = 0; y <= 1; y++) {
+                for (int z = 0; z <= 1; z++) {
+                    rays.add(NumberUtil.lerp(box.getMinX(), box.getMaxX(), x),
+                            NumberUtil.lerp(box.getMinY(), box.getMaxY(), y),
+                            NumberUtil.lerp(box.getMinZ(), box.getMaxZ(), z));
+                }
+            }
+        }
+
+        rays.add(box.getCenterX(), box.getCenterY(), box.getCenterZ());
+        return first;
+    }
+
     /**
      * Gets a double [0.0, 1.0] representing how exposed the entity is to the explosion.
      * Exposure is determined by 8 rays, 1 ray for each corner of an entity's
@@ -85,49 +126,27 @@ public class OptimizedExposure implements ExplosionExposure {
      * <p>There is also one ray going to the center of the entity hit-box that
      * has the power of 4 rays.
      *
-     * @param vec3d The origin point
-     * @param entity The entity exposed to the explosion
+     * @param rays The traced rays of the explosion
+     * @param first The index of the first ray of the entity
      * @return The level of exposure of the entity to the explosion
      */
-    private static double getExposure(Vector vec3d, Entity entity) {
-        HitBox box = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
-
-        if (box == null) {
-            return 0.0;
-        }
-
-        // Setup variables for the loop
-        World world = entity.getWorld();
-        Vector min = box.getMin();
-        Vector max = box.getMax();
-
+    private static double getExposure(ExposureRays rays, int first) {
         int successfulTraces = 0;
         int totalTraces = 0;
 
         // For each corner of the bounding box
-        for (int x = 0; x <= 1; x++) {
-            for (int y = 0; y <= 1; y++) {
-                for (int z = 0; z <= 1; z++) {
-                    Vector lerp = VectorUtil.lerp(min, max, x, y, z);
-
-                    // Determine if the ray can hit the entity without hitting a block
-                    Ray ray = new Ray(world, vec3d, lerp);
-                    TraceResult trace = ray.trace(TraceCollision.BLOCK, 0.3);
-                    if (trace.getBlocks().isEmpty()) {
-                        successfulTraces++;
-                    }
-
-                    totalTraces++;
-                }
+        for (int i = first; i < first + 8; i++) {
+            if (rays.isVisible(i)) {
+                successfulTraces++;
             }
+
+            totalTraces++;
         }
 
         // Add one more ray pointing to the center of the bound box. If this
         // ray hits the entity, it has the power of 4 rays. If this ray does
         // not hit the entity, it has the power of 0 rays
-        Ray ray = new Ray(world, vec3d, VectorUtil.lerp(min, max, 0.5));
-        TraceResult trace = ray.trace(TraceCollision.BLOCK, 0.3);
-        if (trace.getBlocks().isEmpty()) {
+        if (rays.isVisible(first + 8)) {
             successfulTraces += 4;
             totalTraces += 4;
         }
@@ -3,6 +3,7 @@ package me.deecaad.weaponmechanics.weapon.explode.raytrace;
 import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.compatibility.block.BlockCompatibility;
+import me.deecaad.core.compatibility.block.BlockShape;
 import me.deecaad.core.utils.VectorUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.*;
@@ -136,7 +137,7 @@ public class Ray {
 
             // We can collide with a block if the collision can actually effect blocks,
             // if this specific block can be hit, and if we actually collide with the block's hitbox
-            if (collision.isHitBlock() && collision.canHit(block) && contains(factory.getHitBox(block), point)) {
+            if (collision.isHitBlock() && collision.canHit(block) && contains(factory.getShape(block), block, point)) {
                 blocks.add(block);
                 collides = true;
             }
@@ -236,6 +237,12 @@ public class Ray {
                 loc.getZ() > min.getZ() && loc.getZ() < max.getZ();
     }
 
+    private static boolean contains(BlockShape shape, Block block, Vector point) {
+        if (shape == null) return false;
+
+        return shape.contains(block.getX(), block.getY(), block.getZ(), point.getX(), point.getY(), point.getZ());
+    }
+
     private static boolean contains(HitBox hitbox, Vector point) {
         if (hitbox == null) return false;
 
@@ -42,7 +42,7 @@ public class TraceCollision {
     }
 
     public boolean canHit(Block block) {
-        return CompatibilityAPI.getBlockCompatibility().getHitBox(block) != null;
+        return CompatibilityAPI.getBlockCompatibility().getShape(block) != null;
     }
 
     public boolean canHit(Entity entity) {
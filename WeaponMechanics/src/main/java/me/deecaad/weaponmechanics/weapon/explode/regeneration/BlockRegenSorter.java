@@ -5,6 +5,7 @@ import org.bukkit.Location;
 import org.bukkit.block.Block;
 
 import java.util.Comparator;
+import java.util.List;
 
 /**
  * This class outlines a sorter to define the order that blocks should
@@ -20,4 +21,15 @@ public abstract class BlockRegenSorter implements Comparator<Block> {
         this.origin = origin;
         this.explosion = explosion;
     }
+
+    /**
+     * Sorts the given blocks into the order they should regenerate in. By
+     * default, this uses this comparator. Subclasses may override this method
+     * to skip work when the blocks are already sorted.
+     *
+     * @param blocks The non-null, modifiable list of blocks to sort.
+     */
+    public void sort(List<Block> blocks) {
+        blocks.sort(this);
+    }
 }
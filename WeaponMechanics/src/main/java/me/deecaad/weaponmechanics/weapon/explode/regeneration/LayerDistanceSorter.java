@@ -4,12 +4,43 @@ import me.deecaad.weaponmechanics.weapon.explode.Explosion;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 
+import java.util.List;
+
 public class LayerDistanceSorter extends BlockRegenSorter {
 
     public LayerDistanceSorter(Location origin, Explosion explosion) {
         super(origin, explosion);
     }
 
+    /**
+     * The blocks of an {@link me.deecaad.weaponmechanics.weapon.explode.shapes.ExplosionShape}
+     * that uses {@link me.deecaad.weaponmechanics.weapon.explode.shapes.BlockOffsets}
+     * are already in this order, so this method only checks the order with
+     * 1 pass over the blocks, and only sorts them if needed.
+     */
+    @Override
+    public void sort(List<Block> blocks) {
+        int x = origin.getBlockX();
+        int y = origin.getBlockY();
+        int z = origin.getBlockZ();
+
+        int previousHeight = Integer.MIN_VALUE;
+        int previousDistance = Integer.MAX_VALUE;
+        for (Block block : blocks) {
+            int height = block.getY();
+            int distance = square(block.getX() - x) + square(height - y) + square(block.getZ() - z);
+
+            boolean isSorted = height > previousHeight || (height == previousHeight && distance <= previousDistance);
+            if (!isSorted) {
+                blocks.sort(this);
+                return;
+            }
+
+            previousHeight = height;
+            previousDistance = distance;
+        }
+    }
+
     @Override
     public int compare(Block a, Block b) {
         int height = Integer.compare(a.getY(), b.getY());
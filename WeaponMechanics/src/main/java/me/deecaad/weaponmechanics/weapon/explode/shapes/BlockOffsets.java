@@ -0,0 +1,126 @@
+package me.deecaad.weaponmechanics.weapon.explode.shapes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * This immutable class is a precomputed table of block offsets that an
+ * {@link ExplosionShape} contains. Shapes build this table once when they
+ * are serialized, so {@link ExplosionShape#getBlocks(org.bukkit.Location)}
+ * only has to translate the offsets to the origin of the explosion and get
+ * the blocks.
+ *
+ * <p>Every offset is marked as either an inner offset or an edge offset.
+ * Edge offsets are near the edge of the shape, so they may be skipped due
+ * to noise (and, for shapes that depend on the exact origin, they may need
+ * an exact test). Inner offsets are always contained in the shape.
+ *
+ * <p>The offsets are sorted in the order blocks should regenerate in: the
+ * lowest layer first, and in each layer, the furthest offset first. This
+ * matches {@link me.deecaad.weaponmechanics.weapon.explode.regeneration.LayerDistanceSorter},
+ * so the blocks of a shape are usually already sorted.
+ */
+public final class BlockOffsets {
+
+    // dx, dy, dz of every offset
+    private final int[] offsets;
+    private final BitSet edges;
+
+    private BlockOffsets(int[] offsets, BitSet edges) {
+        this.offsets = offsets;
+        this.edges = edges;
+    }
+
+    /**
+     * @return The number of offsets in this table.
+     */
+    public int size() {
+        return offsets.length / 3;
+    }
+
+    public int getX(int index) {
+        return offsets[index * 3];
+    }
+
+    public int getY(int index) {
+        return offsets[index * 3 + 1];
+    }
+
+    public int getZ(int index) {
+        return offsets[index * 3 + 2];
+    }
+
+    /**
+     * Returns <code>true</code> if the offset at the given index is near the
+     * edge of the shape.
+     *
+     * @param index The index of the offset.
+     * @return true if the offset is an edge offset.
+     */
+    public boolean isEdge(int index) {
+        return edges.get(index);
+    }
+
+    /**
+     * Builds a {@link BlockOffsets} table. Offsets may be added in any order.
+     */
+    public static final class Builder {
+
+        private int[] offsets = new int[64 * 3];
+        private final BitSet edges = new BitSet();
+        private int size;
+
+        /**
+         * Adds the given offset to the table.
+         *
+         * @param dx   The x offset from the origin block.
+         * @param dy   The y offset from the origin block.
+         * @param dz   The z offset from the origin block.
+         * @param edge Whether the offset is near the edge of the shape.
+         * @return A non-null reference to this builder (builder pattern).
+         */
+        public Builder add(int dx, int dy, int dz, boolean edge) {
+            if (size * 3 == offsets.length)
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+
+            offsets[size * 3] = dx;
+            offsets[size * 3 + 1] = dy;
+            offsets[size * 3 + 2] = dz;
+            edges.set(size, edge);
+            size++;
+            return this;
+        }
+
+        public BlockOffsets build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++)
+                order[i] = i;
+
+            // Lowest layer first, then outer offsets before inner offsets
+            Arrays.sort(order, (a, b) -> {
+                int height = Integer.compare(offsets[a * 3 + 1], offsets[b * 3 + 1]);
+                if (height != 0)
+                    return height;
+
+                return -Integer.compare(distanceSquared(a), distanceSquared(b));
+            });
+
+            int[] sorted = new int[size * 3];
+            BitSet sortedEdges = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                int from = order[i];
+                System.arraycopy(offsets, from * 3, sorted, i * 3, 3);
+                sortedEdges.set(i, edges.get(from));
+            }
+
+            return new BlockOffsets(sorted, sortedEdges);
+        }
+
+        private int distanceSquared(int index) {
+            int dx = offsets[index * 3];
+            int dy = offsets[index * 3 + 1];
+            int dz = offsets[index * 3 + 2];
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
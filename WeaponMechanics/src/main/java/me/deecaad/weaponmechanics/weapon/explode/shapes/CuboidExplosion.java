@@ -29,6 +29,8 @@ public class CuboidExplosion implements ExplosionShape {
     // values, kind of like radius
     private final double width;
     private final double height;
+    private final double noiseChance;
+    private final BlockOffsets offsets;
     
     /**
      * Constructs a <code>CuboidExplosion</code> object. The
@@ -46,6 +48,20 @@ public class CuboidExplosion implements ExplosionShape {
     public CuboidExplosion(double width, double height) {
         this.width = width / 2.0;
         this.height = height / 2.0;
+        this.noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.25);
+
+        // The blocks of a cuboid only depend on the origin block, so the
+        // blocks near the edge can be found ahead of time
+        double noiseDistance = config.getDouble("Explosions.Spherical.Noise_Distance", 1.25);
+        BlockOffsets.Builder builder = new BlockOffsets.Builder();
+        for (int x = (int) -this.width; x < this.width; x++) {
+            for (int y = (int) -this.height; y < this.height; y++) {
+                for (int z = (int) -this.width; z < this.width; z++) {
+                    builder.add(x, y, z, isNearEdge(x, y, z, noiseDistance));
+                }
+            }
+        }
+        this.offsets = builder.build();
     }
     
     /**
@@ -60,10 +76,7 @@ public class CuboidExplosion implements ExplosionShape {
     @Nonnull
     @Override
     public List<Block> getBlocks(@Nonnull Location origin) {
-        List<Block> temp = new ArrayList<>((int) (2 * width + 2 * height) + 1);
-
-        double noiseDistance = config.getDouble("Explosions.Spherical.Noise_Distance", 1.25);
-        double noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.25);
+        List<Block> temp = new ArrayList<>(offsets.size());
 
         World world = origin.getWorld();
         if (world == null) {
@@ -74,19 +87,22 @@ public class CuboidExplosion implements ExplosionShape {
         int blockY = origin.getBlockY();
         int blockZ = origin.getBlockZ();
 
-        for (int x = (int) -width; x < width; x++) {
-            for (int y = (int) -height; y < height; y++) {
-                for (int z = (int) -width; z < width; z++) {
+        // Checked once, since building the message for each block is expensive
+        boolean isDebug = debug.canLog(LogLevel.DEBUG);
 
-                    // Noise checker
-                    if (isNearEdge(x, y, z, noiseDistance) && NumberUtil.chance(noiseChance)) {
-                        debug.log(LogLevel.DEBUG, "Skipping block(" + x + ", " + y + ", " + z + ") due to noise.");
-                        continue; // outer noise checker
-                    }
+        for (int i = 0; i < offsets.size(); i++) {
+            int x = offsets.getX(i);
+            int y = offsets.getY(i);
+            int z = offsets.getZ(i);
 
-                    temp.add(world.getBlockAt(x + blockX, y + blockY, z + blockZ));
-                }
+            // Noise checker
+            if (offsets.isEdge(i) && NumberUtil.chance(noiseChance)) {
+                if (isDebug)
+                    debug.log(LogLevel.DEBUG, "Skipping block (" + x + ", " + y + ", " + z + ") due to noise.");
+                continue; // outer noise checker
             }
+
+            temp.add(world.getBlockAt(x + blockX, y + blockY, z + blockZ));
         }
         return temp;
     }
@@ -110,25 +126,9 @@ public class CuboidExplosion implements ExplosionShape {
     @Nonnull
     @Override
     public List<LivingEntity> getEntities(@Nonnull Location origin) {
-        double xMin = origin.getX() - width,  xMax = origin.getX() + width;
-        double yMin = origin.getY() - height, yMax = origin.getY() + height;
-        double zMin = origin.getZ() - width,  zMax = origin.getZ() + width;
-
-        List<LivingEntity> all = origin.getWorld().getLivingEntities();
-        List<LivingEntity> temp = new ArrayList<>(all.size());
-        for  (LivingEntity entity : all) {
-            double x = entity.getLocation().getX();
-            double y = entity.getLocation().getY();
-            double z = entity.getLocation().getZ();
-
-            boolean in = x >= xMin && x <= xMax &&
-                    y >= yMin && y <= yMax &&
-                    z >= zMin && z <= zMax;
-
-            if (in)
-                temp.add(entity);
-        }
-        return temp;
+        // The box of this explosion is the box of the query, so there is
+        // nothing left to filter
+        return ExplosionShape.getNearbyEntities(origin, width, height, width);
     }
 
     @Override
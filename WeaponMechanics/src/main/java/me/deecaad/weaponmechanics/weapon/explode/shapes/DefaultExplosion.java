@@ -2,10 +2,10 @@ package me.deecaad.weaponmechanics.weapon.explode.shapes;
 
 import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.utils.LogLevel;
+import me.deecaad.core.utils.ray.EntityIndex;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
@@ -118,12 +118,15 @@ public class DefaultExplosion implements ExplosionShape {
             return null;
         }
 
+        // Like World#getNearbyEntities, this checks if the hit box of the
+        // entity overlaps the box, but it shares the chunks with every other
+        // query during this tick.
+        double x = origin.getX();
+        double y = origin.getY();
+        double z = origin.getZ();
         ArrayList<LivingEntity> entities = new ArrayList<>();
-        for (Entity entity : world.getNearbyEntities(origin, damageRadiusOuter, damageRadiusOuter, damageRadiusOuter)) {
-            if (entity.getType().isAlive()) {
-                entities.add((LivingEntity) entity);
-            }
-        }
+        EntityIndex.of(world).forEachHitBox(x - damageRadiusOuter, y - damageRadiusOuter, z - damageRadiusOuter,
+                x + damageRadiusOuter, y + damageRadiusOuter, z + damageRadiusOuter, 0.0, (entity, hitBox) -> entities.add(entity));
 
         return entities;
     }
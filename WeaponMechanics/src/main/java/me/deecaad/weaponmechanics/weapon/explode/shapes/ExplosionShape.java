@@ -1,7 +1,9 @@
 package me.deecaad.weaponmechanics.weapon.explode.shapes;
 
+import me.deecaad.core.utils.ray.EntityIndex;
 import me.deecaad.weaponmechanics.utils.Factory;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 
@@ -54,6 +56,34 @@ public interface ExplosionShape {
      */
     List<LivingEntity> getEntities(@Nonnull Location origin);
 
+    /**
+     * Returns a list of the living entities whose location is within the box
+     * centered on <code>origin</code> that extends <code>x</code>,
+     * <code>y</code> and <code>z</code> blocks in each direction (inclusive).
+     * Only the chunks overlapping the box are visited, and the chunks are
+     * shared with every other query during the same tick, so many
+     * explosions in 1 tick scale with the amount of nearby entities instead
+     * of with the amount of entities in the world.
+     *
+     * <p>Implementations of {@link #getEntities(Location)} should use this
+     * method to find candidates, then filter them by their exact shape.
+     *
+     * @param origin The non-null origin of the explosion (Usually the center).
+     * @param x      The distance from the origin on the x-axis.
+     * @param y      The distance from the origin on the y-axis.
+     * @param z      The distance from the origin on the z-axis.
+     * @return The non-null, modifiable list of entities in the box.
+     */
+    @Nonnull
+    static List<LivingEntity> getNearbyEntities(@Nonnull Location origin, double x, double y, double z) {
+        World world = origin.getWorld();
+        if (world == null)
+            throw new IllegalArgumentException("Explosion in null world? Location: " + origin);
+
+        return EntityIndex.of(world).getEntities(origin.getX() - x, origin.getY() - y, origin.getZ() - z,
+                origin.getX() + x, origin.getY() + y, origin.getZ() + z);
+    }
+
     /**
      * Returns the maximum distance from the origin of the explosion that an
      * entity is considered to be contained in the explosion. This method
@@ -5,6 +5,7 @@ import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.jetbrains.annotations.NotNull;
@@ -29,6 +30,8 @@ public class ParabolicExplosion implements ExplosionShape {
 
     private final double depth; // This is assumed to be negative
     private final double angle;
+    private final double noiseChance;
+    private final BlockOffsets offsets;
     
     public ParabolicExplosion(double depth) {
         this(depth, 0.5);
@@ -37,6 +40,8 @@ public class ParabolicExplosion implements ExplosionShape {
     public ParabolicExplosion(double depth, double angle) {
         this.depth = -Math.abs(depth); // this check is also done by serializer, but add it here for devs
         this.angle = angle;
+        this.noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.25);
+        this.offsets = computeOffsets();
     }
     
     /**
@@ -53,10 +58,14 @@ public class ParabolicExplosion implements ExplosionShape {
         return angle;
     }
     
-    @Nonnull
-    @Override
-    public List<Block> getBlocks(@Nonnull Location origin) {
-        List<Block> temp = new ArrayList<>();
+    /**
+     * The points of the parabola start at the corner
+     * <code>(-intercept, depth, -intercept)</code>, and are 1 block apart.
+     * The offsets are stored relative to the block of that corner (shifted
+     * so they are roughly relative to the origin block), so the block of
+     * each point only has to be translated in {@link #getBlocks(Location)}.
+     */
+    private BlockOffsets computeOffsets() {
 
         // Solve for x
         // y = angle * x^2 + depth
@@ -68,40 +77,73 @@ public class ParabolicExplosion implements ExplosionShape {
         double intercept = Math.sqrt(-depth / angle);
 
         double noiseDistance = config.getDouble("Explosions.Spherical.Noise_Distance", 1.25);
-        double noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.25);
-
-        for (double x = -intercept; x < intercept; x++) {
-            for (double y = depth; y < -depth; y++) {
-                for (double z = -intercept; z < intercept; z++) {
+        int cornerX = NumberUtil.intFloor(-intercept);
+        int cornerY = NumberUtil.intFloor(depth);
+
+        BlockOffsets.Builder builder = new BlockOffsets.Builder();
+        int i = 0;
+        for (double x = -intercept; x < intercept; x++, i++) {
+            int j = 0;
+            for (double y = depth; y < -depth; y++, j++) {
+                int k = 0;
+                for (double z = -intercept; z < intercept; z++, k++) {
                     if (test(x, y, z)) {
-
-                        // Checking chance first for resource usage
-                        if (NumberUtil.chance(noiseChance) && isNearEdge(x, y, z, noiseDistance)) {
-                            debug.log(LogLevel.DEBUG, "Skipping block (" + x + ", " + y + ", " + z + ") due to noise.");
-                            continue; // outer noise checker
-                        }
-
-                        temp.add(origin.clone().add(x, y, z).getBlock());
+                        builder.add(cornerX + i, cornerY + j, cornerX + k, isNearEdge(x, y, z, noiseDistance));
                     }
                 }
             }
         }
-        return temp;
+        return builder.build();
     }
     
     @Nonnull
     @Override
-    public List<LivingEntity> getEntities(@Nonnull Location origin) {
-        List<LivingEntity> all = origin.getWorld().getLivingEntities();
-        List<LivingEntity> temp = new ArrayList<>(all.size());
+    public List<Block> getBlocks(@Nonnull Location origin) {
+        List<Block> temp = new ArrayList<>(offsets.size());
 
-        for (LivingEntity entity : all) {
-            if (isContained(origin, entity.getLocation()))
-                temp.add(entity);
+        World world = origin.getWorld();
+        if (world == null) {
+            debug.log(LogLevel.WARN, "Parabolic explosion's origin was null? Origin:", origin.toString());
+            return temp;
         }
 
+        // The block of the corner of the parabola, minus the corner offset
+        double intercept = Math.sqrt(-depth / angle);
+        int cornerX = NumberUtil.intFloor(-intercept);
+        int cornerY = NumberUtil.intFloor(depth);
+        int blockX = NumberUtil.intFloor(origin.getX() - intercept) - cornerX;
+        int blockY = NumberUtil.intFloor(origin.getY() + depth) - cornerY;
+        int blockZ = NumberUtil.intFloor(origin.getZ() - intercept) - cornerX;
+
+        // Checked once, since building the message for each block is expensive
+        boolean isDebug = debug.canLog(LogLevel.DEBUG);
+
+        for (int i = 0; i < offsets.size(); i++) {
+            int x = blockX + offsets.getX(i);
+            int y = blockY + offsets.getY(i);
+            int z = blockZ + offsets.getZ(i);
+
+            if (offsets.isEdge(i) && NumberUtil.chance(noiseChance)) {
+                if (isDebug)
+                    debug.log(LogLevel.DEBUG, "Skipping block (" + x + ", " + y + ", " + z + ") due to noise.");
+                continue; // outer noise checker
+            }
+
+            temp.add(world.getBlockAt(x, y, z));
+        }
         return temp;
     }
+    
+    @Nonnull
+    @Override
+    public List<LivingEntity> getEntities(@Nonnull Location origin) {
+        // Every point in the parabola is within the x intercept horizontally,
+        // and within the depth vertically. See getBlocks.
+        double intercept = Math.sqrt(-depth / angle);
+        List<LivingEntity> entities = ExplosionShape.getNearbyEntities(origin, intercept, -depth, intercept);
+        entities.removeIf(entity -> !isContained(origin, entity.getLocation()));
+        return entities;
+    }
 
     @Override
     public double getMaxDistance() {
@@ -5,6 +5,7 @@ import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.NumberConversions;
@@ -13,7 +14,6 @@ import org.jetbrains.annotations.NotNull;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
 
@@ -23,58 +23,123 @@ public class SphericalExplosion implements ExplosionShape {
 
     private final double radius;
     private final double radiusSquared;
+    private final double noiseDistance;
+    private final double noiseChance;
+    private final BlockOffsets offsets;
     
     public SphericalExplosion(double radius) {
         this.radius = radius;
         this.radiusSquared = radius * radius;
+        this.noiseDistance = NumberConversions.square(config.getDouble("Explosions.Spherical.Noise_Distance", 1.0));
+        this.noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.10);
+        this.offsets = computeOffsets();
+    }
+
+    /**
+     * The blocks in a sphere depend on where the origin is inside of the
+     * origin block. Offsets that are inside the sphere (and not near the
+     * edge) for every possible origin are inner offsets. Offsets that may be
+     * inside the sphere are edge offsets, which are tested exactly in
+     * {@link #getBlocks(Location)}.
+     */
+    private BlockOffsets computeOffsets() {
+        BlockOffsets.Builder builder = new BlockOffsets.Builder();
+        int min = NumberConversions.floor(-radius);
+        int max = NumberConversions.floor(radius);
+
+        for (int x = min; x <= max; x++) {
+            for (int y = min; y <= max; y++) {
+                for (int z = min; z <= max; z++) {
+
+                    // The block is never inside the sphere
+                    if (minSquare(x) + minSquare(y) + minSquare(z) > radiusSquared)
+                        continue;
+
+                    double distance = maxSquare(x) + maxSquare(y) + maxSquare(z);
+                    boolean isInner = distance <= radiusSquared && radiusSquared - distance >= noiseDistance
+                            && x < max && y < max && z < max;
+
+                    builder.add(x, y, z, !isInner);
+                }
+            }
+        }
+        return builder.build();
     }
     
     @Nonnull
     @Override
     public List<Block> getBlocks(@Nonnull Location origin) {
-        List<Block> temp = new ArrayList<>();
-        
-        Location pos1 = origin.clone().add(-radius, -radius, -radius);
-        Location pos2 = origin.clone().add(+radius, +radius, +radius);
-
-        double noiseDistance = NumberConversions.square(config.getDouble("Explosions.Spherical.Noise_Distance", 1.0));
-        double noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.10);
-
-        // Loops through a cuboid region between pos1 and pos2
-        // effectively looping through every single block inside
-        // of a square
-        for (int x = pos1.getBlockX(); x < pos2.getBlockX(); x++) {
-            for (int y = pos1.getBlockY(); y < pos2.getBlockY(); y++) {
-                for (int z = pos1.getBlockZ(); z < pos2.getBlockZ(); z++) {
-                    Location loc = new Location(origin.getWorld(), x, y, z);
-                    
-                    // If the distance between the current iteration
-                    // and the origin is less than the radius of the
-                    // sphere. This "reshapes" the cube into a sphere
-                    double distance = loc.distanceSquared(origin);
-                    if (distance <= radiusSquared) {
-
-                        boolean isNearEdge = radiusSquared - distance < noiseDistance;
-                        if (isNearEdge && NumberUtil.chance(noiseChance)) {
-                            debug.log(LogLevel.DEBUG, "Skipping block (" + x + ", " + y + ", " + z + ") due to noise.");
-                            continue; // outer noise checker
-                        }
-
-                        temp.add(loc.getBlock());
-                    }
+        List<Block> temp = new ArrayList<>(offsets.size());
+
+        World world = origin.getWorld();
+        if (world == null) {
+            debug.log(LogLevel.WARN, "Spherical explosion's origin was null? Origin:", origin.toString());
+            return temp;
+        }
+
+        double originX = origin.getX();
+        double originY = origin.getY();
+        double originZ = origin.getZ();
+        int blockX = origin.getBlockX();
+        int blockY = origin.getBlockY();
+        int blockZ = origin.getBlockZ();
+
+        // The cuboid region around the sphere
+        int minX = NumberConversions.floor(originX - radius);
+        int minY = NumberConversions.floor(originY - radius);
+        int minZ = NumberConversions.floor(originZ - radius);
+        int maxX = NumberConversions.floor(originX + radius);
+        int maxY = NumberConversions.floor(originY + radius);
+        int maxZ = NumberConversions.floor(originZ + radius);
+
+        // Checked once, since building the message for each block is expensive
+        boolean isDebug = debug.canLog(LogLevel.DEBUG);
+
+        for (int i = 0; i < offsets.size(); i++) {
+            int x = blockX + offsets.getX(i);
+            int y = blockY + offsets.getY(i);
+            int z = blockZ + offsets.getZ(i);
+
+            if (offsets.isEdge(i)) {
+                if (x < minX || x >= maxX || y < minY || y >= maxY || z < minZ || z >= maxZ)
+                    continue;
+
+                // If the distance between the current iteration
+                // and the origin is less than the radius of the
+                // sphere. This "reshapes" the cube into a sphere
+                double distance = NumberConversions.square(x - originX) + NumberConversions.square(y - originY) + NumberConversions.square(z - originZ);
+                if (distance > radiusSquared)
+                    continue;
+
+                boolean isNearEdge = radiusSquared - distance < noiseDistance;
+                if (isNearEdge && NumberUtil.chance(noiseChance)) {
+                    if (isDebug)
+                        debug.log(LogLevel.DEBUG, "Skipping block (" + x + ", " + y + ", " + z + ") due to noise.");
+                    continue; // outer noise checker
                 }
             }
+
+            temp.add(world.getBlockAt(x, y, z));
         }
         return temp;
     }
+
+    // The smallest/largest squared distance on 1 axis between a block at the
+    // given offset and an origin anywhere inside the origin block
+    private static double minSquare(int offset) {
+        return offset >= 1 ? NumberConversions.square(offset - 1) : NumberConversions.square(offset);
+    }
+
+    private static double maxSquare(int offset) {
+        return Math.max(NumberConversions.square(offset), NumberConversions.square(offset - 1));
+    }
     
     @Nonnull
     @Override
     public List<LivingEntity> getEntities(@Nonnull Location origin) {
-        return origin.getWorld().getLivingEntities()
-                .stream()
-                .filter(entity -> entity.getLocation().distanceSquared(origin) < radiusSquared)
-                .collect(Collectors.toList());
+        List<LivingEntity> entities = ExplosionShape.getNearbyEntities(origin, radius, radius, radius);
+        entities.removeIf(entity -> entity.getLocation().distanceSquared(origin) >= radiusSquared);
+        return entities;
     }
 
     @Override
@@ -8,6 +8,7 @@ import me.deecaad.core.mechanics.CastData;
 import me.deecaad.core.mechanics.Mechanics;
 import me.deecaad.core.placeholder.PlaceholderAPI;
 import me.deecaad.core.utils.StringUtil;
+import me.deecaad.core.utils.primitive.LongMap;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.utils.CustomTag;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
@@ -46,6 +47,23 @@ public class InfoHandler implements IValidator {
      */
     private final Set<String> weaponsWithConvert = new HashSet<>();
 
+    /**
+     * Compiled weapon options, by weapon title and by weapon id
+     */
+    private Map<String, WeaponDefinition> definitions = new HashMap<>();
+    private WeaponDefinition[] definitionsById = new WeaponDefinition[0];
+
+    /**
+     * Compiled options of weapons that are not registered, cleared on reload
+     */
+    private Map<String, WeaponDefinition> unregisteredDefinitions = new HashMap<>();
+
+    /**
+     * Weapons with convert option used, grouped by the options their
+     * converter checks, and indexed by fingerprint
+     */
+    private ConverterGroup[] converterGroups = new ConverterGroup[0];
+
     private WeaponHandler weaponHandler;
 
     /**
@@ -111,6 +129,78 @@ public class InfoHandler implements IValidator {
         return new ArrayList<>(sortedWeaponList);
     }
 
+    /**
+     * Compiles a {@link WeaponDefinition} for every registered weapon. This
+     * should be called after the config is serialized. Weapons get their id
+     * in sorted order.
+     *
+     * @param config The non-null serialized config.
+     */
+    public void compileDefinitions(Configuration config) {
+        Map<String, WeaponDefinition> definitions = new HashMap<>();
+        WeaponDefinition[] definitionsById = new WeaponDefinition[sortedWeaponList.size()];
+
+        for (int id = 0; id < sortedWeaponList.size(); id++) {
+            WeaponDefinition definition = new WeaponDefinition(id, sortedWeaponList.get(id), config);
+            definitions.put(definition.getWeaponTitle(), definition);
+            definitionsById[id] = definition;
+        }
+
+        this.definitions = definitions;
+        this.definitionsById = definitionsById;
+        this.unregisteredDefinitions = new HashMap<>();
+        compileConverters(config);
+    }
+
+    private void compileConverters(Configuration config) {
+        Map<Integer, ConverterGroup> groups = new LinkedHashMap<>();
+        for (String weaponTitle : sortedWeaponList) {
+            if (!weaponsWithConvert.contains(weaponTitle))
+                continue;
+
+            ItemStack weaponStack = config.getObject(weaponTitle + ".Info.Weapon_Item", ItemStack.class);
+            WeaponConverter weaponConverter = config.getObject(weaponTitle + ".Info.Weapon_Converter_Check", WeaponConverter.class);
+            if (weaponStack == null || weaponConverter == null)
+                continue;
+
+            ConverterGroup group = groups.computeIfAbsent(weaponConverter.getMask(), mask -> new ConverterGroup(weaponConverter));
+            long fingerprint = weaponConverter.fingerprint(weaponStack.getType(), weaponStack.getItemMeta());
+            group.candidates.computeIfAbsent(fingerprint, key -> new ArrayList<>(1))
+                    .add(new ConvertCandidate(weaponTitle, weaponStack, weaponConverter));
+        }
+
+        this.converterGroups = groups.values().toArray(new ConverterGroup[0]);
+    }
+
+    /**
+     * Returns the compiled options of the given weapon. Weapons that are not
+     * registered (for example, a weapon that was removed from the config
+     * but is still on an item) are compiled once, the first time they are
+     * used after a reload.
+     *
+     * @param weaponTitle The non-null weapon title.
+     * @return The non-null weapon definition.
+     */
+    @Nonnull
+    public WeaponDefinition getDefinition(String weaponTitle) {
+        WeaponDefinition definition = definitions.get(weaponTitle);
+        if (definition != null)
+            return definition;
+
+        return unregisteredDefinitions.computeIfAbsent(weaponTitle, title -> new WeaponDefinition(-1, title, getConfigurations()));
+    }
+
+    /**
+     * Returns the compiled options of the weapon with the given id.
+     *
+     * @param id The id of the weapon, see {@link WeaponDefinition#getId()}.
+     * @return The weapon definition, or null if no weapon has the id.
+     */
+    @Nullable
+    public WeaponDefinition getDefinition(int id) {
+        return id >= 0 && id < definitionsById.length ? definitionsById[id] : null;
+    }
+
     /**
      * Adds weapon title to weapon converter list
      *
@@ -146,18 +236,27 @@ public class InfoHandler implements IValidator {
      */
     @Nullable
     public String tryConvertingToWeapon(ItemStack possibleWeaponStack) {
-        if (weaponsWithConvert.isEmpty()) return null;
-
-        for (String weaponWithConvert : weaponsWithConvert) {
-            ItemStack weaponStack = getConfigurations().getObject(weaponWithConvert + ".Info.Weapon_Item", ItemStack.class).clone();
-            WeaponConverter weaponConverter = getConfigurations().getObject(weaponWithConvert + ".Info.Weapon_Converter_Check", WeaponConverter.class);
-            if (weaponConverter.isMatch(weaponStack, possibleWeaponStack)) {
-
-                // Convert the possible weapon stack to actually match weapon stack
-                possibleWeaponStack.setType(weaponStack.getType());
-                possibleWeaponStack.setItemMeta(weaponStack.getItemMeta());
-
-                return weaponWithConvert; // return the weapon title
+        if (converterGroups.length == 0) return null;
+
+        // Only the weapons with the same fingerprint can match, so the full
+        // check is only used for those few candidates.
+        ItemMeta possibleMeta = possibleWeaponStack.hasItemMeta() ? possibleWeaponStack.getItemMeta() : null;
+        for (ConverterGroup group : converterGroups) {
+            long fingerprint = group.converter.fingerprint(possibleWeaponStack.getType(), possibleMeta);
+            List<ConvertCandidate> candidates = group.candidates.get(fingerprint);
+            if (candidates == null)
+                continue;
+
+            for (ConvertCandidate candidate : candidates) {
+                ItemStack weaponStack = candidate.weaponStack;
+                if (candidate.converter.isMatch(weaponStack, possibleWeaponStack)) {
+
+                    // Convert the possible weapon stack to actually match weapon stack
+                    possibleWeaponStack.setType(weaponStack.getType());
+                    possibleWeaponStack.setItemMeta(weaponStack.getItemMeta());
+
+                    return candidate.weaponTitle; // return the weapon title
+                }
             }
         }
         return null;
@@ -323,6 +422,22 @@ public class InfoHandler implements IValidator {
         return table;
     }
 
+    /**
+     * The converted weapons whose converters check the same options.
+     */
+    private static final class ConverterGroup {
+
+        private final WeaponConverter converter;
+        private final LongMap<List<ConvertCandidate>> candidates = new LongMap<>();
+
+        private ConverterGroup(WeaponConverter converter) {
+            this.converter = converter;
+        }
+    }
+
+    private record ConvertCandidate(String weaponTitle, ItemStack weaponStack, WeaponConverter converter) {
+    }
+
     @Override
     public String getKeyword() {
         return "Info";
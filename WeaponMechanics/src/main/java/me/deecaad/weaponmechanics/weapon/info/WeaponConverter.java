@@ -5,11 +5,14 @@ import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.Serializer;
 import me.deecaad.core.file.SerializerException;
 import me.deecaad.weaponmechanics.WeaponMechanics;
+import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -78,6 +81,39 @@ public class WeaponConverter implements Serializer<WeaponConverter> {
         return true;
     }
 
+    /**
+     * Returns a bit for each option this converter checks. Converters with
+     * the same mask have the same {@link #fingerprint(Material, ItemMeta)}.
+     *
+     * @return The checked options, as a bit mask.
+     */
+    public int getMask() {
+        return (type ? 1 : 0) | (name ? 2 : 0) | (lore ? 4 : 0) | (enchantments ? 8 : 0);
+    }
+
+    /**
+     * Returns a hash of the options this converter checks. When
+     * {@link #isMatch(ItemStack, ItemStack)} returns true for 2 items, they
+     * have the same fingerprint. Items with the same fingerprint may still
+     * not match, so candidates should always be checked with isMatch.
+     *
+     * @param type The non-null type of the item.
+     * @param meta The meta of the item, or null if the item has no meta.
+     * @return The fingerprint of the item.
+     */
+    public long fingerprint(Material type, @Nullable ItemMeta meta) {
+        long hash = getMask();
+        if (this.type)
+            hash = hash * 31 + type.ordinal();
+        if (this.name)
+            hash = hash * 31 + (meta != null && meta.hasDisplayName() ? meta.getDisplayName().hashCode() : 0);
+        if (this.lore)
+            hash = hash * 31 + (meta != null && meta.hasLore() ? meta.getLore().hashCode() : 0);
+        if (this.enchantments)
+            hash = hash * 31 + (meta != null && meta.hasEnchants() ? meta.getEnchants().hashCode() : 0);
+        return hash;
+    }
+
     private static boolean equals(Map<Enchantment, Integer> ench1, Map<Enchantment, Integer> ench2) {
         if (ench1 == ench2)
             return true;
@@ -0,0 +1,316 @@
+package me.deecaad.weaponmechanics.weapon.info;
+
+import me.deecaad.core.file.Configuration;
+import me.deecaad.core.mechanics.Mechanics;
+import me.deecaad.weaponmechanics.weapon.damage.DamagePoint;
+import me.deecaad.weaponmechanics.weapon.explode.Explosion;
+import me.deecaad.weaponmechanics.weapon.firearm.FirearmAction;
+import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.Projectile;
+import me.deecaad.weaponmechanics.weapon.shoot.CustomDurability;
+import me.deecaad.weaponmechanics.weapon.shoot.recoil.Recoil;
+import me.deecaad.weaponmechanics.weapon.shoot.spread.Spread;
+import me.deecaad.weaponmechanics.weapon.trigger.Trigger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * This immutable class holds the serialized options of 1 weapon that are
+ * used every time the weapon is shot or deals damage. Reading these options
+ * from the {@link Configuration} requires building a key like
+ * <code>weaponTitle + ".Shoot.Delay_Between_Shots"</code> and hashing it, so
+ * the options are compiled once after the config is serialized instead.
+ *
+ * <p>Definitions are compiled by {@link InfoHandler#compileDefinitions(Configuration)},
+ * and each registered weapon has a unique, non-negative id. The
+ * {@link Configuration} is still the source of truth, so changes made to it
+ * after the definitions are compiled are not seen here.
+ */
+public final class WeaponDefinition {
+
+    private final int id;
+    private final String weaponTitle;
+
+    // Shoot
+    private final Trigger trigger;
+    private final Trigger selectiveFireTrigger;
+    private final boolean consumeItemOnShoot;
+    private final boolean destroyWhenEmpty;
+    private final boolean resetFallDistance;
+    private final int delayBetweenShots;
+    private final int shotsPerBurst;
+    private final int ticksBetweenEachShot;
+    private final int fullyAutomaticShotsPerSecond;
+    private final int projectilesPerShot;
+    private final double projectileSpeed;
+    private final Mechanics shootMechanics;
+    private final Spread spread;
+    private final Recoil recoil;
+    private final CustomDurability customDurability;
+    private final Projectile projectile;
+    private final FirearmAction firearmAction;
+
+    // Delays
+    private final int weaponEquipDelay;
+    private final int shootDelayAfterScope;
+    private final int shootDelayAfterReload;
+    private final int meleeHitDelay;
+
+    // Info
+    private final WeaponInfoDisplay weaponInfoDisplay;
+    private final int magazineSize;
+
+    // Damage
+    private final boolean ignoreTeams;
+    private final boolean ownerImmunity;
+    private final double criticalHitChance;
+    private final int armorDamage;
+    private final int fireTicks;
+    private final double baseDamage;
+    private final double baseExplosionDamage;
+    private final Mechanics damageMechanics;
+    private final Mechanics killMechanics;
+    private final Mechanics backstabMechanics;
+    private final Mechanics criticalHitMechanics;
+    private final Mechanics[] pointMechanics;
+    private final Explosion explosion;
+
+    /**
+     * Compiles the options of the given weapon from the given config.
+     *
+     * @param id          The unique id of the weapon, or -1 if the weapon is not registered.
+     * @param weaponTitle The non-null weapon title.
+     * @param config      The non-null config to read the options from.
+     */
+    public WeaponDefinition(int id, @Nonnull String weaponTitle, @Nonnull Configuration config) {
+        this.id = id;
+        this.weaponTitle = weaponTitle;
+
+        trigger = config.getObject(weaponTitle + ".Shoot.Trigger", Trigger.class);
+        selectiveFireTrigger = config.getObject(weaponTitle + ".Shoot.Selective_Fire.Trigger", Trigger.class);
+        consumeItemOnShoot = config.getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot");
+        destroyWhenEmpty = config.getBool(weaponTitle + ".Shoot.Destroy_When_Empty");
+        resetFallDistance = config.getBool(weaponTitle + ".Shoot.Reset_Fall_Distance");
+        delayBetweenShots = config.getInt(weaponTitle + ".Shoot.Delay_Between_Shots");
+        shotsPerBurst = config.getInt(weaponTitle + ".Shoot.Burst.Shots_Per_Burst");
+        ticksBetweenEachShot = config.getInt(weaponTitle + ".Shoot.Burst.Ticks_Between_Each_Shot");
+        fullyAutomaticShotsPerSecond = config.getInt(weaponTitle + ".Shoot.Fully_Automatic_Shots_Per_Second");
+        projectilesPerShot = config.getInt(weaponTitle + ".Shoot.Projectiles_Per_Shot");
+        projectileSpeed = config.getDouble(weaponTitle + ".Shoot.Projectile_Speed");
+        shootMechanics = config.getObject(weaponTitle + ".Shoot.Mechanics", Mechanics.class);
+        spread = config.getObject(weaponTitle + ".Shoot.Spread", Spread.class);
+        recoil = config.getObject(weaponTitle + ".Shoot.Recoil", Recoil.class);
+        customDurability = config.getObject(weaponTitle + ".Shoot.Custom_Durability", CustomDurability.class);
+        projectile = config.getObject(weaponTitle + ".Projectile", Projectile.class);
+        firearmAction = config.getObject(weaponTitle + ".Firearm_Action", FirearmAction.class);
+
+        weaponEquipDelay = config.getInt(weaponTitle + ".Info.Weapon_Equip_Delay");
+        shootDelayAfterScope = config.getInt(weaponTitle + ".Scope.Shoot_Delay_After_Scope");
+        shootDelayAfterReload = config.getInt(weaponTitle + ".Reload.Shoot_Delay_After_Reload");
+        meleeHitDelay = config.getInt(weaponTitle + ".Melee.Melee_Hit_Delay");
+
+        weaponInfoDisplay = config.getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+        magazineSize = config.getInt(weaponTitle + ".Reload.Magazine_Size");
+
+        ignoreTeams = config.getBool(weaponTitle + ".Damage.Ignore_Teams");
+        ownerImmunity = config.getBool(weaponTitle + ".Damage.Enable_Owner_Immunity");
+        criticalHitChance = config.getDouble(weaponTitle + ".Damage.Critical_Hit.Chance", -1);
+        armorDamage = config.getInt(weaponTitle + ".Damage.Armor_Damage");
+        fireTicks = config.getInt(weaponTitle + ".Damage.Fire_Ticks");
+        baseDamage = config.getDouble(weaponTitle + ".Damage.Base_Damage");
+        baseExplosionDamage = config.getDouble(weaponTitle + ".Damage.Base_Explosion_Damage");
+        damageMechanics = config.getObject(weaponTitle + ".Damage.Mechanics", Mechanics.class);
+        killMechanics = config.getObject(weaponTitle + ".Damage.Kill.Mechanics", Mechanics.class);
+        backstabMechanics = config.getObject(weaponTitle + ".Damage.Backstab.Mechanics", Mechanics.class);
+        criticalHitMechanics = config.getObject(weaponTitle + ".Damage.Critical_Hit.Mechanics", Mechanics.class);
+        pointMechanics = new Mechanics[DamagePoint.values().length];
+        for (DamagePoint point : DamagePoint.values())
+            pointMechanics[point.ordinal()] = config.getObject(weaponTitle + ".Damage." + point.getReadable() + ".Mechanics", Mechanics.class);
+        explosion = config.getObject(weaponTitle + ".Explosion", Explosion.class);
+    }
+
+    /**
+     * @return The unique id of this weapon, or -1 if the weapon is not registered.
+     */
+    public int getId() {
+        return id;
+    }
+
+    @Nonnull
+    public String getWeaponTitle() {
+        return weaponTitle;
+    }
+
+    @Nullable
+    public Trigger getTrigger() {
+        return trigger;
+    }
+
+    @Nullable
+    public Trigger getSelectiveFireTrigger() {
+        return selectiveFireTrigger;
+    }
+
+    public boolean isConsumeItemOnShoot() {
+        return consumeItemOnShoot;
+    }
+
+    public boolean isDestroyWhenEmpty() {
+        return destroyWhenEmpty;
+    }
+
+    public boolean isResetFallDistance() {
+        return resetFallDistance;
+    }
+
+    public int getDelayBetweenShots() {
+        return delayBetweenShots;
+    }
+
+    public int getShotsPerBurst() {
+        return shotsPerBurst;
+    }
+
+    public int getTicksBetweenEachShot() {
+        return ticksBetweenEachShot;
+    }
+
+    public int getFullyAutomaticShotsPerSecond() {
+        return fullyAutomaticShotsPerSecond;
+    }
+
+    public int getProjectilesPerShot() {
+        return projectilesPerShot;
+    }
+
+    public double getProjectileSpeed() {
+        return projectileSpeed;
+    }
+
+    @Nullable
+    public Mechanics getShootMechanics() {
+        return shootMechanics;
+    }
+
+    @Nullable
+    public Spread getSpread() {
+        return spread;
+    }
+
+    @Nullable
+    public Recoil getRecoil() {
+        return recoil;
+    }
+
+    @Nullable
+    public CustomDurability getCustomDurability() {
+        return customDurability;
+    }
+
+    @Nullable
+    public Projectile getProjectile() {
+        return projectile;
+    }
+
+    @Nullable
+    public FirearmAction getFirearmAction() {
+        return firearmAction;
+    }
+
+    public int getWeaponEquipDelay() {
+        return weaponEquipDelay;
+    }
+
+    public int getShootDelayAfterScope() {
+        return shootDelayAfterScope;
+    }
+
+    public int getShootDelayAfterReload() {
+        return shootDelayAfterReload;
+    }
+
+    /**
+     * @return The melee hit delay, in milliseconds.
+     */
+    public int getMeleeHitDelay() {
+        return meleeHitDelay;
+    }
+
+    @Nullable
+    public WeaponInfoDisplay getWeaponInfoDisplay() {
+        return weaponInfoDisplay;
+    }
+
+    public int getMagazineSize() {
+        return magazineSize;
+    }
+
+    public boolean isIgnoreTeams() {
+        return ignoreTeams;
+    }
+
+    public boolean isOwnerImmunity() {
+        return ownerImmunity;
+    }
+
+    /**
+     * @return The critical hit chance [0, 100], or -1 if critical hits are not used.
+     */
+    public double getCriticalHitChance() {
+        return criticalHitChance;
+    }
+
+    public int getArmorDamage() {
+        return armorDamage;
+    }
+
+    public int getFireTicks() {
+        return fireTicks;
+    }
+
+    public double getBaseDamage() {
+        return baseDamage;
+    }
+
+    public double getBaseExplosionDamage() {
+        return baseExplosionDamage;
+    }
+
+    @Nullable
+    public Mechanics getDamageMechanics() {
+        return damageMechanics;
+    }
+
+    @Nullable
+    public Mechanics getKillMechanics() {
+        return killMechanics;
+    }
+
+    @Nullable
+    public Mechanics getBackstabMechanics() {
+        return backstabMechanics;
+    }
+
+    @Nullable
+    public Mechanics getCriticalHitMechanics() {
+        return criticalHitMechanics;
+    }
+
+    @Nullable
+    public Mechanics getPointMechanics(@Nonnull DamagePoint point) {
+        return pointMechanics[point.ordinal()];
+    }
+
+    @Nullable
+    public Explosion getExplosion() {
+        return explosion;
+    }
+
+    @Override
+    public String toString() {
+        return "WeaponDefinition{" +
+                "id=" + id +
+                ", weaponTitle='" + weaponTitle + '\'' +
+                '}';
+    }
+}
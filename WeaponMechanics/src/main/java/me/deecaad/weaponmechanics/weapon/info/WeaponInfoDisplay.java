@@ -5,7 +5,7 @@ import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.Serializer;
 import me.deecaad.core.file.SerializerException;
-import me.deecaad.core.placeholder.PlaceholderAPI;
+import me.deecaad.core.placeholder.PlaceholderTemplate;
 import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.ReflectionUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
@@ -35,9 +35,13 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
         }
     }
 
-    private String actionBar;
+    // Precompiled dual wield symbols from config.yml, see getDualDisplay()
+    private static PlaceholderTemplate dualWieldMainHand;
+    private static PlaceholderTemplate dualWieldOffHand;
 
-    private String bossBar;
+    private PlaceholderTemplate actionBar;
+
+    private PlaceholderTemplate bossBar;
     private BossBar.Color barColor;
     private BossBar.Overlay barStyle;
 
@@ -45,10 +49,10 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
     private boolean showAmmoInExpLevel;
     private boolean showAmmoInExpProgress;
 
-    private String dualWieldMainActionBar;
-    private String dualWieldMainBossBar;
-    private String dualWieldOffActionBar;
-    private String dualWieldOffBossBar;
+    private PlaceholderTemplate dualWieldMainActionBar;
+    private PlaceholderTemplate dualWieldMainBossBar;
+    private PlaceholderTemplate dualWieldOffActionBar;
+    private PlaceholderTemplate dualWieldOffBossBar;
 
     /**
      * Default constructor for serializer
@@ -59,17 +63,17 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
     public WeaponInfoDisplay(String actionBar, String bossBar, BossBar.Color barColor, BossBar.Overlay barStyle,
                              boolean showAmmoInBossBarProgress, boolean showAmmoInExpLevel, boolean showAmmoInExpProgress,
                              String dualWieldMainActionBar, String dualWieldMainBossBar, String dualWieldOffActionBar, String dualWieldOffBossBar) {
-        this.actionBar = actionBar;
-        this.bossBar = bossBar;
+        this.actionBar = compile(actionBar);
+        this.bossBar = compile(bossBar);
         this.barColor = barColor;
         this.barStyle = barStyle;
         this.showAmmoInBossBarProgress = showAmmoInBossBarProgress;
         this.showAmmoInExpLevel = showAmmoInExpLevel;
         this.showAmmoInExpProgress = showAmmoInExpProgress;
-        this.dualWieldMainActionBar = dualWieldMainActionBar;
-        this.dualWieldMainBossBar = dualWieldMainBossBar;
-        this.dualWieldOffActionBar = dualWieldOffActionBar;
-        this.dualWieldOffBossBar = dualWieldOffBossBar;
+        this.dualWieldMainActionBar = compile(dualWieldMainActionBar);
+        this.dualWieldMainBossBar = compile(dualWieldMainBossBar);
+        this.dualWieldOffActionBar = compile(dualWieldOffActionBar);
+        this.dualWieldOffBossBar = compile(dualWieldOffBossBar);
     }
 
     public void send(PlayerWrapper playerWrapper, EquipmentSlot slot) {
@@ -128,8 +132,8 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                     mainDisplay = this;
                     offDisplay = this;
                 } else {
-                    mainDisplay = mainhand ? this : getConfigurations().getObject(mainWeapon + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
-                    offDisplay = mainhand ? getConfigurations().getObject(offWeapon + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class) : this;
+                    mainDisplay = mainhand ? this : getWeaponHandler().getInfoHandler().getDefinition(mainWeapon).getWeaponInfoDisplay();
+                    offDisplay = mainhand ? getWeaponHandler().getInfoHandler().getDefinition(offWeapon).getWeaponInfoDisplay() : this;
                 }
 
                 // OFF HAND < dual wield split > MAIN HAND
@@ -143,11 +147,11 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                 if (mainhand) {
                     if (mainStack != null && mainStack.hasItemMeta()) {
                         Audience audience = MechanicsCore.getPlugin().adventure.player(player);
-                        audience.sendActionBar(MechanicsCore.getPlugin().message.deserialize(PlaceholderAPI.applyPlaceholders(actionBar, player, mainStack, mainWeapon, slot)));
+                        audience.sendActionBar(MechanicsCore.getPlugin().message.deserialize(actionBar.apply(player, mainStack, mainWeapon, slot)));
                     }
                 } else if (offStack != null && offStack.hasItemMeta()) {
                     Audience audience = MechanicsCore.getPlugin().adventure.player(player);
-                    audience.sendActionBar(MechanicsCore.getPlugin().message.deserialize(PlaceholderAPI.applyPlaceholders(actionBar, player, offStack, offWeapon, slot)));
+                    audience.sendActionBar(MechanicsCore.getPlugin().message.deserialize(actionBar.apply(player, offStack, offWeapon, slot)));
                 }
             }
         }
@@ -168,8 +172,8 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                     mainDisplay = this;
                     offDisplay = this;
                 } else {
-                    mainDisplay = mainhand ? this : getConfigurations().getObject(mainWeapon + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
-                    offDisplay = mainhand ? getConfigurations().getObject(offWeapon + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class) : this;
+                    mainDisplay = mainhand ? this : getWeaponHandler().getInfoHandler().getDefinition(mainWeapon).getWeaponInfoDisplay();
+                    offDisplay = mainhand ? getWeaponHandler().getInfoHandler().getDefinition(offWeapon).getWeaponInfoDisplay() : this;
                 }
 
                 // OFF HAND < dual wield split > MAIN HAND
@@ -181,10 +185,10 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
             } else {
                 if (mainhand) {
                     if (mainStack != null && mainStack.hasItemMeta()) {
-                        builder.append(PlaceholderAPI.applyPlaceholders(bossBar, player, mainStack, mainWeapon, slot));
+                        builder.append(bossBar.apply(player, mainStack, mainWeapon, slot));
                     }
                 } else if (offStack != null && offStack.hasItemMeta()) {
-                    builder.append(PlaceholderAPI.applyPlaceholders(bossBar, player, offStack, offWeapon, slot));
+                    builder.append(bossBar.apply(player, offStack, offWeapon, slot));
                 }
             }
 
@@ -265,17 +269,15 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
     private String getDualDisplay(WeaponInfoDisplay display, Player player, ItemStack stack, String weapon, EquipmentSlot slot, WeaponInfoDisplay otherDisplay, boolean bossbar, boolean isInverted) {
         if (display == null) return null;
 
-        String toApply;
+        PlaceholderTemplate toApply;
 
         if (otherDisplay == null) {
-            toApply = bossbar
-                    ? PlaceholderAPI.applyPlaceholders(display.bossBar, player, stack, weapon, slot)
-                    : PlaceholderAPI.applyPlaceholders(display.actionBar, player, stack, weapon, slot);
+            toApply = bossbar ? display.bossBar : display.actionBar;
         } else {
-            String mainHand = getBasicConfigurations().getString("Placeholder_Symbols.Dual_Wield.Main_Hand",
-                    "<gold>%ammo-left%<gray>»<gold>%reload% <gold>%firearm-state%%weapon-title%");
-            String offHand = getBasicConfigurations().getString("Placeholder_Symbols.Dual_Wield.Off_Hand",
-                    "<gold>%weapon-title%%firearm-state% <gold>%reload%<gray>«<gold>%ammo-left%");
+            PlaceholderTemplate mainHand = dualWieldMainHand = recompile(dualWieldMainHand, getBasicConfigurations().getString("Placeholder_Symbols.Dual_Wield.Main_Hand",
+                    "<gold>%ammo-left%<gray>»<gold>%reload% <gold>%firearm-state%%weapon-title%"));
+            PlaceholderTemplate offHand = dualWieldOffHand = recompile(dualWieldOffHand, getBasicConfigurations().getString("Placeholder_Symbols.Dual_Wield.Off_Hand",
+                    "<gold>%weapon-title%%firearm-state% <gold>%reload%<gray>«<gold>%ammo-left%"));
 
             if (isInverted) {
                 if (slot == EquipmentSlot.HAND) {
@@ -300,7 +302,15 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
             }
         }
 
-        return PlaceholderAPI.applyPlaceholders(toApply, player, stack, weapon, slot);
+        return toApply == null ? null : toApply.apply(player, stack, weapon, slot);
+    }
+
+    private static PlaceholderTemplate compile(String message) {
+        return message == null ? null : PlaceholderTemplate.compile(message);
+    }
+
+    private static PlaceholderTemplate recompile(PlaceholderTemplate template, String message) {
+        return template != null && template.getSource().equals(message) ? template : PlaceholderTemplate.compile(message);
     }
 
     private StringBuilder buildDisplay(StringBuilder builder, boolean hasInvertedMainHand, String mainHand, String offHand) {
@@ -334,7 +344,7 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
     }
 
     private double getMagazineProgress(ItemStack weaponStack, String weaponTitle) {
-        double progress = (double) getWeaponHandler().getReloadHandler().getAmmoLeft(weaponStack, weaponTitle) / (double) getConfigurations().getInt(weaponTitle + ".Reload.Magazine_Size");
+        double progress = (double) getWeaponHandler().getReloadHandler().getAmmoLeft(weaponStack, weaponTitle) / (double) getWeaponHandler().getInfoHandler().getDefinition(weaponTitle).getMagazineSize();
         return NumberUtil.minMax(0.0, progress, 1.0);
     }
 
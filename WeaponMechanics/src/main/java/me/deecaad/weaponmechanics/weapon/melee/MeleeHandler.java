@@ -1,7 +1,6 @@
 package me.deecaad.weaponmechanics.weapon.melee;
 
 import co.aikar.timings.lib.MCTiming;
-import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.utils.ray.RayTraceResult;
 import me.deecaad.core.file.Configuration;
@@ -16,6 +15,7 @@ import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.compatibility.IWeaponCompatibility;
 import me.deecaad.weaponmechanics.compatibility.WeaponCompatibilityAPI;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
+import me.deecaad.core.utils.ray.EntityIndex;
 import me.deecaad.core.utils.ray.RayTrace;
 import me.deecaad.weaponmechanics.weapon.trigger.TriggerType;
 import me.deecaad.weaponmechanics.weapon.weaponevents.WeaponMeleeMissEvent;
@@ -173,8 +173,9 @@ public class MeleeHandler implements IValidator {
             return firstHit;
         }
 
-        // Simply check where known victim was hit and whether it was in range
-        HitBox entityBox = CompatibilityAPI.getEntityCompatibility().getHitBox(knownVictim);
+        // Simply check where known victim was hit and whether it was in range.
+        // Ray tracing does not modify the hit box, so the snapshot is safe to use.
+        HitBox entityBox = EntityIndex.of(knownVictim.getWorld()).getHitBox(knownVictim);
         if (entityBox == null) return null;
 
         RayTraceResult rayTraceResult = entityBox.rayTrace(eyeLocationToVector, direction);
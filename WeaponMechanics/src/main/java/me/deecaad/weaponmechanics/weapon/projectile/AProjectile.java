@@ -3,6 +3,7 @@ package me.deecaad.weaponmechanics.weapon.projectile;
 import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.entity.FakeEntity;
 import me.deecaad.core.utils.ray.RayTraceResult;
+import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.VectorUtil;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -31,13 +32,23 @@ public abstract class AProjectile {
     private FakeEntity disguise;
     private int lastDisguiseUpdateTick;
 
-    private Vector lastLocation;
-    private Vector location;
-    private Vector motion;
+    // While this projectile is ticked by the ProjectilesRunnable, its
+    // numeric state is stored in a slot of the runnable's ProjectileStore.
+    // Before it is added, and after it is removed, the state is stored in
+    // the fields below instead, so no store is created per projectile.
+    private ProjectileStore store;
+    private int slot;
+    private boolean attached;
+    private double x, y, z;
+    private double lastX, lastY, lastZ;
+    private double motionX, motionY, motionZ;
     private double motionLength;
+    private double distanceTravelled;
+
+    // Used when tick() is called on a projectile that is not attached
+    private static final ProjectileStore SCRATCH = new ProjectileStore(1);
 
     private int aliveTicks;
-    private double distanceTravelled;
     private boolean dead;
     private Map<String, String> stringTags;
     private Map<String, Integer> integerTags;
@@ -56,10 +67,10 @@ public abstract class AProjectile {
     protected AProjectile(LivingEntity shooter, Location location, Vector motion) {
         this.shooter = shooter;
         this.world = location.getWorld();
-        this.location = location.toVector();
-        this.lastLocation = this.location.clone();
-        this.motion = motion;
-        this.motionLength = motion.length();
+        this.x = this.lastX = location.getX();
+        this.y = this.lastY = location.getY();
+        this.z = this.lastZ = location.getZ();
+        setMotion(motion);
         this.scripts = new LinkedList<>(); //dynamic, O(1) resize
         onStart();
     }
@@ -149,30 +160,42 @@ public abstract class AProjectile {
      * @return the clone of last location
      */
     public Vector getLastLocation() {
-        return lastLocation.clone();
+        return new Vector(getLastX(), getLastY(), getLastZ());
+    }
+
+    public double getLastX() {
+        return attached ? store.lastX[slot] : lastX;
+    }
+
+    public double getLastY() {
+        return attached ? store.lastY[slot] : lastY;
+    }
+
+    public double getLastZ() {
+        return attached ? store.lastZ[slot] : lastZ;
     }
 
     /**
      * @return the clone of current location
      */
     public Vector getLocation() {
-        return location.clone();
+        return new Vector(getX(), getY(), getZ());
     }
 
     public Block getCurrentBlock() {
-        return world.getBlockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        return world.getBlockAt(NumberConversions.floor(getX()), NumberConversions.floor(getY()), NumberConversions.floor(getZ()));
     }
 
     public double getX() {
-        return location.getX();
+        return attached ? store.x[slot] : x;
     }
 
     public double getY() {
-        return location.getY();
+        return attached ? store.y[slot] : y;
     }
 
     public double getZ() {
-        return location.getZ();
+        return attached ? store.z[slot] : z;
     }
 
     /**
@@ -180,8 +203,8 @@ public abstract class AProjectile {
      */
     public void setLocation(Vector location) {
         if (location == null) throw new IllegalArgumentException("Location can't be null");
-        this.lastLocation = this.location.clone();
-        this.location = location;
+        updateLastLocation();
+        setRawLocation(location.getX(), location.getY(), location.getZ());
     }
 
     /**
@@ -192,29 +215,73 @@ public abstract class AProjectile {
      */
     public void setRawLocation(Vector location) {
         if (location == null) throw new IllegalArgumentException("Location can't be null");
-        this.location = location;
+        setRawLocation(location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Same as {@link #setRawLocation(Vector)}, but without a vector.
+     *
+     * @param x the new x coordinate for projectile
+     * @param y the new y coordinate for projectile
+     * @param z the new z coordinate for projectile
+     */
+    public void setRawLocation(double x, double y, double z) {
+        if (attached) {
+            store.x[slot] = x;
+            store.y[slot] = y;
+            store.z[slot] = z;
+        } else {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    private void updateLastLocation() {
+        if (attached) {
+            store.lastX[slot] = store.x[slot];
+            store.lastY[slot] = store.y[slot];
+            store.lastZ[slot] = store.z[slot];
+        } else {
+            lastX = x;
+            lastY = y;
+            lastZ = z;
+        }
     }
 
     /**
      * @return the clone of current motion
      */
     public Vector getMotion() {
-        return motion.clone();
+        return new Vector(getMotionX(), getMotionY(), getMotionZ());
+    }
+
+    public double getMotionX() {
+        return attached ? store.motionX[slot] : motionX;
+    }
+
+    public double getMotionY() {
+        return attached ? store.motionY[slot] : motionY;
+    }
+
+    public double getMotionZ() {
+        return attached ? store.motionZ[slot] : motionZ;
     }
 
     /**
      * @return the current motion's length
      */
     public double getMotionLength() {
-        return motionLength;
+        return attached ? store.motionLength[slot] : motionLength;
     }
 
     /**
      * @return the normalized current motion
      */
     public Vector getNormalizedMotion() {
+        double motionLength = getMotionLength();
         if (motionLength == 0) return getMotion();
-        return getMotion().divide(new Vector(motionLength, motionLength, motionLength));
+        return new Vector(getMotionX() / motionLength, getMotionY() / motionLength, getMotionZ() / motionLength);
     }
 
     /**
@@ -224,8 +291,38 @@ public abstract class AProjectile {
      */
     public void setMotion(Vector motion) {
         if (motion == null) throw new IllegalArgumentException("Motion can't be null");
-        this.motion = motion;
-        this.motionLength = motion.length();
+        setMotion(motion.getX(), motion.getY(), motion.getZ());
+    }
+
+    /**
+     * Same as {@link #setMotion(Vector)}, but without a vector.
+     *
+     * @param x the new motion on the x-axis
+     * @param y the new motion on the y-axis
+     * @param z the new motion on the z-axis
+     */
+    public void setMotion(double x, double y, double z) {
+        double length = Math.sqrt(x * x + y * y + z * z);
+        if (attached) {
+            store.motionX[slot] = x;
+            store.motionY[slot] = y;
+            store.motionZ[slot] = z;
+            store.motionLength[slot] = length;
+        } else {
+            this.motionX = x;
+            this.motionY = y;
+            this.motionZ = z;
+            this.motionLength = length;
+        }
+    }
+
+    /**
+     * @return true if the motion of this projectile is (almost) 0
+     */
+    public boolean isMotionEmpty() {
+        return NumberUtil.equals(getMotionX(), 0.0)
+                && NumberUtil.equals(getMotionY(), 0.0)
+                && NumberUtil.equals(getMotionZ(), 0.0);
     }
 
     /**
@@ -239,14 +336,17 @@ public abstract class AProjectile {
      * @return the distance projectile has travelled where 1.0 equals 1 block
      */
     public double getDistanceTravelled() {
-        return distanceTravelled;
+        return attached ? store.distanceTravelled[slot] : distanceTravelled;
     }
 
     /**
      * @param amount adds this amount to distance travelled
      */
     public void addDistanceTravelled(double amount) {
-        distanceTravelled += amount;
+        if (attached)
+            store.distanceTravelled[slot] += amount;
+        else
+            distanceTravelled += amount;
     }
 
     /**
@@ -328,11 +428,43 @@ public abstract class AProjectile {
     }
 
     /**
-     * Projectile base tick
+     * Projectile base tick. The {@link ProjectilesRunnable} does not use this
+     * method, instead it calls {@link #tickCollisions()} for every projectile,
+     * steps the motion of every projectile in 1 batch, then calls
+     * {@link #tickEnd()} for every projectile. When this projectile is not
+     * ticked by the runnable, a shared scratch store is used for the step,
+     * so this should only be used on the main thread.
      *
      * @return true if projectile should be removed from projectile runnable
      */
     public boolean tick() {
+        if (!attached) {
+            // The physics step needs a slot, so borrow the scratch store
+            attach(SCRATCH);
+            try {
+                return tick();
+            } finally {
+                detach();
+                SCRATCH.releasePending();
+            }
+        }
+
+        if (tickCollisions()) {
+            return true;
+        }
+
+        store.step(slot);
+        return tickEnd();
+    }
+
+    /**
+     * The main thread part of the tick, before the motion is updated. This
+     * handles collisions, and fills in the inputs (gravity, drag, and speed
+     * limits) for the {@link ProjectileStore} physics step.
+     *
+     * @return true if projectile should be removed from projectile runnable
+     */
+    boolean tickCollisions() {
         if (this.dead) {
             // If projectile is marked for removal, but hasn't yet been removed
             return true;
@@ -341,59 +473,113 @@ public abstract class AProjectile {
         scriptEvent(ProjectileScript::onTickStart);
 
         // Update last location here since handle collisions will change the location
-        lastLocation = location.clone();
+        updateLastLocation();
 
         // Handle collisions will update location and distance travelled
         if (handleCollisions()) {
             return true;
         }
 
-        double locationY = location.getY();
+        double locationY = store.y[slot];
         if (aliveTicks >= getMaximumAliveTicks() || locationY < (version < 1.16 ? -32 : world.getMinHeight()) || locationY > world.getMaxHeight()) {
             return true;
         }
 
         double gravity = getGravity();
-        if (gravity == 0 && VectorUtil.isEmpty(motion)) {
-
-            // No need to continue as motion is empty and there isn't gravity currently
+        store.gravity[slot] = gravity;
 
-            if (motionLength != 0) motionLength = 0;
-
-            updateDisguise(true);
-            scriptEvent(ProjectileScript::onTickEnd);
-            ++aliveTicks;
+        // No need to check the drag (which reads the current block) when the
+        // physics step will skip this projectile anyway.
+        if (gravity == 0 && isMotionEmpty()) {
             return false;
         }
 
-        if (gravity != 0) {
-            motion.setY(motion.getY() - gravity);
-        }
-
-        motion.multiply(getDrag());
-        motionLength = motion.length();
+        store.drag[slot] = getDrag();
+        store.minimumSpeed[slot] = getMinimumSpeed();
+        store.maximumSpeed[slot] = getMaximumSpeed();
+        store.removeAtSpeed[slot] = (byte) ((isRemoveAtMinimumSpeed() ? ProjectileStore.REMOVE_AT_MINIMUM : 0)
+                | (isRemoveAtMaximumSpeed() ? ProjectileStore.REMOVE_AT_MAXIMUM : 0));
+        return false;
+    }
 
-        double minimumSpeed = getMinimumSpeed();
-        double maximumSpeed = getMaximumSpeed();
-        if (minimumSpeed != -1.0 && motionLength < minimumSpeed) {
-            if (isRemoveAtMinimumSpeed()) {
-                return true;
-            }
-            setMotion(getNormalizedMotion().multiply(getMinimumSpeed()));
-        } else if (maximumSpeed != -1.0 && motionLength > maximumSpeed) {
-            if (isRemoveAtMaximumSpeed()) {
-                return true;
-            }
-            setMotion(getNormalizedMotion().multiply(getMaximumSpeed()));
+    /**
+     * The main thread part of the tick, after the motion is updated by the
+     * {@link ProjectileStore} physics step.
+     *
+     * @return true if projectile should be removed from projectile runnable
+     */
+    boolean tickEnd() {
+        byte result = store.stepResult[slot];
+        if (result == ProjectileStore.STEP_REMOVE) {
+            return true;
         }
 
-        updateDisguise(false);
+        updateDisguise(result == ProjectileStore.STEP_STATIC);
         scriptEvent(ProjectileScript::onTickEnd);
         ++aliveTicks;
-
         return false;
     }
 
+    /**
+     * Moves the state of this projectile into a slot of the given shared
+     * store. Called by the {@link ProjectilesRunnable} when this projectile
+     * starts ticking.
+     *
+     * @param shared The non-null store to move to.
+     */
+    void attach(ProjectileStore shared) {
+        if (attached) throw new IllegalStateException("Projectile is already attached to a store");
+
+        int newSlot = shared.allocate();
+        shared.x[newSlot] = x;
+        shared.y[newSlot] = y;
+        shared.z[newSlot] = z;
+        shared.lastX[newSlot] = lastX;
+        shared.lastY[newSlot] = lastY;
+        shared.lastZ[newSlot] = lastZ;
+        shared.motionX[newSlot] = motionX;
+        shared.motionY[newSlot] = motionY;
+        shared.motionZ[newSlot] = motionZ;
+        shared.motionLength[newSlot] = motionLength;
+        shared.distanceTravelled[newSlot] = distanceTravelled;
+        store = shared;
+        slot = newSlot;
+        attached = true;
+    }
+
+    /**
+     * Moves the state of this projectile out of the shared store, so the
+     * slot can be reused, while this projectile still returns its last
+     * values. Called by the {@link ProjectilesRunnable} when this projectile
+     * stops ticking.
+     */
+    void detach() {
+        if (!attached) return;
+
+        x = store.x[slot];
+        y = store.y[slot];
+        z = store.z[slot];
+        lastX = store.lastX[slot];
+        lastY = store.lastY[slot];
+        lastZ = store.lastZ[slot];
+        motionX = store.motionX[slot];
+        motionY = store.motionY[slot];
+        motionZ = store.motionZ[slot];
+        motionLength = store.motionLength[slot];
+        distanceTravelled = store.distanceTravelled[slot];
+        store.free(slot);
+        store = null;
+        slot = -1;
+        attached = false;
+    }
+
+    /**
+     * @return the slot of this projectile in its current store
+     */
+    int getSlot() {
+        return slot;
+    }
+
     /**
      * If this projectile already has disguise spawned, this call is ignored
      *
@@ -410,7 +596,7 @@ public abstract class AProjectile {
         if (getGravity() == 0.0) this.disguise.setGravity(false);
 
         this.disguise.show();
-        this.disguise.setMotion(motion);
+        this.disguise.setMotion(getMotionX(), getMotionY(), getMotionZ());
     }
 
     /**
@@ -424,26 +610,34 @@ public abstract class AProjectile {
         // Show for new players in range
         if (aliveTicks % CHECK_FOR_NEW_PLAYER_RATE == 0) disguise.show();
 
+        double x = getX();
+        double y = getY();
+        double z = getZ();
+        double motionX = getMotionX();
+        double motionY = getMotionY();
+        double motionZ = getMotionZ();
+        double motionLength = getMotionLength();
+
         if (motionLength == 0) {
-            disguise.setPosition(location.getX(), location.getY(), location.getZ(), disguise.getYaw(), disguise.getPitch(), forceTeleport);
+            disguise.setPosition(x, y, z, disguise.getYaw(), disguise.getPitch(), forceTeleport);
         } else {
-            Vector normalizedMotion = getNormalizedMotion();
-            disguise.setPosition(location.getX(), location.getY(), location.getZ(), calculateYaw(normalizedMotion), calculatePitch(normalizedMotion), forceTeleport);
+            double dirX = motionX / motionLength;
+            double dirY = motionY / motionLength;
+            double dirZ = motionZ / motionLength;
+            disguise.setPosition(x, y, z, calculateYaw(dirX, dirZ), calculatePitch(dirX, dirY, dirZ), forceTeleport);
         }
-        disguise.setMotion(motion);
+        disguise.setMotion(motionX, motionY, motionZ);
 
         lastDisguiseUpdateTick = aliveTicks;
     }
 
-    private float calculateYaw(Vector normalizedMotion) {
-        if (motionLength == 0) return 0;
+    private static float calculateYaw(double dirX, double dirZ) {
         double PI_2 = VectorUtil.PI_2;
-        return (float) Math.toDegrees((Math.atan2(-normalizedMotion.getX(), normalizedMotion.getZ()) + PI_2) % PI_2);
+        return (float) Math.toDegrees((Math.atan2(-dirX, dirZ) + PI_2) % PI_2);
     }
 
-    private float calculatePitch(Vector normalizedMotion) {
-        if (motionLength == 0) return 0;
-        return (float) Math.toDegrees(Math.atan(-normalizedMotion.getY() / Math.sqrt(NumberConversions.square(normalizedMotion.getX()) + NumberConversions.square(normalizedMotion.getZ()))));
+    private static float calculatePitch(double dirX, double dirY, double dirZ) {
+        return (float) Math.toDegrees(Math.atan(-dirY / Math.sqrt(NumberConversions.square(dirX) + NumberConversions.square(dirZ))));
     }
 
     /**
@@ -0,0 +1,319 @@
+package me.deecaad.weaponmechanics.weapon.projectile;
+
+import me.deecaad.core.utils.NumberUtil;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class stores the numeric state of projectiles (position, motion,
+ * drag, gravity, etc.) in parallel primitive arrays, where every projectile
+ * owns 1 slot (index) in every array. {@link AProjectile} is a view over its
+ * slot, so the public projectile api does not change.
+ *
+ * <p>Storing the state like this allows the pure math part of a projectile
+ * tick (gravity, drag, and min/max speed clamping) to be computed in one
+ * batch for every projectile, see {@link #step(int[], int, int)}. The batch
+ * does not touch the world, so it may be split across a {@link ForkJoinPool}.
+ * Anything that touches the world (collisions, drag based on the current
+ * block, disguises) has to stay on the main thread.
+ *
+ * <p>This class is NOT threadsafe. Slots may only be allocated and freed
+ * from the main thread. During {@link #step(int[], int, int)}, each worker
+ * only writes to the slots that it was given.
+ */
+public class ProjectileStore {
+
+    /**
+     * The amount of slots handled by 1 fork join task before it stops
+     * splitting the work.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    // Results of the physics step, stored in stepResult[slot]
+    public static final byte STEP_MOVED = 0;
+    public static final byte STEP_STATIC = 1;
+    public static final byte STEP_REMOVE = 2;
+
+    // Bits in removeAtSpeed[slot]
+    static final byte REMOVE_AT_MINIMUM = 1;
+    static final byte REMOVE_AT_MAXIMUM = 2;
+
+    double[] x, y, z;
+    double[] lastX, lastY, lastZ;
+    double[] motionX, motionY, motionZ;
+    double[] motionLength;
+    double[] distanceTravelled;
+
+    // Inputs for the physics step, updated on the main thread every tick
+    double[] gravity;
+    double[] drag;
+    double[] minimumSpeed;
+    double[] maximumSpeed;
+    byte[] removeAtSpeed;
+
+    // Output of the physics step
+    byte[] stepResult;
+
+    private int size;
+    private int[] freeSlots;
+    private int freeCount;
+    private int[] pendingFree;
+    private int pendingFreeCount;
+
+    /**
+     * Creates a store which initially has room for <code>capacity</code>
+     * projectiles. The store grows automatically when needed.
+     *
+     * @param capacity The positive initial capacity.
+     */
+    public ProjectileStore(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive, got " + capacity);
+
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        lastX = new double[capacity];
+        lastY = new double[capacity];
+        lastZ = new double[capacity];
+        motionX = new double[capacity];
+        motionY = new double[capacity];
+        motionZ = new double[capacity];
+        motionLength = new double[capacity];
+        distanceTravelled = new double[capacity];
+        gravity = new double[capacity];
+        drag = new double[capacity];
+        minimumSpeed = new double[capacity];
+        maximumSpeed = new double[capacity];
+        removeAtSpeed = new byte[capacity];
+        stepResult = new byte[capacity];
+        freeSlots = new int[8];
+        pendingFree = new int[8];
+    }
+
+    /**
+     * Returns the number of slots currently in use.
+     *
+     * @return The number of used slots.
+     */
+    public int getUsedSlots() {
+        return size - freeCount - pendingFreeCount;
+    }
+
+    /**
+     * Returns the number of slots this store can hold before it has to grow.
+     *
+     * @return The current capacity.
+     */
+    public int getCapacity() {
+        return x.length;
+    }
+
+    /**
+     * Allocates a new slot. The values in the returned slot are all reset to
+     * <code>0</code>.
+     *
+     * @return The index of the allocated slot.
+     */
+    public int allocate() {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (size == x.length)
+                grow(size * 2);
+            slot = size++;
+        }
+
+        clear(slot);
+        return slot;
+    }
+
+    /**
+     * Frees the given slot. The slot is not reused until
+     * {@link #releasePending()} is called, so a slot that is freed while a
+     * tick is in progress can never be handed to another projectile during
+     * the same tick.
+     *
+     * @param slot The slot to free.
+     */
+    public void free(int slot) {
+        if (pendingFreeCount == pendingFree.length)
+            pendingFree = Arrays.copyOf(pendingFree, pendingFree.length * 2);
+        pendingFree[pendingFreeCount++] = slot;
+    }
+
+    /**
+     * Makes every slot freed by {@link #free(int)} available to
+     * {@link #allocate()}. Should be called when no tick is in progress.
+     */
+    public void releasePending() {
+        if (pendingFreeCount == 0)
+            return;
+
+        if (freeCount + pendingFreeCount > freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(freeSlots.length * 2, freeCount + pendingFreeCount));
+        System.arraycopy(pendingFree, 0, freeSlots, freeCount, pendingFreeCount);
+        freeCount += pendingFreeCount;
+        pendingFreeCount = 0;
+    }
+
+    /**
+     * Runs the physics step for every slot in <code>slots</code>, up to
+     * <code>count</code>. When <code>count</code> is at least
+     * <code>parallelThreshold</code>, the work is split across the common
+     * {@link ForkJoinPool}. This method returns once every slot is stepped.
+     *
+     * @param slots             The slots to step.
+     * @param count             The number of slots to use from the array.
+     * @param parallelThreshold The number of slots required before using
+     *                          multiple threads, or <code>-1</code> to always
+     *                          use the calling thread.
+     */
+    public void step(int[] slots, int count, int parallelThreshold) {
+        if (parallelThreshold < 0 || count < parallelThreshold || count <= BATCH_SIZE) {
+            for (int i = 0; i < count; i++)
+                step(slots[i]);
+            return;
+        }
+
+        ForkJoinPool.commonPool().invoke(new StepTask(this, slots, 0, count));
+    }
+
+    /**
+     * Applies gravity, drag, and min/max speed clamping to the motion in the
+     * given slot, and stores the outcome in {@link #stepResult}. This method
+     * only reads and writes the given slot, so different slots may be
+     * stepped on different threads at the same time.
+     *
+     * @param slot The slot to step.
+     */
+    public void step(int slot) {
+        double gravity = this.gravity[slot];
+        double motionX = this.motionX[slot];
+        double motionY = this.motionY[slot];
+        double motionZ = this.motionZ[slot];
+
+        if (gravity == 0 && NumberUtil.equals(motionX, 0.0) && NumberUtil.equals(motionY, 0.0) && NumberUtil.equals(motionZ, 0.0)) {
+
+            // No need to continue as motion is empty and there isn't gravity currently
+            motionLength[slot] = 0;
+            stepResult[slot] = STEP_STATIC;
+            return;
+        }
+
+        motionY -= gravity;
+
+        double drag = this.drag[slot];
+        motionX *= drag;
+        motionY *= drag;
+        motionZ *= drag;
+        double length = Math.sqrt(motionX * motionX + motionY * motionY + motionZ * motionZ);
+
+        double minimumSpeed = this.minimumSpeed[slot];
+        double maximumSpeed = this.maximumSpeed[slot];
+        double clampTo = -1.0;
+        if (minimumSpeed != -1.0 && length < minimumSpeed) {
+            if ((removeAtSpeed[slot] & REMOVE_AT_MINIMUM) != 0) {
+                stepResult[slot] = STEP_REMOVE;
+                return;
+            }
+            clampTo = minimumSpeed;
+        } else if (maximumSpeed != -1.0 && length > maximumSpeed) {
+            if ((removeAtSpeed[slot] & REMOVE_AT_MAXIMUM) != 0) {
+                stepResult[slot] = STEP_REMOVE;
+                return;
+            }
+            clampTo = maximumSpeed;
+        }
+
+        // Scale the motion to the given speed. When the motion is empty, it
+        // cannot be normalized, so it stays empty.
+        if (clampTo != -1.0 && length != 0) {
+            double scale = clampTo / length;
+            motionX *= scale;
+            motionY *= scale;
+            motionZ *= scale;
+            length = Math.sqrt(motionX * motionX + motionY * motionY + motionZ * motionZ);
+        }
+
+        this.motionX[slot] = motionX;
+        this.motionY[slot] = motionY;
+        this.motionZ[slot] = motionZ;
+        this.motionLength[slot] = length;
+        stepResult[slot] = STEP_MOVED;
+    }
+
+    private void clear(int slot) {
+        x[slot] = 0;
+        y[slot] = 0;
+        z[slot] = 0;
+        lastX[slot] = 0;
+        lastY[slot] = 0;
+        lastZ[slot] = 0;
+        motionX[slot] = 0;
+        motionY[slot] = 0;
+        motionZ[slot] = 0;
+        motionLength[slot] = 0;
+        distanceTravelled[slot] = 0;
+        gravity[slot] = 0;
+        drag[slot] = 1;
+        minimumSpeed[slot] = -1.0;
+        maximumSpeed[slot] = -1.0;
+        removeAtSpeed[slot] = 0;
+        stepResult[slot] = STEP_MOVED;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        lastX = Arrays.copyOf(lastX, capacity);
+        lastY = Arrays.copyOf(lastY, capacity);
+        lastZ = Arrays.copyOf(lastZ, capacity);
+        motionX = Arrays.copyOf(motionX, capacity);
+        motionY = Arrays.copyOf(motionY, capacity);
+        motionZ = Arrays.copyOf(motionZ, capacity);
+        motionLength = Arrays.copyOf(motionLength, capacity);
+        distanceTravelled = Arrays.copyOf(distanceTravelled, capacity);
+        gravity = Arrays.copyOf(gravity, capacity);
+        drag = Arrays.copyOf(drag, capacity);
+        minimumSpeed = Arrays.copyOf(minimumSpeed, capacity);
+        maximumSpeed = Arrays.copyOf(maximumSpeed, capacity);
+        removeAtSpeed = Arrays.copyOf(removeAtSpeed, capacity);
+        stepResult = Arrays.copyOf(stepResult, capacity);
+    }
+
+    /**
+     * Splits the physics step into batches of at most {@link #BATCH_SIZE}
+     * slots.
+     */
+    private static class StepTask extends RecursiveAction {
+
+        private final ProjectileStore store;
+        private final int[] slots;
+        private final int from;
+        private final int to;
+
+        StepTask(ProjectileStore store, int[] slots, int from, int to) {
+            this.store = store;
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                for (int i = from; i < to; i++)
+                    store.step(slots[i]);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new StepTask(store, slots, from, middle), new StepTask(store, slots, middle, to));
+        }
+    }
+}
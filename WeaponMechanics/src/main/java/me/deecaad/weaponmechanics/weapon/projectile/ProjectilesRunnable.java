@@ -1,6 +1,7 @@
 package me.deecaad.weaponmechanics.weapon.projectile;
 
 import co.aikar.timings.lib.MCTiming;
+import me.deecaad.core.compatibility.entity.FakeEntity;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Bukkit;
@@ -8,8 +9,8 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -25,7 +26,21 @@ import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
  */
 public class ProjectilesRunnable extends BukkitRunnable {
 
-    private final LinkedList<AProjectile> projectiles;
+    /**
+     * When at least this many projectiles are ticking, the physics step is
+     * split across the common fork join pool. <code>-1</code> means that the
+     * physics step is always done on the main thread.
+     *
+     * @see ProjectileStore#step(int[], int, int)
+     */
+    public static int PARALLEL_THRESHOLD = 512;
+
+    // Broken projectiles may throw every tick, so only warn every 5 seconds
+    private static final long WARNING_INTERVAL = 5000L;
+
+    private final ProjectileStore store;
+    private final ArrayList<AProjectile> projectiles;
+    private int[] slots;
     private final LinkedBlockingQueue<AProjectile> asyncProjectiles;
     private final List<ProjectileScriptManager> managers;
 
@@ -41,7 +56,9 @@ public class ProjectilesRunnable extends BukkitRunnable {
      * @param plugin The non-null plugin
      */
     public ProjectilesRunnable(Plugin plugin) {
-        projectiles = new LinkedList<>();
+        store = new ProjectileStore(256);
+        projectiles = new ArrayList<>();
+        slots = new int[256];
         asyncProjectiles = new LinkedBlockingQueue<>();
         managers = new LinkedList<>();
 
@@ -97,21 +114,43 @@ public class ProjectilesRunnable extends BukkitRunnable {
         asyncProjectiles.addAll(projectiles);
     }
 
+    /**
+     * Returns the store holding the numeric state of every ticking
+     * projectile.
+     *
+     * @return The non-null projectile store.
+     */
+    public ProjectileStore getStore() {
+        return store;
+    }
+
+    /**
+     * Returns the number of projectiles currently being ticked.
+     *
+     * @return The number of ticking projectiles.
+     */
+    public int getProjectileCount() {
+        return projectiles.size();
+    }
+
     private void tickOnAdd(AProjectile projectile) {
         for (ProjectileScriptManager manager : managers) {
             manager.attach(projectile);
         }
+        projectile.attach(store);
         try {
             if (projectile.tick()) {
 
                 // Call the remove method of projectile
                 projectile.remove();
+                projectile.detach();
                 return;
             }
         } catch (Exception e) {
             projectile.remove();
-            debug.log(LogLevel.WARN, "Unhandled exception while ticking projectile! Removing projectile");
-            debug.log(LogLevel.WARN, "Removed Projectile: " + projectile, e);
+            projectile.detach();
+            debug.logLimited(LogLevel.WARN, "projectile-tick", WARNING_INTERVAL,
+                    () -> "Unhandled exception while ticking projectile! Removed projectile: " + projectile, e);
             return;
         }
 
@@ -130,39 +169,86 @@ public class ProjectilesRunnable extends BukkitRunnable {
         if (!Bukkit.getServer().isPrimaryThread())
             throw new IllegalStateException("Cannot tick projectiles asynchronously!");
 
+        // Slots freed during the previous tick can now be reused
+        store.releasePending();
+
         // Clears the async projectiles WHILE adding them to the normal projectiles
         while (!asyncProjectiles.isEmpty()) {
             AProjectile asyncProjectile = asyncProjectiles.remove();
+            asyncProjectile.attach(store);
             projectiles.add(asyncProjectile);
 
             for (ProjectileScriptManager manager : managers)
                 manager.attach(asyncProjectile);
         }
 
-        Iterator<AProjectile> projectilesIterator = projectiles.iterator();
-
         // Start timings for general projectile ticking.
         MCTiming projectilesRunnableTiming = WeaponMechanics.timing("Projectiles Runnable").startTiming();
 
-        while (projectilesIterator.hasNext()) {
-            AProjectile projectile = projectilesIterator.next();
+        // Collisions and everything else that touches the world has to be
+        // handled on the main thread. New projectiles may be added while
+        // this loop runs, those have already been ticked once.
+        int size = projectiles.size();
+        if (slots.length < size)
+            slots = new int[Math.max(size, slots.length * 2)];
+
+        int alive = 0;
+        for (int i = 0; i < size; i++) {
+            AProjectile projectile = projectiles.get(i);
             try {
-                if (projectile.tick()) {
+                if (projectile.tickCollisions()) {
 
                     // Call the remove method of projectile
                     projectile.remove();
+                    projectile.detach();
+                    continue;
+                }
+            } catch (Exception e) {
+                projectile.detach();
+                debug.logLimited(LogLevel.WARN, "projectile-tick", WARNING_INTERVAL,
+                        () -> "Unhandled exception while ticking projectiles! Removed projectile: " + projectile, e);
+                continue;
+            }
+
+            slots[alive] = projectile.getSlot();
+            projectiles.set(alive++, projectile);
+        }
+
+        // Gravity, drag and speed limits only touch the store, so they are
+        // calculated in 1 batch (possibly on multiple threads).
+        MCTiming motionTiming = WeaponMechanics.timing("Projectiles Motion Step").startTiming();
+        store.step(slots, alive, PARALLEL_THRESHOLD);
+        motionTiming.stopTiming();
 
-                    // Remove the projectile from runnable
-                    projectilesIterator.remove();
+        int kept = 0;
+        for (int i = 0; i < alive; i++) {
+            AProjectile projectile = projectiles.get(i);
+            try {
+                if (projectile.tickEnd()) {
+                    projectile.remove();
+                    projectile.detach();
+                    continue;
                 }
             } catch (Exception e) {
-                projectilesIterator.remove();
-                debug.log(LogLevel.WARN, "Unhandled exception while ticking projectiles! Removing projectile");
-                debug.log(LogLevel.WARN, "Removed Projectile: " + projectile, e);
+                projectile.detach();
+                debug.logLimited(LogLevel.WARN, "projectile-tick", WARNING_INTERVAL,
+                        () -> "Unhandled exception while ticking projectiles! Removed projectile: " + projectile, e);
+                continue;
             }
+
+            projectiles.set(kept++, projectile);
         }
 
+        // Projectiles added during this tick were appended after 'size'
+        int added = projectiles.size() - size;
+        for (int i = 0; i < added; i++)
+            projectiles.set(kept++, projectiles.get(size + i));
+        projectiles.subList(kept, projectiles.size()).clear();
+
+        // Send the disguise movement of this tick now, instead of next tick
+        FakeEntity.flushAll();
+
         // End timings for projectile ticking
         projectilesRunnableTiming.stopTiming();
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,12 @@
 package me.deecaad.weaponmechanics.weapon.projectile;
 
 import me.deecaad.core.compatibility.entity.FakeEntity;
+import me.deecaad.core.utils.ray.RayHits;
 import me.deecaad.core.utils.ray.RayTrace;
 import me.deecaad.core.utils.ray.RayTraceResult;
 import org.bukkit.Location;
 import org.bukkit.util.Vector;
 
-import java.util.List;
-
 /**
  * Really lightweight remove on block collision projectile.
  * This considers all blocks as 1x1x1 and is removed on any
@@ -19,6 +18,9 @@ public class RemoveOnBlockCollisionProjectile extends AProjectile {
 
     private static final RayTrace rayTrace = new RayTrace().disableEntityChecks();
 
+    // Reused every tick, so ray tracing does not create garbage
+    private final RayHits hits = new RayHits(1);
+
     public RemoveOnBlockCollisionProjectile(Location location, Vector motion) {
         this(location, motion, null);
     }
@@ -30,15 +32,20 @@ public class RemoveOnBlockCollisionProjectile extends AProjectile {
 
     @Override
     public boolean handleCollisions() {
-        Vector possibleNextLocation = getLocation().add(getMotion());
-        List<RayTraceResult> hits = rayTrace.cast(getWorld(), getLocation(), possibleNextLocation, getNormalizedMotion());
-        if (hits != null) {
+        double nextX = getX() + getMotionX();
+        double nextY = getY() + getMotionY();
+        double nextZ = getZ() + getMotionZ();
+
+        double motionLength = getMotionLength();
+        double divider = motionLength == 0 ? 1.0 : motionLength;
+        if (rayTrace.cast(getWorld(), getX(), getY(), getZ(), nextX, nextY, nextZ,
+                getMotionX() / divider, getMotionY() / divider, getMotionZ() / divider, 0, hits)) {
             RayTraceResult firstHit = hits.get(0);
-            setRawLocation(firstHit.getHitLocation());
+            setRawLocation(hits.getX(0), hits.getY(0), hits.getZ(0));
             onCollide(firstHit);
             return true;
         }
-        setRawLocation(possibleNextLocation);
+        setRawLocation(nextX, nextY, nextZ);
         return false;
     }
 }
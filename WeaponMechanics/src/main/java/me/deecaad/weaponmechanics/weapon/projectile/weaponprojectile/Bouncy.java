@@ -118,7 +118,7 @@ public class Bouncy implements Serializer<Bouncy> {
     public boolean checkForRollingCancel(WeaponProjectile projectile) {
         Vector slightlyBelow = projectile.getLocation().add(new Vector(0, -0.05, 0));
         Block slightlyBelowBlock = projectile.getWorld().getBlockAt(slightlyBelow.getBlockX(), slightlyBelow.getBlockY(), slightlyBelow.getBlockZ());
-        if (CompatibilityAPI.getBlockCompatibility().getHitBox(slightlyBelowBlock) != null) {
+        if (CompatibilityAPI.getBlockCompatibility().getShape(slightlyBelowBlock) != null) {
             // Check speed modifier of block below and apply it
             if (!handleRolling(projectile, slightlyBelowBlock)) {
                 // Block below wasn't valid rolling block, remove projectile
@@ -38,7 +38,7 @@ public class StickedData {
         if (livingEntity != null) {
             return livingEntity.isDead() || !worldName.equals(livingEntity.getWorld().getName()) ? null : livingEntity.getLocation().clone().add(relativeLocation).toVector();
         }
-        return CompatibilityAPI.getBlockCompatibility().getHitBox(blockLocation.getBlock()) == null ? null : blockLocation.clone().add(relativeLocation).toVector();
+        return CompatibilityAPI.getBlockCompatibility().getShape(blockLocation.getBlock()) == null ? null : blockLocation.clone().add(relativeLocation).toVector();
     }
 
     public boolean isBlockStick() {
@@ -54,6 +54,6 @@ public class StickedData {
     public Block getBlock() {
         if (blockLocation == null) return null;
         Block block = blockLocation.getBlock();
-        return CompatibilityAPI.getBlockCompatibility().getHitBox(block) == null ? null : block;
+        return CompatibilityAPI.getBlockCompatibility().getShape(block) == null ? null : block;
     }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile;
 
+import me.deecaad.core.utils.ray.RayHits;
 import me.deecaad.core.utils.ray.RayTraceResult;
-import me.deecaad.core.utils.VectorUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.weapon.projectile.AProjectile;
 import me.deecaad.core.utils.ray.RayTrace;
@@ -12,10 +12,10 @@ import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.NumberConversions;
 import org.bukkit.util.Vector;
 
 import javax.annotation.Nullable;
-import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class WeaponProjectile extends AProjectile {
@@ -45,6 +45,9 @@ public class WeaponProjectile extends AProjectile {
 
     private final RayTrace rayTrace;
 
+    // Reused every tick, so ray tracing does not create garbage
+    private final RayHits hits = new RayHits();
+
     public WeaponProjectile(ProjectileSettings projectileSettings, LivingEntity shooter, Location location,
                             Vector motion, ItemStack weaponStack, String weaponTitle, EquipmentSlot hand,
                             Sticky sticky, Through through, Bouncy bouncy) {
@@ -232,9 +235,10 @@ public class WeaponProjectile extends AProjectile {
     @Override
     public boolean handleCollisions() {
 
-        Vector motion = getMotion();
-        Vector possibleNextLocation = getLocation().add(motion);
-        if (!getWorld().isChunkLoaded(possibleNextLocation.getBlockX() >> 4, possibleNextLocation.getBlockZ() >> 4)) {
+        double nextX = getX() + getMotionX();
+        double nextY = getY() + getMotionY();
+        double nextZ = getZ() + getMotionZ();
+        if (!getWorld().isChunkLoaded(NumberConversions.floor(nextX) >> 4, NumberConversions.floor(nextZ) >> 4)) {
             // Remove projectile if next location would be in unloaded chunk
             return true;
         }
@@ -254,31 +258,36 @@ public class WeaponProjectile extends AProjectile {
         }
 
         // Don't check for new collisions if motion is empty
-        if (VectorUtil.isEmpty(motion)) return false;
+        if (isMotionEmpty()) return false;
 
-        // Returns sorted list of hits
+        double motionLength = getMotionLength();
+        double dirX = getMotionX() / motionLength;
+        double dirY = getMotionY() / motionLength;
+        double dirZ = getMotionZ() / motionLength;
 
-        List<RayTraceResult> hits = rayTrace.cast(getWorld(), getLocation(), possibleNextLocation, getNormalizedMotion(),
-                through == null ? 0 : through.getMaximumThroughAmount());
-        if (hits == null) {
+        // Fills the hits, sorted by distance
+        boolean anyHits = rayTrace.cast(getWorld(), getX(), getY(), getZ(), nextX, nextY, nextZ, dirX, dirY, dirZ,
+                through == null ? 0 : through.getMaximumThroughAmount(), hits);
+        if (!anyHits) {
 
             // Check if can't keep rolling
             if (isRolling() && bouncy.checkForRollingCancel(this)) return true;
 
             // No hits, simply update location and distance travelled
-            setRawLocation(possibleNextLocation);
-            addDistanceTravelled(getMotionLength());
+            setRawLocation(nextX, nextY, nextZ);
+            addDistanceTravelled(motionLength);
 
             return hasTravelledMaximumDistance();
         }
 
-        double cacheMotionLength = getMotionLength();
+        double cacheMotionLength = motionLength;
         double distanceAlreadyAdded = 0;
 
-        for (RayTraceResult hit : hits) {
+        for (int i = 0; i < hits.size(); i++) {
+            RayTraceResult hit = hits.get(i);
 
             // Stay on track of current location and distance travelled on each loop
-            setRawLocation(hit.getHitLocation());
+            setRawLocation(hits.getX(i), hits.getY(i), hits.getZ(i));
             double add = hit.getDistanceTravelled() - distanceAlreadyAdded;
             addDistanceTravelled(distanceAlreadyAdded += add);
 
@@ -339,7 +348,7 @@ public class WeaponProjectile extends AProjectile {
 
         // Here we know that projectile didn't die on any collision.
         // We still have to update the location to last possible location.
-        setRawLocation(possibleNextLocation);
+        setRawLocation(nextX, nextY, nextZ);
         addDistanceTravelled(cacheMotionLength - distanceAlreadyAdded);
 
         return hasTravelledMaximumDistance();
@@ -1,9 +1,11 @@
 package me.deecaad.weaponmechanics.weapon.reload;
 
-import me.deecaad.weaponmechanics.WeaponMechanics;
-import org.bukkit.scheduler.BukkitRunnable;
+import me.deecaad.core.utils.scheduler.TaskCategory;
+import me.deecaad.core.utils.scheduler.WheelTask;
 
-public abstract class ChainTask extends BukkitRunnable {
+public abstract class ChainTask extends WheelTask {
+
+    public static final TaskCategory RELOAD_TASKS = TaskCategory.of("WeaponMechanics", "Reload");
 
     private final int delay;
     private ChainTask nextTask;
@@ -32,7 +34,7 @@ public abstract class ChainTask extends BukkitRunnable {
      * Starts the chain of tasks
      */
     public void startChain() {
-        runTaskLater(WeaponMechanics.getPlugin(), getDelay());
+        runTaskLater(RELOAD_TASKS, getDelay());
         setup();
     }
 
@@ -41,7 +43,7 @@ public abstract class ChainTask extends BukkitRunnable {
         task();
 
         if (nextTask == null) return;
-        this.nextTask.runTaskLater(WeaponMechanics.getPlugin(), this.nextTask.getDelay());
+        this.nextTask.runTaskLater(RELOAD_TASKS, this.nextTask.getDelay());
         this.nextTask.setup();
     }
 
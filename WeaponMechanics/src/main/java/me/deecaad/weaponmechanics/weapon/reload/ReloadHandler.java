@@ -7,6 +7,7 @@ import me.deecaad.core.mechanics.Mechanics;
 import me.deecaad.core.placeholder.PlaceholderAPI;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.utils.CustomTag;
+import me.deecaad.weaponmechanics.utils.WeaponTagView;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
 import me.deecaad.weaponmechanics.weapon.firearm.FirearmAction;
 import me.deecaad.weaponmechanics.weapon.firearm.FirearmState;
@@ -475,31 +476,40 @@ public class ReloadHandler implements IValidator, TriggerListener {
      * @return -1 if infinity, otherwise current ammo amount
      */
     public int getAmmoLeft(ItemStack weaponStack, String weaponTitle) {
+        WeaponTagView tags = new WeaponTagView(weaponStack);
+        int ammoLeft = getAmmoLeft(tags, weaponTitle);
+        tags.apply();
+        return ammoLeft;
+    }
+
+    private int getAmmoLeft(WeaponTagView tags, String weaponTitle) {
         // If something odd happens...
-        if (!weaponStack.hasItemMeta()) return 0;
+        if (!tags.getItem().hasItemMeta()) return 0;
 
-        if (weaponTitle == null && CustomTag.WEAPON_TITLE.hasString(weaponStack)) {
-            weaponTitle = CustomTag.WEAPON_TITLE.getString(weaponStack);
+        if (weaponTitle == null && tags.hasString(CustomTag.WEAPON_TITLE)) {
+            weaponTitle = tags.getString(CustomTag.WEAPON_TITLE);
         }
         if (weaponTitle == null) return -1;
 
         // If ammo is disabled for this weapon
         if (getConfigurations().getInt(weaponTitle + ".Reload.Magazine_Size") == 0) return -1;
 
-        if (!CustomTag.AMMO_LEFT.hasInteger(weaponStack)) {
+        if (!tags.hasInteger(CustomTag.AMMO_LEFT)) {
             // If the ammo was added later on, add the tag
-            CustomTag.AMMO_LEFT.setInteger(weaponStack, 0);
+            tags.setInteger(CustomTag.AMMO_LEFT, 0);
             return 0;
         }
 
-        return CustomTag.AMMO_LEFT.getInteger(weaponStack);
+        return tags.getInteger(CustomTag.AMMO_LEFT);
     }
 
     /**
      * @return false if can't consume ammo (no enough ammo left)
      */
     public boolean consumeAmmo(ItemStack weaponStack, String weaponTitle, int amount) {
-        int ammoLeft = getAmmoLeft(weaponStack, weaponTitle);
+        // Read and write the ammo using 1 view, so the item's meta is only written once
+        WeaponTagView tags = new WeaponTagView(weaponStack);
+        int ammoLeft = getAmmoLeft(tags, weaponTitle);
 
         // -1 means infinite ammo
         if (ammoLeft != -1) {
@@ -507,12 +517,13 @@ public class ReloadHandler implements IValidator, TriggerListener {
 
             if (ammoLeft == 0 || ammoToSet <= -1) {
                 // Can't consume more ammo
-
+                tags.apply();
                 return false;
             }
 
-            CustomTag.AMMO_LEFT.setInteger(weaponStack, ammoToSet);
+            tags.setInteger(CustomTag.AMMO_LEFT, ammoToSet);
         }
+        tags.apply();
         return true;
     }
 
@@ -0,0 +1,150 @@
+package me.deecaad.weaponmechanics.weapon.reload.ammo;
+
+import me.deecaad.weaponmechanics.utils.CustomTag;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A per-player index of the ammo in the hotbar and inventory slots (0 to
+ * 35). Instead of reading the NBT of every slot every time ammo is counted,
+ * the ammo name, magazine flag and amount of every slot is cached, and the
+ * totals of each ammo type are kept up to date.
+ *
+ * <p>Slots are marked dirty when they may have changed (by inventory
+ * events, and by the slot packets the server sends to the player). Every
+ * query first re-reads only the dirty slots. Every slot starts dirty, so
+ * the index is built lazily on the first query. Dirty slots may be marked
+ * from any thread, but the index itself should only be used on the main
+ * server thread.
+ */
+public class AmmoIndex {
+
+    public static final int SLOTS = 36;
+    private static final long ALL = (1L << SLOTS) - 1;
+
+    private final AtomicLong dirty = new AtomicLong(ALL);
+
+    private final String[] names = new String[SLOTS];
+    private final boolean[] magazines = new boolean[SLOTS];
+    private final int[] amounts = new int[SLOTS];
+    private final Map<String, Totals> totals = new HashMap<>();
+
+    /**
+     * Marks the given slot to be read again on the next query. Safe to use
+     * from any thread.
+     *
+     * @param slot The slot, ignored when it is not in [0, 35].
+     */
+    public void markDirty(int slot) {
+        if (slot < 0 || slot >= SLOTS)
+            return;
+
+        long bit = 1L << slot;
+        dirty.getAndUpdate(mask -> mask | bit);
+    }
+
+    /**
+     * Marks every slot to be read again on the next query. Safe to use from
+     * any thread.
+     */
+    public void markAllDirty() {
+        dirty.set(ALL);
+    }
+
+    /**
+     * Reads every dirty slot from the inventory, and updates the totals.
+     *
+     * @param inventory The non-null inventory of the player.
+     */
+    public void refresh(PlayerInventory inventory) {
+        long mask = dirty.getAndSet(0);
+        while (mask != 0) {
+            int slot = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            update(slot, inventory.getItem(slot));
+        }
+    }
+
+    /**
+     * Returns the name of the ammo in the given slot, as of the last
+     * {@link #refresh(PlayerInventory)}.
+     *
+     * @param slot The slot in [0, 35].
+     * @return The ammo name, or null if the slot doesn't contain ammo.
+     */
+    @Nullable
+    public String getAmmoName(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * @param slot The slot in [0, 35].
+     * @return true if the slot contains a magazine.
+     */
+    public boolean isMagazine(int slot) {
+        return magazines[slot];
+    }
+
+    /**
+     * Returns the amount of bullet items, and the amount of magazine items,
+     * of the given ammo type, as of the last {@link #refresh(PlayerInventory)}.
+     *
+     * @param ammoName  The non-null ammo name.
+     * @param magazine  true to count magazines, false to count bullets.
+     * @param skipSlot  A slot that should not be counted (the held slot).
+     * @return The non-negative amount of items.
+     */
+    public int getAmount(String ammoName, boolean magazine, int skipSlot) {
+        Totals total = totals.get(ammoName);
+        if (total == null)
+            return 0;
+
+        int amount = magazine ? total.magazines : total.bullets;
+        if (skipSlot >= 0 && skipSlot < SLOTS && magazines[skipSlot] == magazine && ammoName.equals(names[skipSlot]))
+            amount -= amounts[skipSlot];
+        return amount;
+    }
+
+    private void update(int slot, ItemStack item) {
+        String oldName = names[slot];
+        if (oldName != null) {
+            Totals total = totals.get(oldName);
+            if (magazines[slot])
+                total.magazines -= amounts[slot];
+            else
+                total.bullets -= amounts[slot];
+            if (total.bullets == 0 && total.magazines == 0)
+                totals.remove(oldName);
+        }
+
+        String name = item == null || item.getType() == Material.AIR ? null : CustomTag.AMMO_NAME.getString(item);
+        names[slot] = name;
+        if (name == null) {
+            magazines[slot] = false;
+            amounts[slot] = 0;
+            return;
+        }
+
+        boolean magazine = CustomTag.AMMO_MAGAZINE.getInteger(item) == 1;
+        int amount = item.getAmount();
+        magazines[slot] = magazine;
+        amounts[slot] = amount;
+
+        Totals total = totals.computeIfAbsent(name, key -> new Totals());
+        if (magazine)
+            total.magazines += amount;
+        else
+            total.bullets += amount;
+    }
+
+    private static final class Totals {
+        private int bullets;
+        private int magazines;
+    }
+}
@@ -15,5 +15,14 @@ public interface IAmmoType {
 
     void giveAmmo(ItemStack weaponStack, PlayerWrapper playerWrapper, int amount, int maximumMagazineSize);
 
+    /**
+     * Returns the amount of ammo the player has of this type. For item
+     * ammo, this is counted by the player's {@link AmmoIndex}, so items
+     * given by other plugins may not be counted until the next tick.
+     *
+     * @param playerWrapper       The non-null player to count the ammo of.
+     * @param maximumMagazineSize The amount of ammo in 1 magazine item.
+     * @return The non-negative amount of ammo.
+     */
     int getMaximumAmmo(PlayerWrapper playerWrapper, int maximumMagazineSize);
 }
\ No newline at end of file
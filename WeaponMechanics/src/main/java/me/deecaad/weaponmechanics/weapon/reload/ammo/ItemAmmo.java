@@ -54,6 +54,23 @@ public class ItemAmmo implements IAmmoType {
     public boolean hasAmmo(PlayerWrapper wrapper) {
         PlayerInventory inventory = wrapper.getPlayer().getInventory();
         boolean convert = NumberUtil.hasMillisPassed(wrapper.getLastAmmoConvert(), WeaponMechanics.getBasicConfigurations().getInt("Milliseconds_Between_Ammo_Conversions", 10000));
+
+        // When there is nothing to convert, the ammo index already knows
+        // whether there is ammo, so no slots have to be checked.
+        AmmoIndex index = wrapper.getAmmoIndex();
+        if (ammoConverter == null || !convert) {
+            index.refresh(inventory);
+            int held = inventory.getHeldItemSlot();
+            if (index.getAmount(ammoName, false, held) > 0 || index.getAmount(ammoName, true, held) > 0)
+                return true;
+
+            // Another plugin may have given ammo this tick, before its slot
+            // packet marked the slot dirty, so check every slot again
+            index.markAllDirty();
+            index.refresh(inventory);
+            return index.getAmount(ammoName, false, held) > 0 || index.getAmount(ammoName, true, held) > 0;
+        }
+
         boolean hasAmmo = false;
 
         // Check hotbar + inventory slots
@@ -69,19 +86,13 @@ public class ItemAmmo implements IAmmoType {
 
             // The conversion process attempts to convert all items in your
             // inventory every time you reload (With a 10-second cool down).
-            // When we are on cool down (convert = false), then we just want
-            // to return true ASAP for performance.
+            // When we are on cool down, the ammo index is used instead.
             String potentialAmmoName = CustomTag.AMMO_NAME.getString(potentialAmmo);
-            if (Objects.equals(ammoName, potentialAmmoName)) {
+            if (Objects.equals(ammoName, potentialAmmoName))
                 hasAmmo = true;
-                if (!convert)
-                    return true;
-            }
 
-            // 1. Don't do conversion checks if there is no converter.
-            // 2. Don't do conversion checks if we are on cool down
-            // 3. Item *IS* an ammo item, but not the correct one. Skip it.
-            if (ammoConverter == null || !convert || potentialAmmoName != null)
+            // Item *IS* an ammo item, but not the correct one. Skip it.
+            if (potentialAmmoName != null)
                 continue;
 
             // Determine if this item matches the bullet template, or the
@@ -102,13 +113,13 @@ public class ItemAmmo implements IAmmoType {
             updatePlaceholders(potentialAmmo, wrapper.getPlayer());
 
             inventory.setItem(i, potentialAmmo);
+            index.markDirty(i);
             hasAmmo = true;
         }
 
         // Regardless of whether we converted any ammo, we should reset the
         // timer, so we have at least 10 seconds between conversion checks.
-        if (ammoConverter != null)
-            wrapper.convertedAmmo();
+        wrapper.convertedAmmo();
 
         return hasAmmo;
     }
@@ -116,35 +127,40 @@ public class ItemAmmo implements IAmmoType {
     @Override
     public int removeAmmo(ItemStack weapon, PlayerWrapper wrapper, int amount, int maximumMagSize) {
         PlayerInventory inventory = wrapper.getPlayer().getInventory();
+        AmmoIndex index = wrapper.getAmmoIndex();
+        index.refresh(inventory);
         int magazineSlot = -1;
         int total = 0;
 
-        for (int i = 0; i < 36; i++) {
+        for (int i = 0; i < AmmoIndex.SLOTS; i++) {
 
             // Do not consume held item since it is probably a weapon
             if (i == inventory.getHeldItemSlot())
                 continue;
 
-            ItemStack potentialAmmo = inventory.getItem(i);
-            if (potentialAmmo == null || potentialAmmo.getType() == Material.AIR)
-                continue;
-
             // No conversion checks here (Conversions are handled by the
             // hasAmmo() method). If the ammo type doesn't match, SKIP.
-            String potentialAmmoName = CustomTag.AMMO_NAME.getString(potentialAmmo);
-            if (!Objects.equals(ammoName, potentialAmmoName))
+            if (!ammoName.equals(index.getAmmoName(i)))
+                continue;
+
+            // Verify the slot, since a plugin may have changed it this tick
+            // without the index knowing yet.
+            ItemStack potentialAmmo = inventory.getItem(i);
+            if (potentialAmmo == null || !ammoName.equals(CustomTag.AMMO_NAME.getString(potentialAmmo))) {
+                index.markAllDirty();
                 continue;
+            }
 
             // Consider that people will configure both BULLETS and MAGAZINES.
             // Users will shoot their gun until it is half empty, and expect it
             // to be reloaded using BULLET items (so no ammo is wasted).
-            boolean isMagazine = CustomTag.AMMO_MAGAZINE.getInteger(potentialAmmo) == 1;
+            boolean isMagazine = index.isMagazine(i);
             boolean canUseMag = total == 0 && (bulletItem == null || amount >= maximumMagSize);
 
             if (isMagazine) {
                 magazineSlot = i;
                 if (canUseMag) {
-                    consumeItem(inventory, i, potentialAmmo, 1);
+                    consumeItem(index, inventory, i, potentialAmmo, 1);
                     return amount;
                 }
             } else if (bulletItem != null) {
@@ -154,7 +170,7 @@ public class ItemAmmo implements IAmmoType {
                 if (potentialAmmo.getAmount() >= amount) {
                     //amount -= potentialAmmo.getAmount();
                     total += amount;
-                    consumeItem(inventory, i, potentialAmmo, amount);
+                    consumeItem(index, inventory, i, potentialAmmo, amount);
                     return total;
                 }
 
@@ -162,6 +178,7 @@ public class ItemAmmo implements IAmmoType {
                 amount -= potentialAmmo.getAmount();
                 total += potentialAmmo.getAmount();
                 inventory.setItem(i, null);
+                index.markDirty(i);
             }
         }
 
@@ -170,7 +187,7 @@ public class ItemAmmo implements IAmmoType {
         // and magazines in the inventory. So this reload was probably manually
         // triggered by the player, so we should use the magazines in the inventory.
         if (total == 0 && magazineSlot != -1) {
-            consumeItem(inventory, magazineSlot, inventory.getItem(magazineSlot), 1);
+            consumeItem(index, inventory, magazineSlot, inventory.getItem(magazineSlot), 1);
             return amount;
             // TODO refund individual bullets?
         }
@@ -178,7 +195,7 @@ public class ItemAmmo implements IAmmoType {
         return total;
     }
 
-    private void consumeItem(PlayerInventory playerInventory, int index, ItemStack itemStack, int amount) {
+    private void consumeItem(AmmoIndex ammoIndex, PlayerInventory playerInventory, int index, ItemStack itemStack, int amount) {
         int itemAmount = itemStack.getAmount();
         if (itemAmount > amount) {
             itemStack.setAmount(itemAmount - amount);
@@ -186,6 +203,7 @@ public class ItemAmmo implements IAmmoType {
         } else {
             playerInventory.setItem(index, null);
         }
+        ammoIndex.markDirty(index);
     }
 
     @Override
@@ -215,29 +233,12 @@ public class ItemAmmo implements IAmmoType {
     @Override
     public int getMaximumAmmo(PlayerWrapper playerWrapper, int maximumMagazineSize) {
         PlayerInventory playerInventory = playerWrapper.getPlayer().getInventory();
+        AmmoIndex index = playerWrapper.getAmmoIndex();
+        index.refresh(playerInventory);
 
-        int amount = 0;
-
-        // Only check hotbar slots and normal inventory slots meaning slots from 0 to 35
-        for (int i = 0; i < 36; ++i) {
-
-            // Don't check currently held slot either since it's weapon
-            if (i == playerInventory.getHeldItemSlot()) continue;
-
-            ItemStack potentialAmmo = playerInventory.getItem(i);
-            if (potentialAmmo == null || potentialAmmo.getType() == Material.AIR) continue;
-
-            String potentialAmmoName = CustomTag.AMMO_NAME.getString(potentialAmmo);
-            if (potentialAmmoName == null || !potentialAmmoName.equals(ammoName)) continue;
-
-            // Now we know it's actually an ammo item
-            if (CustomTag.AMMO_MAGAZINE.getInteger(potentialAmmo) == 1) {
-                amount += (potentialAmmo.getAmount() * maximumMagazineSize);
-            } else {
-                amount +=  potentialAmmo.getAmount();
-            }
-        }
-        return amount;
+        // Don't count currently held slot since it's weapon
+        int held = playerInventory.getHeldItemSlot();
+        return index.getAmount(ammoName, false, held) + index.getAmount(ammoName, true, held) * maximumMagazineSize;
     }
 
     private void giveOrDrop(Player player, ItemStack itemStack, int amount) {
@@ -275,6 +276,7 @@ public class ItemAmmo implements IAmmoType {
             return;
         }
         inventory.addItem(itemStack);
+        WeaponMechanics.getPlayerWrapper(player).getAmmoIndex().markAllDirty();
     }
 
     private void updatePlaceholders(ItemStack itemStack, Player player) {
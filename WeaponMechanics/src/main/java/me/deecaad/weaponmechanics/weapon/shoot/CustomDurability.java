@@ -11,6 +11,7 @@ import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.core.mechanics.CastData;
 import me.deecaad.core.mechanics.Mechanics;
 import me.deecaad.weaponmechanics.utils.CustomTag;
+import me.deecaad.weaponmechanics.utils.WeaponTagView;
 import me.deecaad.weaponmechanics.wrappers.EntityWrapper;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.enchantments.Enchantment;
@@ -235,16 +236,19 @@ public class CustomDurability implements Serializer<CustomDurability> {
 
         // Durability has never been applied to the weapon, so we need to
         // set the max durability - durabilityPerShot
-        if (!CustomTag.DURABILITY.hasInteger(item)) {
-            CustomTag.DURABILITY.setInteger(item, maxDurability - durabilityPerShot);
-            CustomTag.MAX_DURABILITY.setInteger(item, maxDurability);
+        WeaponTagView tags = new WeaponTagView(item);
+        if (!tags.hasInteger(CustomTag.DURABILITY)) {
+            tags.setInteger(CustomTag.DURABILITY, maxDurability - durabilityPerShot);
+            tags.setInteger(CustomTag.MAX_DURABILITY, maxDurability);
+            tags.apply();
             return false;
         }
 
-        int durability = CustomTag.DURABILITY.getInteger(item) - durabilityPerShot;
+        int durability = tags.getInteger(CustomTag.DURABILITY) - durabilityPerShot;
         if (durability > 0) {
             if (durabilityMechanics != null) durabilityMechanics.use(new CastData(entity, weaponTitle, item));
-            CustomTag.DURABILITY.setInteger(item, durability);
+            tags.setInteger(CustomTag.DURABILITY, durability);
+            tags.apply();
             return false;
         }
 
@@ -9,11 +9,14 @@ import me.deecaad.core.mechanics.Mechanics;
 import me.deecaad.core.placeholder.PlaceholderAPI;
 import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.StringUtil;
+import me.deecaad.core.utils.scheduler.TaskCategory;
+import me.deecaad.core.utils.scheduler.WheelTask;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.utils.CustomTag;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
 import me.deecaad.weaponmechanics.weapon.firearm.FirearmAction;
 import me.deecaad.weaponmechanics.weapon.firearm.FirearmState;
+import me.deecaad.weaponmechanics.weapon.info.WeaponDefinition;
 import me.deecaad.weaponmechanics.weapon.info.WeaponInfoDisplay;
 import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.Projectile;
 import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.WeaponProjectile;
@@ -40,7 +43,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.MainHand;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.vivecraft.VSE;
 import org.vivecraft.VivePlayer;
@@ -54,6 +56,10 @@ import static me.deecaad.weaponmechanics.WeaponMechanics.*;
 
 public class ShootHandler implements IValidator, TriggerListener {
 
+    public static final TaskCategory BURST_TASKS = TaskCategory.of("WeaponMechanics", "Burst");
+    public static final TaskCategory FULL_AUTO_TASKS = TaskCategory.of("WeaponMechanics", "Full Auto");
+    public static final TaskCategory FIREARM_ACTION_TASKS = TaskCategory.of("WeaponMechanics", "Firearm Action");
+
     private WeaponHandler weaponHandler;
 
     /**
@@ -127,7 +133,7 @@ public class ShootHandler implements IValidator, TriggerListener {
             return weaponHandler.getMeleeHandler().tryUse(entityWrapper, weaponTitle, weaponStack, slot, triggerType, dualWield, knownVictim);
         }
 
-        Trigger trigger = getConfigurations().getObject(weaponTitle + ".Shoot.Trigger", Trigger.class);
+        Trigger trigger = weaponHandler.getInfoHandler().getDefinition(weaponTitle).getTrigger();
         if (trigger == null || !trigger.check(triggerType, slot, entityWrapper)) return false;
 
         MCTiming shootHandlerTiming = WeaponMechanics.timing("Shoot Handler").startTiming();
@@ -146,7 +152,7 @@ public class ShootHandler implements IValidator, TriggerListener {
         // Don't even try if slot is already being used for full auto or burst
         if (handData.isUsingFullAuto() || handData.isUsingBurst()) return false;
 
-        Configuration config = getConfigurations();
+        WeaponDefinition definition = weaponHandler.getInfoHandler().getDefinition(weaponTitle);
 
         WeaponPreShootEvent preShootEvent = new WeaponPreShootEvent(weaponTitle, weaponStack, entityWrapper.getEntity(), slot);
         Bukkit.getPluginManager().callEvent(preShootEvent);
@@ -180,7 +186,7 @@ public class ShootHandler implements IValidator, TriggerListener {
 
         ReloadHandler reloadHandler = weaponHandler.getReloadHandler();
 
-        if (!getConfigurations().getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot")) {
+        if (!definition.isConsumeItemOnShoot()) {
             reloadHandler.handleWeaponStackAmount(entityWrapper, weaponStack);
         }
 
@@ -198,7 +204,7 @@ public class ShootHandler implements IValidator, TriggerListener {
         }
 
         // FIREARM START
-        FirearmAction firearmAction = config.getObject(weaponTitle + ".Firearm_Action", FirearmAction.class);
+        FirearmAction firearmAction = definition.getFirearmAction();
         if (firearmAction != null) {
             FirearmState state = firearmAction.getState(weaponStack);
             if (state != FirearmState.READY) {
@@ -234,7 +240,7 @@ public class ShootHandler implements IValidator, TriggerListener {
 
         // RELOAD END
 
-        boolean usesSelectiveFire = config.getObject(weaponTitle + ".Shoot.Selective_Fire.Trigger", Trigger.class) != null;
+        boolean usesSelectiveFire = definition.getSelectiveFireTrigger() != null;
         SelectiveFireState selectiveFireState = SelectiveFireState.SINGLE;
         if (usesSelectiveFire) {
             int selectiveFireStateId = CustomTag.SELECTIVE_FIRE.getInteger(weaponStack);
@@ -245,45 +251,46 @@ public class ShootHandler implements IValidator, TriggerListener {
 
         // Only check if selective fire doesn't have auto selected and it isn't melee
         if (selectiveFireState != SelectiveFireState.AUTO && !isMelee) {
-            int delayBetweenShots = config.getInt(weaponTitle + ".Shoot.Delay_Between_Shots");
+            int delayBetweenShots = definition.getDelayBetweenShots();
             if (delayBetweenShots != 0 && !NumberUtil.hasMillisPassed(handData.getLastShotTime(), delayBetweenShots))
                 return false;
         }
 
-        int weaponEquipDelay = config.getInt(weaponTitle + ".Info.Weapon_Equip_Delay");
+        int weaponEquipDelay = definition.getWeaponEquipDelay();
         if (weaponEquipDelay != 0 && !NumberUtil.hasMillisPassed(handData.getLastEquipTime(), weaponEquipDelay))
             return false;
 
-        int shootDelayAfterScope = config.getInt(weaponTitle + ".Scope.Shoot_Delay_After_Scope");
+        int shootDelayAfterScope = definition.getShootDelayAfterScope();
         if (shootDelayAfterScope != 0 && !NumberUtil.hasMillisPassed(handData.getLastScopeTime(), shootDelayAfterScope))
             return false;
 
-        int shootDelayAfterReload = config.getInt(weaponTitle + ".Reload.Shoot_Delay_After_Reload");
+        int shootDelayAfterReload = definition.getShootDelayAfterReload();
         if (shootDelayAfterReload != 0 && !NumberUtil.hasMillisPassed(handData.getLastReloadTime(), shootDelayAfterReload))
             return false;
 
         if (isMelee) {
-            return singleShot(entityWrapper, weaponTitle, weaponStack, handData, slot, dualWield, isMelee);
+            return singleShot(entityWrapper, definition, weaponStack, handData, slot, dualWield, isMelee);
         }
 
         if (usesSelectiveFire) {
             return switch (selectiveFireState) {
-                case BURST -> burstShot(entityWrapper, weaponTitle, weaponStack, handData, slot, dualWield);
+                case BURST -> burstShot(entityWrapper, definition, weaponStack, handData, slot, dualWield);
                 case AUTO ->
-                        fullAutoShot(entityWrapper, weaponTitle, weaponStack, handData, slot, triggerType, dualWield);
-                default -> singleShot(entityWrapper, weaponTitle, weaponStack, handData, slot, dualWield, isMelee);
+                        fullAutoShot(entityWrapper, definition, weaponStack, handData, slot, triggerType, dualWield);
+                default -> singleShot(entityWrapper, definition, weaponStack, handData, slot, dualWield, isMelee);
             };
         }
 
         // First try full auto, then burst, then single fire
-        return fullAutoShot(entityWrapper, weaponTitle, weaponStack, handData, slot, triggerType, dualWield)
-                || burstShot(entityWrapper, weaponTitle, weaponStack, handData, slot, dualWield)
-                || singleShot(entityWrapper, weaponTitle, weaponStack, handData, slot, dualWield, isMelee);
+        return fullAutoShot(entityWrapper, definition, weaponStack, handData, slot, triggerType, dualWield)
+                || burstShot(entityWrapper, definition, weaponStack, handData, slot, dualWield)
+                || singleShot(entityWrapper, definition, weaponStack, handData, slot, dualWield, isMelee);
     }
 
-    private boolean singleShot(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, HandData handData, EquipmentSlot slot, boolean dualWield, boolean isMelee) {
+    private boolean singleShot(EntityWrapper entityWrapper, WeaponDefinition definition, ItemStack weaponStack, HandData handData, EquipmentSlot slot, boolean dualWield, boolean isMelee) {
+        String weaponTitle = definition.getWeaponTitle();
         boolean mainhand = slot == EquipmentSlot.HAND;
-        boolean consumeItemOnShoot = getConfigurations().getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot");
+        boolean consumeItemOnShoot = definition.isConsumeItemOnShoot();
 
         // START RELOAD STUFF
 
@@ -292,9 +299,9 @@ public class ShootHandler implements IValidator, TriggerListener {
 
         // END RELOAD STUFF
 
-        shoot(entityWrapper, weaponTitle, weaponStack, getShootLocation(entityWrapper.getEntity(), dualWield, mainhand), mainhand, true, isMelee);
+        shoot(entityWrapper, definition, weaponStack, getShootLocation(entityWrapper.getEntity(), dualWield, mainhand), mainhand, true, isMelee);
 
-        boolean consumeEmpty = getConfigurations().getBool(weaponTitle + ".Shoot.Destroy_When_Empty") && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
+        boolean consumeEmpty = definition.isDestroyWhenEmpty() && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
         if ((consumeEmpty || consumeItemOnShoot) && handleConsumeItemOnShoot(weaponStack, mainhand ? entityWrapper.getMainHandData() : entityWrapper.getOffHandData())) {
             return true;
         }
@@ -308,25 +315,25 @@ public class ShootHandler implements IValidator, TriggerListener {
         return true;
     }
 
-    private boolean burstShot(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, HandData handData, EquipmentSlot slot, boolean dualWield) {
-        Configuration config = getConfigurations();
-        int shotsPerBurst = config.getInt(weaponTitle + ".Shoot.Burst.Shots_Per_Burst");
-        int ticksBetweenEachShot = config.getInt(weaponTitle + ".Shoot.Burst.Ticks_Between_Each_Shot");
+    private boolean burstShot(EntityWrapper entityWrapper, WeaponDefinition definition, ItemStack weaponStack, HandData handData, EquipmentSlot slot, boolean dualWield) {
+        String weaponTitle = definition.getWeaponTitle();
+        int shotsPerBurst = definition.getShotsPerBurst();
+        int ticksBetweenEachShot = definition.getTicksBetweenEachShot();
 
         // Not used
         if (shotsPerBurst == 0 || ticksBetweenEachShot == 0) return false;
 
         boolean mainhand = slot == EquipmentSlot.HAND;
-        boolean consumeItemOnShoot = getConfigurations().getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot");
+        boolean consumeItemOnShoot = definition.isConsumeItemOnShoot();
 
-        handData.setBurstTask(new BukkitRunnable() {
+        handData.setBurstTask(new WheelTask() {
             int shots = 0;
 
             @Override
             public void run() {
                 ItemStack taskReference = mainhand ? entityWrapper.getEntity().getEquipment().getItemInMainHand() : entityWrapper.getEntity().getEquipment().getItemInOffHand();
                 if (!taskReference.hasItemMeta()) {
-                    handData.setBurstTask(0);
+                    handData.setBurstTask(null);
                     cancel();
                     return;
                 }
@@ -336,13 +343,13 @@ public class ShootHandler implements IValidator, TriggerListener {
                 ReloadHandler reloadHandler = weaponHandler.getReloadHandler();
 
                 if (entityWrapper.getMainHandData().isReloading() || entityWrapper.getOffHandData().isReloading()) {
-                    handData.setBurstTask(0);
+                    handData.setBurstTask(null);
                     cancel();
                     return;
                 }
 
                 if (!reloadHandler.consumeAmmo(taskReference, weaponTitle, 1)) {
-                    handData.setBurstTask(0);
+                    handData.setBurstTask(null);
                     cancel();
 
                     startReloadIfBothWeaponsEmpty(entityWrapper, weaponTitle, taskReference, slot, dualWield, false);
@@ -352,16 +359,16 @@ public class ShootHandler implements IValidator, TriggerListener {
                 // END RELOAD STUFF
 
                 // Only make the first projectile of burst modify spread change if its used
-                shoot(entityWrapper, weaponTitle, taskReference, getShootLocation(entityWrapper.getEntity(), dualWield, mainhand), mainhand, shots == 0, false);
+                shoot(entityWrapper, definition, taskReference, getShootLocation(entityWrapper.getEntity(), dualWield, mainhand), mainhand, shots == 0, false);
 
-                boolean consumeEmpty = getConfigurations().getBool(weaponTitle + ".Shoot.Destroy_When_Empty") && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
+                boolean consumeEmpty = definition.isDestroyWhenEmpty() && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
                 if ((consumeEmpty || consumeItemOnShoot) && handleConsumeItemOnShoot(weaponStack, mainhand ? entityWrapper.getMainHandData() : entityWrapper.getOffHandData())) {
                     return;
                 }
 
 
                 if (++shots >= shotsPerBurst) {
-                    handData.setBurstTask(0);
+                    handData.setBurstTask(null);
                     cancel();
 
                     if (reloadHandler.getAmmoLeft(taskReference, weaponTitle) == 0) {
@@ -371,15 +378,15 @@ public class ShootHandler implements IValidator, TriggerListener {
                     }
                 }
             }
-        }.runTaskTimer(WeaponMechanics.getPlugin(), 0, ticksBetweenEachShot).getTaskId());
+        }.runTaskTimer(handData, BURST_TASKS, 0, ticksBetweenEachShot));
         return true;
     }
 
-    private boolean fullAutoShot(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, HandData handData, EquipmentSlot slot, TriggerType triggerType, boolean dualWield) {
-        Configuration config = getConfigurations();
-        int fullyAutomaticShotsPerSecond = config.getInt(weaponTitle + ".Shoot.Fully_Automatic_Shots_Per_Second");
+    private boolean fullAutoShot(EntityWrapper entityWrapper, WeaponDefinition definition, ItemStack weaponStack, HandData handData, EquipmentSlot slot, TriggerType triggerType, boolean dualWield) {
+        String weaponTitle = definition.getWeaponTitle();
+        int fullyAutomaticShotsPerSecond = definition.getFullyAutomaticShotsPerSecond();
 
-        Trigger trigger = config.getObject(weaponTitle + ".Shoot.Trigger", Trigger.class);
+        Trigger trigger = definition.getTrigger();
 
         // Not used
         if (fullyAutomaticShotsPerSecond == 0) return false;
@@ -387,22 +394,22 @@ public class ShootHandler implements IValidator, TriggerListener {
         int baseAmountPerTick = fullyAutomaticShotsPerSecond / 20;
         int extra = fullyAutomaticShotsPerSecond % 20;
         boolean mainhand = slot == EquipmentSlot.HAND;
-        boolean consumeItemOnShoot = getConfigurations().getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot");
+        boolean consumeItemOnShoot = definition.isConsumeItemOnShoot();
         ReloadHandler reloadHandler = weaponHandler.getReloadHandler();
 
-        handData.setFullAutoTask(new BukkitRunnable() {
+        handData.setFullAutoTask(new WheelTask() {
             int tick = 0;
 
             public void run() {
                 ItemStack taskReference = mainhand ? entityWrapper.getEntity().getEquipment().getItemInMainHand() : entityWrapper.getEntity().getEquipment().getItemInOffHand();
                 if (!taskReference.hasItemMeta()) {
-                    handData.setFullAutoTask(0);
+                    handData.setFullAutoTask(null);
                     cancel();
                     return;
                 }
 
                 if (entityWrapper.getMainHandData().isReloading() || entityWrapper.getOffHandData().isReloading()) {
-                    handData.setFullAutoTask(0);
+                    handData.setFullAutoTask(null);
                     cancel();
                     return;
                 }
@@ -410,7 +417,7 @@ public class ShootHandler implements IValidator, TriggerListener {
                 int ammoLeft = reloadHandler.getAmmoLeft(taskReference, weaponTitle);
 
                 if (!keepFullAutoOn(entityWrapper, triggerType, trigger)) {
-                    handData.setFullAutoTask(0);
+                    handData.setFullAutoTask(null);
                     cancel();
 
                     if (ammoLeft == 0) {
@@ -439,7 +446,7 @@ public class ShootHandler implements IValidator, TriggerListener {
                     }
 
                     if (!reloadHandler.consumeAmmo(taskReference, weaponTitle, shootAmount)) {
-                        handData.setFullAutoTask(0);
+                        handData.setFullAutoTask(null);
                         cancel();
 
                         startReloadIfBothWeaponsEmpty(entityWrapper, weaponTitle, taskReference, slot, dualWield, false);
@@ -450,8 +457,8 @@ public class ShootHandler implements IValidator, TriggerListener {
                 // END RELOAD STUFF
 
                 for (int i = 0; i < shootAmount; ++i) {
-                    shoot(entityWrapper, weaponTitle, taskReference, getShootLocation(entityWrapper.getEntity(), dualWield, mainhand), mainhand, true, false);
-                    boolean consumeEmpty = getConfigurations().getBool(weaponTitle + ".Shoot.Destroy_When_Empty") && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
+                    shoot(entityWrapper, definition, taskReference, getShootLocation(entityWrapper.getEntity(), dualWield, mainhand), mainhand, true, false);
+                    boolean consumeEmpty = definition.isDestroyWhenEmpty() && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
                     if ((consumeEmpty || consumeItemOnShoot) && handleConsumeItemOnShoot(weaponStack, mainhand ? entityWrapper.getMainHandData() : entityWrapper.getOffHandData())) {
                         return;
                     }
@@ -461,12 +468,13 @@ public class ShootHandler implements IValidator, TriggerListener {
                     tick = 0;
                 }
             }
-        }.runTaskTimer(WeaponMechanics.getPlugin(), 0, 0).getTaskId());
+        }.runTaskTimer(handData, FULL_AUTO_TASKS, 0, 0));
         return true;
     }
 
     public void doShootFirearmActions(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, HandData handData, EquipmentSlot slot) {
-        FirearmAction firearmAction = getConfigurations().getObject(weaponTitle + ".Firearm_Action", FirearmAction.class);
+        WeaponDefinition definition = weaponHandler.getInfoHandler().getDefinition(weaponTitle);
+        FirearmAction firearmAction = definition.getFirearmAction();
         if (firearmAction == null || handData.hasRunningFirearmAction()) return;
 
         FirearmState state = firearmAction.getState(weaponStack);
@@ -481,10 +489,10 @@ public class ShootHandler implements IValidator, TriggerListener {
         boolean mainhand = slot == EquipmentSlot.HAND;
         LivingEntity shooter = entityWrapper.getEntity();
         PlayerWrapper playerWrapper = shooter.getType() != EntityType.PLAYER ? null : (PlayerWrapper) entityWrapper;
-        WeaponInfoDisplay weaponInfoDisplay = playerWrapper == null ? null : getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+        WeaponInfoDisplay weaponInfoDisplay = playerWrapper == null ? null : definition.getWeaponInfoDisplay();
 
         // Initiate CLOSE task
-        BukkitRunnable closeRunnable = new BukkitRunnable() {
+        WheelTask closeRunnable = new WheelTask() {
             @Override
             public void run() {
                 ItemStack taskReference = mainhand ? entityWrapper.getEntity().getEquipment().getItemInMainHand() : entityWrapper.getEntity().getEquipment().getItemInOffHand();
@@ -514,7 +522,7 @@ public class ShootHandler implements IValidator, TriggerListener {
 
             if (weaponInfoDisplay != null) weaponInfoDisplay.send(playerWrapper, slot);
 
-            handData.addFirearmActionTask(closeRunnable.runTaskLater(WeaponMechanics.getPlugin(), event.getTime()).getTaskId());
+            handData.addFirearmActionTask(closeRunnable.runTaskLater(FIREARM_ACTION_TASKS, event.getTime()).getTaskId());
 
             // Return since we only want to do close state
             return;
@@ -533,7 +541,7 @@ public class ShootHandler implements IValidator, TriggerListener {
         if (weaponInfoDisplay != null) weaponInfoDisplay.send(playerWrapper, slot);
 
         // Add the task to shoot firearm action tasks
-        handData.addFirearmActionTask(new BukkitRunnable() {
+        handData.addFirearmActionTask(new WheelTask() {
             @Override
             public void run() {
                 ItemStack taskReference = mainhand ? entityWrapper.getEntity().getEquipment().getItemInMainHand() : entityWrapper.getEntity().getEquipment().getItemInOffHand();
@@ -551,10 +559,10 @@ public class ShootHandler implements IValidator, TriggerListener {
 
                 if (weaponInfoDisplay != null) weaponInfoDisplay.send(playerWrapper, slot);
 
-                handData.addFirearmActionTask(closeRunnable.runTaskLater(WeaponMechanics.getPlugin(), event.getTime()).getTaskId());
+                handData.addFirearmActionTask(closeRunnable.runTaskLater(FIREARM_ACTION_TASKS, event.getTime()).getTaskId());
 
             }
-        }.runTaskLater(WeaponMechanics.getPlugin(), event.getTime()).getTaskId());
+        }.runTaskLater(FIREARM_ACTION_TASKS, event.getTime()).getTaskId());
     }
 
     /**
@@ -615,14 +623,18 @@ public class ShootHandler implements IValidator, TriggerListener {
      * Does not use ammo nor check for it.
      */
     public void shoot(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, Location shootLocation, boolean mainHand, boolean updateSpreadChange, boolean isMelee) {
-        Configuration config = getConfigurations();
+        shoot(entityWrapper, weaponHandler.getInfoHandler().getDefinition(weaponTitle), weaponStack, shootLocation, mainHand, updateSpreadChange, isMelee);
+    }
+
+    private void shoot(EntityWrapper entityWrapper, WeaponDefinition definition, ItemStack weaponStack, Location shootLocation, boolean mainHand, boolean updateSpreadChange, boolean isMelee) {
+        String weaponTitle = definition.getWeaponTitle();
         LivingEntity livingEntity = entityWrapper.getEntity();
 
-        Mechanics shootMechanics = config.getObject(weaponTitle + ".Shoot.Mechanics", Mechanics.class);
+        Mechanics shootMechanics = definition.getShootMechanics();
         if (shootMechanics != null) shootMechanics.use(new CastData(livingEntity, weaponTitle, weaponStack));
 
         // Reset fall distance for #134
-        if (config.getBool(weaponTitle + ".Shoot.Reset_Fall_Distance"))
+        if (definition.isResetFallDistance())
             livingEntity.setFallDistance(0.0f);
 
         if (entityWrapper instanceof PlayerWrapper playerWrapper) {
@@ -630,12 +642,12 @@ public class ShootHandler implements IValidator, TriggerListener {
             if (playerWrapper.getStatsData() != null)
                 playerWrapper.getStatsData().add(weaponTitle, WeaponStat.SHOTS, 1);
 
-            WeaponInfoDisplay weaponInfoDisplay = getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+            WeaponInfoDisplay weaponInfoDisplay = definition.getWeaponInfoDisplay();
             if (weaponInfoDisplay != null)
                 weaponInfoDisplay.send(playerWrapper, mainHand ? EquipmentSlot.HAND : EquipmentSlot.OFF_HAND);
         }
 
-        Projectile projectile = config.getObject(weaponTitle + ".Projectile", Projectile.class);
+        Projectile projectile = definition.getProjectile();
 
         if (projectile == null || isMelee) {
             debug.debug("Missing projectile/isMelee for " + weaponTitle);
@@ -653,11 +665,11 @@ public class ShootHandler implements IValidator, TriggerListener {
             return;
         }
 
-        Spread spread = config.getObject(weaponTitle + ".Shoot.Spread", Spread.class);
-        Recoil recoil = config.getObject(weaponTitle + ".Shoot.Recoil", Recoil.class);
-        double projectileSpeed = config.getDouble(weaponTitle + ".Shoot.Projectile_Speed");
+        Spread spread = definition.getSpread();
+        Recoil recoil = definition.getRecoil();
+        double projectileSpeed = definition.getProjectileSpeed();
 
-        int projectileAmount = config.getInt(weaponTitle + ".Shoot.Projectiles_Per_Shot");
+        int projectileAmount = definition.getProjectilesPerShot();
         if (projectileAmount < 1) {
             debug.error(weaponTitle + ".Shoot.Projectiles_Per_Shot was somehow reset to 0");
         }
@@ -686,7 +698,7 @@ public class ShootHandler implements IValidator, TriggerListener {
         }
 
         // Apply custom durability
-        CustomDurability durability = config.getObject(weaponTitle + ".Shoot.Custom_Durability", CustomDurability.class);
+        CustomDurability durability = definition.getCustomDurability();
         if (durability != null) {
             boolean broke = durability.use(livingEntity, weaponStack, weaponTitle);
 
@@ -710,18 +722,18 @@ public class ShootHandler implements IValidator, TriggerListener {
      * Does not apply recoil nor anything that would require EntityWrapper.
      */
     public void shoot(LivingEntity livingEntity, String weaponTitle, Vector normalizedDirection) {
-        Configuration config = getConfigurations();
+        WeaponDefinition definition = weaponHandler.getInfoHandler().getDefinition(weaponTitle);
 
-        Mechanics shootMechanics = config.getObject(weaponTitle + ".Shoot.Mechanics", Mechanics.class);
+        Mechanics shootMechanics = definition.getShootMechanics();
         if (shootMechanics != null) shootMechanics.use(new CastData(livingEntity, weaponTitle, null));
 
-        Projectile projectile = config.getObject(weaponTitle + ".Projectile", Projectile.class);
+        Projectile projectile = definition.getProjectile();
         if (projectile == null) return;
 
         Location shootLocation = getShootLocation(livingEntity, false, true);
-        double projectileSpeed = config.getDouble(weaponTitle + ".Shoot.Projectile_Speed");
+        double projectileSpeed = definition.getProjectileSpeed();
 
-        for (int i = 0; i < config.getInt(weaponTitle + ".Shoot.Projectiles_Per_Shot"); ++i) {
+        for (int i = 0; i < definition.getProjectilesPerShot(); ++i) {
 
             // Only create bullet first if WeaponShootEvent changes
             WeaponProjectile bullet = projectile.create(livingEntity, shootLocation, normalizedDirection.clone().multiply(projectileSpeed), null, weaponTitle, null);
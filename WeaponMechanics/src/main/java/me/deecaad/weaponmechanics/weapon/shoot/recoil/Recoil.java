@@ -4,6 +4,7 @@ import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.Serializer;
 import me.deecaad.core.file.SerializerException;
 import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.compatibility.IWeaponCompatibility;
 import me.deecaad.weaponmechanics.compatibility.WeaponCompatibilityAPI;
 import me.deecaad.weaponmechanics.wrappers.HandData;
@@ -15,14 +16,12 @@ import org.vivecraft.VSE;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Timer;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getPlayerWrapper;
 
 public class Recoil implements Serializer<Recoil> {
 
     public static long MILLIS_BETWEEN_ROTATIONS = 20;
-    private static final Timer TIMER = new Timer();
     private static final IWeaponCompatibility weaponCompatibility = WeaponCompatibilityAPI.getWeaponCompatibility();
 
     private long pushTime;
@@ -64,20 +63,92 @@ public class Recoil implements Serializer<Recoil> {
             return;
         }
         HandData handData = mainHand ? playerWrapper.getMainHandData() : playerWrapper.getOffHandData();
-        RecoilTask recoilTask = handData.getRecoilTask();
+        RecoilState state = handData.getRecoilState();
+
+        // A finished curve starts the recoil pattern again
+        if (!state.isActive()) state.setPatternIndex(0);
+
+        float rotateYaw = 0;
+        float rotatePitch = 0;
+
+        boolean nonRepeatingPatternReachedEnd = false;
+        if (recoilPattern != null) {
+            RecoilPattern.ExtraRecoilPatternData nextData = getNext(state, recoilPattern);
+            if (nextData != null) {
+                rotateYaw = nextData.horizontalRecoil();
+                rotatePitch = nextData.verticalRecoil();
+            } else {
+                nonRepeatingPatternReachedEnd = true;
+            }
+        }
 
-        if (recoilTask == null) {
-            // Normally shoot, recoil, recover
-            recoilTask = new RecoilTask(playerWrapper, handData, this);
-            handData.setRecoilTask(recoilTask);
-            TIMER.scheduleAtFixedRate(recoilTask, 0, MILLIS_BETWEEN_ROTATIONS);
-            return;
+        if (rotateYaw == 0 && randomHorizontal != null) {
+            rotateYaw = randomHorizontal.get(NumberUtil.random(randomHorizontal.size()));
+        }
+        if (rotatePitch == 0 && randomVertical != null) {
+            rotatePitch = randomVertical.get(NumberUtil.random(randomVertical.size()));
+        }
+
+        // Neither one was used, so there is nothing to rotate
+        if (!nonRepeatingPatternReachedEnd && rotateYaw == 0 && rotatePitch == 0) return;
+
+        if (modifyRecoilWhen != null) {
+            if (rotateYaw != 0) {
+                rotateYaw = (float) modifyRecoilWhen.applyChanges(playerWrapper, rotateYaw);
+            }
+            if (rotatePitch != 0) {
+                rotatePitch = (float) modifyRecoilWhen.applyChanges(playerWrapper, rotatePitch);
+            }
         }
+
+        // Non-repeating patterns that reached their end only wait for the
+        // push time, and don't recover
+        if (nonRepeatingPatternReachedEnd && pushTime != 0) {
+            rotateYaw = 0;
+            rotatePitch = 0;
+        }
+
+        // Push time 0 means that rotation should be instant
+        int pushSteps = pushTime == 0 ? 1 : (int) Math.max(1, pushTime / MILLIS_BETWEEN_ROTATIONS);
+        int recoverSteps = recoverTime == 0 ? 0 : (int) Math.max(1, recoverTime / MILLIS_BETWEEN_ROTATIONS);
+
         // Shoot during recoil
         //  -> continue from current recoil with new one (cancel last recoil)
         // Shoot during recover
         //  -> continue from current recover spot with new recoil (cancel last recover)
-        recoilTask.setRecoil(this);
+        state.push(rotateYaw, rotatePitch, pushSteps, recoverSteps, player.getLocation().getPitch());
+        WeaponMechanics.getRecoilScheduler().start(player, state);
+    }
+
+    private static RecoilPattern.ExtraRecoilPatternData getNext(RecoilState state, RecoilPattern pattern) {
+        List<RecoilPattern.ExtraRecoilPatternData> list = pattern.getRecoilPatternList();
+        int index = state.getPatternIndex();
+
+        if (index >= list.size()) {
+            // Basically means that this recoil pattern has reached its end
+            // AND its not using repeat pattern
+            return null;
+        }
+
+        RecoilPattern.ExtraRecoilPatternData nextData = null;
+        while (nextData == null) {
+            nextData = list.get(index);
+
+            if (nextData.shouldSkip()) nextData = null;
+
+            ++index;
+
+            if (index >= list.size()) {
+
+                // Non-repeating pattern -> break
+                if (!pattern.isRepeatPattern()) break;
+
+                // Repeating pattern, start again at 0
+                index = 0;
+            }
+        }
+        state.setPatternIndex(index);
+        return nextData;
     }
 
     public long getPushTime() {
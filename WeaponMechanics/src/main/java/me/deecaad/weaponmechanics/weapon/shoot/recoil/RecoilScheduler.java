@@ -0,0 +1,107 @@
+package me.deecaad.weaponmechanics.weapon.shoot.recoil;
+
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.weaponmechanics.compatibility.IWeaponCompatibility;
+import me.deecaad.weaponmechanics.compatibility.WeaponCompatibilityAPI;
+import org.bukkit.entity.Player;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+
+/**
+ * Steps every active {@link RecoilState} on 1 shared thread, every
+ * {@link Recoil#MILLIS_BETWEEN_ROTATIONS} milliseconds. Recoil rotates the
+ * camera multiple times per tick, so it cannot run on the server's
+ * scheduler. States are only in the scheduler while their curve is active.
+ */
+public class RecoilScheduler {
+
+    private static final IWeaponCompatibility weaponCompatibility = WeaponCompatibilityAPI.getWeaponCompatibility();
+
+    private final Map<RecoilState, Player> active = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    public RecoilScheduler(long millisBetweenRotations) {
+        long period = Math.max(1, millisBetweenRotations);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WeaponMechanics Recoil");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::rotate, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds the state to the scheduler (if it isn't already added). The first
+     * step is rotated by the scheduler thread, at most
+     * {@link Recoil#MILLIS_BETWEEN_ROTATIONS} milliseconds later, so a state
+     * is never stepped by 2 threads.
+     *
+     * @param player The non-null player whose camera is rotated.
+     * @param state  The non-null state, which was just pushed.
+     */
+    public void start(Player player, RecoilState state) {
+        active.put(state, player);
+    }
+
+    /**
+     * @return The amount of curves that are currently active.
+     */
+    public int getActive() {
+        return active.size();
+    }
+
+    /**
+     * Stops the scheduler. Active curves are stopped without recovering.
+     */
+    public void close() {
+        executor.shutdownNow();
+        for (RecoilState state : active.keySet())
+            state.stop();
+        active.clear();
+    }
+
+    private void rotate() {
+        // An exception would cancel the repeating task, so catch everything
+        try {
+            Iterator<Map.Entry<RecoilState, Player>> iterator = active.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<RecoilState, Player> entry = iterator.next();
+                if (!rotate(entry.getValue(), entry.getKey())) {
+                    iterator.remove();
+
+                    // A shot may have pushed the state again after it finished
+                    if (entry.getKey().isActive())
+                        active.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+        } catch (Throwable ex) {
+            debug.log(LogLevel.ERROR, "Unhandled exception while rotating recoil", ex);
+        }
+    }
+
+    private boolean rotate(Player player, RecoilState state) {
+        // These only read flags of the player, which is deliberate. A stale
+        // value only means 1 more rotation packet, or 1 less.
+        if (player == null || player.isDead() || !player.isOnline()) {
+            state.stop();
+            return false;
+        }
+
+        if (!state.step())
+            return false;
+
+        // Non-repeating patterns that reached their end push 0, don't send unnecessary packets
+        float yaw = state.getStepYaw();
+        float pitch = state.getStepPitch();
+        if (yaw != 0 || pitch != 0)
+            weaponCompatibility.modifyCameraRotation(player, yaw, pitch, false);
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+package me.deecaad.weaponmechanics.weapon.shoot.recoil;
+
+/**
+ * The recoil curve of 1 hand. Each hand owns 1 state, which is reused for
+ * every shot, so shooting does not create any task objects.
+ *
+ * <p>A curve has 2 phases. First the camera is pushed by the recoil amount
+ * over a number of steps, then (optionally) the camera is recovered by the
+ * amount that was actually pushed. Step <code>i</code> of <code>n</code>
+ * rotates by <code>total * (i + 1) / n - total * i / n</code>, so the sum of
+ * every step is exactly the total, and the rotation only depends on the
+ * amount of steps.
+ *
+ * <p>Shots {@link #push(float, float, int, int, float)} on the main thread,
+ * and the {@link RecoilScheduler} steps the state on its own thread, so
+ * every method that touches the curve is synchronized. Only the scheduler
+ * thread steps the state, so the rotation of the last step is only read by
+ * the thread that wrote it.
+ */
+public final class RecoilState {
+
+    // Steps don't push the camera up when the player is looking further up than this
+    private static final float MAX_PITCH_UP = -80;
+
+    // Used by Recoil on the main thread only
+    private int patternIndex;
+
+    private boolean active;
+    private boolean recovering;
+    private float totalYaw;
+    private float totalPitch;
+    private int steps;
+    private int step;
+    private int recoverSteps;
+    private float pushedYaw;
+    private float pushedPitch;
+    private float startPitch;
+
+    // The rotation of the last step
+    private float stepYaw;
+    private float stepPitch;
+
+    /**
+     * Starts a new push from the current camera position. A push during the
+     * push of an older shot, or during its recovery, replaces it. Only the
+     * newest push is recovered.
+     *
+     * @param yaw          The total yaw to push.
+     * @param pitch        The total pitch to push.
+     * @param pushSteps    The positive amount of steps to push over.
+     * @param recoverSteps The amount of steps to recover over, or 0 for no recovery.
+     * @param cameraPitch  The pitch of the player's camera, read on the main thread.
+     */
+    public synchronized void push(float yaw, float pitch, int pushSteps, int recoverSteps, float cameraPitch) {
+        this.active = true;
+        this.recovering = false;
+        this.totalYaw = yaw;
+        this.totalPitch = pitch;
+        this.steps = Math.max(1, pushSteps);
+        this.step = 0;
+        this.recoverSteps = recoverSteps;
+        this.pushedYaw = 0;
+        this.pushedPitch = 0;
+        this.startPitch = cameraPitch;
+    }
+
+    /**
+     * Moves the curve forward by 1 step. After this returns true, the
+     * rotation of the step is {@link #getStepYaw()} and {@link #getStepPitch()}.
+     * Should only be used by the {@link RecoilScheduler} thread.
+     *
+     * <p>The camera is not pushed up while the player is already looking
+     * up. The pitch of the camera is the pitch at the last push, minus
+     * everything pushed since then (a positive pitch rotates up), so the
+     * player's location is never read off the main thread.
+     *
+     * @return true if the curve has not finished.
+     */
+    synchronized boolean step() {
+        if (!active)
+            return false;
+
+        if (step >= steps) {
+            if (recovering || recoverSteps <= 0 || (pushedYaw == 0 && pushedPitch == 0)) {
+                active = false;
+                return false;
+            }
+
+            // Push finished, start recovering what was pushed
+            recovering = true;
+            totalYaw = -pushedYaw;
+            totalPitch = -pushedPitch;
+            steps = recoverSteps;
+            step = 0;
+        }
+
+        stepYaw = totalYaw * (step + 1) / steps - totalYaw * step / steps;
+        stepPitch = totalPitch * (step + 1) / steps - totalPitch * step / steps;
+        step++;
+
+        // Let recovering happen normally without checking any maximum pitch changes
+        if (!recovering) {
+            if (startPitch - pushedPitch < MAX_PITCH_UP)
+                stepPitch = 0;
+            pushedYaw += stepYaw;
+            pushedPitch += stepPitch;
+        }
+        return true;
+    }
+
+    /**
+     * Stops the curve, without recovering.
+     */
+    public synchronized void stop() {
+        active = false;
+    }
+
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    public synchronized boolean isRecovering() {
+        return recovering;
+    }
+
+    public float getStepYaw() {
+        return stepYaw;
+    }
+
+    public float getStepPitch() {
+        return stepPitch;
+    }
+
+    int getPatternIndex() {
+        return patternIndex;
+    }
+
+    void setPatternIndex(int patternIndex) {
+        this.patternIndex = patternIndex;
+    }
+}
@@ -3,20 +3,22 @@ package me.deecaad.weaponmechanics.weapon.shoot.spread;
 import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.Serializer;
 import me.deecaad.core.file.SerializerException;
-import me.deecaad.core.utils.ProbabilityMap;
+import me.deecaad.core.utils.AliasSampler;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 
 import javax.annotation.Nonnull;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
 public class SpreadImage implements Serializer<SpreadImage> {
     
-    private ProbabilityMap<Point> points;
+    private AliasSampler<Point> points;
     private int height, width;
     
     /**
@@ -26,7 +28,6 @@ public class SpreadImage implements Serializer<SpreadImage> {
     }
     
     public SpreadImage(Sprite sprite, double fovWidth, double fovHeight) {
-        this.points = new ProbabilityMap<>();
         this.width = sprite.getWidth();
         this.height = sprite.getHeight();
 
@@ -35,7 +36,9 @@ public class SpreadImage implements Serializer<SpreadImage> {
 
         double xMiddle = width / 2.0;
         double yMiddle = height / 2.0;
-        
+
+        List<Point> points = new ArrayList<>();
+        List<Double> chances = new ArrayList<>();
         int[][] pixels = sprite.getPixels();
         for (int y = 0; y < pixels.length; y++) {
             for (int x = 0; x < pixels[y].length; x++) {
@@ -58,10 +61,14 @@ public class SpreadImage implements Serializer<SpreadImage> {
 
                     Point point = new Point(yaw, pitch);
                     double chance = grayScale / 255.0;
-                    points.add(point, chance);
+                    points.add(point);
+                    chances.add(chance);
                 }
             }
         }
+
+        // The sampler is immutable, so spread can be sampled from any thread
+        this.points = new AliasSampler<>(points, chances.stream().mapToDouble(Double::doubleValue).toArray());
     }
     
     public int getHeight() {
@@ -1,11 +1,13 @@
 package me.deecaad.weaponmechanics.weapon.stats;
 
+import me.deecaad.core.database.BatchWriter;
 import me.deecaad.core.database.Database;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
 import me.deecaad.weaponmechanics.wrappers.PlayerWrapper;
 import me.deecaad.weaponmechanics.wrappers.StatsData;
+import org.bukkit.scheduler.BukkitRunnable;
 
 import java.sql.SQLException;
 import java.util.*;
@@ -13,8 +15,8 @@ import java.util.*;
 public class StatsHandler {
 
     private WeaponHandler weaponHandler;
-    private StringBuilder generatedReplaceWeaponStats;
-    private StringBuilder generatedReplacePlayerStats;
+    private String replaceWeaponStats;
+    private String replacePlayerStats;
 
     public StatsHandler(WeaponHandler weaponHandler) {
         this.weaponHandler = weaponHandler;
@@ -37,14 +39,29 @@ public class StatsHandler {
 
         if (statsData.isSync()) throw new IllegalArgumentException("Tried to load data to already synced stats data");
 
-        fetchAndInsertPlayerStats(database, playerWrapper.getPlayer().getUniqueId(), statsData);
+        UUID uuid = playerWrapper.getPlayer().getUniqueId();
+        BatchWriter writer = WeaponMechanics.getStatsWriter();
+        if (writer == null) {
+            fetchAndInsertPlayerStats(database, uuid, statsData);
+            return;
+        }
+
+        // A player who rejoins quickly may still have rows queued from their
+        // last save, which have to be written before they are read back
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                writer.flush(key -> key instanceof RowKey rowKey && rowKey.uuid.equals(uuid));
+                fetchAndInsertPlayerStats(database, uuid, statsData);
+            }
+        }.runTaskAsynchronously(WeaponMechanics.getPlugin());
     }
 
     /**
-     * Saves data from player wrapper to database
+     * Queues the data from player wrapper to be saved to database
      *
      * @param playerWrapper the player wrapper
-     * @param forceSync true means that saving is forced to be sync (used on disable)
+     * @param forceSync true means that this method blocks until the data is saved (used on reload)
      */
     public void save(PlayerWrapper playerWrapper, boolean forceSync) {
         Database database = WeaponMechanics.getDatabase();
@@ -52,131 +69,76 @@ public class StatsHandler {
 
         if (database.isClosed()) throw new IllegalArgumentException("Tried to save data when database was closed");
 
+        BatchWriter writer = WeaponMechanics.getStatsWriter();
+        if (writer == null) return;
+
         StatsData statsData = playerWrapper.getStatsData();
         // This might be null if sync didn't occur...
         if (statsData == null) return;
 
-        database.executeUpdate(forceSync, getSaveStrings(playerWrapper));
-    }
-
-    private String[] getSaveStrings(PlayerWrapper playerWrapper) {
-        StatsData statsData = playerWrapper.getStatsData();
-        if (statsData == null) return null;
-
         if (!statsData.isSync()) throw new IllegalArgumentException("Tried to use REPLACE when player stat data wasn't yet synced");
 
+        UUID uuid = playerWrapper.getPlayer().getUniqueId();
         Set<String> weapons = statsData.getWeapons();
-        if (weapons == null || weapons.isEmpty()) return new String[]{getPlayerStatReplaceString(playerWrapper)};
-
-        String[] batches = new String[weapons.size() + 1];
-
-        // Create batch for every weapon...
-        int i = 0;
-        for (String weapon : weapons) {
-
-            StringBuilder builder = new StringBuilder(generatedReplaceWeaponStats);
-
-            WeaponStat[] array = WeaponStat.VALUES;
-            for (int j = 0; j < array.length; ++j) {
-                WeaponStat stat = array[j];
-                if (j != 0) {
-                    builder.append(", ");
-                }
-                Class<?> type = stat.getClassType();
-                if (type == String.class) {
-                    Object value = statsData.get(weapon, stat);
-                    if (value == null) {
-                        // Append SQL null value
-                        builder.append("NULL");
-                    } else {
-                        builder.append("'")
-                                .append(value)
-                                .append("'");
-                    }
-                } else if (type == Set.class) {
-                    Set<?> value = (Set<?>) statsData.get(weapon, stat);
-                    if (value == null) {
-                        // Append SQL null value
-                        builder.append("NULL");
-                    } else {
-                        builder.append("'");
-
-                        // Append each string from set separated with comma
-                        value.forEach(val -> builder.append(val).append(","));
-
-                        // Take the last , out
-                        builder.deleteCharAt(builder.length() - 1);
-                        builder.append("'");
-                    }
-                } else {
-                    builder.append(statsData.get(weapon, stat));
+        if (weapons != null) {
+            for (String weapon : weapons) {
+                WeaponStat[] array = WeaponStat.VALUES;
+                Object[] parameters = new Object[array.length];
+                for (int i = 0; i < array.length; ++i) {
+                    parameters[i] = toParameter(statsData.get(weapon, array[i]));
                 }
+                writer.submit(new RowKey(uuid, weapon), replaceWeaponStats, parameters);
             }
-
-            batches[i] = builder.append(")").toString();
-
-            ++i;
         }
 
-        // The i is actually incremented above +1 times
-        batches[i] = getPlayerStatReplaceString(playerWrapper);
-
-        return batches;
-    }
-
-    private String getPlayerStatReplaceString(PlayerWrapper playerWrapper) {
-        StatsData statsData = playerWrapper.getStatsData();
-        StringBuilder builder = new StringBuilder(generatedReplacePlayerStats);
         PlayerStat[] array = PlayerStat.VALUES;
+        Object[] parameters = new Object[array.length];
         for (int i = 0; i < array.length; ++i) {
-            PlayerStat stat = array[i];
-            if (i != 0) {
-                builder.append(", ");
-            }
-            if (stat.getClassType() == String.class) {
-                Object value = statsData.get(stat);
-                if (value == null) {
-                    builder.append("NULL");
-                } else {
-                    builder.append("'")
-                            .append(value)
-                            .append("'");
-                }
-            } else {
-                builder.append(statsData.get(stat));
-            }
+            parameters[i] = toParameter(statsData.get(array[i]));
         }
-        return builder.append(")").toString();
-    }
+        writer.submit(new RowKey(uuid, null), replacePlayerStats, parameters);
 
-    private void generateReplaces() {
-        StringBuilder weaponBuilder = new StringBuilder("REPLACE INTO weapon_stats (");
+        if (forceSync) writer.flush();
+    }
 
-        WeaponStat[] weaponArray = WeaponStat.VALUES;
-        for (int i = 0; i < weaponArray.length; ++i) {
-            WeaponStat stat = weaponArray[i];
-            if (i != 0) {
-                weaponBuilder.append(", ");
-            }
-            weaponBuilder.append(stat.name());
+    /**
+     * Converts the stat value to a value that can be bound to a statement.
+     * The values are copied here, since the writer binds them later on
+     * another thread.
+     */
+    private Object toParameter(Object value) {
+        if (value instanceof Set<?> set) {
+            // Sets are comma separated in database
+            if (set.isEmpty()) return null;
+            StringBuilder builder = new StringBuilder();
+            set.forEach(val -> builder.append(val).append(","));
+
+            // Take the last , out
+            builder.deleteCharAt(builder.length() - 1);
+            return builder.toString();
         }
+        if (value instanceof UUID) {
+            return value.toString();
+        }
+        return value;
+    }
 
-        weaponBuilder.append(") VALUES (");
-        generatedReplaceWeaponStats = weaponBuilder;
-
-        StringBuilder playerBuilder = new StringBuilder("REPLACE INTO player_stats (");
+    private void generateReplaces() {
+        replaceWeaponStats = generateReplace("weapon_stats", Arrays.stream(WeaponStat.VALUES).map(Enum::name).toArray(String[]::new));
+        replacePlayerStats = generateReplace("player_stats", Arrays.stream(PlayerStat.VALUES).map(Enum::name).toArray(String[]::new));
+    }
 
-        PlayerStat[] playerArray = PlayerStat.VALUES;
-        for (int i = 0; i < playerArray.length; ++i) {
-            PlayerStat stat = playerArray[i];
+    private String generateReplace(String table, String[] columns) {
+        StringBuilder builder = new StringBuilder("REPLACE INTO ").append(table).append(" (");
+        builder.append(String.join(", ", columns));
+        builder.append(") VALUES (");
+        for (int i = 0; i < columns.length; ++i) {
             if (i != 0) {
-                playerBuilder.append(", ");
+                builder.append(", ");
             }
-            playerBuilder.append(stat.name());
+            builder.append("?");
         }
-
-        playerBuilder.append(") VALUES (");
-        generatedReplacePlayerStats = playerBuilder;
+        return builder.append(")").toString();
     }
 
     private void fetchAndInsertPlayerStats(Database database, UUID uuid, StatsData statsData) {
@@ -259,4 +221,11 @@ public class StatsHandler {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Identifies 1 row in the stats tables, so queued saves of the same row
+     * are coalesced. The weapon is null for the player_stats row.
+     */
+    private record RowKey(UUID uuid, String weapon) {
+    }
+}
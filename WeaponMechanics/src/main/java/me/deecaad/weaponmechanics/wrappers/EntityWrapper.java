@@ -1,6 +1,5 @@
 package me.deecaad.weaponmechanics.wrappers;
 
-import me.deecaad.core.file.Configuration;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.events.EntityToggleInMidairEvent;
 import me.deecaad.weaponmechanics.events.EntityToggleStandEvent;
@@ -21,11 +20,9 @@ import javax.annotation.Nonnull;
  */
 public class EntityWrapper {
 
-    private static final int MOVE_TASK_INTERVAL = 1;
-
     private final LivingEntity entity;
 
-    private int moveTask;
+    private MovementSampler.Tracked movement;
     private boolean standing;
     private boolean walking;
     private boolean inMidair;
@@ -36,22 +33,20 @@ public class EntityWrapper {
     public EntityWrapper(LivingEntity livingEntity) {
         this.entity = livingEntity;
 
-        Configuration config = WeaponMechanics.getBasicConfigurations();
-        if (!config.getBool("Disabled_Trigger_Checks.In_Midair")
-                || !config.getBool("Disabled_Trigger_Checks.Standing_And_Walking")
-                || !config.getBool("Disabled_Trigger_Checks.Jump")
-                || !config.getBool("Disabled_Trigger_Checks.Double_Jump")) {
-
-            this.moveTask = new MoveTask(this).runTaskTimer(WeaponMechanics.getPlugin(), 0, MOVE_TASK_INTERVAL).getTaskId();
-        }
+        MovementSampler sampler = WeaponMechanics.getMovementSampler();
+        if (sampler != null) sampler.track(this);
     }
 
     public LivingEntity getEntity() {
         return this.entity;
     }
 
-    public int getMoveTaskId() {
-        return this.moveTask;
+    MovementSampler.Tracked getMovement() {
+        return this.movement;
+    }
+
+    void setMovement(MovementSampler.Tracked movement) {
+        this.movement = movement;
     }
 
     /**
@@ -1,7 +1,9 @@
 package me.deecaad.weaponmechanics.wrappers;
 
+import me.deecaad.core.utils.scheduler.TimingWheel;
+import me.deecaad.core.utils.scheduler.WheelTask;
 import me.deecaad.weaponmechanics.WeaponMechanics;
-import me.deecaad.weaponmechanics.weapon.shoot.recoil.RecoilTask;
+import me.deecaad.weaponmechanics.weapon.shoot.recoil.RecoilState;
 import me.deecaad.weaponmechanics.weapon.weaponevents.WeaponReloadCancelEvent;
 import me.deecaad.weaponmechanics.weapon.weaponevents.WeaponReloadCompleteEvent;
 import org.bukkit.Bukkit;
@@ -21,13 +23,13 @@ public class HandData {
     private final EntityWrapper entityWrapper;
     private final boolean mainhand;
 
-    private int fullAutoTask;
-    private int burstTask;
+    private WheelTask fullAutoTask;
+    private WheelTask burstTask;
     private long lastShotTime;
     private long lastScopeTime;
     private long lastEquipTime;
     private double spreadChange;
-    private RecoilTask recoilTask;
+    private final RecoilState recoilState = new RecoilState();
     private long lastMeleeTime;
     private long lastMeleeMissTime;
 
@@ -72,14 +74,10 @@ public class HandData {
      * @param trySkinUpdate whether to also try to update skin
      */
     public void cancelTasks(boolean trySkinUpdate) {
-        if (fullAutoTask != 0) {
-            Bukkit.getScheduler().cancelTask(fullAutoTask);
-            fullAutoTask = 0;
-        }
-        if (burstTask != 0) {
-            Bukkit.getScheduler().cancelTask(burstTask);
-            burstTask = 0;
-        }
+        // Full auto and burst tasks are owned by this hand
+        TimingWheel.getInstance().cancelAll(this);
+        fullAutoTask = null;
+        burstTask = null;
         stopReloadingTasks();
         stopFirearmActionTasks();
         getZoomData().ifZoomingForceZoomOut();
@@ -110,18 +108,24 @@ public class HandData {
     }
 
     public boolean isUsingFullAuto() {
-        return fullAutoTask != 0;
+        return fullAutoTask != null;
     }
 
-    public void setFullAutoTask(int fullAutoTask) {
+    /**
+     * @param fullAutoTask The task scheduled with this hand as its owner, or null.
+     */
+    public void setFullAutoTask(WheelTask fullAutoTask) {
         this.fullAutoTask = fullAutoTask;
     }
 
     public boolean isUsingBurst() {
-        return burstTask != 0;
+        return burstTask != null;
     }
 
-    public void setBurstTask(int burstTask) {
+    /**
+     * @param burstTask The task scheduled with this hand as its owner, or null.
+     */
+    public void setBurstTask(WheelTask burstTask) {
         this.burstTask = burstTask;
     }
 
@@ -161,12 +165,8 @@ public class HandData {
         this.spreadChange = spreadChange;
     }
 
-    public RecoilTask getRecoilTask() {
-        return recoilTask;
-    }
-
-    public void setRecoilTask(RecoilTask recoilTask) {
-        this.recoilTask = recoilTask;
+    public RecoilState getRecoilState() {
+        return recoilState;
     }
 
     public long getLastMeleeTime() {
@@ -213,7 +213,7 @@ public class HandData {
     public void finishReload() {
         if (!reloadTasks.isEmpty()) {
             for (int task : reloadTasks) {
-                Bukkit.getScheduler().cancelTask(task);
+                TimingWheel.cancelTask(task);
             }
             reloadTasks.clear();
 
@@ -227,7 +227,7 @@ public class HandData {
     public void stopReloadingTasks() {
         if (!reloadTasks.isEmpty()) {
             for (int task : reloadTasks) {
-                Bukkit.getScheduler().cancelTask(task);
+                TimingWheel.cancelTask(task);
             }
             reloadTasks.clear();
 
@@ -280,7 +280,7 @@ public class HandData {
     public void stopFirearmActionTasks() {
         if (!firearmActionTasks.isEmpty()) {
             for (int task : firearmActionTasks) {
-                Bukkit.getScheduler().cancelTask(task);
+                TimingWheel.cancelTask(task);
             }
             firearmActionTasks.clear();
         }
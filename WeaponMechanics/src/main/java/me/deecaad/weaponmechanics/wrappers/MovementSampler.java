@@ -0,0 +1,336 @@
+package me.deecaad.weaponmechanics.wrappers;
+
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.block.BlockCompatibility;
+import me.deecaad.core.file.Configuration;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import me.deecaad.weaponmechanics.events.PlayerJumpEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Statistic;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Waterlogged;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * This class is run once every Minecraft Server tick, and samples the
+ * movement state (standing, walking, swimming, mid-air, jumping) of every
+ * tracked {@link EntityWrapper}. Every wrapper is tracked in 1 compact array
+ * instead of having its own scheduled task, and the
+ * <code>Disabled_Trigger_Checks</code> options are read once per reload
+ * using {@link #loadConfig(Configuration)}.
+ *
+ * <p>Players are sampled every tick. Other entities are sampled every
+ * <code>Movement_Sample_Stride</code> ticks, and are spread evenly across
+ * those ticks.
+ */
+public class MovementSampler extends BukkitRunnable {
+
+    private Tracked[] tracked;
+    private int size;
+    private int tick;
+
+    // Increased for every tracked wrapper, used to spread entities across the stride
+    private int nextPhase;
+
+    // Cached config options
+    private boolean active;
+    private boolean swimCheck;
+    private boolean standingAndWalkingCheck;
+    private boolean inMidairCheck;
+    private boolean jumpCheck;
+    private boolean doubleJumpCheck;
+    private int entityStride = 1;
+
+    // Metrics
+    private long lastTickNanos;
+
+    /**
+     * Initializes and registers this runnable. This runnable can be cancelled
+     * using {@link #cancel()} or by cancelling all tasks for <code>plugin</code>
+     * using <code>Bukkit.getScheduler().cancelTasks(plugin)</code>.
+     *
+     * <p>WeaponMechanics initializes one of these by default. Use
+     * {@link WeaponMechanics#getMovementSampler()}.
+     *
+     * @param plugin The non-null plugin.
+     */
+    public MovementSampler(@Nonnull Plugin plugin) {
+        tracked = new Tracked[64];
+        runTaskTimer(plugin, 0, 1);
+    }
+
+    /**
+     * Reads the movement options from the given config. Until this method is
+     * called, no entities are sampled.
+     *
+     * @param config The non-null config.yml configuration.
+     */
+    public void loadConfig(@Nonnull Configuration config) {
+        swimCheck = !config.getBool("Disabled_Trigger_Checks.Swim");
+        standingAndWalkingCheck = !config.getBool("Disabled_Trigger_Checks.Standing_And_Walking");
+        inMidairCheck = !config.getBool("Disabled_Trigger_Checks.In_Midair");
+        jumpCheck = !config.getBool("Disabled_Trigger_Checks.Jump");
+        doubleJumpCheck = !config.getBool("Disabled_Trigger_Checks.Double_Jump");
+        entityStride = Math.max(1, config.getInt("Movement_Sample_Stride", 1));
+
+        // Swimming alone was never enough to sample movement
+        active = standingAndWalkingCheck || inMidairCheck || jumpCheck || doubleJumpCheck;
+    }
+
+    /**
+     * Starts sampling the movement of the given wrapper.
+     *
+     * @param wrapper The non-null wrapper to track.
+     */
+    public void track(@Nonnull EntityWrapper wrapper) {
+        if (wrapper.getMovement() != null)
+            return;
+
+        if (size == tracked.length)
+            tracked = Arrays.copyOf(tracked, size * 2);
+
+        Tracked state = new Tracked(wrapper, size, nextPhase);
+        nextPhase = (nextPhase + 1) & Integer.MAX_VALUE;
+        tracked[size++] = state;
+        wrapper.setMovement(state);
+    }
+
+    /**
+     * Stops sampling the movement of the given wrapper.
+     *
+     * @param wrapper The non-null wrapper to stop tracking.
+     */
+    public void untrack(@Nonnull EntityWrapper wrapper) {
+        Tracked state = wrapper.getMovement();
+        if (state == null)
+            return;
+
+        // Swap the last element into the removed slot to keep the array compact
+        int index = state.index;
+        Tracked last = tracked[--size];
+        tracked[index] = last;
+        last.index = index;
+        tracked[size] = null;
+        wrapper.setMovement(null);
+    }
+
+    /**
+     * @return The amount of tracked wrappers.
+     */
+    public int getTracked() {
+        return size;
+    }
+
+    /**
+     * @return The time, in nanoseconds, the last tick took.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    @Override
+    public void run() {
+        if (!active)
+            return;
+
+        long start = System.nanoTime();
+        int phase = tick++ % entityStride;
+
+        // Iterate backwards, since sample() may untrack the current wrapper
+        for (int i = size - 1; i >= 0; i--) {
+            Tracked state = tracked[i];
+            if (state.jumps == -1 && entityStride != 1 && state.phase % entityStride != phase)
+                continue;
+
+            sample(state);
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    private void sample(Tracked state) {
+        EntityWrapper entityWrapper = state.wrapper;
+        LivingEntity entity = entityWrapper.getEntity();
+        if (entity == null || !entity.isValid() || entity.isDead()) { // Just an extra check in case something odd happened
+
+            // Only stop tracking IF it isn't player, otherwise just don't do anything
+            if (!entityWrapper.isPlayer()) untrack(entityWrapper);
+
+            return;
+        }
+
+        // Swap the location buffers, so we don't create a new location every tick
+        Location from = state.to;
+        Location to = entity.getLocation(state.from);
+        state.from = from;
+        state.to = to;
+
+        if (swimCheck) {
+            if (isSwimming(entity)) {
+                entityWrapper.setSwimming(true);
+
+                // -> Can't be walking, standing, in mid air at same time
+                return;
+            } else {
+                entityWrapper.setSwimming(false);
+            }
+        }
+
+        boolean inMidair = isInMidair(to);
+
+        if (standingAndWalkingCheck) {
+            if (isSameLocationNonRotation(from, to)) {
+                ++state.sameMatches;
+            } else {
+                state.sameMatches = 0;
+            }
+            if (state.sameMatches > 3) {
+                entityWrapper.setStanding(true);
+
+                // -> Can't be walking, swimming, in mid air at same time
+                // Swimming is already returned above if it was true
+                return;
+            } else if (!inMidair) {
+
+                // Only walking if not in mid air
+                entityWrapper.setWalking(true);
+            }
+        }
+
+        // Needed for double jump
+        if (inMidair) {
+            state.groundTicks = 0;
+        } else {
+            ++state.groundTicks;
+        }
+
+        if (inMidairCheck) {
+            entityWrapper.setInMidair(inMidair);
+        }
+
+        if (!(entity instanceof Player player)) {
+            return;
+        }
+
+        if (state.jumps != -1 && jumpCheck) {
+            if (from.getY() < to.getY() && !to.getBlock().isLiquid()) {
+                int currentJumps = player.getStatistic(Statistic.JUMP);
+                int jumpsLast = state.jumps;
+                if (currentJumps != jumpsLast) {
+                    state.jumps = currentJumps;
+                    double yChange = to.getY() - from.getY();
+                    if ((yChange < 0.035 || yChange > 0.037) && (yChange < 0.116 || yChange > 0.118)) {
+                        Bukkit.getPluginManager().callEvent(new PlayerJumpEvent(player, false));
+                    }
+                }
+            }
+        }
+
+        if (doubleJumpCheck && (player.getGameMode() == GameMode.SURVIVAL || player.getGameMode() == GameMode.ADVENTURE)) {
+            if (player.getFallDistance() > 3.0) {
+                // https://minecraft.gamepedia.com/Damage#Fall_damage
+                // Fall damage is 1♥ for each block of fall distance after the third. Thus, falling 4 blocks causes 1♥ damage, 2♥ damage for 5 blocks, and so forth.
+
+                // This enables fall damage for player. Double jump has to be made BEFORE falling more than 3 blocks
+
+                if (player.getAllowFlight()) {
+                    player.setAllowFlight(false);
+                }
+            } else if (!player.getAllowFlight() && state.groundTicks > 3) {
+                // Only give double jump ability if been on ground for at least 3 ticks
+                player.setAllowFlight(true);
+            }
+        }
+    }
+
+    private boolean isSameLocationNonRotation(Location location1, Location location2) {
+        if (Double.doubleToLongBits(location1.getX()) != Double.doubleToLongBits(location2.getX())) {
+            return false;
+        }
+        if (Double.doubleToLongBits(location1.getY()) != Double.doubleToLongBits(location2.getY())) {
+            return false;
+        }
+        return Double.doubleToLongBits(location1.getZ()) == Double.doubleToLongBits(location2.getZ());
+    }
+
+    /**
+     * Basically checks if entity is in mid air.
+     * Mid air is determined on if current block in player's position doesn't have hit box and block below that doesn't have hit box either
+     */
+    private boolean isInMidair(Location location) {
+        Block current = location.getBlock();
+        Block below = current.getRelative(BlockFace.DOWN);
+
+        // Check for liquid as hit boxes are considered null if block is liquid
+        if (current.isLiquid() || below.isLiquid()) return false;
+
+        BlockCompatibility blockCompatibility = CompatibilityAPI.getBlockCompatibility();
+
+        return blockCompatibility.getShape(below) == null && blockCompatibility.getShape(current) == null;
+    }
+
+    /**
+     * Basically checks if entity is swimming.
+     */
+    private boolean isSwimming(LivingEntity livingEntity) {
+        if (livingEntity.isInsideVehicle()) return false;
+
+        // 1.13 introduced block data for blocks like stairs and slabs, and can
+        // be waterlogged. 1.13 also introduced the swimming mechanic.
+        if (CompatibilityAPI.getVersion() >= 1.13) {
+            if (livingEntity.isSwimming())
+                return true;
+
+            // We only care about the block the entity's head is in, since you
+            // (mostly) fire a gun from the shoulder/upper body.
+            Block block = livingEntity.getEyeLocation().getBlock();
+            BlockData data = block.getBlockData();
+            return block.isLiquid() || (data instanceof Waterlogged && ((Waterlogged) data).isWaterlogged());
+        }
+
+        // On versions below 1.13
+        return livingEntity.getEyeLocation().getBlock().isLiquid();
+    }
+
+    /**
+     * The movement state of 1 tracked wrapper.
+     */
+    static final class Tracked {
+
+        private final EntityWrapper wrapper;
+        private int index;
+
+        // Fixed when tracked, since the index changes when others are untracked
+        private final int phase;
+        private Location from;
+        private Location to;
+        private int sameMatches;
+        private int jumps;
+        private int groundTicks;
+
+        private Tracked(EntityWrapper wrapper, int index, int phase) {
+            this.wrapper = wrapper;
+            this.index = index;
+            this.phase = phase;
+
+            LivingEntity entity = wrapper.getEntity();
+            this.from = entity.getLocation();
+            this.to = entity.getLocation();
+            if (entity instanceof Player) {
+                this.jumps = ((Player) entity).getStatistic(Statistic.JUMP);
+            } else {
+                this.jumps = -1;
+            }
+        }
+    }
+}
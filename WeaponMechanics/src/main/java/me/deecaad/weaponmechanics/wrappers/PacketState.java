@@ -0,0 +1,98 @@
+package me.deecaad.weaponmechanics.wrappers;
+
+import me.deecaad.weaponmechanics.packetlisteners.OutSetSlotBobFix.SimpleItemData;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The per-player state used by packet listeners. Packet listeners run on
+ * the netty threads, while the state is changed by event handlers on the
+ * main thread. Every field is volatile, and the state is published through
+ * a concurrent map keyed by entity id, so packet listeners can find and read
+ * it without locking or touching {@link me.deecaad.weaponmechanics.WeaponMechanics#getEntityWrapper(org.bukkit.entity.LivingEntity)}.
+ *
+ * <p>Each {@link PlayerWrapper} owns 1 state, which is registered when the
+ * wrapper is created and removed when the wrapper is removed (when the
+ * player quits), so no player is retained after they leave.
+ */
+public final class PacketState {
+
+    private static final Map<Integer, PacketState> BY_ENTITY_ID = new ConcurrentHashMap<>();
+
+    private final PlayerWrapper wrapper;
+    private final int entityId;
+
+    // The last weapon sent to each hand, used by OutSetSlotBobFix
+    private volatile SimpleItemData mainHandItem;
+    private volatile SimpleItemData offHandItem;
+
+    PacketState(PlayerWrapper wrapper) {
+        this.wrapper = wrapper;
+        this.entityId = wrapper.getPlayer().getEntityId();
+    }
+
+    /**
+     * Returns the packet state of the online player with the given entity
+     * id. Safe to use from any thread.
+     *
+     * @param entityId The entity id of the player.
+     * @return The packet state, or null if the player has no wrapper.
+     */
+    @Nullable
+    public static PacketState get(int entityId) {
+        return BY_ENTITY_ID.get(entityId);
+    }
+
+    /**
+     * Removes every packet state. Used when WeaponMechanics is disabled.
+     */
+    public static void clear() {
+        BY_ENTITY_ID.clear();
+    }
+
+    void register() {
+        BY_ENTITY_ID.put(entityId, this);
+    }
+
+    /**
+     * Removes this state from the entity id index. Used when the wrapper of
+     * the player is removed.
+     */
+    public void unregister() {
+        // Only remove this state, in case a newer wrapper reused the id
+        BY_ENTITY_ID.remove(entityId, this);
+    }
+
+    @Nonnull
+    public PlayerWrapper getWrapper() {
+        return wrapper;
+    }
+
+    public int getEntityId() {
+        return entityId;
+    }
+
+    @Nullable
+    public SimpleItemData getHandItem(boolean mainHand) {
+        return mainHand ? mainHandItem : offHandItem;
+    }
+
+    public void setHandItem(boolean mainHand, @Nullable SimpleItemData data) {
+        if (mainHand)
+            mainHandItem = data;
+        else
+            offHandItem = data;
+    }
+
+    /**
+     * Forgets the items sent to both hands, so the next slot packets are
+     * always sent.
+     */
+    public void resetHandItems() {
+        mainHandItem = null;
+        offHandItem = null;
+    }
+}
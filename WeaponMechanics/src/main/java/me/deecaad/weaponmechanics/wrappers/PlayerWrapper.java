@@ -4,6 +4,7 @@ import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.file.Configuration;
 import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
+import me.deecaad.weaponmechanics.weapon.reload.ammo.AmmoIndex;
 import org.bukkit.entity.Player;
 
 import javax.annotation.Nullable;
@@ -23,6 +24,8 @@ public class PlayerWrapper extends EntityWrapper {
     private MessageHelper messageHelper;
     private long lastAmmoConvert;
     private StatsData statsData;
+    private final PacketState packetState;
+    private final AmmoIndex ammoIndex = new AmmoIndex();
 
     public PlayerWrapper(Player player) {
         super(player);
@@ -31,12 +34,29 @@ public class PlayerWrapper extends EntityWrapper {
         if (config.getBool("Database.Enable", true)) {
             statsData = new StatsData(player.getUniqueId());
         }
+
+        packetState = new PacketState(this);
+        packetState.register();
     }
 
     public Player getPlayer() {
         return this.player;
     }
 
+    /**
+     * @return The state used by packet listeners, which is safe to read from netty threads.
+     */
+    public PacketState getPacketState() {
+        return packetState;
+    }
+
+    /**
+     * @return The index of the ammo items in the player's inventory.
+     */
+    public AmmoIndex getAmmoIndex() {
+        return ammoIndex;
+    }
+
     public void rightClicked() {
         lastRightClick = System.currentTimeMillis();
     }
@@ -16,9 +16,10 @@ import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
 public class ZoomData {
 
     private final HandData handData;
-    private double zoomAmount;
+    // Read by packet listeners on netty threads
+    private volatile double zoomAmount;
     private int zoomStacks;
-    private boolean zoomNightVision;
+    private volatile boolean zoomNightVision;
     private ItemStack scopeWeaponStack;
     private String scopeWeaponTitle;
 